@@ -0,0 +1,444 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
+import org.orekit.utils.Constants;
+
+/** Fast evaluator for several Poisson series sharing the same arguments.
+ * <p>
+ * All series terms are flattened into structure-of-arrays tables: non-zero
+ * argument multipliers on one side, and per-series blocks of sine/cosine
+ * polynomial coefficients on the other side. Evaluation is a single loop
+ * over all terms that computes each argument and its sine/cosine only once
+ * and updates the accumulators for all series together, without creating
+ * any intermediate arrays.
+ * </p>
+ * @see PoissonSeries#compile(PoissonSeries...)
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+class CompiledPoissonSeries implements PoissonSeries.CompiledSeries {
+
+    /** Number of fundamental arguments. */
+    private static final int NB_ARGUMENTS = 15;
+
+    /** Polynomial parts of the series. */
+    private final PolynomialNutation[] polynomials;
+
+    /** Start of each term in the factors arrays (one extra element at the end). */
+    private final int[] factorsStart;
+
+    /** Index of the fundamental argument for each factor. */
+    private final int[] factorsArgument;
+
+    /** Multiplier for each factor. */
+    private final double[] factorsMultiplier;
+
+    /** Start of each term in the blocks arrays (one extra element at the end). */
+    private final int[] blocksStart;
+
+    /** Series index for each block. */
+    private final int[] blocksSeries;
+
+    /** Start of each block in the coefficients arrays (one extra element at the end). */
+    private final int[] coefficientsStart;
+
+    /** Sine coefficients, sorted by increasing degree within each block. */
+    private final double[] sinCoefficients;
+
+    /** Cosine coefficients, sorted by increasing degree within each block. */
+    private final double[] cosCoefficients;
+
+    /** Simple constructor.
+     * @param polynomials polynomial parts of the series
+     * @param series non-polynomial parts of the series
+     */
+    CompiledPoissonSeries(final PolynomialNutation[] polynomials,
+                          final List<Map<Long, SeriesTerm>> series) {
+
+        this.polynomials = polynomials.clone();
+
+        // gather terms sharing the same argument
+        // the terms are summed in hash map iteration order, as in the original
+        // per-term evaluation, so results are identical to previous versions
+        final Map<Long, SeriesTerm[]> joined = new HashMap<>();
+        for (int i = 0; i < series.size(); ++i) {
+            for (final Map.Entry<Long, SeriesTerm> entry : series.get(i).entrySet()) {
+                SeriesTerm[] terms = joined.get(entry.getKey());
+                if (terms == null) {
+                    terms = new SeriesTerm[series.size()];
+                    joined.put(entry.getKey(), terms);
+                }
+                terms[i] = entry.getValue();
+            }
+        }
+
+        // count factors, blocks and coefficients
+        int nbFactors      = 0;
+        int nbBlocks       = 0;
+        int nbCoefficients = 0;
+        for (final Map.Entry<Long, SeriesTerm[]> entry : joined.entrySet()) {
+            for (final int m : NutationCodec.decode(entry.getKey())) {
+                if (m != 0) {
+                    ++nbFactors;
+                }
+            }
+            for (final SeriesTerm term : entry.getValue()) {
+                if (term != null) {
+                    ++nbBlocks;
+                    nbCoefficients += term.getDegree(0) + 1;
+                }
+            }
+        }
+
+        // flatten all terms
+        this.factorsStart      = new int[joined.size() + 1];
+        this.factorsArgument   = new int[nbFactors];
+        this.factorsMultiplier = new double[nbFactors];
+        this.blocksStart       = new int[joined.size() + 1];
+        this.blocksSeries      = new int[nbBlocks];
+        this.coefficientsStart = new int[nbBlocks + 1];
+        this.sinCoefficients   = new double[nbCoefficients];
+        this.cosCoefficients   = new double[nbCoefficients];
+        int k = 0;
+        int f = 0;
+        int b = 0;
+        int c = 0;
+        for (final Map.Entry<Long, SeriesTerm[]> entry : joined.entrySet()) {
+            final int[] m = NutationCodec.decode(entry.getKey());
+            factorsStart[k] = f;
+            for (int j = 0; j < NB_ARGUMENTS; ++j) {
+                if (m[j] != 0) {
+                    factorsArgument[f]   = j;
+                    factorsMultiplier[f] = m[j];
+                    ++f;
+                }
+            }
+            blocksStart[k] = b;
+            final SeriesTerm[] terms = entry.getValue();
+            for (int i = 0; i < terms.length; ++i) {
+                if (terms[i] != null) {
+                    blocksSeries[b]      = i;
+                    coefficientsStart[b] = c;
+                    for (int d = 0; d <= terms[i].getDegree(0); ++d) {
+                        sinCoefficients[c] = terms[i].getSinCoeff(0, d);
+                        cosCoefficients[c] = terms[i].getCosCoeff(0, d);
+                        ++c;
+                    }
+                    ++b;
+                }
+            }
+            ++k;
+        }
+        factorsStart[k]      = f;
+        blocksStart[k]       = b;
+        coefficientsStart[b] = c;
+
+    }
+
+    /** Get the fundamental arguments.
+     * @param elements bodies elements
+     * @return fundamental arguments, in {@link NutationCodec} order
+     */
+    private static double[] arguments(final BodiesElements elements) {
+        return new double[] {
+            elements.getGamma(), elements.getL(), elements.getLPrime(), elements.getF(),
+            elements.getD(), elements.getOmega(), elements.getLMe(), elements.getLVe(),
+            elements.getLE(), elements.getLMa(), elements.getLJu(), elements.getLSa(),
+            elements.getLUr(), elements.getLNe(), elements.getPa()
+        };
+    }
+
+    /** Get the fundamental arguments derivatives.
+     * @param elements bodies elements
+     * @return fundamental arguments derivatives, in {@link NutationCodec} order
+     */
+    private static double[] argumentsDerivatives(final BodiesElements elements) {
+        return new double[] {
+            elements.getGammaDot(), elements.getLDot(), elements.getLPrimeDot(), elements.getFDot(),
+            elements.getDDot(), elements.getOmegaDot(), elements.getLMeDot(), elements.getLVeDot(),
+            elements.getLEDot(), elements.getLMaDot(), elements.getLJuDot(), elements.getLSaDot(),
+            elements.getLUrDot(), elements.getLNeDot(), elements.getPaDot()
+        };
+    }
+
+    /** Get the fundamental arguments.
+     * @param elements bodies elements
+     * @param <T> type of the field elements
+     * @return fundamental arguments, in {@link NutationCodec} order
+     */
+    private static <T extends RealFieldElement<T>> T[] arguments(final FieldBodiesElements<T> elements) {
+        final T[] a = MathArrays.buildArray(elements.getTC().getField(), NB_ARGUMENTS);
+        a[0]  = elements.getGamma();
+        a[1]  = elements.getL();
+        a[2]  = elements.getLPrime();
+        a[3]  = elements.getF();
+        a[4]  = elements.getD();
+        a[5]  = elements.getOmega();
+        a[6]  = elements.getLMe();
+        a[7]  = elements.getLVe();
+        a[8]  = elements.getLE();
+        a[9]  = elements.getLMa();
+        a[10] = elements.getLJu();
+        a[11] = elements.getLSa();
+        a[12] = elements.getLUr();
+        a[13] = elements.getLNe();
+        a[14] = elements.getPa();
+        return a;
+    }
+
+    /** Get the fundamental arguments derivatives.
+     * @param elements bodies elements
+     * @param <T> type of the field elements
+     * @return fundamental arguments derivatives, in {@link NutationCodec} order
+     */
+    private static <T extends RealFieldElement<T>> T[] argumentsDerivatives(final FieldBodiesElements<T> elements) {
+        final T[] a = MathArrays.buildArray(elements.getTC().getField(), NB_ARGUMENTS);
+        a[0]  = elements.getGammaDot();
+        a[1]  = elements.getLDot();
+        a[2]  = elements.getLPrimeDot();
+        a[3]  = elements.getFDot();
+        a[4]  = elements.getDDot();
+        a[5]  = elements.getOmegaDot();
+        a[6]  = elements.getLMeDot();
+        a[7]  = elements.getLVeDot();
+        a[8]  = elements.getLEDot();
+        a[9]  = elements.getLMaDot();
+        a[10] = elements.getLJuDot();
+        a[11] = elements.getLSaDot();
+        a[12] = elements.getLUrDot();
+        a[13] = elements.getLNeDot();
+        a[14] = elements.getPaDot();
+        return a;
+    }
+
+    /** Compute a term argument.
+     * @param k term index
+     * @param arguments fundamental arguments
+     * @return term argument
+     */
+    private double argument(final int k, final double[] arguments) {
+        double a = 0;
+        for (int f = factorsStart[k]; f < factorsStart[k + 1]; ++f) {
+            a += factorsMultiplier[f] * arguments[factorsArgument[f]];
+        }
+        return a;
+    }
+
+    /** Compute a term argument.
+     * @param k term index
+     * @param arguments fundamental arguments
+     * @param <T> type of the field elements
+     * @return term argument
+     */
+    private <T extends RealFieldElement<T>> T argument(final int k, final T[] arguments) {
+        T a = arguments[0].getField().getZero();
+        for (int f = factorsStart[k]; f < factorsStart[k + 1]; ++f) {
+            a = a.add(arguments[factorsArgument[f]].multiply(factorsMultiplier[f]));
+        }
+        return a;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] value(final BodiesElements elements) {
+
+        final double   tc        = elements.getTC();
+        final double[] arguments = arguments(elements);
+
+        // non-polynomial part
+        // compute sums accurately, using Møller-Knuth TwoSum algorithm without branching
+        // the following statements must NOT be simplified, they rely on floating point
+        // arithmetic properties (rounding and representable numbers)
+        final double[] npHigh = new double[polynomials.length];
+        final double[] npLow  = new double[polynomials.length];
+        for (int k = 0; k < factorsStart.length - 1; ++k) {
+
+            final double a   = argument(k, arguments);
+            final double sin = FastMath.sin(a);
+            final double cos = FastMath.cos(a);
+
+            for (int b = blocksStart[k]; b < blocksStart[k + 1]; ++b) {
+                double s = 0;
+                double c = 0;
+                for (int j = coefficientsStart[b + 1] - 1; j >= coefficientsStart[b]; --j) {
+                    s = s * tc + sinCoefficients[j];
+                    c = c * tc + cosCoefficients[j];
+                }
+                final int    i       = blocksSeries[b];
+                final double v       = s * sin + c * cos;
+                final double sum     = npHigh[i] + v;
+                final double sPrime  = sum - v;
+                final double tPrime  = sum - sPrime;
+                final double deltaS  = npHigh[i]  - sPrime;
+                final double deltaT  = v - tPrime;
+                npLow[i]  += deltaS   + deltaT;
+                npHigh[i]  = sum;
+            }
+
+        }
+
+        // add residual and polynomial part
+        for (int i = 0; i < npHigh.length; ++i) {
+            npHigh[i] += npLow[i] + polynomials[i].value(tc);
+        }
+        return npHigh;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] derivative(final BodiesElements elements) {
+
+        final double   tc           = elements.getTC();
+        final double[] arguments    = arguments(elements);
+        final double[] argumentsDot = argumentsDerivatives(elements);
+
+        // non-polynomial part
+        final double[] v = new double[polynomials.length];
+        for (int k = 0; k < factorsStart.length - 1; ++k) {
+
+            final double a    = argument(k, arguments);
+            final double aDot = argument(k, argumentsDot);
+            final double sin  = FastMath.sin(a);
+            final double cos  = FastMath.cos(a);
+
+            for (int b = blocksStart[k]; b < blocksStart[k + 1]; ++b) {
+                double s    = 0;
+                double c    = 0;
+                double sDot = 0;
+                double cDot = 0;
+                final int start = coefficientsStart[b];
+                final int end   = coefficientsStart[b + 1];
+                for (int j = end - 1; j > start; --j) {
+                    s    = s    * tc + sinCoefficients[j];
+                    c    = c    * tc + cosCoefficients[j];
+                    sDot = sDot * tc + (j - start) * sinCoefficients[j];
+                    cDot = cDot * tc + (j - start) * cosCoefficients[j];
+                }
+                s     = s * tc + sinCoefficients[start];
+                c     = c * tc + cosCoefficients[start];
+                sDot /= Constants.JULIAN_CENTURY;
+                cDot /= Constants.JULIAN_CENTURY;
+                v[blocksSeries[b]] += (sDot - c * aDot) * sin + (cDot + s * aDot) * cos;
+            }
+
+        }
+
+        // add polynomial part
+        for (int i = 0; i < v.length; ++i) {
+            v[i] += polynomials[i].derivative(tc);
+        }
+        return v;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <S extends RealFieldElement<S>> S[] value(final FieldBodiesElements<S> elements) {
+
+        final S   tc        = elements.getTC();
+        final S   zero      = tc.getField().getZero();
+        final S[] arguments = arguments(elements);
+
+        // non-polynomial part
+        final S[] v = MathArrays.buildArray(tc.getField(), polynomials.length);
+        for (int k = 0; k < factorsStart.length - 1; ++k) {
+
+            final S a   = argument(k, arguments);
+            final S sin = a.sin();
+            final S cos = a.cos();
+
+            for (int b = blocksStart[k]; b < blocksStart[k + 1]; ++b) {
+                S s = zero;
+                S c = zero;
+                for (int j = coefficientsStart[b + 1] - 1; j >= coefficientsStart[b]; --j) {
+                    s = s.multiply(tc).add(sinCoefficients[j]);
+                    c = c.multiply(tc).add(cosCoefficients[j]);
+                }
+                final int i = blocksSeries[b];
+                v[i] = v[i].add(s.multiply(sin).add(c.multiply(cos)));
+            }
+
+        }
+
+        // add polynomial part
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = v[i].add(polynomials[i].value(tc));
+        }
+        return v;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <S extends RealFieldElement<S>> S[] derivative(final FieldBodiesElements<S> elements) {
+
+        final S   tc           = elements.getTC();
+        final S   zero         = tc.getField().getZero();
+        final S[] arguments    = arguments(elements);
+        final S[] argumentsDot = argumentsDerivatives(elements);
+
+        // non-polynomial part
+        final S[] v = MathArrays.buildArray(tc.getField(), polynomials.length);
+        for (int k = 0; k < factorsStart.length - 1; ++k) {
+
+            final S a    = argument(k, arguments);
+            final S aDot = argument(k, argumentsDot);
+            final S sin  = a.sin();
+            final S cos  = a.cos();
+
+            for (int b = blocksStart[k]; b < blocksStart[k + 1]; ++b) {
+                S s    = zero;
+                S c    = zero;
+                S sDot = zero;
+                S cDot = zero;
+                final int start = coefficientsStart[b];
+                final int end   = coefficientsStart[b + 1];
+                for (int j = end - 1; j > start; --j) {
+                    s    = s.multiply(tc).add(sinCoefficients[j]);
+                    c    = c.multiply(tc).add(cosCoefficients[j]);
+                    sDot = sDot.multiply(tc).add((j - start) * sinCoefficients[j]);
+                    cDot = cDot.multiply(tc).add((j - start) * cosCoefficients[j]);
+                }
+                s    = s.multiply(tc).add(sinCoefficients[start]);
+                c    = c.multiply(tc).add(cosCoefficients[start]);
+                sDot = sDot.divide(Constants.JULIAN_CENTURY);
+                cDot = cDot.divide(Constants.JULIAN_CENTURY);
+                final int i = blocksSeries[b];
+                v[i] = v[i].add(sDot.subtract(c.multiply(aDot)).multiply(sin).
+                                add(cDot.add(s.multiply(aDot)).multiply(cos)));
+            }
+
+        }
+
+        // add polynomial part
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = v[i].add(polynomials[i].derivative(tc));
+        }
+        return v;
+
+    }
+
+}
@@ -16,11 +16,11 @@
  */
 package org.orekit.data;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.hipparchus.RealFieldElement;
-import org.hipparchus.util.MathArrays;
 
 /**
  * Class representing a Poisson series for nutation or ephemeris computations.
@@ -155,6 +155,11 @@ public class PoissonSeries {
     }
 
     /** Join several nutation series, for fast simultaneous evaluation.
+     * <p>
+     * The series are flattened into primitive tables and evaluated together
+     * in a single loop over all terms, sharing the computation of the terms
+     * arguments.
+     * </p>
      * @param poissonSeries Poisson series to join
      * @return a single function that evaluates all series together
      * @since 6.1
@@ -162,157 +167,14 @@ public class PoissonSeries {
     @SafeVarargs
     public static CompiledSeries compile(final PoissonSeries... poissonSeries) {
 
-        // store all polynomials
-        final PolynomialNutation[] polynomials = new PolynomialNutation[poissonSeries.length];
+        final PolynomialNutation[]        polynomials = new PolynomialNutation[poissonSeries.length];
+        final List<Map<Long, SeriesTerm>> series      = new ArrayList<>(poissonSeries.length);
         for (int i = 0; i < polynomials.length; ++i) {
             polynomials[i] = poissonSeries[i].polynomial;
+            series.add(poissonSeries[i].series);
         }
 
-        // gather all series terms
-        final Map<Long, SeriesTerm> joinedMap = new HashMap<Long, SeriesTerm>();
-        for (final PoissonSeries ps : poissonSeries) {
-            for (Map.Entry<Long, SeriesTerm> entry : ps.series.entrySet()) {
-                final long key = entry.getKey();
-                if (!joinedMap.containsKey(key)) {
-
-                    // retrieve all Delaunay and planetary multipliers from the key
-                    final int[] m = NutationCodec.decode(key);
-
-                    // prepare a new term, ready to handle the required dimension
-                    final SeriesTerm term =
-                            SeriesTerm.buildTerm(m[0],
-                                                 m[1], m[2], m[3], m[4], m[5],
-                                                 m[6], m[7], m[8], m[9], m[10], m[11], m[12], m[13], m[14]);
-                    term.add(poissonSeries.length - 1, -1, Double.NaN, Double.NaN);
-
-                    // store it
-                    joinedMap.put(key, term);
-
-                }
-            }
-        }
-
-        // join series by sharing terms, in order to speed up evaluation
-        // which is dominated by the computation of sine/cosine in each term
-        for (int i = 0; i < poissonSeries.length; ++i) {
-            for (final Map.Entry<Long, SeriesTerm> entry : poissonSeries[i].series.entrySet()) {
-                final SeriesTerm singleTerm = entry.getValue();
-                final SeriesTerm joinedTerm = joinedMap.get(entry.getKey());
-                for (int degree = 0; degree <= singleTerm.getDegree(0); ++degree) {
-                    joinedTerm.add(i, degree,
-                                   singleTerm.getSinCoeff(0, degree),
-                                   singleTerm.getCosCoeff(0, degree));
-                }
-            }
-        }
-
-        // use a single array for faster access
-        final SeriesTerm[] joinedTerms = new SeriesTerm[joinedMap.size()];
-        int index = 0;
-        for (final Map.Entry<Long, SeriesTerm> entry : joinedMap.entrySet()) {
-            joinedTerms[index++] = entry.getValue();
-        }
-
-        return new CompiledSeries() {
-
-            /** {@inheritDoc} */
-            @Override
-            public double[] value(final BodiesElements elements) {
-
-                // non-polynomial part
-                // compute sum accurately, using Møller-Knuth TwoSum algorithm without branching
-                // the following statements must NOT be simplified, they rely on floating point
-                // arithmetic properties (rounding and representable numbers)
-                final double[] npHigh = new double[polynomials.length];
-                final double[] npLow  = new double[polynomials.length];
-                for (final SeriesTerm term : joinedTerms) {
-                    final double[] termValue = term.value(elements);
-                    for (int i = 0; i < termValue.length; ++i) {
-                        final double v       = termValue[i];
-                        final double sum     = npHigh[i] + v;
-                        final double sPrime  = sum - v;
-                        final double tPrime  = sum - sPrime;
-                        final double deltaS  = npHigh[i]  - sPrime;
-                        final double deltaT  = v - tPrime;
-                        npLow[i]  += deltaS   + deltaT;
-                        npHigh[i]  = sum;
-                    }
-                }
-
-                // add residual and polynomial part
-                for (int i = 0; i < npHigh.length; ++i) {
-                    npHigh[i] += npLow[i] + polynomials[i].value(elements.getTC());
-                }
-                return npHigh;
-
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public double[] derivative(final BodiesElements elements) {
-
-                // non-polynomial part
-                final double[] v = new double[polynomials.length];
-                for (final SeriesTerm term : joinedTerms) {
-                    final double[] termDerivative = term.derivative(elements);
-                    for (int i = 0; i < termDerivative.length; ++i) {
-                        v[i] += termDerivative[i];
-                    }
-                }
-
-                // add polynomial part
-                for (int i = 0; i < v.length; ++i) {
-                    v[i] += polynomials[i].derivative(elements.getTC());
-                }
-                return v;
-
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public <S extends RealFieldElement<S>> S[] value(final FieldBodiesElements<S> elements) {
-
-               // non-polynomial part
-                final S[] v = MathArrays.buildArray(elements.getTC().getField(), polynomials.length);
-                for (final SeriesTerm term : joinedTerms) {
-                    final S[] termValue = term.value(elements);
-                    for (int i = 0; i < termValue.length; ++i) {
-                        v[i] = v[i].add(termValue[i]);
-                    }
-                }
-
-                // add polynomial part
-                final S tc = elements.getTC();
-                for (int i = 0; i < v.length; ++i) {
-                    v[i] = v[i].add(polynomials[i].value(tc));
-                }
-                return v;
-
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public <S extends RealFieldElement<S>> S[] derivative(final FieldBodiesElements<S> elements) {
-
-               // non-polynomial part
-                final S[] v = MathArrays.buildArray(elements.getTC().getField(), polynomials.length);
-                for (final SeriesTerm term : joinedTerms) {
-                    final S[] termDerivative = term.derivative(elements);
-                    for (int i = 0; i < termDerivative.length; ++i) {
-                        v[i] = v[i].add(termDerivative[i]);
-                    }
-                }
-
-                // add polynomial part
-                final S tc = elements.getTC();
-                for (int i = 0; i < v.length; ++i) {
-                    v[i] = v[i].add(polynomials[i].derivative(tc));
-                }
-                return v;
-
-            }
-
-        };
+        return new CompiledPoissonSeries(polynomials, series);
 
     }
 
@@ -281,7 +281,10 @@ public enum OrekitMessages implements Localizable {
     PARAMETER_NOT_SET("The parameter {0} should not be null in {1}"),
     FUNCTION_NOT_IMPLEMENTED("{0} is not implemented"),
     INVALID_TYPE_FOR_FUNCTION("Impossible to execute {0} with {1} set to {2}"),
-    NO_DATA_IN_FILE("No data could be parsed from file {0}");
+    NO_DATA_IN_FILE("No data could be parsed from file {0}"),
+    UNKNOWN_FRAME("unknown frame {0}"),
+    UNKNOWN_TIME_SCALE("unknown time scale {0}"),
+    ALMOST_PARABOLIC_ORBIT("almost parabolic orbit at {0} cannot be used as Encke reference trajectory");
 
     // CHECKSTYLE: resume JavadocVariable check
 
@@ -0,0 +1,260 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.files.ccsds.TDMFile;
+import org.orekit.files.ccsds.TDMHandler;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+/** Handler converting TDM observations into {@link ObservedMeasurement observed measurements}.
+ * <p>
+ * This handler is intended to be used with {@link
+ * org.orekit.files.ccsds.TDMParser#parse(java.io.InputStream, String, TDMHandler)
+ * TDMParser in streaming mode}, so the measurements are built on the fly while
+ * the file is parsed and fed to a consumer (which may for example add them to
+ * a {@link org.orekit.estimation.leastsquares.BatchLSEstimator batch least squares
+ * estimator}), without storing the observations blocks.
+ * </p>
+ * <p>
+ * The following observations are converted:
+ * </p>
+ * <ul>
+ *   <li>RANGE to {@link Range}, if RANGE_UNITS is km or s (range units RU are ignored);
+ *   as the range is measured along the whole signal path, two-way ranges are halved,</li>
+ *   <li>DOPPLER_INSTANTANEOUS to {@link RangeRate},</li>
+ *   <li>ANGLE_1 and ANGLE_2 sharing the same epoch to {@link AngularAzEl}, if ANGLE_TYPE is AZEL.</li>
+ * </ul>
+ * <p>
+ * Only blocks with a single signal path involving a ground station and a satellite
+ * (i.e. PATH = s,p for one-way or PATH = s,p,s for two-way observations, where
+ * s is the ground station participant and p the satellite participant) are considered.
+ * The ground station is the receiving participant. Participants are identified by
+ * their names in the metadata, which are looked up in the stations and satellites maps.
+ * Blocks with other paths, with unknown participants or time-tagged at transmit
+ * time are ignored, as well as all other observations types. Corrections and
+ * delays from the metadata are not applied.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class TDMMeasurementsHandler implements TDMHandler {
+
+    /** Pattern for path separator. */
+    private static final Pattern PATH_SEPARATOR = Pattern.compile("\\s*,\\s*");
+
+    /** Ground stations, indexed by participant name. */
+    private final Map<String, GroundStation> stations;
+
+    /** Satellites, indexed by participant name. */
+    private final Map<String, ObservableSatellite> satellites;
+
+    /** Theoretical standard deviation for range measurements. */
+    private final double sigmaRange;
+
+    /** Theoretical standard deviation for range rate measurements. */
+    private final double sigmaRangeRate;
+
+    /** Theoretical standard deviation for azimuth and elevation measurements. */
+    private final double[] sigmaAngular;
+
+    /** Consumer for built measurements. */
+    private final Consumer<ObservedMeasurement<?>> consumer;
+
+    /** Ground station for current block (null if block is ignored). */
+    private GroundStation station;
+
+    /** Satellite for current block. */
+    private ObservableSatellite satellite;
+
+    /** Two-way indicator for current block. */
+    private boolean twoWay;
+
+    /** Scaling factor from range observation to meters (NaN if range is not supported). */
+    private double rangeScale;
+
+    /** Indicator for azimuth-elevation angles in current block. */
+    private boolean azEl;
+
+    /** Epoch of pending angles. */
+    private AbsoluteDate anglesDate;
+
+    /** Pending angles (NaN for missing values). */
+    private final double[] angles;
+
+    /** Simple constructor.
+     * <p>
+     * The base weight of all measurements is set to 1.0.
+     * </p>
+     * @param stations ground stations, indexed by participant name
+     * @param satellites satellites, indexed by participant name
+     * @param sigmaRange theoretical standard deviation for range measurements (m)
+     * @param sigmaRangeRate theoretical standard deviation for range rate measurements (m/s)
+     * @param sigmaAngular theoretical standard deviation for azimuth and elevation measurements (rad)
+     * @param consumer consumer for built measurements
+     */
+    public TDMMeasurementsHandler(final Map<String, GroundStation> stations,
+                                  final Map<String, ObservableSatellite> satellites,
+                                  final double sigmaRange, final double sigmaRangeRate,
+                                  final double[] sigmaAngular,
+                                  final Consumer<ObservedMeasurement<?>> consumer) {
+        this.stations       = stations;
+        this.satellites     = satellites;
+        this.sigmaRange     = sigmaRange;
+        this.sigmaRangeRate = sigmaRangeRate;
+        this.sigmaAngular   = sigmaAngular.clone();
+        this.consumer       = consumer;
+        this.angles         = new double[2];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockStart(final TDMFile file, final TDMFile.ObservationsBlock block) {
+
+        final TDMFile.TDMMetaData metaData = block.getMetaData();
+        station    = null;
+        satellite  = null;
+        anglesDate = null;
+
+        if (metaData.getPath() == null || "TRANSMIT".equals(metaData.getTimetagRef())) {
+            // unsupported block
+            return;
+        }
+
+        // identify participants along the signal path
+        final String[] path = PATH_SEPARATOR.split(metaData.getPath().trim());
+        if (path.length == 2) {
+            twoWay = false;
+        } else if (path.length == 3 && path[0].equals(path[2])) {
+            twoWay = true;
+        } else {
+            // unsupported path
+            return;
+        }
+        final Map<Integer, String> participants = metaData.getParticipants();
+        final GroundStation       s   = stations.get(participantName(participants, path[path.length - 1]));
+        final ObservableSatellite sat = satellites.get(participantName(participants, path[path.length - 2]));
+        if (s == null || sat == null) {
+            // unknown participants
+            return;
+        }
+        station   = s;
+        satellite = sat;
+
+        // CCSDS 503.0-B-1 (RANGE and RANGE_UNITS keywords): the range observable
+        // is measured along the whole signal path given by PATH, so for two-way
+        // paths it covers the round trip, regardless of the units, whereas
+        // two-way Range measurements hold the one-way equivalent distance
+        final double pathFactor = twoWay ? 0.5 : 1.0;
+        final String rangeUnits = metaData.getRangeUnits();
+        if (rangeUnits == null || "KM".equals(rangeUnits.toUpperCase(Locale.US))) {
+            // km is the default range unit
+            rangeScale = pathFactor * 1000.0;
+        } else if ("S".equals(rangeUnits.toUpperCase(Locale.US))) {
+            // light time along the signal path
+            rangeScale = pathFactor * Constants.SPEED_OF_LIGHT;
+        } else {
+            // range units cannot be converted without the ranging signal frequencies
+            rangeScale = Double.NaN;
+        }
+
+        azEl = "AZEL".equals(metaData.getAngleType());
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void observation(final TDMFile.ObservationsBlock block, final String keyword,
+                            final AbsoluteDate epoch, final double measurement) {
+
+        if (station == null) {
+            // the block is ignored
+            return;
+        }
+
+        switch (keyword) {
+            case "RANGE" :
+                if (!Double.isNaN(rangeScale)) {
+                    consumer.accept(new Range(station, twoWay, epoch, measurement * rangeScale,
+                                              sigmaRange, 1.0, satellite));
+                }
+                break;
+            case "DOPPLER_INSTANTANEOUS" :
+                consumer.accept(new RangeRate(station, epoch, measurement * 1000.0,
+                                              sigmaRangeRate, 1.0, twoWay, satellite));
+                break;
+            case "ANGLE_1" :
+                addAngle(0, epoch, measurement);
+                break;
+            case "ANGLE_2" :
+                addAngle(1, epoch, measurement);
+                break;
+            default :
+                // other observations are ignored
+                break;
+        }
+
+    }
+
+    /** Get the name of a participant.
+     * @param participants participants map
+     * @param index participant index, as a string
+     * @return participant name (null if unknown)
+     */
+    private String participantName(final Map<Integer, String> participants, final String index) {
+        try {
+            return participants.get(Integer.parseInt(index));
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
+    /** Add one angle, building the measurement when both angles are available.
+     * @param index index of the angle (0 for azimuth, 1 for elevation)
+     * @param epoch epoch of the angle
+     * @param angle angle value (degrees)
+     */
+    private void addAngle(final int index, final AbsoluteDate epoch, final double angle) {
+
+        if (!azEl) {
+            // other antenna geometries are ignored
+            return;
+        }
+
+        if (anglesDate == null || !anglesDate.equals(epoch)) {
+            // start a new pair
+            anglesDate = epoch;
+            angles[0]  = Double.NaN;
+            angles[1]  = Double.NaN;
+        }
+        angles[index] = FastMath.toRadians(angle);
+
+        if (!(Double.isNaN(angles[0]) || Double.isNaN(angles[1]))) {
+            consumer.accept(new AngularAzEl(station, epoch, angles.clone(),
+                                            sigmaAngular, new double[] {1.0, 1.0}, satellite));
+            anglesDate = null;
+        }
+
+    }
+
+}
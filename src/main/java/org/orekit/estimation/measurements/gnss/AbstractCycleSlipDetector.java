@@ -20,9 +20,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.gnss.Frequency;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationStore;
 import org.orekit.gnss.SatelliteSystem;
 import org.orekit.time.AbsoluteDate;
 
@@ -73,12 +83,96 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
         return getResults();
     }
 
+    /**
+     * Detects cycle-slips on all arcs of a columnar observation store.
+     * <p>
+     * Each satellite arc is processed independently, with its own detection state,
+     * hence arcs are processed in parallel. For each satellite, the results are the
+     * same as the ones {@link #detect(List)} would provide on a new detector with the
+     * same settings. The results accumulated by this detector in previous calls to
+     * {@link #detect(List)} are neither used nor updated.
+     * </p>
+     * @param store columnar observation store
+     * @param nbThreads number of threads to use
+     * @return a list of results computed by the cycle-slip detectors, in satellites
+     * first appearance order
+     * @since 10.3
+     */
+    public List<CycleSlipDetectorResults> detect(final ObservationStore store, final int nbThreads) {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+        try {
+
+            // prepare one task per satellite arc
+            final List<Callable<List<CycleSlipDetectorResults>>> tasks = new ArrayList<>();
+            for (final ObservationArc arc : store.getArcs()) {
+                tasks.add(() -> {
+                    final AbstractCycleSlipDetector worker = copy();
+                    worker.manageData(arc);
+                    return worker.getResults();
+                });
+            }
+
+            // gather results
+            final List<CycleSlipDetectorResults> results = new ArrayList<>();
+            for (final Future<List<CycleSlipDetectorResults>> future : executorService.invokeAll(tasks)) {
+                results.addAll(future.get());
+            }
+            return results;
+
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
     /**
      * The method is in charge of collecting the measurements, manage them, and call the detection method.
      * @param observation observation data set
      */
     protected abstract void manageData(ObservationDataSet observation);
 
+    /**
+     * The method is in charge of collecting the measurements of a whole satellite arc,
+     * manage them, and call the detection method.
+     * <p>
+     * The default implementation calls {@link #manageData(ObservationDataSet)} on
+     * each row of the arc, in chronological order. Detectors can override it to
+     * process the arc columns directly.
+     * </p>
+     * @param arc observation arc for one satellite
+     * @since 10.3
+     */
+    protected void manageData(final ObservationArc arc) {
+        for (int row = 0; row < arc.size(); ++row) {
+            manageData(arc.getObservationDataSet(row));
+        }
+    }
+
+    /**
+     * Create a new detector with the same settings and an empty detection state.
+     * <p>
+     * This method is used by {@link #detect(ObservationStore, int)} to get one
+     * independent detector per satellite arc. The default implementation throws
+     * an exception, detectors supporting parallel detection must override it.
+     * </p>
+     * @return new detector
+     * @since 10.3
+     */
+    protected AbstractCycleSlipDetector copy() {
+        throw new OrekitException(OrekitMessages.FUNCTION_NOT_IMPLEMENTED,
+                                  getClass().getSimpleName() + " in parallel detection");
+    }
+
     /**
      * Get the minimum number of measurement needed before being able to figure out cycle-slip occurrence.
      * @return the minimum number of measurement needed before being able to figure out cycle-slip occurrence.
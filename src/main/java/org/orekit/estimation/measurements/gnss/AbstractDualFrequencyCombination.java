@@ -26,6 +26,7 @@ import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.CombinedObservationDataSet;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationData;
 import org.orekit.gnss.ObservationDataSet;
 import org.orekit.gnss.ObservationType;
@@ -70,26 +71,14 @@ public abstract class AbstractDualFrequencyCombination implements MeasurementCom
         // Observation types
         final ObservationType obsType1 = od1.getObservationType();
         final ObservationType obsType2 = od2.getObservationType();
+        checkCombination(obsType1, obsType2);
 
         // Frequencies
         final Frequency freq1 = obsType1.getFrequency(system);
         final Frequency freq2 = obsType2.getFrequency(system);
-        // Check if the combination of measurements if performed for two different frequencies
-        if (freq1 == freq2) {
-            throw new OrekitException(OrekitMessages.INCOMPATIBLE_FREQUENCIES_FOR_COMBINATION_OF_MEASUREMENTS,
-                                      freq1, freq2, getName());
-        }
 
-        // Measurements types
+        // Measurements type
         final MeasurementType measType1 = obsType1.getMeasurementType();
-        final MeasurementType measType2 = obsType2.getMeasurementType();
-
-        // Check if measurement types are the same
-        if (measType1 != measType2) {
-            // If the measurement types are differents, an exception is thrown
-            throw new OrekitException(OrekitMessages.INVALID_MEASUREMENT_TYPES_FOR_COMBINATION_OF_MEASUREMENTS,
-                                      measType1, measType2, getName());
-        }
 
         // Combined value
         final double combinedValue = getCombinedValue(od1.getValue(), freq1, od2.getValue(), freq2);
@@ -102,6 +91,36 @@ public abstract class AbstractDualFrequencyCombination implements MeasurementCom
 
     }
 
+    /**
+     * Combines whole columns of an observation arc using a dual frequency combination of measurements.
+     * <p>
+     * This method is a bulk version of {@link #combine(ObservationData, ObservationData)},
+     * it avoids building one {@link CombinedObservationData} per epoch.
+     * </p>
+     * @param arc observation arc for one satellite
+     * @param type1 type of the first observation to combine
+     * @param type2 type of the second observation to combine
+     * @return combined values for all rows of the arc ({@code Double.NaN} where one
+     * of the observations is missing)
+     * @since 10.3
+     */
+    public double[] combine(final ObservationArc arc, final ObservationType type1, final ObservationType type2) {
+
+        checkCombination(type1, type2);
+        final Frequency freq1 = type1.getFrequency(system);
+        final Frequency freq2 = type2.getFrequency(system);
+
+        final double[] values1  = arc.getValues(type1);
+        final double[] values2  = arc.getValues(type2);
+        final double[] combined = new double[values1.length];
+        for (int i = 0; i < combined.length; ++i) {
+            combined[i] = getCombinedValue(values1[i], freq1, values2[i], freq2);
+        }
+
+        return combined;
+
+    }
+
     /** {@inheritDoc} */
     @Override
     public CombinedObservationDataSet combine(final ObservationDataSet observations) {
@@ -147,6 +166,35 @@ public abstract class AbstractDualFrequencyCombination implements MeasurementCom
                                               observations.getRcvrClkOffset(), combined);
     }
 
+    /**
+     * Check if two observation types can be combined.
+     * @param obsType1 first observation type
+     * @param obsType2 second observation type
+     */
+    private void checkCombination(final ObservationType obsType1, final ObservationType obsType2) {
+
+        // Frequencies
+        final Frequency freq1 = obsType1.getFrequency(system);
+        final Frequency freq2 = obsType2.getFrequency(system);
+        // Check if the combination of measurements if performed for two different frequencies
+        if (freq1 == freq2) {
+            throw new OrekitException(OrekitMessages.INCOMPATIBLE_FREQUENCIES_FOR_COMBINATION_OF_MEASUREMENTS,
+                                      freq1, freq2, getName());
+        }
+
+        // Measurements types
+        final MeasurementType measType1 = obsType1.getMeasurementType();
+        final MeasurementType measType2 = obsType2.getMeasurementType();
+
+        // Check if measurement types are the same
+        if (measType1 != measType2) {
+            // If the measurement types are differents, an exception is thrown
+            throw new OrekitException(OrekitMessages.INVALID_MEASUREMENT_TYPES_FOR_COMBINATION_OF_MEASUREMENTS,
+                                      measType1, measType2, getName());
+        }
+
+    }
+
     /**
      * Get the combined observed value of two measurements.
      * @param obs1 observed value of the first measurement
@@ -16,6 +16,7 @@
  */
 package org.orekit.estimation.measurements.gnss;
 
+import java.util.Arrays;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -31,6 +32,11 @@ import org.hipparchus.util.FastMath;
  * A modified LAMBDA method for integer least-squares estimation</a> by X.-W Chang, X. Yang
  * and T. Zhou, Journal of Geodesy 79(9):552-565, DOI: 10.1007/s00190-005-0004-x
  * </p>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe, as they reuse their
+ * internal workspace from one problem to the next when sizes are the same.
+ * {@link BatchAmbiguitySolver} can be used to solve many problems in parallel.
+ * </p>
  * @author Luc Maisonobe
  * @since 10.0
  */
@@ -91,13 +97,21 @@ public abstract class AbstractLambdaMethod implements IntegerLeastSquareSolver {
     private void initializeProblem(final double[] floatAmbiguities, final int[] indirection,
                                    final RealMatrix globalCovariance, final int nbSol) {
 
-        this.n                      = floatAmbiguities.length;
-        this.decorrelated           = floatAmbiguities.clone();
-        this.low                    = new double[(n * (n - 1)) / 2];
-        this.diag                   = new double[n];
-        this.zInverseTransformation = new int[n * n];
-        this.maxSolutions           = nbSol;
-        this.solutions              = new TreeSet<>();
+        this.n            = floatAmbiguities.length;
+        this.maxSolutions = nbSol;
+
+        // reuse the workspace from previous problem if it has the same size
+        if (decorrelated == null || decorrelated.length != n) {
+            this.decorrelated           = new double[n];
+            this.low                    = new double[(n * (n - 1)) / 2];
+            this.diag                   = new double[n];
+            this.zInverseTransformation = new int[n * n];
+            this.solutions              = new TreeSet<>();
+        } else {
+            Arrays.fill(zInverseTransformation, 0);
+            solutions.clear();
+        }
+        System.arraycopy(floatAmbiguities, 0, decorrelated, 0, n);
 
         // initialize decomposition matrices
         for (int i = 0; i < n; ++i) {
@@ -26,6 +26,7 @@ import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.CombinedObservationDataSet;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationData;
 import org.orekit.gnss.ObservationDataSet;
 import org.orekit.gnss.ObservationType;
@@ -112,6 +113,54 @@ public abstract class AbstractSingleFrequencyCombination implements MeasurementC
         // Observation types
         final ObservationType obsType1 = phase.getObservationType();
         final ObservationType obsType2 = pseudoRange.getObservationType();
+        checkCombination(obsType1, obsType2);
+
+        // Frequency
+        final double f = obsType1.getFrequency(system).getMHzFrequency();
+
+        // Combined value
+        final double combinedValue = getCombinedValue(phase.getValue(), pseudoRange.getValue());
+
+        // Combined observation data
+        return new CombinedObservationData(CombinationType.PHASE_MINUS_CODE, MeasurementType.COMBINED_RANGE_PHASE,
+                                           combinedValue, f, Arrays.asList(phase, pseudoRange));
+    }
+
+    /**
+     * Combines whole columns of an observation arc using a single frequency combination of measurements.
+     * <p>
+     * This method is a bulk version of {@link #combine(ObservationData, ObservationData)},
+     * it avoids building one {@link CombinedObservationData} per epoch.
+     * </p>
+     * @param arc observation arc for one satellite
+     * @param phaseType type of the phase measurement
+     * @param pseudoRangeType type of the pseudoRange measurement
+     * @return combined values for all rows of the arc ({@code Double.NaN} where one
+     * of the observations is missing)
+     * @since 10.3
+     */
+    public double[] combine(final ObservationArc arc,
+                            final ObservationType phaseType, final ObservationType pseudoRangeType) {
+
+        checkCombination(phaseType, pseudoRangeType);
+
+        final double[] phases       = arc.getValues(phaseType);
+        final double[] pseudoRanges = arc.getValues(pseudoRangeType);
+        final double[] combined     = new double[phases.length];
+        for (int i = 0; i < combined.length; ++i) {
+            combined[i] = getCombinedValue(phases[i], pseudoRanges[i]);
+        }
+
+        return combined;
+
+    }
+
+    /**
+     * Check if two observation types can be combined.
+     * @param obsType1 phase observation type
+     * @param obsType2 pseudoRange observation type
+     */
+    private void checkCombination(final ObservationType obsType1, final ObservationType obsType2) {
 
         // Frequencies
         final Frequency freq1 = obsType1.getFrequency(system);
@@ -133,15 +182,6 @@ public abstract class AbstractSingleFrequencyCombination implements MeasurementC
                                       measType1, measType2, getName());
         }
 
-        // Frequency
-        final double f = freq1.getMHzFrequency();
-
-        // Combined value
-        final double combinedValue = getCombinedValue(phase.getValue(), pseudoRange.getValue());
-
-        // Combined observation data
-        return new CombinedObservationData(CombinationType.PHASE_MINUS_CODE, MeasurementType.COMBINED_RANGE_PHASE,
-                                           combinedValue, f, Arrays.asList(phase, pseudoRange));
     }
 
     /**
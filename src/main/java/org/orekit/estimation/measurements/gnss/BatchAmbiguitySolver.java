@@ -0,0 +1,232 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.linear.RealMatrix;
+import org.orekit.errors.OrekitException;
+
+/** Class for solving many independent integer ambiguity problems.
+ * <p>
+ * This class is intended for cases where a lot of independent float solutions
+ * must be fixed, for example one per baseline in a network or one per epoch
+ * in kinematic processing. The problems are solved in parallel, each thread
+ * using its own {@link IntegerLeastSquareSolver} instance which is reused
+ * from one problem to the next.
+ * </p>
+ * <p>
+ * Partial ambiguity resolution can be enabled by setting a minimum number of
+ * ambiguities to fix lower than the problems sizes. In this case, when the
+ * full set of ambiguities cannot be fixed (either because the solver does not
+ * provide enough candidates or because the acceptance test rejects the best one),
+ * the ambiguity with the largest float variance is removed and a smaller problem
+ * is solved, until either a subset is accepted or the subset becomes smaller
+ * than the configured minimum.
+ * </p>
+ * @see AmbiguitySolver
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class BatchAmbiguitySolver {
+
+    /** Factory for the solvers of the underlying Integer Least Square problems. */
+    private final Supplier<? extends IntegerLeastSquareSolver> solverFactory;
+
+    /** Acceptance test to use. */
+    private final AmbiguityAcceptance acceptance;
+
+    /** Minimum number of ambiguities to fix in partial ambiguity resolution. */
+    private final int minFixed;
+
+    /** Number of threads to use. */
+    private final int nbThreads;
+
+    /** Simple constructor.
+     * <p>
+     * The acceptance test is shared by all threads, so it must be thread-safe.
+     * </p>
+     * @param solverFactory factory for the solvers of the underlying Integer Least
+     * Square problems (will be called once per thread)
+     * @param acceptance acceptance test to use
+     * @param minFixed minimum number of ambiguities to fix (set it to {@code Integer.MAX_VALUE}
+     * to disable partial ambiguity resolution)
+     * @param nbThreads number of threads to use
+     */
+    public BatchAmbiguitySolver(final Supplier<? extends IntegerLeastSquareSolver> solverFactory,
+                                final AmbiguityAcceptance acceptance,
+                                final int minFixed, final int nbThreads) {
+        this.solverFactory = solverFactory;
+        this.acceptance    = acceptance;
+        this.minFixed      = minFixed;
+        this.nbThreads     = nbThreads;
+    }
+
+    /** Fix integer ambiguities for many independent problems.
+     * @param floatAmbiguities float estimates of ambiguities, one array per problem
+     * @param covariances covariance matrices of float ambiguities, one matrix per problem
+     * @return fixed ambiguities, one resolution per problem, in problems order
+     */
+    public List<Resolution> fixIntegerAmbiguities(final List<double[]> floatAmbiguities,
+                                                  final List<RealMatrix> covariances) {
+
+        final ThreadLocal<IntegerLeastSquareSolver> solvers = ThreadLocal.withInitial(solverFactory);
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+        try {
+
+            // prepare one task per problem
+            final List<Callable<Resolution>> tasks = new ArrayList<>(floatAmbiguities.size());
+            for (int i = 0; i < floatAmbiguities.size(); ++i) {
+                final double[]   a = floatAmbiguities.get(i);
+                final RealMatrix q = covariances.get(i);
+                tasks.add(() -> fixIntegerAmbiguities(solvers.get(), a, q));
+            }
+
+            // gather results
+            final List<Resolution> resolutions = new ArrayList<>(tasks.size());
+            for (final Future<Resolution> future : executorService.invokeAll(tasks)) {
+                resolutions.add(future.get());
+            }
+            return resolutions;
+
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    /** Fix integer ambiguities for one problem.
+     * @param solver solver to use
+     * @param floatAmbiguities float estimates of ambiguities
+     * @param covariance covariance matrix of float ambiguities
+     * @return fixed ambiguities
+     */
+    private Resolution fixIntegerAmbiguities(final IntegerLeastSquareSolver solver,
+                                             final double[] floatAmbiguities,
+                                             final RealMatrix covariance) {
+
+        // sort ambiguities by increasing float variance, so the least
+        // precise ones are the first removed in partial ambiguity resolution
+        final int n = floatAmbiguities.length;
+        final Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparingDouble(i -> covariance.getEntry(i, i)));
+
+        for (int size = n; size > 0 && (size == n || size >= minFixed); --size) {
+
+            // set up the Integer Least Square problem for the subset
+            final int[]    indirection = new int[size];
+            for (int i = 0; i < size; ++i) {
+                indirection[i] = sorted[i];
+            }
+            Arrays.sort(indirection);
+            final double[] subset = new double[size];
+            for (int i = 0; i < size; ++i) {
+                subset[i] = floatAmbiguities[indirection[i]];
+            }
+
+            // solve the ILS problem
+            final IntegerLeastSquareSolution[] candidates =
+                            solver.solveILS(acceptance.numberOfCandidates(), subset, indirection, covariance);
+
+            // check acceptance
+            if (candidates.length > 0 && candidates.length >= acceptance.numberOfCandidates()) {
+                final IntegerLeastSquareSolution bestCandidate = acceptance.accept(candidates);
+                if (bestCandidate != null) {
+                    return new Resolution(indirection, bestCandidate);
+                }
+            }
+
+        }
+
+        // no subset could be fixed
+        return new Resolution(new int[0], null);
+
+    }
+
+    /** Container for the fixed ambiguities of one problem. */
+    public static class Resolution {
+
+        /** Indices of the fixed ambiguities. */
+        private final int[] indices;
+
+        /** Accepted solution for the fixed ambiguities (null if none were fixed). */
+        private final IntegerLeastSquareSolution solution;
+
+        /** Simple constructor.
+         * @param indices indices of the fixed ambiguities
+         * @param solution accepted solution for the fixed ambiguities (null if none were fixed)
+         */
+        Resolution(final int[] indices, final IntegerLeastSquareSolution solution) {
+            this.indices  = indices;
+            this.solution = solution;
+        }
+
+        /** Check if all ambiguities of the problem have been fixed.
+         * @param size size of the problem
+         * @return true if all ambiguities have been fixed
+         */
+        public boolean isFullyFixed(final int size) {
+            return indices.length == size;
+        }
+
+        /** Get the indices of the fixed ambiguities.
+         * @return indices of the fixed ambiguities, in increasing order
+         * (empty if no ambiguities could be fixed)
+         */
+        public int[] getFixedIndices() {
+            return indices.clone();
+        }
+
+        /** Get the fixed values of the ambiguities.
+         * @return fixed values of the ambiguities, in the same order as {@link #getFixedIndices()}
+         */
+        public long[] getFixedValues() {
+            return solution == null ? new long[0] : solution.getSolution();
+        }
+
+        /** Get the accepted solution.
+         * @return accepted solution, or null if no ambiguities could be fixed
+         */
+        public IntegerLeastSquareSolution getSolution() {
+            return solution;
+        }
+
+    }
+
+}
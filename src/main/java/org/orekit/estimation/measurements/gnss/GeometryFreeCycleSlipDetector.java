@@ -27,7 +27,9 @@ import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.CombinedObservationDataSet;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationType;
 import org.orekit.gnss.SatelliteSystem;
 import org.orekit.time.AbsoluteDate;
 
@@ -105,6 +107,76 @@ public class GeometryFreeCycleSlipDetector extends AbstractCycleSlipDetector {
 
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void manageData(final ObservationArc arc) {
+
+        // Extract arc data
+        final SatelliteSystem system  = arc.getSatelliteSystem();
+        final String          nameSat = setName(arc.getPrnNumber(), system);
+        final AbsoluteDate[]  dates   = arc.getDates();
+
+        // Phase measurements types
+        final List<ObservationType> phaseTypes = new ArrayList<>();
+        for (final ObservationType type : arc.getObservationTypes()) {
+            if (type.getMeasurementType() == MeasurementType.CARRIER_PHASE) {
+                phaseTypes.add(type);
+            }
+        }
+        final int n = phaseTypes.size();
+
+        // Geometry-free combination of all compatible phase measurements, over the whole arc
+        final GeometryFreeCombination geometryFree = MeasurementCombinationFactory.getGeometryFreeCombination(system);
+        final double[][]   phases   = new double[n][];
+        final double[][][] combined = new double[n][n][];
+        for (int k1 = 0; k1 < n; ++k1) {
+            final ObservationType type1 = phaseTypes.get(k1);
+            phases[k1] = arc.getValues(type1);
+            for (int k2 = 0; k2 < n; ++k2) {
+                final ObservationType type2 = phaseTypes.get(k2);
+                if (type1.getFrequency(system) != type2.getFrequency(system) &&
+                    type1.getSignalCode() == type2.getSignalCode()) {
+                    combined[k1][k2] = geometryFree.combine(arc, type1, type2);
+                }
+            }
+        }
+
+        // Loop on rows, pairing available measurements the same way as epoch by epoch combination
+        final int[] available = new int[n];
+        for (int row = 0; row < dates.length; ++row) {
+
+            int m = 0;
+            for (int k = 0; k < n; ++k) {
+                if (!Double.isNaN(phases[k][row])) {
+                    available[m++] = k;
+                }
+            }
+
+            for (int i = 0; i < m - 1; i++) {
+                for (int j = 1; j < m; j++) {
+                    final double[] column = combined[available[i]][available[j]];
+                    if (column != null && !Double.isNaN(column[row])) {
+                        // Check for cycle-slip detection
+                        final Frequency frequency = phaseTypes.get(available[i]).getFrequency(system);
+                        final boolean slip = cycleSlipDetection(nameSat, dates[row], column[row], frequency);
+                        if (!slip) {
+                            // Update cycle slip data
+                            cycleSlipDataSet(nameSat, dates[row], column[row], frequency);
+                        }
+                    }
+                }
+            }
+
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected GeometryFreeCycleSlipDetector copy() {
+        return new GeometryFreeCycleSlipDetector(getMaxTimeBeetween2Measurement(), threshold, getMinMeasurementNumber());
+    }
+
     /**
      * Compute if there is a cycle slip at an specific date.
      * @param nameSat name of the satellite, on the pre-defined format (e.g.: GPS - 07 for satellite 7 of GPS constellation)
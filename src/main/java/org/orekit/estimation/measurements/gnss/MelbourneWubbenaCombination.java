@@ -20,11 +20,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.CombinedObservationDataSet;
+import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationData;
 import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationType;
 import org.orekit.gnss.SatelliteSystem;
 
 /**
@@ -125,6 +130,50 @@ public class MelbourneWubbenaCombination implements MeasurementCombination {
                                               observations.getRcvrClkOffset(), combined);
     }
 
+    /**
+     * Combines whole columns of an observation arc using the Melbourne-Wübbena combination.
+     * <p>
+     * This method is a bulk version of {@link #combine(ObservationDataSet)} for
+     * one specific set of observation types, it avoids building one
+     * {@link CombinedObservationData} per epoch.
+     * </p>
+     * @param arc observation arc for one satellite
+     * @param phase1 type of the phase measurement on first frequency
+     * @param phase2 type of the phase measurement on second frequency
+     * @param pseudoRange1 type of the pseudoRange measurement on first frequency
+     * @param pseudoRange2 type of the pseudoRange measurement on second frequency
+     * @return combined values for all rows of the arc ({@code Double.NaN} where one
+     * of the observations is missing)
+     * @since 10.3
+     */
+    public double[] combine(final ObservationArc arc,
+                            final ObservationType phase1, final ObservationType phase2,
+                            final ObservationType pseudoRange1, final ObservationType pseudoRange2) {
+
+        // Check frequencies consistency between phases and pseudoRanges
+        final Frequency f1 = phase1.getFrequency(system);
+        final Frequency f2 = phase2.getFrequency(system);
+        if (pseudoRange1.getFrequency(system) != f1 || pseudoRange2.getFrequency(system) != f2) {
+            throw new OrekitException(OrekitMessages.INCOMPATIBLE_FREQUENCIES_FOR_COMBINATION_OF_MEASUREMENTS,
+                                      pseudoRange1.getFrequency(system), pseudoRange2.getFrequency(system),
+                                      getName());
+        }
+
+        // Wide-Lane phase and Narrow-Lane pseudoRange combinations
+        final double[] wideLane   = MeasurementCombinationFactory.getWideLaneCombination(system).
+                                    combine(arc, phase1, phase2);
+        final double[] narrowLane = MeasurementCombinationFactory.getNarrowLaneCombination(system).
+                                    combine(arc, pseudoRange1, pseudoRange2);
+
+        final double[] combined = new double[wideLane.length];
+        for (int i = 0; i < combined.length; ++i) {
+            combined[i] = wideLane[i] - narrowLane[i];
+        }
+
+        return combined;
+
+    }
+
     /**
      * Verifies if the Melbourne-Wübbena combination is possible between both combined observation data.
      * <p>
@@ -26,8 +26,10 @@ import org.hipparchus.util.FastMath;
 import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationData;
 import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationType;
 import org.orekit.gnss.SatelliteSystem;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.Constants;
@@ -129,6 +131,75 @@ public class PhaseMinusCodeCycleSlipDetector extends AbstractCycleSlipDetector {
 
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void manageData(final ObservationArc arc) {
+
+        // Extract arc data
+        final SatelliteSystem system  = arc.getSatelliteSystem();
+        final String          nameSat = setName(arc.getPrnNumber(), system);
+        final AbsoluteDate[]  dates   = arc.getDates();
+
+        // Phase and pseudo-range measurements types
+        final List<ObservationType> pseudoRangeTypes = new ArrayList<>();
+        final List<ObservationType> phaseTypes       = new ArrayList<>();
+        for (final ObservationType type : arc.getObservationTypes()) {
+            if (type.getMeasurementType() == MeasurementType.PSEUDO_RANGE) {
+                pseudoRangeTypes.add(type);
+            } else if (type.getMeasurementType() == MeasurementType.CARRIER_PHASE) {
+                phaseTypes.add(type);
+            }
+        }
+
+        // Phase minus Code combination of all measurements sharing the same frequency, over the whole arc
+        final PhaseMinusCodeCombination phaseMinusCode = MeasurementCombinationFactory.getPhaseMinusCodeCombination(system);
+        final List<double[]>  combined    = new ArrayList<>();
+        final List<Frequency> frequencies = new ArrayList<>();
+        for (final ObservationType phaseType : phaseTypes) {
+            final Frequency frequency = phaseType.getFrequency(system);
+            final double    cOverF    = Constants.SPEED_OF_LIGHT / (frequency.getMHzFrequency() * MHZ_TO_HZ);
+            final double[]  phases    = arc.getValues(phaseType);
+            for (int i = 0; i < phases.length; ++i) {
+                // Change unit of phase measurement
+                phases[i] *= cOverF;
+            }
+            for (final ObservationType pseudoRangeType : pseudoRangeTypes) {
+                if (pseudoRangeType.getFrequency(system) == frequency) {
+                    final double[] pseudoRanges = arc.getValues(pseudoRangeType);
+                    final double[] column       = new double[phases.length];
+                    for (int i = 0; i < column.length; ++i) {
+                        column[i] = phaseMinusCode.getCombinedValue(phases[i], pseudoRanges[i]);
+                    }
+                    combined.add(column);
+                    frequencies.add(frequency);
+                }
+            }
+        }
+
+        // Loop on rows
+        for (int row = 0; row < dates.length; ++row) {
+            for (int k = 0; k < combined.size(); ++k) {
+                final double value = combined.get(k)[row];
+                if (!Double.isNaN(value)) {
+                    // Check for cycle-slip detection
+                    final boolean slip = cycleSlipDetection(nameSat, dates[row], value, frequencies.get(k));
+                    if (!slip) {
+                        // Update cycle slip data
+                        cycleSlipDataSet(nameSat, dates[row], value, frequencies.get(k));
+                    }
+                }
+            }
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected PhaseMinusCodeCycleSlipDetector copy() {
+        return new PhaseMinusCodeCycleSlipDetector(getMaxTimeBeetween2Measurement(), threshold,
+                                                   getMinMeasurementNumber(), order);
+    }
+
     /**
      * Compute if there is a cycle slip at a specific date.
      * @param nameSat name of the satellite, on the predefined format (e.g. GPS - 07 for satellite 7 of GPS constellation)
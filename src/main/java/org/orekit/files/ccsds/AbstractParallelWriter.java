@@ -0,0 +1,215 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.sampling.OrekitFixedStepHandler;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+
+/** Base class for writers generating CCSDS files for many satellites in parallel.
+ * <p>
+ * Each satellite is associated with its own propagator and its own output file.
+ * Satellites are processed in parallel, each one by a single worker thread that
+ * propagates it, formats the data lines as the steps are produced and writes
+ * them to a buffered file channel.
+ * </p>
+ * <p>
+ * As propagators are generally not thread-safe, they must not be shared between
+ * satellites.
+ * </p>
+ * @see ParallelOemWriter
+ * @see ParallelAemWriter
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public abstract class AbstractParallelWriter {
+
+    /** Size of the output buffers. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Time scale for all dates except {@link Keyword#CREATION_DATE}. */
+    private final TimeScale timeScale;
+
+    /** Metadata common to all satellites. */
+    private final Map<Keyword, String> metadata;
+
+    /** Number of threads to use. */
+    private final int nbThreads;
+
+    /** Satellites to write. */
+    private final List<Satellite> satellites;
+
+    /** Simple constructor.
+     * @param timeScale time scale for all times in the files except {@link Keyword#CREATION_DATE}
+     * @param metadata metadata common to all satellites (can be overridden for each
+     * satellite in {@link #addSatellite(Propagator, Map, Path)})
+     * @param nbThreads number of threads to use
+     */
+    protected AbstractParallelWriter(final TimeScale timeScale, final Map<Keyword, String> metadata,
+                                     final int nbThreads) {
+        this.timeScale  = timeScale;
+        this.metadata   = new LinkedHashMap<>(metadata);
+        this.nbThreads  = nbThreads;
+        this.satellites = new ArrayList<>();
+    }
+
+    /** Get the time scale for all dates except {@link Keyword#CREATION_DATE}.
+     * @return time scale
+     */
+    protected TimeScale getTimeScale() {
+        return timeScale;
+    }
+
+    /** Add a satellite.
+     * @param propagator propagator for the satellite (must not be shared with other satellites)
+     * @param satelliteMetadata metadata specific to the satellite, at least
+     * {@link Keyword#OBJECT_NAME} and {@link Keyword#OBJECT_ID}
+     * @param output path of the file to write (overwritten if it already exists)
+     */
+    public void addSatellite(final Propagator propagator, final Map<Keyword, String> satelliteMetadata,
+                             final Path output) {
+        final Map<Keyword, String> merged = new LinkedHashMap<>(metadata);
+        merged.putAll(satelliteMetadata);
+        satellites.add(new Satellite(propagator, merged, output));
+    }
+
+    /** Propagate all satellites and write their files.
+     * @param start start date of the ephemerides
+     * @param stop stop date of the ephemerides
+     * @param step time step between data lines (s)
+     * @param factory factory for the segment writers
+     */
+    protected void write(final AbsoluteDate start, final AbsoluteDate stop, final double step,
+                         final SegmentFactory factory) {
+
+        final List<Callable<Path>> tasks = new ArrayList<>(satellites.size());
+        for (final Satellite satellite : satellites) {
+            tasks.add(() -> satellite.write(start, stop, step, factory));
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+        try {
+            for (final Future<Path> future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE,
+                                      ee.getCause().getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    /** Factory for the writers of a single satellite segment. */
+    @FunctionalInterface
+    protected interface SegmentFactory {
+
+        /** Write the file header and create the segment writer.
+         * <p>
+         * This method is called from the worker threads, once for each satellite.
+         * </p>
+         * @param writer output for the satellite file
+         * @param satelliteMetadata metadata for the satellite
+         * @return step handler writing the segment as the propagation goes on
+         * @throws IOException if the header cannot be written
+         */
+        OrekitFixedStepHandler createSegment(Writer writer, Map<Keyword, String> satelliteMetadata)
+            throws IOException;
+
+    }
+
+    /** Container for one satellite. */
+    private static class Satellite {
+
+        /** Propagator for the satellite. */
+        private final Propagator propagator;
+
+        /** Metadata for the satellite. */
+        private final Map<Keyword, String> satelliteMetadata;
+
+        /** Output file. */
+        private final Path output;
+
+        /** Simple constructor.
+         * @param propagator propagator for the satellite
+         * @param satelliteMetadata metadata for the satellite
+         * @param output output file
+         */
+        Satellite(final Propagator propagator, final Map<Keyword, String> satelliteMetadata,
+                  final Path output) {
+            this.propagator        = propagator;
+            this.satelliteMetadata = satelliteMetadata;
+            this.output            = output;
+        }
+
+        /** Propagate the satellite and write its file.
+         * @param start start date of the ephemerides
+         * @param stop stop date of the ephemerides
+         * @param step time step between data lines (s)
+         * @param factory factory for the segment writers
+         * @return path of the written file
+         */
+        public Path write(final AbsoluteDate start, final AbsoluteDate stop, final double step,
+                          final SegmentFactory factory) {
+            try (FileChannel channel = FileChannel.open(output,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                                        StandardOpenOption.WRITE);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel,
+                                                                       StandardCharsets.UTF_8.newEncoder(),
+                                                                       BUFFER_SIZE),
+                                                    BUFFER_SIZE)) {
+                propagator.setMasterMode(step, factory.createSegment(writer, satelliteMetadata));
+                propagator.propagate(start, stop);
+                return output;
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.BufferedReader;
+
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Handler for ephemeris data emitted when parsing OEM files in streaming mode.
+ * <p>
+ * In streaming mode, ephemeris data lines are not stored in the {@link
+ * OEMFile.EphemeridesBlock ephemerides blocks}, they are passed to the handler
+ * as soon as they are parsed, so arbitrarily large files can be processed in
+ * constant memory.
+ * </p>
+ * @see OEMParser#parse(BufferedReader, String, OEMHandler)
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public interface OEMHandler {
+
+    /** Handle the start of an ephemerides block.
+     * <p>
+     * This method is called once the metadata of the block have been parsed,
+     * before its first ephemeris data line. The block ephemeris data lines
+     * list is empty and will remain empty.
+     * </p>
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param file file being parsed (header only)
+     * @param block block starting
+     */
+    default void blockStart(final OEMFile file, final OEMFile.EphemeridesBlock block) {
+        // nothing by default
+    }
+
+    /** Handle one ephemeris data line.
+     * @param block block containing the data line
+     * @param coordinates coordinates parsed from the data line
+     * @param hasAcceleration if true, the data line contains acceleration
+     */
+    void ephemeris(OEMFile.EphemeridesBlock block, TimeStampedPVCoordinates coordinates,
+                   boolean hasAcceleration);
+
+    /** Handle the end of an ephemerides block.
+     * <p>
+     * This method is called once all ephemeris data lines, comments and
+     * covariance matrices of the block have been parsed.
+     * </p>
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param block block ending
+     */
+    default void blockEnd(final OEMFile.EphemeridesBlock block) {
+        // nothing by default
+    }
+
+}
@@ -208,12 +208,32 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
 
     @Override
     public OEMFile parse(final BufferedReader reader, final String fileName) {
+        return parse(reader, fileName, null);
+    }
+
+    /** Parse an OEM file in streaming mode.
+     * <p>
+     * In streaming mode, ephemeris data lines are passed to the handler as soon
+     * as they are parsed, and they are <em>not</em> stored in the returned file.
+     * The returned file still contains header, metadata, comments and covariance
+     * matrices. This allows processing arbitrarily large files (for example for
+     * format conversion) in constant memory.
+     * </p>
+     * @param reader containing the text data
+     * @param fileName name of the file to parse
+     * @param handler handler for ephemeris data lines (if null, data lines
+     * are stored in the file as in {@link #parse(BufferedReader, String)})
+     * @return parsed file, without ephemeris data lines if handler is not null
+     * @since 10.3
+     */
+    public OEMFile parse(final BufferedReader reader, final String fileName, final OEMHandler handler) {
 
         try {
 
             // initialize internal data structures
             final ParseInfo pi = new ParseInfo();
             pi.fileName = fileName;
+            pi.handler  = handler;
             final OEMFile file = pi.file;
 
             // set the additional data that has been configured prior the parsing by the user.
@@ -237,6 +257,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         break;
 
                     case META_START:
+                        if (handler != null && pi.lastEphemeridesBlock != null) {
+                            handler.blockEnd(pi.lastEphemeridesBlock);
+                        }
                         file.addEphemeridesBlock();
                         pi.lastEphemeridesBlock = file.getEphemeridesBlocks().get(file.getEphemeridesBlocks().size() - 1);
                         pi.lastEphemeridesBlock.getMetaData().setLaunchYear(getLaunchYear());
@@ -272,6 +295,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
 
                     case META_STOP:
                         file.setMuUsed();
+                        if (handler != null) {
+                            handler.blockStart(file, pi.lastEphemeridesBlock);
+                        }
                         parseEphemeridesDataLines(reader, pi);
                         break;
 
@@ -295,6 +321,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         }
                 }
             }
+            if (handler != null && pi.lastEphemeridesBlock != null) {
+                handler.blockEnd(pi.lastEphemeridesBlock);
+            }
             file.checkTimeSystems();
             return file;
         } catch (IOException ioe) {
@@ -341,7 +370,11 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         } else {
                             epDataLine = new TimeStampedPVCoordinates(date, position, velocity);
                         }
-                        pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                        if (pi.handler == null) {
+                            pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                        } else {
+                            pi.handler.ephemeris(pi.lastEphemeridesBlock, epDataLine, hasAcceleration);
+                        }
                         pi.lastEphemeridesBlock.updateHasAcceleration(hasAcceleration);
                     } catch (NumberFormatException nfe) {
                         throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
@@ -472,6 +505,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         /** Stored comments. */
         private List<String> commentTmp;
 
+        /** Handler for streaming mode (null if data lines are stored). */
+        private OEMHandler handler;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             lineNumber = 0;
@@ -0,0 +1,91 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.formatting.FastDoubleFormatter;
+
+/** Writer generating AEM files for many satellites in parallel.
+ * <p>
+ * This is the attitude counterpart of {@link ParallelOemWriter}: each satellite
+ * is associated with its own propagator and its own output file, and satellites are
+ * processed in parallel, each one by a single worker thread that propagates it,
+ * formats the attitude lines with {@link FastDoubleFormatter} as the steps are produced
+ * and writes them to a buffered file channel.
+ * </p>
+ * <pre>{@code
+ * ParallelAemWriter writer = new ParallelAemWriter(utc, commonMetadata, 9, 8);
+ * for (int i = 0; i < propagators.size(); ++i) {
+ *     writer.addSatellite(propagators.get(i), satellitesMetadata.get(i), paths.get(i));
+ * }
+ * writer.write(start, stop, 60.0);
+ * }</pre>
+ * <p>
+ * The metadata must provide all the keys required by {@link StreamingAemWriter},
+ * in particular {@link Keyword#REF_FRAME_A}, {@link Keyword#REF_FRAME_B}, {@link
+ * Keyword#ATTITUDE_DIR} and {@link Keyword#ATTITUDE_TYPE}. As propagators are
+ * generally not thread-safe, they must not be shared between satellites.
+ * </p>
+ * @see StreamingAemWriter
+ * @see ParallelOemWriter
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ParallelAemWriter extends AbstractParallelWriter {
+
+    /** Formatter for attitude data. */
+    private final FastDoubleFormatter attitudeFormatter;
+
+    /** Simple constructor.
+     * @param timeScale time scale for all times in the AEM except {@link Keyword#CREATION_DATE}
+     * @param metadata metadata common to all satellites (can be overridden for each
+     * satellite in {@link #addSatellite(Propagator, Map, Path)})
+     * @param attitudeDigits number of fraction digits for attitude data
+     * (quaternion components or angles in degrees)
+     * @param nbThreads number of threads to use
+     */
+    public ParallelAemWriter(final TimeScale timeScale, final Map<Keyword, String> metadata,
+                             final int attitudeDigits, final int nbThreads) {
+        super(timeScale, metadata, nbThreads);
+        this.attitudeFormatter = new FastDoubleFormatter(attitudeDigits);
+    }
+
+    /** Propagate all satellites and write their AEM files.
+     * <p>
+     * Each file contains one segment, with {@link Keyword#START_TIME} and {@link
+     * Keyword#STOP_TIME} set to the propagation boundaries unless specified in the metadata.
+     * </p>
+     * @param start start date of the ephemerides
+     * @param stop stop date of the ephemerides
+     * @param step time step between attitude lines (s)
+     */
+    public void write(final AbsoluteDate start, final AbsoluteDate stop, final double step) {
+        write(start, stop, step, (writer, satelliteMetadata) -> {
+            final StreamingAemWriter aemWriter =
+                            new StreamingAemWriter(writer, getTimeScale(), satelliteMetadata, attitudeFormatter);
+            aemWriter.writeHeader();
+            return aemWriter.newSegment(Collections.emptyMap());
+        });
+    }
+
+}
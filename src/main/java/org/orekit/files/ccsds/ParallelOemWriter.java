@@ -0,0 +1,103 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.orekit.frames.Frame;
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.formatting.FastDoubleFormatter;
+
+/** Writer generating OEM files for many satellites in parallel.
+ * <p>
+ * Each satellite is associated with its own propagator and its own output file.
+ * Satellites are processed in parallel, each one by a single worker thread that
+ * propagates it, formats the ephemeris lines as the steps are produced and writes
+ * them to a buffered file channel. Ephemeris lines are written with a fixed number
+ * of fraction digits using {@link FastDoubleFormatter}, which is much faster than
+ * general purpose formatting and avoids text formatting becoming the bottleneck when
+ * generating ephemerides for a whole constellation. Propagation and formatting of
+ * one satellite are performed on the same thread, the parallelism is between satellites.
+ * </p>
+ * <pre>{@code
+ * ParallelOemWriter writer = new ParallelOemWriter(utc, commonMetadata, 6, 9, 8);
+ * for (int i = 0; i < propagators.size(); ++i) {
+ *     writer.addSatellite(propagators.get(i), satellitesMetadata.get(i), paths.get(i));
+ * }
+ * writer.write(FramesFactory.getEME2000(), start, stop, 60.0);
+ * }</pre>
+ * <p>
+ * As propagators are generally not thread-safe, they must not be shared between
+ * satellites.
+ * </p>
+ * @see StreamingOemWriter
+ * @see ParallelAemWriter
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ParallelOemWriter extends AbstractParallelWriter {
+
+    /** Formatter for positions. */
+    private final FastDoubleFormatter positionFormatter;
+
+    /** Formatter for velocities. */
+    private final FastDoubleFormatter velocityFormatter;
+
+    /** Simple constructor.
+     * @param timeScale time scale for all times in the OEM except {@link Keyword#CREATION_DATE}
+     * @param metadata metadata common to all satellites (can be overridden for each
+     * satellite in {@link #addSatellite(Propagator, Map, Path)})
+     * @param positionDigits number of fraction digits for positions in km
+     * (6 corresponds to millimeter accuracy)
+     * @param velocityDigits number of fraction digits for velocities in km/s
+     * (9 corresponds to micrometer per second accuracy)
+     * @param nbThreads number of threads to use
+     */
+    public ParallelOemWriter(final TimeScale timeScale, final Map<Keyword, String> metadata,
+                             final int positionDigits, final int velocityDigits,
+                             final int nbThreads) {
+        super(timeScale, metadata, nbThreads);
+        this.positionFormatter = new FastDoubleFormatter(positionDigits);
+        this.velocityFormatter = new FastDoubleFormatter(velocityDigits);
+    }
+
+    /** Propagate all satellites and write their OEM files.
+     * <p>
+     * Each file contains one segment, with {@link Keyword#START_TIME} and {@link
+     * Keyword#STOP_TIME} set to the propagation boundaries unless specified in the metadata.
+     * </p>
+     * @param frame frame in which ephemerides should be written
+     * @param start start date of the ephemerides
+     * @param stop stop date of the ephemerides
+     * @param step time step between ephemeris lines (s)
+     */
+    public void write(final Frame frame, final AbsoluteDate start, final AbsoluteDate stop,
+                      final double step) {
+        write(start, stop, step, (writer, satelliteMetadata) -> {
+            final StreamingOemWriter oemWriter =
+                            new StreamingOemWriter(writer, getTimeScale(), satelliteMetadata,
+                                                   positionFormatter, velocityFormatter);
+            oemWriter.writeHeader();
+            return oemWriter.newSegment(frame, Collections.emptyMap());
+        });
+    }
+
+}
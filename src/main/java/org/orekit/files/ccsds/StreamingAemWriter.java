@@ -17,14 +17,11 @@
 package org.orekit.files.ccsds;
 
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.LinkedHashMap;
-import java.util.Locale;
 import java.util.Map;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -35,9 +32,9 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateTimeComponents;
-import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScale;
 import org.orekit.utils.TimeStampedAngularCoordinates;
+import org.orekit.utils.formatting.DoubleFormatter;
 
 /**
  * A writer for AEM files.
@@ -222,11 +219,8 @@ public class StreamingAemWriter {
     /** New line separator for output file. See 5.4.5. */
     private static final String NEW_LINE = "\n";
 
-    /** Standardized locale to use, to ensure files can be exchanged without internationalization issues. */
-    private static final Locale STANDARDIZED_LOCALE = Locale.US;
-
-    /** String format used for all key/value pair lines. **/
-    private static final String KV_FORMAT = "%s = %s%n";
+    /** Separator between key and value in key/value pair lines. **/
+    private static final String KV_SEPARATOR = " = ";
 
     /** Output stream. */
     private final Appendable writer;
@@ -237,6 +231,9 @@ public class StreamingAemWriter {
     /** Time scale for all dates except {@link Keyword#CREATION_DATE}. */
     private final TimeScale timeScale;
 
+    /** Formatter for attitude data. */
+    private final DoubleFormatter attitudeFormatter;
+
     /**
      * Create an AEM writer that streams data to the given output stream.
      *
@@ -249,9 +246,30 @@ public class StreamingAemWriter {
     public StreamingAemWriter(final Appendable writer,
                               final TimeScale timeScale,
                               final Map<Keyword, String> metadata) {
-        this.writer    = writer;
-        this.timeScale = timeScale;
-        this.metadata  = new LinkedHashMap<>(metadata);
+        this(writer, timeScale, metadata, DoubleFormatter.FULL_PRECISION);
+    }
+
+    /**
+     * Create an AEM writer that streams data to the given output stream, with custom
+     * formatting for attitude ephemeris lines.
+     *
+     * @param writer            The output stream for the AEM file. Most methods will append data
+     *                          to this {@code writer}.
+     * @param timeScale         for all times in the AEM except {@link Keyword#CREATION_DATE}. See
+     *                          Section 4.2.5.4.2 and Annex A.
+     * @param metadata          for the satellite.
+     * @param attitudeFormatter formatter for attitude data
+     *                          (may be {@link DoubleFormatter#FULL_PRECISION})
+     * @since 10.3
+     */
+    public StreamingAemWriter(final Appendable writer,
+                              final TimeScale timeScale,
+                              final Map<Keyword, String> metadata,
+                              final DoubleFormatter attitudeFormatter) {
+        this.writer            = writer;
+        this.timeScale         = timeScale;
+        this.attitudeFormatter = attitudeFormatter;
+        this.metadata          = new LinkedHashMap<>(metadata);
 
         // Set default metadata
         this.metadata.putIfAbsent(Keyword.CCSDS_AEM_VERS, CCSDS_AEM_VERS);
@@ -270,7 +288,7 @@ public class StreamingAemWriter {
      * @throws IOException if an I/O error occurs.
      */
     private void writeKeyValue(final Keyword key, final String value) throws IOException {
-        writer.append(String.format(STANDARDIZED_LOCALE, KV_FORMAT, key.toString(), value));
+        writer.append(key.toString()).append(KV_SEPARATOR).append(value).append(NEW_LINE);
     }
 
     /**
@@ -311,16 +329,7 @@ public class StreamingAemWriter {
      * @return the String form of {@code date} with at least 9 digits of precision.
      */
     static String dateToString(final DateTimeComponents components) {
-        final TimeComponents time = components.getTime();
-        final int hour = time.getHour();
-        final int minute = time.getMinute();
-        final double second = time.getSecond();
-        // Decimal formatting classes could be static final if they were thread safe.
-        final DecimalFormatSymbols locale = new DecimalFormatSymbols(STANDARDIZED_LOCALE);
-        final DecimalFormat twoDigits = new DecimalFormat("00", locale);
-        final DecimalFormat precise = new DecimalFormat("00.0########", locale);
-        return components.getDate().toString() + "T" + twoDigits.format(hour) + ":" +
-                twoDigits.format(minute) + ":" + precise.format(second);
+        return StreamingOemWriter.dateToString(components);
     }
 
     /** A writer for a segment of an AEM. */
@@ -329,12 +338,16 @@ public class StreamingAemWriter {
         /** Metadata for this AEM Segment. */
         private final Map<Keyword, String> metadata;
 
+        /** Reusable buffer for data lines. */
+        private final StringBuilder line;
+
         /**
          * Create a new segment writer.
          * @param metadata to use when writing this segment.
          */
         private AEMSegment(final Map<Keyword, String> metadata) {
             this.metadata = metadata;
+            this.line     = new StringBuilder();
         }
 
         /**
@@ -413,19 +426,16 @@ public class StreamingAemWriter {
                                                final RotationOrder rotationOrder)
             throws IOException {
             // Epoch
-            final String epoch = dateToString(attitude.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            line.setLength(0);
+            StreamingOemWriter.appendDate(line, attitude.getDate().getComponents(timeScale));
             // Attitude data in degrees
             final AEMAttitudeType type = AEMAttitudeType.getAttitudeType(attitudeName);
             final double[]        data = type.getAttitudeData(attitude, isFirst, rotationOrder);
-            final int             size = data.length;
-            for (int index = 0; index < size; index++) {
-                writer.append(Double.toString(data[index]));
-                final String space = (index == size - 1) ? "" : " ";
-                writer.append(space);
+            for (final double d : data) {
+                attitudeFormatter.appendTo(line.append(' '), d);
             }
             // end the line
-            writer.append(NEW_LINE);
+            writer.append(line.append(NEW_LINE));
         }
 
         /**
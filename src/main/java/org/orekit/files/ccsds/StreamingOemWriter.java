@@ -17,8 +17,7 @@
 package org.orekit.files.ccsds;
 
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.math.RoundingMode;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -45,10 +44,14 @@ import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
 import org.orekit.time.DateTimeComponents;
 import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScale;
 import org.orekit.utils.TimeStampedPVCoordinates;
+import org.orekit.utils.formatting.DoubleFormatter;
+import org.orekit.utils.formatting.FastDoubleFormatter;
+import org.orekit.utils.formatting.FastLongFormatter;
 
 /**
  * A writer for OEM files.
@@ -256,12 +259,18 @@ public class StreamingOemWriter {
      * internationalization issues.
      */
     private static final Locale STANDARDIZED_LOCALE = Locale.US;
-    /** String format used for all key/value pair lines. **/
-    private static final String KV_FORMAT = "%s = %s%n";
+    /** Separator between key and value in key/value pair lines. **/
+    private static final String KV_SEPARATOR = " = ";
     /** Factor for converting meters to km. */
     private static final double M_TO_KM = 1e-3;
     /** Suffix of the name of the inertial frame attached to a planet. */
     private static final String INERTIAL_FRAME_SUFFIX = "/inertial";
+    /** Formatter for years in dates. */
+    private static final FastLongFormatter YEAR_FORMATTER = new FastLongFormatter(4, true);
+    /** Formatter for two digits fields in dates. */
+    private static final FastLongFormatter TWO_DIGITS_FORMATTER = new FastLongFormatter(2, true);
+    /** Formatter for seconds in dates (ties rounded to even, as in previous versions). */
+    private static final FastDoubleFormatter SECONDS_FORMATTER = new FastDoubleFormatter(9, RoundingMode.HALF_EVEN);
 
     /** Output stream. */
     private final Appendable writer;
@@ -269,6 +278,10 @@ public class StreamingOemWriter {
     private final Map<Keyword, String> metadata;
     /** Time scale for all dates except {@link Keyword#CREATION_DATE}. */
     private final TimeScale timeScale;
+    /** Formatter for positions. */
+    private final DoubleFormatter positionFormatter;
+    /** Formatter for velocities. */
+    private final DoubleFormatter velocityFormatter;
 
     /**
      * Create an OEM writer than streams data to the given output stream.
@@ -283,9 +296,40 @@ public class StreamingOemWriter {
     public StreamingOemWriter(final Appendable writer,
                               final TimeScale timeScale,
                               final Map<Keyword, String> metadata) {
+        this(writer, timeScale, metadata,
+             DoubleFormatter.FULL_PRECISION, DoubleFormatter.FULL_PRECISION);
+    }
+
+    /**
+     * Create an OEM writer than streams data to the given output stream, with custom
+     * formatting for ephemeris lines.
+     *
+     * <p> Writing ephemeris lines with a fixed number of fraction digits (for example
+     * using {@link FastDoubleFormatter}) is much faster than writing them with full
+     * precision, and produces smaller files.
+     *
+     * @param writer            The output stream for the OEM file. Most methods will append data
+     *                          to this {@code writer}.
+     * @param timeScale         for all times in the OEM except {@link Keyword#CREATION_DATE}. See
+     *                          Section 5.2.4.5 and Annex A.
+     * @param metadata          for the satellite. Can be overridden in {@link #newSegment(Frame,
+     *                          Map)} for a specific segment. See {@link StreamingOemWriter}.
+     * @param positionFormatter formatter for positions in km
+     *                          (may be {@link DoubleFormatter#FULL_PRECISION})
+     * @param velocityFormatter formatter for velocities in km/s
+     *                          (may be {@link DoubleFormatter#FULL_PRECISION})
+     * @since 10.3
+     */
+    public StreamingOemWriter(final Appendable writer,
+                              final TimeScale timeScale,
+                              final Map<Keyword, String> metadata,
+                              final DoubleFormatter positionFormatter,
+                              final DoubleFormatter velocityFormatter) {
 
         this.writer = writer;
         this.timeScale = timeScale;
+        this.positionFormatter = positionFormatter;
+        this.velocityFormatter = velocityFormatter;
         this.metadata = new LinkedHashMap<>(metadata);
         // set default metadata
         this.metadata.putIfAbsent(Keyword.CCSDS_OEM_VERS, CCSDS_OEM_VERS);
@@ -368,7 +412,7 @@ public class StreamingOemWriter {
      * @throws IOException if an I/O error occurs.
      */
     private void writeKeyValue(final Keyword key, final String value) throws IOException {
-        writer.append(String.format(STANDARDIZED_LOCALE, KV_FORMAT, key.toString(), value));
+        writer.append(key.toString()).append(KV_SEPARATOR).append(value).append(NEW_LINE);
     }
 
     /**
@@ -424,6 +468,8 @@ public class StreamingOemWriter {
         private final Frame frame;
         /** Metadata for this OEM Segment. */
         private final Map<Keyword, String> metadata;
+        /** Reusable buffer for data lines. */
+        private final StringBuilder line;
 
         /**
          * Create a new segment writer.
@@ -435,6 +481,7 @@ public class StreamingOemWriter {
         private Segment(final Frame frame, final Map<Keyword, String> metadata) {
             this.frame = frame;
             this.metadata = metadata;
+            this.line = new StringBuilder();
         }
 
         /**
@@ -492,16 +539,16 @@ public class StreamingOemWriter {
          */
         public void writeEphemerisLine(final TimeStampedPVCoordinates pv)
                 throws IOException {
-            final String epoch = dateToString(pv.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            line.setLength(0);
+            appendDate(line, pv.getDate().getComponents(timeScale));
             // output in km, see Section 6.6.2.1
-            writer.append(Double.toString(pv.getPosition().getX() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getPosition().getY() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getPosition().getZ() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getX() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getY() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getZ() * M_TO_KM));
-            writer.append(NEW_LINE);
+            positionFormatter.appendTo(line.append(' '), pv.getPosition().getX() * M_TO_KM);
+            positionFormatter.appendTo(line.append(' '), pv.getPosition().getY() * M_TO_KM);
+            positionFormatter.appendTo(line.append(' '), pv.getPosition().getZ() * M_TO_KM);
+            velocityFormatter.appendTo(line.append(' '), pv.getVelocity().getX() * M_TO_KM);
+            velocityFormatter.appendTo(line.append(' '), pv.getVelocity().getY() * M_TO_KM);
+            velocityFormatter.appendTo(line.append(' '), pv.getVelocity().getZ() * M_TO_KM);
+            writer.append(line.append(NEW_LINE));
         }
 
         /**
@@ -534,11 +581,12 @@ public class StreamingOemWriter {
 
                 final RealMatrix covRealMatrix = covarianceMatrix.getMatrix();
                 for (int i = 0; i < covRealMatrix.getRowDimension(); i++) {
-                    writer.append(Double.toString(covRealMatrix.getEntry(i, 0)));
+                    line.setLength(0);
+                    DoubleFormatter.FULL_PRECISION.appendTo(line, covRealMatrix.getEntry(i, 0));
                     for (int j = 1; j < i + 1; j++) {
-                        writer.append(" ").append(Double.toString(covRealMatrix.getEntry(i, j)));
+                        DoubleFormatter.FULL_PRECISION.appendTo(line.append(' '), covRealMatrix.getEntry(i, j));
                     }
-                    writer.append(NEW_LINE);
+                    writer.append(line.append(NEW_LINE));
                 }
             }
             writer.append("COVARIANCE_STOP").append(NEW_LINE).append(NEW_LINE);
@@ -584,20 +632,48 @@ public class StreamingOemWriter {
     /**
      * Convert a date to a string with more precision.
      *
+     * <p> Seconds are rounded to 9 fraction digits, ties being rounded to even
+     * (for example 12.0009765625 is written as 12.000976562).
+     *
      * @param components to convert to a String.
      * @return the String form of {@code date} with at least 9 digits of precision.
      */
     static String dateToString(final DateTimeComponents components) {
+        return appendDate(new StringBuilder(), components).toString();
+    }
+
+    /**
+     * Append a date with the same layout as {@link #dateToString(DateTimeComponents)}.
+     *
+     * <p> This method does not create any intermediate object, so it is suitable for
+     * writing millions of ephemeris lines.
+     *
+     * @param builder    builder to which date should be appended
+     * @param components to append
+     * @return the builder
+     * @since 10.3
+     */
+    static StringBuilder appendDate(final StringBuilder builder, final DateTimeComponents components) {
+        final DateComponents date = components.getDate();
         final TimeComponents time = components.getTime();
-        final int hour = time.getHour();
-        final int minute = time.getMinute();
-        final double second = time.getSecond();
-        // Decimal formatting classes could be static final if they were thread safe.
-        final DecimalFormatSymbols locale = new DecimalFormatSymbols(STANDARDIZED_LOCALE);
-        final DecimalFormat twoDigits = new DecimalFormat("00", locale);
-        final DecimalFormat precise = new DecimalFormat("00.0########", locale);
-        return components.getDate().toString() + "T" + twoDigits.format(hour) + ":" +
-                twoDigits.format(minute) + ":" + precise.format(second);
+        YEAR_FORMATTER.appendTo(builder, date.getYear()).append('-');
+        TWO_DIGITS_FORMATTER.appendTo(builder, date.getMonth()).append('-');
+        TWO_DIGITS_FORMATTER.appendTo(builder, date.getDay()).append('T');
+        TWO_DIGITS_FORMATTER.appendTo(builder, time.getHour()).append(':');
+        TWO_DIGITS_FORMATTER.appendTo(builder, time.getMinute()).append(':');
+        final int start = builder.length();
+        SECONDS_FORMATTER.appendTo(builder, time.getSecond());
+        if (builder.charAt(start + 1) == '.') {
+            // single digit integer part (after rounding)
+            builder.insert(start, '0');
+        }
+        // remove trailing zeros, keeping at least one fraction digit
+        int last = builder.length() - 1;
+        while (builder.charAt(last) == '0' && builder.charAt(last - 1) != '.') {
+            --last;
+        }
+        builder.setLength(last + 1);
+        return builder;
     }
 
 }
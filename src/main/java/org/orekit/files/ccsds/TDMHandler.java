@@ -0,0 +1,72 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.InputStream;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Handler for observations emitted when parsing TDM files in streaming mode.
+ * <p>
+ * In streaming mode, observations are not stored in the {@link
+ * TDMFile.ObservationsBlock observations blocks}, they are passed to the handler
+ * as soon as they are parsed, so arbitrarily large files can be processed in
+ * constant memory.
+ * </p>
+ * @see TDMParser#parse(InputStream, String, TDMHandler)
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public interface TDMHandler {
+
+    /** Handle the start of the data section of an observations block.
+     * <p>
+     * This method is called once the metadata of the block have been parsed,
+     * before its first observation. The block observations list is empty
+     * and will remain empty.
+     * </p>
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param file file being parsed (header only)
+     * @param block block starting
+     */
+    default void blockStart(final TDMFile file, final TDMFile.ObservationsBlock block) {
+        // nothing by default
+    }
+
+    /** Handle one observation.
+     * @param block block containing the observation
+     * @param keyword keyword of the observation (for example "RANGE" or "ANGLE_1")
+     * @param epoch epoch of the observation
+     * @param measurement value of the observation, in the units specified
+     * by the CCSDS standard for the keyword
+     */
+    void observation(TDMFile.ObservationsBlock block, String keyword,
+                     AbsoluteDate epoch, double measurement);
+
+    /** Handle the end of the data section of an observations block.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param block block ending
+     */
+    default void blockEnd(final TDMFile.ObservationsBlock block) {
+        // nothing by default
+    }
+
+}
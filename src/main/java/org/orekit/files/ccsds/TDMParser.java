@@ -282,6 +282,26 @@ public class TDMParser extends DefaultHandler {
      * @return parsed file content in a TDMFile object
      */
     public TDMFile parse(final InputStream stream, final String fileName) {
+        return parse(stream, fileName, null);
+    }
+
+    /** Parse a CCSDS Tracking Data Message in streaming mode.
+     * <p>
+     * In streaming mode, observations are passed to the handler as soon
+     * as they are parsed, and they are <em>not</em> stored in the returned file.
+     * The returned file still contains header, metadata and comments. This allows
+     * processing arbitrarily large files (for example to feed an orbit determination)
+     * in constant memory.
+     * </p>
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for observations (if null, observations
+     * are stored in the file as in {@link #parse(InputStream, String)})
+     * @return parsed file content in a TDMFile object, without observations
+     * if handler is not null
+     * @since 10.3
+     */
+    public TDMFile parse(final InputStream stream, final String fileName, final TDMHandler handler) {
 
         // Set the format of the file automatically
         // If it is obvious and was not formerly specified
@@ -289,17 +309,17 @@ public class TDMParser extends DefaultHandler {
         if (TDMFileFormat.UNKNOWN.equals(fileFormat)) {
             if (fileName.toLowerCase(Locale.US).endsWith(".txt")) {
                 // Keyvalue format case
-                return this.withFileFormat(TDMFileFormat.KEYVALUE).parse(stream, fileName);
+                return this.withFileFormat(TDMFileFormat.KEYVALUE).parse(stream, fileName, handler);
             } else if (fileName.toLowerCase(Locale.US).endsWith(".xml")) {
                 // XML format case
-                return this.withFileFormat(TDMFileFormat.XML).parse(stream, fileName);
+                return this.withFileFormat(TDMFileFormat.XML).parse(stream, fileName, handler);
             } else {
                 throw new OrekitException(OrekitMessages.CCSDS_TDM_UNKNOWN_FORMAT, fileName);
             }
         } else if (this.fileFormat.equals(TDMFileFormat.KEYVALUE)) {
-            return parseKeyValue(stream, fileName);
+            return parseKeyValue(stream, fileName, handler);
         } else if (this.fileFormat.equals(TDMFileFormat.XML)) {
-            return parseXml(stream, fileName);
+            return parseXml(stream, fileName, handler);
         } else {
             throw new OrekitException(OrekitMessages.CCSDS_TDM_UNKNOWN_FORMAT, fileName);
         }
@@ -311,30 +331,52 @@ public class TDMParser extends DefaultHandler {
      * @return parsed file content in a TDMFile object
      */
     public TDMFile parseKeyValue(final InputStream stream, final String fileName) {
+        return parseKeyValue(stream, fileName, null);
+    }
+
+    /** Parse a CCSDS Tracking Data Message with KEYVALUE format.
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param observationsHandler handler for observations in streaming mode (may be null)
+     * @return parsed file content in a TDMFile object
+     */
+    private TDMFile parseKeyValue(final InputStream stream, final String fileName,
+                                  final TDMHandler observationsHandler) {
 
         final KeyValueHandler handler = new KeyValueHandler(new ParseInfo(this.getMissionReferenceDate(),
                                                                     this.getConventions(),
                                                                     this.isSimpleEOP(),
                                                                     fileName,
-                                                                    getDataContext()));
+                                                                    getDataContext(),
+                                                                    observationsHandler));
         return handler.parse(stream, fileName);
     }
 
-
-
     /** Parse a CCSDS Tracking Data Message with XML format.
      * @param stream stream containing message
      * @param fileName name of the file containing the message (for error messages)
      * @return parsed file content in a TDMFile object
      */
     public TDMFile parseXml(final InputStream stream, final String fileName) {
+        return parseXml(stream, fileName, null);
+    }
+
+    /** Parse a CCSDS Tracking Data Message with XML format.
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param observationsHandler handler for observations in streaming mode (may be null)
+     * @return parsed file content in a TDMFile object
+     */
+    private TDMFile parseXml(final InputStream stream, final String fileName,
+                             final TDMHandler observationsHandler) {
         try {
             // Create the handler
             final XMLHandler handler = new XMLHandler(new ParseInfo(this.getMissionReferenceDate(),
                                                                     this.getConventions(),
                                                                     this.isSimpleEOP(),
                                                                     fileName,
-                                                                    getDataContext()));
+                                                                    getDataContext(),
+                                                                    observationsHandler));
 
             // Create the XML SAX parser factory
             final SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -408,18 +450,23 @@ public class TDMParser extends DefaultHandler {
         /** Boolean indicating if the parser is currently parsing a data block. */
         private boolean parsingData;
 
+        /** Handler for streaming mode (null if observations are stored). */
+        private final TDMHandler handler;
+
         /** Complete constructor.
          * @param missionReferenceDate reference date for Mission Elapsed Time or Mission Relative Time time systems
          * @param conventions IERS Conventions
          * @param simpleEOP if true, tidal effects are ignored when interpolating EOP
          * @param fileName the name of the file being parsed
          * @param dataContext used to retrieve frames, time scales, etc.
+         * @param handler handler for streaming mode (null if observations are stored)
          */
         private ParseInfo(final AbsoluteDate missionReferenceDate,
                           final IERSConventions conventions,
                           final boolean simpleEOP,
                           final String fileName,
-                          final DataContext dataContext) {
+                          final DataContext dataContext,
+                          final TDMHandler handler) {
             this.missionReferenceDate = missionReferenceDate;
             this.conventions          = conventions;
             this.simpleEOP            = simpleEOP;
@@ -432,6 +479,36 @@ public class TDMParser extends DefaultHandler {
             this.currentObservationsBlock = null;
             this.parsingMetaData = false;
             this.parsingData     = false;
+            this.handler         = handler;
+        }
+
+        /** Add an observation to the current block or pass it to the handler.
+         * @param keyword keyword of the observation
+         * @param epoch epoch of the observation
+         * @param measurement value of the observation
+         */
+        private void addObservation(final String keyword, final AbsoluteDate epoch, final double measurement) {
+            if (handler == null) {
+                currentObservationsBlock.addObservation(keyword, epoch, measurement);
+            } else {
+                handler.observation(currentObservationsBlock, keyword, epoch, measurement);
+            }
+        }
+
+        /** Notify the handler (if any) that a data section starts.
+         */
+        private void startData() {
+            if (handler != null) {
+                handler.blockStart(tdmFile, currentObservationsBlock);
+            }
+        }
+
+        /** Notify the handler (if any) that a data section ends.
+         */
+        private void endData() {
+            if (handler != null) {
+                handler.blockEnd(currentObservationsBlock);
+            }
         }
 
         /** Parse a meta-data entry.<p>
@@ -686,9 +763,7 @@ public class TDMParser extends DefaultHandler {
             }
 
             // Adds the observation to current observation block
-            parseInfo.currentObservationsBlock.addObservation(parseInfo.keyValue.getKeyword().name(),
-                                                       epoch,
-                                                       measurement);
+            parseInfo.addObservation(parseInfo.keyValue.getKeyword().name(), epoch, measurement);
         }
 
         /** Parse a CCSDS Tracking Data Message with KEYVALUE format.
@@ -761,6 +836,7 @@ public class TDMParser extends DefaultHandler {
                             case DATA_START:
                                 // Indicate the start of data parsing for this block
                                 parseInfo.parsingData = true;
+                                parseInfo.startData();
                                 break;
 
                             case DATA_STOP:
@@ -769,6 +845,7 @@ public class TDMParser extends DefaultHandler {
                                 parseInfo.commentTmp.clear();
                                 // Indicate the end of data parsing for this block
                                 parseInfo.parsingData = false;
+                                parseInfo.endData();
                                 break;
 
                             default:
@@ -966,6 +1043,7 @@ public class TDMParser extends DefaultHandler {
                     case data:
                         // Indicate the start of data parsing for this block
                         parseInfo.parsingData = true;
+                        parseInfo.startData();
                         break;
 
                     default:
@@ -1025,9 +1103,9 @@ public class TDMParser extends DefaultHandler {
                                                       parseInfo.fileName);
                         } else {
                             // Add current observation
-                            parseInfo.currentObservationsBlock.addObservation(currentObservationKeyword.name(),
-                                                                              currentObservationEpoch,
-                                                                              currentObservationMeasurement);
+                            parseInfo.addObservation(currentObservationKeyword.name(),
+                                                     currentObservationEpoch,
+                                                     currentObservationMeasurement);
                         }
                         break;
 
@@ -1049,6 +1127,7 @@ public class TDMParser extends DefaultHandler {
                         parseInfo.commentTmp.clear();
                         // Indicate the end of data parsing for this block
                         parseInfo.parsingData = false;
+                        parseInfo.endData();
                         break;
 
                     default:
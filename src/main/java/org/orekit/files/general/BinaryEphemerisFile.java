@@ -0,0 +1,440 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScales;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/**
+ * Ephemeris file in the compact binary format.
+ *
+ * <p>
+ * All numbers are stored in big-endian order, strings are stored as by
+ * {@link java.io.DataOutput#writeUTF(String)}. The file starts with a header
+ * holding the index of all segments:
+ * </p>
+ * <ul>
+ *   <li>magic number {@link #MAGIC} (int) and format {@link #VERSION} (int)</li>
+ *   <li>number of satellites (int), then for each satellite:
+ *     <ul>
+ *       <li>satellite id (string) and number of segments (int), then for each segment:
+ *         <ul>
+ *           <li>frame, frame center and time scale names (strings)</li>
+ *           <li>gravitational parameter (double)</li>
+ *           <li>number of interpolation samples (int)</li>
+ *           <li>available derivatives as {@link CartesianDerivativesFilter#getMaxOrder()} (int)</li>
+ *           <li>reference date, segment start and segment stop, each one as whole
+ *               seconds (long) and fractional seconds (double) since {@link AbsoluteDate#ARBITRARY_EPOCH}</li>
+ *           <li>number of records (int) and absolute position of the first record in the file (long)</li>
+ *         </ul>
+ *       </li>
+ *     </ul>
+ *   </li>
+ * </ul>
+ * <p>
+ * The header is followed by the records of all segments. Each segment records are
+ * stored contiguously in chronological order, as fixed-size records containing the
+ * time offset in seconds from the segment reference date (double), followed by
+ * position, velocity and acceleration coordinates (doubles), depending on the
+ * available derivatives (i.e. 4, 7 or 10 doubles per record).
+ * </p>
+ * <p>
+ * Only time scales that do not depend on Earth Orientation Parameters are supported
+ * (UTC, TAI, TT, GPS, GST, GLONASS, QZSS, IRNSS, BDT, TCG, TDB and TCB), so UT1 or
+ * GMST segments cannot be written.
+ * </p>
+ * <p>
+ * The records are not loaded in memory, they are accessed directly from a memory-mapped
+ * view of the file, using binary search for interpolation.
+ * </p>
+ * @see BinaryEphemerisParser
+ * @see BinaryEphemerisWriter
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class BinaryEphemerisFile implements EphemerisFile {
+
+    /** Magic number at the start of binary ephemeris files ("OREB" in ASCII). */
+    public static final int MAGIC = 0x4F524542;
+
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    /** Time scales supported by the format, indexed by name. */
+    static final Map<String, Function<TimeScales, TimeScale>> TIME_SCALES;
+
+    static {
+        final Map<String, Function<TimeScales, TimeScale>> map = new HashMap<>();
+        map.put("UTC",     TimeScales::getUTC);
+        map.put("TAI",     TimeScales::getTAI);
+        map.put("TT",      TimeScales::getTT);
+        map.put("GPS",     TimeScales::getGPS);
+        map.put("GST",     TimeScales::getGST);
+        map.put("GLONASS", TimeScales::getGLONASS);
+        map.put("QZSS",    TimeScales::getQZSS);
+        map.put("IRNSS",   TimeScales::getIRNSS);
+        map.put("BDT",     TimeScales::getBDT);
+        map.put("TCG",     TimeScales::getTCG);
+        map.put("TDB",     TimeScales::getTDB);
+        map.put("TCB",     TimeScales::getTCB);
+        TIME_SCALES = Collections.unmodifiableMap(map);
+    }
+
+    /** Satellites ephemerides. */
+    private final Map<String, BinarySatelliteEphemeris> satellites;
+
+    /** Simple constructor.
+     * @param satellites satellites ephemerides
+     */
+    BinaryEphemerisFile(final Map<String, BinarySatelliteEphemeris> satellites) {
+        this.satellites = satellites;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, BinarySatelliteEphemeris> getSatellites() {
+        return Collections.unmodifiableMap(satellites);
+    }
+
+    /** Get the number of doubles per record.
+     * @param filter available derivatives
+     * @return number of doubles per record, including the time offset
+     */
+    static int doublesPerRecord(final CartesianDerivativesFilter filter) {
+        return 1 + 3 * (filter.getMaxOrder() + 1);
+    }
+
+    /** Ephemeris of one satellite in a binary ephemeris file. */
+    public static class BinarySatelliteEphemeris implements SatelliteEphemeris {
+
+        /** Satellite id. */
+        private final String id;
+
+        /** Ephemeris segments. */
+        private final List<BinaryEphemerisSegment> segments;
+
+        /** Simple constructor.
+         * @param id satellite id
+         * @param segments ephemeris segments
+         */
+        BinarySatelliteEphemeris(final String id, final List<BinaryEphemerisSegment> segments) {
+            this.id       = id;
+            this.segments = segments;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMu() {
+            return segments.get(0).getMu();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<BinaryEphemerisSegment> getSegments() {
+            return Collections.unmodifiableList(segments);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStart() {
+            return segments.get(0).getStart();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStop() {
+            return segments.get(segments.size() - 1).getStop();
+        }
+
+    }
+
+    /** Ephemeris segment backed by a memory-mapped buffer. */
+    public static class BinaryEphemerisSegment implements IndexedEphemerisSegment {
+
+        /** Reference frame. */
+        private final Frame frame;
+
+        /** Frame name. */
+        private final String frameString;
+
+        /** Frame center name. */
+        private final String frameCenterString;
+
+        /** Time scale. */
+        private final TimeScale timeScale;
+
+        /** Gravitational parameter. */
+        private final double mu;
+
+        /** Number of interpolation samples. */
+        private final int interpolationSamples;
+
+        /** Available derivatives. */
+        private final CartesianDerivativesFilter filter;
+
+        /** Reference date for time offsets. */
+        private final AbsoluteDate reference;
+
+        /** Segment start. */
+        private final AbsoluteDate start;
+
+        /** Segment stop. */
+        private final AbsoluteDate stop;
+
+        /** Number of records. */
+        private final int size;
+
+        /** Size of one record in bytes. */
+        private final int recordSize;
+
+        /** Records buffer (only absolute get methods are used, so it can be shared between threads). */
+        private final ByteBuffer records;
+
+        /** Simple constructor.
+         * @param frame reference frame
+         * @param frameString frame name
+         * @param frameCenterString frame center name
+         * @param timeScale time scale
+         * @param mu gravitational parameter
+         * @param interpolationSamples number of interpolation samples
+         * @param filter available derivatives
+         * @param reference reference date for time offsets
+         * @param start segment start
+         * @param stop segment stop
+         * @param size number of records
+         * @param records records buffer
+         */
+        BinaryEphemerisSegment(final Frame frame, final String frameString, final String frameCenterString,
+                               final TimeScale timeScale, final double mu, final int interpolationSamples,
+                               final CartesianDerivativesFilter filter, final AbsoluteDate reference,
+                               final AbsoluteDate start, final AbsoluteDate stop,
+                               final int size, final ByteBuffer records) {
+            this.frame                = frame;
+            this.frameString          = frameString;
+            this.frameCenterString    = frameCenterString;
+            this.timeScale            = timeScale;
+            this.mu                   = mu;
+            this.interpolationSamples = interpolationSamples;
+            this.filter               = filter;
+            this.reference            = reference;
+            this.start                = start;
+            this.stop                 = stop;
+            this.size                 = size;
+            this.recordSize           = Double.BYTES * doublesPerRecord(filter);
+            this.records              = records;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMu() {
+            return mu;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getFrameCenterString() {
+            return frameCenterString;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getFrameString() {
+            return frameString;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getFrame() {
+            return frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getTimeScaleString() {
+            return timeScale.getName();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeScale getTimeScale() {
+            return timeScale;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getInterpolationSamples() {
+            return interpolationSamples;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CartesianDerivativesFilter getAvailableDerivatives() {
+            return filter;
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The returned list is a read-only view of the memory-mapped records,
+         * each element is built on the fly when accessed.
+         * </p>
+         */
+        @Override
+        public List<TimeStampedPVCoordinates> getCoordinates() {
+            return new RecordsList();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStart() {
+            return start;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStop() {
+            return stop;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Stream<TimeStampedPVCoordinates> getNeighbors(final AbsoluteDate date) {
+
+            if (interpolationSamples > size) {
+                throw new OrekitException(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, size);
+            }
+
+            // find central index
+            final int i = findIndex(date.durationFrom(reference));
+            if (i < 0) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                    getRecord(0).getDate(), date);
+            } else if (i >= size) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                    getRecord(size - 1).getDate(), date);
+            }
+
+            // force unbalanced range if necessary
+            final int end   = FastMath.min(size, FastMath.max(0, i - (interpolationSamples - 1) / 2) + interpolationSamples);
+            final int first = end - interpolationSamples;
+            return IntStream.range(first, end).mapToObj(this::getRecord);
+
+        }
+
+        /** Find the index of the last record at or before a time offset.
+         * @param dt time offset from reference date
+         * @return index of the record at or just before dt, -1 if dt is before
+         * the first record, or the number of records if dt is after the last record
+         */
+        private int findIndex(final double dt) {
+            if (dt < getOffset(0)) {
+                return -1;
+            } else if (dt > getOffset(size - 1)) {
+                return size;
+            }
+            int low  = 0;
+            int high = size - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (getOffset(mid) <= dt) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /** Get the time offset of a record.
+         * @param index record index
+         * @return time offset from reference date
+         */
+        private double getOffset(final int index) {
+            return records.getDouble(index * recordSize);
+        }
+
+        /** Get one record.
+         * @param index record index
+         * @return coordinates stored in the record
+         */
+        private TimeStampedPVCoordinates getRecord(final int index) {
+            final int base = index * recordSize;
+            final AbsoluteDate date = reference.shiftedBy(records.getDouble(base));
+            final Vector3D p = getVector(base + Double.BYTES);
+            final Vector3D v = filter.getMaxOrder() > 0 ? getVector(base + 4 * Double.BYTES) : Vector3D.ZERO;
+            final Vector3D a = filter.getMaxOrder() > 1 ? getVector(base + 7 * Double.BYTES) : Vector3D.ZERO;
+            return new TimeStampedPVCoordinates(date, p, v, a);
+        }
+
+        /** Get one vector.
+         * @param offset offset of the first coordinate in bytes
+         * @return vector
+         */
+        private Vector3D getVector(final int offset) {
+            return new Vector3D(records.getDouble(offset),
+                                records.getDouble(offset + Double.BYTES),
+                                records.getDouble(offset + 2 * Double.BYTES));
+        }
+
+        /** Read-only view of the records. */
+        private class RecordsList extends AbstractList<TimeStampedPVCoordinates> implements RandomAccess {
+
+            /** {@inheritDoc} */
+            @Override
+            public TimeStampedPVCoordinates get(final int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(Integer.toString(index));
+                }
+                return getRecord(index);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int size() {
+                return size;
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.BinaryEphemerisFile.BinaryEphemerisSegment;
+import org.orekit.files.general.BinaryEphemerisFile.BinarySatelliteEphemeris;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Predefined;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScales;
+import org.orekit.utils.CartesianDerivativesFilter;
+
+/**
+ * Parser for ephemeris files in the compact binary format.
+ *
+ * <p>
+ * The format is described in {@link BinaryEphemerisFile}. Only the header
+ * is read when parsing, the records of each segment are memory-mapped and
+ * accessed on demand, so parsing time does not depend on the file size.
+ * </p>
+ * <p>
+ * As the format is binary, it cannot be parsed from a {@link BufferedReader},
+ * only from a file.
+ * </p>
+ * @see BinaryEphemerisWriter
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class BinaryEphemerisParser implements EphemerisFileParser {
+
+    /** Mapping from frame name in the file to a {@link Frame}. */
+    private final Function<? super String, ? extends Frame> frameBuilder;
+
+    /** Set of time scales. */
+    private final TimeScales timeScales;
+
+    /** Create a parser using default values.
+     * <p>
+     * Frames are resolved from the names of {@link Predefined predefined frames}.
+     * </p>
+     * <p>This constructor uses the {@link DataContext#getDefault() default data context}.
+     * @see #BinaryEphemerisParser(Function, TimeScales)
+     */
+    @DefaultDataContext
+    public BinaryEphemerisParser() {
+        this(BinaryEphemerisParser::guessFrame, DataContext.getDefault().getTimeScales());
+    }
+
+    /** Create a parser.
+     * @param frameBuilder function that can construct a frame from the frame name
+     * stored in the file
+     * @param timeScales the set of time scales used for resolving time scales names
+     */
+    public BinaryEphemerisParser(final Function<? super String, ? extends Frame> frameBuilder,
+                                 final TimeScales timeScales) {
+        this.frameBuilder = frameBuilder;
+        this.timeScales   = timeScales;
+    }
+
+    /** Default string to {@link Frame} conversion for {@link #BinaryEphemerisParser()}.
+     * <p>This method uses the {@link DataContext#getDefault() default data context}.
+     * @param name name of the frame
+     * @return predefined frame with the specified name
+     */
+    @DefaultDataContext
+    private static Frame guessFrame(final String name) {
+        for (final Predefined predefined : Predefined.values()) {
+            if (predefined.getName().equals(name)) {
+                return DataContext.getDefault().getFrames().getFrame(predefined);
+            }
+        }
+        throw new OrekitException(OrekitMessages.UNKNOWN_FRAME, name);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * This method always throws an exception, as the format is binary.
+     * </p>
+     */
+    @Override
+    public BinaryEphemerisFile parse(final BufferedReader reader, final String fileName) {
+        throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, fileName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BinaryEphemerisFile parse(final String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+
+            final DataInputStream dis =
+                    new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (dis.readInt() != BinaryEphemerisFile.MAGIC || dis.readInt() != BinaryEphemerisFile.VERSION) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, fileName);
+            }
+
+            final int nbSatellites = dis.readInt();
+            final Map<String, BinarySatelliteEphemeris> satellites = new LinkedHashMap<>();
+            for (int i = 0; i < nbSatellites; ++i) {
+                final String id = dis.readUTF();
+                final int nbSegments = dis.readInt();
+                final List<BinaryEphemerisSegment> segments = new ArrayList<>(nbSegments);
+                for (int j = 0; j < nbSegments; ++j) {
+                    segments.add(parseSegment(dis, channel, fileName));
+                }
+                if (segments.isEmpty()) {
+                    throw new OrekitException(OrekitMessages.CORRUPTED_FILE, fileName);
+                }
+                satellites.put(id, new BinarySatelliteEphemeris(id, segments));
+            }
+
+            return new BinaryEphemerisFile(satellites);
+
+        } catch (EOFException eof) {
+            throw new OrekitException(eof, OrekitMessages.UNEXPECTED_END_OF_FILE, fileName);
+        }
+    }
+
+    /** Parse one segment header and map its records.
+     * @param dis stream positioned at segment header start
+     * @param channel file channel
+     * @param fileName name of the file
+     * @return parsed segment
+     * @throws IOException if the file cannot be read
+     */
+    private BinaryEphemerisSegment parseSegment(final DataInputStream dis, final FileChannel channel,
+                                                final String fileName)
+        throws IOException {
+
+        final String frameString          = dis.readUTF();
+        final String frameCenterString    = dis.readUTF();
+        final String timeScaleString      = dis.readUTF();
+        final double mu                   = dis.readDouble();
+        final int    interpolationSamples = dis.readInt();
+        final int    maxOrder             = dis.readInt();
+        final AbsoluteDate reference      = readDate(dis);
+        final AbsoluteDate start          = readDate(dis);
+        final AbsoluteDate stop           = readDate(dis);
+        final int    size                 = dis.readInt();
+        final long   position             = dis.readLong();
+
+        if (maxOrder < 0 || maxOrder > 2 || size < 1) {
+            throw new OrekitException(OrekitMessages.CORRUPTED_FILE, fileName);
+        }
+        final CartesianDerivativesFilter filter = CartesianDerivativesFilter.getFilter(maxOrder);
+        final long length = Double.BYTES * (long) BinaryEphemerisFile.doublesPerRecord(filter) * size;
+        if (length > Integer.MAX_VALUE || position < 0) {
+            throw new OrekitException(OrekitMessages.CORRUPTED_FILE, fileName);
+        }
+        if (position + length > channel.size()) {
+            throw new OrekitException(OrekitMessages.UNEXPECTED_END_OF_FILE, fileName);
+        }
+        final ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+        return new BinaryEphemerisSegment(frameBuilder.apply(frameString), frameString,
+                                          frameCenterString, resolveTimeScale(timeScaleString, fileName),
+                                          mu, interpolationSamples, filter, reference,
+                                          start, stop,
+                                          size, records);
+
+    }
+
+    /** Read a date.
+     * @param dis input stream
+     * @return date read
+     * @throws IOException if the file cannot be read
+     */
+    private AbsoluteDate readDate(final DataInputStream dis) throws IOException {
+        final long   seconds  = dis.readLong();
+        final double fraction = dis.readDouble();
+        return AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(seconds).shiftedBy(fraction);
+    }
+
+    /** Resolve a time scale from its name.
+     * @param name time scale name
+     * @param fileName name of the file
+     * @return time scale
+     */
+    private TimeScale resolveTimeScale(final String name, final String fileName) {
+        final Function<TimeScales, TimeScale> resolver = BinaryEphemerisFile.TIME_SCALES.get(name);
+        if (resolver == null) {
+            throw new OrekitException(OrekitMessages.UNKNOWN_TIME_SCALE, name);
+        }
+        return resolver.apply(timeScales);
+    }
+
+}
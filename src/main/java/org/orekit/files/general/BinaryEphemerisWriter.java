@@ -0,0 +1,233 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.files.general.EphemerisFile.SatelliteEphemeris;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/**
+ * Writer for ephemeris files in the compact binary format.
+ *
+ * <p>
+ * The format is described in {@link BinaryEphemerisFile}. Any {@link EphemerisFile}
+ * can be written, for example an {@link OrekitEphemerisFile} built from the states
+ * of an integrated ephemeris, and reloaded with {@link BinaryEphemerisParser}.
+ * </p>
+ * <p>
+ * As the format is binary, it cannot be written to an {@link Appendable}, only
+ * to a file or an {@link OutputStream}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class BinaryEphemerisWriter implements EphemerisFileWriter {
+
+    /** Simple constructor.
+     */
+    public BinaryEphemerisWriter() {
+        // nothing to do
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * This method always throws an exception, as the format is binary.
+     * </p>
+     */
+    @Override
+    public void write(final Appendable writer, final EphemerisFile ephemerisFile) {
+        throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, writer);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If some segment uses a time scale that is not supported by the format,
+     * an exception is thrown before the file is created.
+     * </p>
+     */
+    @Override
+    public void write(final String outputFilePath, final EphemerisFile ephemerisFile)
+        throws IOException {
+        checkTimeScales(ephemerisFile);
+        try (OutputStream out = Files.newOutputStream(Paths.get(outputFilePath))) {
+            write(out, ephemerisFile);
+        }
+    }
+
+    /** Write an ephemeris file to a stream.
+     * <p>
+     * If some segment uses a time scale that is not supported by the format,
+     * an exception is thrown before anything is written to the stream.
+     * </p>
+     * @param out output stream (will be flushed but not closed)
+     * @param ephemerisFile ephemeris file to write
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(final OutputStream out, final EphemerisFile ephemerisFile)
+        throws IOException {
+
+        checkTimeScales(ephemerisFile);
+
+        final List<SatelliteEphemeris> satellites = new ArrayList<>(ephemerisFile.getSatellites().values());
+
+        // compute the records positions, knowing the header size
+        // does not depend on the positions themselves
+        final ByteArrayOutputStream dry = new ByteArrayOutputStream();
+        writeHeader(new DataOutputStream(dry), satellites, null);
+        final List<Long> positions = new ArrayList<>();
+        long position = dry.size();
+        for (final SatelliteEphemeris satellite : satellites) {
+            for (final EphemerisSegment segment : satellite.getSegments()) {
+                positions.add(position);
+                position += Double.BYTES * (long) BinaryEphemerisFile.doublesPerRecord(segment.getAvailableDerivatives()) *
+                            segment.getCoordinates().size();
+            }
+        }
+
+        final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        writeHeader(dos, satellites, positions);
+        for (final SatelliteEphemeris satellite : satellites) {
+            for (final EphemerisSegment segment : satellite.getSegments()) {
+                writeRecords(dos, segment);
+            }
+        }
+        dos.flush();
+
+    }
+
+    /** Check all segments use time scales supported by the format.
+     * @param ephemerisFile ephemeris file to write
+     */
+    private void checkTimeScales(final EphemerisFile ephemerisFile) {
+        for (final SatelliteEphemeris satellite : ephemerisFile.getSatellites().values()) {
+            for (final EphemerisSegment segment : satellite.getSegments()) {
+                final String name = segment.getTimeScale().getName();
+                if (!BinaryEphemerisFile.TIME_SCALES.containsKey(name)) {
+                    throw new OrekitException(OrekitMessages.UNKNOWN_TIME_SCALE, name);
+                }
+            }
+        }
+    }
+
+    /** Write the file header.
+     * @param dos output stream
+     * @param satellites satellites to write
+     * @param positions records positions for all segments (null for a dry run)
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeHeader(final DataOutputStream dos, final List<SatelliteEphemeris> satellites,
+                             final List<Long> positions)
+        throws IOException {
+        dos.writeInt(BinaryEphemerisFile.MAGIC);
+        dos.writeInt(BinaryEphemerisFile.VERSION);
+        dos.writeInt(satellites.size());
+        int index = 0;
+        for (final SatelliteEphemeris satellite : satellites) {
+            dos.writeUTF(satellite.getId());
+            dos.writeInt(satellite.getSegments().size());
+            for (final EphemerisSegment segment : satellite.getSegments()) {
+
+                final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+                if (coordinates.isEmpty()) {
+                    throw new OrekitException(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, 0);
+                }
+                final AbsoluteDate reference = coordinates.get(0).getDate();
+
+                dos.writeUTF(segment.getFrameString() == null ?
+                             segment.getFrame().getName() : segment.getFrameString());
+                dos.writeUTF(segment.getFrameCenterString() == null ? "" : segment.getFrameCenterString());
+                dos.writeUTF(segment.getTimeScale().getName());
+                dos.writeDouble(segment.getMu());
+                dos.writeInt(segment.getInterpolationSamples());
+                dos.writeInt(segment.getAvailableDerivatives().getMaxOrder());
+
+                writeDate(dos, reference);
+                writeDate(dos, segment.getStart());
+                writeDate(dos, segment.getStop());
+                dos.writeInt(coordinates.size());
+                dos.writeLong(positions == null ? 0L : positions.get(index++));
+
+            }
+        }
+    }
+
+    /** Write a date.
+     * <p>
+     * The date is split in whole and fractional seconds to preserve its accuracy.
+     * </p>
+     * @param dos output stream
+     * @param date date to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeDate(final DataOutputStream dos, final AbsoluteDate date)
+        throws IOException {
+        final long seconds = (long) FastMath.floor(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+        dos.writeLong(seconds);
+        dos.writeDouble(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(seconds)));
+    }
+
+    /** Write the records of one segment.
+     * @param dos output stream
+     * @param segment segment to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeRecords(final DataOutputStream dos, final EphemerisSegment segment)
+        throws IOException {
+        final CartesianDerivativesFilter filter = segment.getAvailableDerivatives();
+        final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+        final AbsoluteDate reference = coordinates.get(0).getDate();
+        for (final TimeStampedPVCoordinates pv : coordinates) {
+            dos.writeDouble(pv.getDate().durationFrom(reference));
+            writeVector(dos, pv.getPosition());
+            if (filter.getMaxOrder() > 0) {
+                writeVector(dos, pv.getVelocity());
+            }
+            if (filter.getMaxOrder() > 1) {
+                writeVector(dos, pv.getAcceleration());
+            }
+        }
+    }
+
+    /** Write a vector.
+     * @param dos output stream
+     * @param v vector to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeVector(final DataOutputStream dos, final Vector3D v)
+        throws IOException {
+        dos.writeDouble(v.getX());
+        dos.writeDouble(v.getY());
+        dos.writeDouble(v.getZ());
+    }
+
+}
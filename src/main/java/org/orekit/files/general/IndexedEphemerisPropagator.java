@@ -0,0 +1,130 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import org.orekit.attitudes.InertialProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/**
+ * A {@link org.orekit.propagation.Propagator Propagator} interpolating
+ * directly from an {@link IndexedEphemerisSegment}.
+ *
+ * <p>
+ * This class behaves as {@link EphemerisSegmentPropagator}, but does not copy
+ * the coordinates in a cache.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+class IndexedEphemerisPropagator extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Segment from which this propagator is built. */
+    private final IndexedEphemerisSegment segment;
+
+    /** Inertial frame used for creating orbits. */
+    private final Frame inertialFrame;
+
+    /** Frame of the ephemeris data. */
+    private final Frame ephemerisFrame;
+
+    /** Create a propagator from an indexed ephemeris segment.
+     * @param segment segment containing the data for this propagator
+     * @exception OrekitIllegalArgumentException if the segment contains
+     * fewer coordinates than its number of interpolation samples
+     */
+    IndexedEphemerisPropagator(final IndexedEphemerisSegment segment) {
+        super(new InertialProvider(segment.getInertialFrame()));
+        final int size = segment.getCoordinates().size();
+        if (segment.getInterpolationSamples() > size) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, size);
+        }
+        this.segment        = segment;
+        this.ephemerisFrame = segment.getFrame();
+        this.inertialFrame  = segment.getInertialFrame();
+        // set the initial state so getFrame() works
+        final TimeStampedPVCoordinates ic = segment.getCoordinates().get(0);
+        final TimeStampedPVCoordinates icInertial = ephemerisFrame
+                .getTransformTo(inertialFrame, ic.getDate())
+                .transformPVCoordinates(ic);
+        super.resetInitialState(new SpacecraftState(new CartesianOrbit(icInertial, inertialFrame, segment.getMu()),
+                                                    getAttitudeProvider().getAttitude(icInertial.toTaylorProvider(inertialFrame),
+                                                                                      ic.getDate(), inertialFrame),
+                                                    DEFAULT_MASS));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame) {
+        final TimeStampedPVCoordinates point =
+                TimeStampedPVCoordinates.interpolate(date, segment.getAvailableDerivatives(),
+                                                     segment.getNeighbors(date));
+        return ephemerisFrame.getTransformTo(frame, date).transformPVCoordinates(point);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Orbit propagateOrbit(final AbsoluteDate date) {
+        return new CartesianOrbit(getPVCoordinates(date, inertialFrame), inertialFrame, segment.getMu());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return segment.getStart();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return segment.getStop();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double getMass(final AbsoluteDate date) {
+        return DEFAULT_MASS;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState getInitialState() {
+        return basicPropagate(getMinDate());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resetInitialState(final SpacecraftState state) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+}
@@ -0,0 +1,61 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.util.stream.Stream;
+
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/**
+ * An {@link EphemerisSegment} that can select interpolation neighbors by itself.
+ *
+ * <p>
+ * Segments implementing this interface maintain their own index of the coordinates,
+ * so their propagator does not need to copy all {@link #getCoordinates() coordinates}
+ * in a cache before interpolating.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public interface IndexedEphemerisSegment extends EphemerisSegment {
+
+    /** Get the coordinates to use for interpolating at a date.
+     * <p>
+     * The neighbors must be selected the same way {@link
+     * org.orekit.utils.ImmutableTimeStampedCache#getNeighbors(AbsoluteDate)} does,
+     * i.e. {@link #getInterpolationSamples()} coordinates centered around the date,
+     * shifted as needed near the segment boundaries.
+     * </p>
+     * @param central central date
+     * @return coordinates around the date, in chronological order
+     */
+    Stream<TimeStampedPVCoordinates> getNeighbors(AbsoluteDate central);
+
+    /** {@inheritDoc}
+     * <p>
+     * The propagator interpolates using {@link #getNeighbors(AbsoluteDate)}.
+     * </p>
+     */
+    @Override
+    default BoundedPropagator getPropagator() {
+        return new IndexedEphemerisPropagator(this);
+    }
+
+}
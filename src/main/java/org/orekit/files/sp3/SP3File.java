@@ -16,16 +16,25 @@
  */
 package org.orekit.files.sp3;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.files.general.EphemerisFile;
+import org.orekit.files.general.IndexedEphemerisSegment;
 import org.orekit.frames.Frame;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.time.AbsoluteDate;
@@ -42,6 +51,9 @@ public class SP3File implements EphemerisFile {
     /** String representation of the center of ephemeris coordinate system. **/
     public static final String SP3_FRAME_CENTER_STRING = "EARTH";
 
+    /** Number of stored components per coordinate (position, velocity, clock and clock rate). */
+    static final int COMPONENTS = 8;
+
     /** File type indicator. */
     public enum SP3FileType {
         /** GPS only file. */
@@ -490,19 +502,37 @@ public class SP3File implements EphemerisFile {
      * Adds a new P/V coordinate for a given satellite.
      *
      * @param satId the satellite identifier
-     * @param coord the P/V coordinate of the satellite
+     * @param date date of the coordinate
+     * @param values array containing position, velocity, clock correction and clock rate
+     * @param offset index of the first value to use in the array
      */
-    void addSatelliteCoordinate(final String satId, final SP3Coordinate coord) {
-        satellites.get(satId).coordinates.add(coord);
+    void addSatelliteCoordinate(final String satId, final AbsoluteDate date,
+                                final double[] values, final int offset) {
+        satellites.get(satId).addCoordinate(date, values, offset);
     }
 
-    /** An ephemeris for a single satellite in a SP3 file. */
-    public class SP3Ephemeris implements SatelliteEphemeris, EphemerisSegment {
+    /** An ephemeris for a single satellite in a SP3 file.
+     * <p>
+     * Coordinates are stored in primitive arrays, {@link SP3Coordinate} instances
+     * are only built on demand, and interpolation neighbors are found by binary
+     * search on precomputed time offsets.
+     * </p>
+     */
+    public class SP3Ephemeris implements SatelliteEphemeris, IndexedEphemerisSegment {
+
+        /** Initial capacity. */
+        private static final int INITIAL_CAPACITY = 96;
 
         /** Satellite ID. */
         private final String id;
-        /** Ephemeris Data. */
-        private final List<SP3Coordinate> coordinates;
+        /** Dates of the coordinates. */
+        private AbsoluteDate[] dates;
+        /** Time offsets of the coordinates with respect to the first one. */
+        private double[] offsets;
+        /** Coordinates components. */
+        private double[] components;
+        /** Number of coordinates. */
+        private int size;
         /** Accuracy in m. */
         private double accuracy;
 
@@ -512,8 +542,11 @@ public class SP3File implements EphemerisFile {
          * @param id of the satellite.
          */
         SP3Ephemeris(final String id) {
-            this.id = id;
-            this.coordinates = new ArrayList<>();
+            this.id         = id;
+            this.dates      = new AbsoluteDate[INITIAL_CAPACITY];
+            this.offsets    = new double[INITIAL_CAPACITY];
+            this.components = new double[COMPONENTS * INITIAL_CAPACITY];
+            this.size       = 0;
         }
 
         @Override
@@ -561,9 +594,14 @@ public class SP3File implements EphemerisFile {
             return filter;
         }
 
+        /** {@inheritDoc}
+         * <p>
+         * The returned list is a read-only view, its elements are built on the fly.
+         * </p>
+         */
         @Override
         public List<SP3Coordinate> getCoordinates() {
-            return Collections.unmodifiableList(this.coordinates);
+            return new CoordinatesList();
         }
 
         /** Returns a list containing only {@code this}. */
@@ -574,17 +612,119 @@ public class SP3File implements EphemerisFile {
 
         @Override
         public AbsoluteDate getStart() {
-            return coordinates.get(0).getDate();
+            return getDate(0);
         }
 
         @Override
         public AbsoluteDate getStop() {
-            return coordinates.get(coordinates.size() - 1).getDate();
+            return getDate(size - 1);
         }
 
         @Override
         public BoundedPropagator getPropagator() {
-            return EphemerisSegment.super.getPropagator();
+            return IndexedEphemerisSegment.super.getPropagator();
+        }
+
+        @Override
+        public Stream<TimeStampedPVCoordinates> getNeighbors(final AbsoluteDate central) {
+
+            if (interpolationSamples > size) {
+                throw new OrekitException(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, size);
+            }
+
+            // find central index
+            final int i = findIndex(central);
+            if (i < 0) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                    getStart(), central);
+            } else if (i >= size) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                    getStop(), central);
+            }
+
+            // force unbalanced range if necessary
+            final int end   = FastMath.min(size, FastMath.max(0, i - (interpolationSamples - 1) / 2) + interpolationSamples);
+            final int first = end - interpolationSamples;
+            return IntStream.range(first, end).mapToObj(this::getCoordinate);
+
+        }
+
+        /** Find the index of the last coordinate at or before a date.
+         * @param date date to check
+         * @return index of the coordinate at or just before date, -1 if date is before
+         * the first coordinate, or the number of coordinates if date is after the last one
+         */
+        private int findIndex(final AbsoluteDate date) {
+            if (size == 0) {
+                return -1;
+            }
+            final double dt = date.durationFrom(dates[0]);
+            if (dt < 0) {
+                return -1;
+            } else if (dt > offsets[size - 1]) {
+                return size;
+            }
+            int low  = 0;
+            int high = size - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= dt) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /** Add a coordinate.
+         * @param date date of the coordinate
+         * @param values array containing position, velocity, clock correction and clock rate
+         * @param offset index of the first value to use in the array
+         */
+        void addCoordinate(final AbsoluteDate date, final double[] values, final int offset) {
+            if (size == dates.length) {
+                final int capacity = 2 * size;
+                dates      = Arrays.copyOf(dates, capacity);
+                offsets    = Arrays.copyOf(offsets, capacity);
+                components = Arrays.copyOf(components, COMPONENTS * capacity);
+            }
+            dates[size]   = date;
+            offsets[size] = size == 0 ? 0.0 : date.durationFrom(dates[0]);
+            System.arraycopy(values, offset, components, COMPONENTS * size, COMPONENTS);
+            ++size;
+        }
+
+        /** Get the date of a coordinate.
+         * @param index index of the coordinate
+         * @return date of the coordinate
+         * @exception IndexOutOfBoundsException if index is not between 0 and the number of coordinates
+         */
+        private AbsoluteDate getDate(final int index) {
+            checkIndex(index);
+            return dates[index];
+        }
+
+        /** Check a coordinate index.
+         * @param index index of the coordinate
+         * @exception IndexOutOfBoundsException if index is not between 0 and the number of coordinates
+         */
+        private void checkIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+        }
+
+        /** Get a coordinate.
+         * @param index index of the coordinate
+         * @return coordinate
+         */
+        private SP3Coordinate getCoordinate(final int index) {
+            final int base = COMPONENTS * index;
+            return new SP3Coordinate(dates[index],
+                                     new Vector3D(components[base], components[base + 1], components[base + 2]),
+                                     new Vector3D(components[base + 3], components[base + 4], components[base + 5]),
+                                     components[base + 6], components[base + 7]);
         }
 
         /**
@@ -608,6 +748,22 @@ public class SP3File implements EphemerisFile {
             return accuracy;
         }
 
+        /** Read-only view of the coordinates. */
+        private class CoordinatesList extends AbstractList<SP3Coordinate> implements RandomAccess {
+
+            @Override
+            public SP3Coordinate get(final int index) {
+                checkIndex(index);
+                return getCoordinate(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+        }
+
     }
 
     /** A single record of position clock and possibly derivatives in an SP3 file. */
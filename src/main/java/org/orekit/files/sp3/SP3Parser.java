@@ -23,20 +23,27 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
-import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.general.EphemerisFileParser;
-import org.orekit.files.sp3.SP3File.SP3Coordinate;
 import org.orekit.files.sp3.SP3File.SP3FileType;
 import org.orekit.files.sp3.SP3File.TimeSystem;
 import org.orekit.frames.Frame;
@@ -64,6 +71,9 @@ public class SP3Parser implements EphemerisFileParser {
     /** Spaces delimiters. */
     private static final String SPACES = "\\s+";
 
+    /** Number of epochs decoded together. */
+    private static final int EPOCHS_PER_BATCH = 16;
+
     /** One millimeter, in meters. */
     private static final double MILLIMETER = 1.0e-3;
 
@@ -179,40 +189,78 @@ public class SP3Parser implements EphemerisFileParser {
     @Override
     public SP3File parse(final BufferedReader reader,
                          final String fileName) throws IOException {
+        return parse(reader, fileName, 1);
+    }
 
-        // initialize internal data structures
-        final ParseInfo pi = new ParseInfo();
-
-        int lineNumber = 0;
-        Stream<LineParser> candidateParsers = Stream.of(LineParser.HEADER_VERSION);
-        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-            ++lineNumber;
-            final String l = line;
-            final Optional<LineParser> selected = candidateParsers.filter(p -> p.canHandle(l)).findFirst();
-            if (selected.isPresent()) {
+    /**
+     * Parse a SP3 file, decoding epochs in parallel.
+     *
+     * <p> Header lines are parsed sequentially. Data lines are grouped in batches of
+     * consecutive epochs which are decoded in parallel and merged back in chronological
+     * order, so the result is the same as the one from {@link #parse(BufferedReader, String)}.
+     *
+     * @param reader    containing the text data in the SP3 file.
+     * @param fileName  path to the file, only used for error messages.
+     * @param nbThreads number of threads to use for decoding epochs (if 1, everything
+     *                  is done in the calling thread)
+     * @return a parsed SP3 file.
+     * @throws IOException if {@code reader} throws one.
+     * @since 10.3
+     */
+    public SP3File parse(final BufferedReader reader,
+                         final String fileName,
+                         final int nbThreads) throws IOException {
+
+        final ExecutorService executorService = nbThreads > 1 ? Executors.newFixedThreadPool(nbThreads) : null;
+        try {
+
+            // initialize internal data structures
+            final ParseInfo pi = new ParseInfo(fileName, executorService, 2 * nbThreads);
+
+            int lineNumber = 0;
+            List<LineParser> candidateParsers = Collections.singletonList(LineParser.HEADER_VERSION);
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                ++lineNumber;
+                LineParser selected = null;
+                for (final LineParser candidate : candidateParsers) {
+                    if (candidate.canHandle(line)) {
+                        selected = candidate;
+                        break;
+                    }
+                }
+                if (selected == null) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              lineNumber, fileName, line);
+                }
                 try {
-                    selected.get().parse(line, pi);
+                    pi.lineNumber = lineNumber;
+                    selected.parse(line, pi);
                 } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
                     throw new OrekitException(e,
                                               OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                               lineNumber, fileName, line);
                 }
-                candidateParsers = selected.get().allowedNext();
-            } else {
-                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                          lineNumber, fileName, line);
-            }
-            if (pi.done) {
-                if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
-                    throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
-                                              pi.nbEpochs, fileName, pi.file.getNumberOfEpochs());
+                candidateParsers = selected.getAllowedNext();
+                if (pi.done) {
+                    pi.mergeAll();
+                    if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
+                        throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
+                                                  pi.nbEpochs, fileName, pi.file.getNumberOfEpochs());
+                    }
+                    return pi.file;
                 }
-                return pi.file;
             }
-        }
 
-        // we never reached the EOF marker
-        throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+            // we never reached the EOF marker,
+            // but errors in the decoded lines must be reported first
+            pi.mergeAll();
+            throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+
+        } finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+            }
+        }
 
     }
 
@@ -250,17 +298,26 @@ public class SP3Parser implements EphemerisFileParser {
         /** Set of time scales for parsing dates. */
         private final TimeScales timeScales;
 
+        /** Name of the file. */
+        private final String fileName;
+
+        /** Executor service for decoding epochs (null for decoding in the parsing thread). */
+        private final ExecutorService executorService;
+
+        /** Maximum number of batches being decoded at the same time. */
+        private final int maxPending;
+
+        /** Batches being decoded, in chronological order. */
+        private final Deque<Future<EpochsBatch>> pending;
+
         /** The corresponding SP3File object. */
         private SP3File file;
 
-        /** The latest epoch as read from the SP3 file. */
-        private AbsoluteDate latestEpoch;
-
-        /** The latest position as read from the SP3 file. */
-        private Vector3D latestPosition;
+        /** Batch currently filled. */
+        private EpochsBatch batch;
 
-        /** The latest clock value as read from the SP3 file. */
-        private double latestClock;
+        /** Number of the line being parsed. */
+        private int lineNumber;
 
         /** Indicates if the SP3 file has velocity entries. */
         private boolean hasVelocityEntries;
@@ -286,13 +343,20 @@ public class SP3Parser implements EphemerisFileParser {
         /** The base for clock/rate. */
         //private double clockBase;
 
-        /** Create a new {@link ParseInfo} object. */
-        protected ParseInfo() {
-            this.timeScales = SP3Parser.this.timeScales;
+        /** Create a new {@link ParseInfo} object.
+         * @param fileName name of the file
+         * @param executorService executor service for decoding epochs
+         * (null for decoding in the parsing thread)
+         * @param maxPending maximum number of batches being decoded at the same time
+         */
+        protected ParseInfo(final String fileName, final ExecutorService executorService, final int maxPending) {
+            this.timeScales      = SP3Parser.this.timeScales;
+            this.fileName        = fileName;
+            this.executorService = executorService;
+            this.maxPending      = maxPending;
+            this.pending         = new ArrayDeque<>();
             file               = new SP3File(mu, interpolationSamples, frameBuilder);
-            latestEpoch        = null;
-            latestPosition     = null;
-            latestClock        = 0.0;
+            batch              = null;
             hasVelocityEntries = false;
             timeScale          = timeScales.getGPS();
             maxSatellites      = 0;
@@ -302,6 +366,242 @@ public class SP3Parser implements EphemerisFileParser {
             //posVelBase = 2d;
             //clockBase = 2d;
         }
+
+        /** Add an epoch line, starting a new batch if needed.
+         * @param line epoch line
+         */
+        void addEpoch(final String line) {
+            if (batch != null && batch.nbEpochs >= EPOCHS_PER_BATCH) {
+                submit();
+            }
+            if (batch == null) {
+                batch = new EpochsBatch(file, fileName, timeScale, hasVelocityEntries);
+            }
+            batch.add(line, lineNumber);
+            batch.nbEpochs++;
+            nbEpochs++;
+        }
+
+        /** Add a data line to current batch.
+         * @param line data line
+         */
+        void addData(final String line) {
+            batch.add(line, lineNumber);
+        }
+
+        /** Submit current batch for decoding.
+         */
+        private void submit() {
+            final EpochsBatch toDecode = batch;
+            batch = null;
+            if (executorService == null) {
+                toDecode.decode();
+                toDecode.merge();
+            } else {
+                if (pending.size() >= maxPending) {
+                    // wait for the oldest batch to limit memory consumption
+                    get(pending.removeFirst()).merge();
+                }
+                pending.addLast(executorService.submit(() -> {
+                    toDecode.decode();
+                    return toDecode;
+                }));
+            }
+        }
+
+        /** Submit last batch and merge all decoded batches in the file.
+         */
+        void mergeAll() {
+            if (batch != null) {
+                submit();
+            }
+            while (!pending.isEmpty()) {
+                get(pending.removeFirst()).merge();
+            }
+        }
+
+        /** Wait for a batch to be decoded.
+         * @param future batch being decoded
+         * @return decoded batch
+         */
+        private EpochsBatch get(final Future<EpochsBatch> future) {
+            try {
+                return future.get();
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof OrekitException) {
+                    // unwrap the original exception
+                    throw (OrekitException) ee.getCause();
+                }
+                throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+        }
+
+    }
+
+    /** Batch of consecutive epochs, decoded independently of the other batches. */
+    private static class EpochsBatch {
+
+        /** File to which coordinates belong. */
+        private final SP3File file;
+
+        /** Name of the file. */
+        private final String fileName;
+
+        /** The timescale used in the SP3 file. */
+        private final TimeScale timeScale;
+
+        /** Indicates if the SP3 file has velocity entries. */
+        private final boolean hasVelocityEntries;
+
+        /** Raw lines. */
+        private final List<String> lines;
+
+        /** Lines numbers. */
+        private int[] lineNumbers;
+
+        /** Number of epochs in the batch. */
+        private int nbEpochs;
+
+        /** Satellites of decoded coordinates. */
+        private String[] satellites;
+
+        /** Dates of decoded coordinates. */
+        private AbsoluteDate[] dates;
+
+        /** Values of decoded coordinates. */
+        private double[] values;
+
+        /** Number of decoded coordinates. */
+        private int nbCoordinates;
+
+        /** Simple constructor.
+         * @param file file to which coordinates belong
+         * @param fileName name of the file
+         * @param timeScale the timescale used in the SP3 file
+         * @param hasVelocityEntries indicates if the SP3 file has velocity entries
+         */
+        EpochsBatch(final SP3File file, final String fileName,
+                    final TimeScale timeScale, final boolean hasVelocityEntries) {
+            this.file               = file;
+            this.fileName           = fileName;
+            this.timeScale          = timeScale;
+            this.hasVelocityEntries = hasVelocityEntries;
+            this.lines              = new ArrayList<>();
+            this.lineNumbers        = new int[64];
+            this.nbEpochs           = 0;
+        }
+
+        /** Add a raw line.
+         * @param line line to add
+         * @param lineNumber line number
+         */
+        void add(final String line, final int lineNumber) {
+            if (lines.size() == lineNumbers.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, 2 * lineNumbers.length);
+            }
+            lineNumbers[lines.size()] = lineNumber;
+            lines.add(line);
+        }
+
+        /** Decode all lines.
+         */
+        void decode() {
+
+            satellites    = new String[lines.size()];
+            dates         = new AbsoluteDate[lines.size()];
+            values        = new double[SP3File.COMPONENTS * lines.size()];
+            nbCoordinates = 0;
+
+            AbsoluteDate latestEpoch    = null;
+            boolean      latestPosition = false;
+            for (int i = 0; i < lines.size(); ++i) {
+                final String line = lines.get(i);
+                try {
+                    if (line.charAt(0) == '*') {
+                        latestEpoch = parseEpoch(line, timeScale);
+                    } else {
+                        final String satelliteId = line.substring(1, 4).trim();
+                        final int    base        = SP3File.COMPONENTS * nbCoordinates;
+                        if (line.charAt(0) == 'P') {
+                            latestPosition = file.containsSatellite(satelliteId);
+                            if (latestPosition) {
+                                // the position values are in km and have to be converted to m
+                                values[base]     = parseField(line, 4, 18) * 1000;
+                                values[base + 1] = parseField(line, 18, 32) * 1000;
+                                values[base + 2] = parseField(line, 32, 46) * 1000;
+                                values[base + 3] = 0.0;
+                                values[base + 4] = 0.0;
+                                values[base + 5] = 0.0;
+                                // clock (microsec)
+                                values[base + 6] = parseField(line, 46, 60) * 1e-6;
+                                values[base + 7] = 0.0;
+                                if (!hasVelocityEntries) {
+                                    satellites[nbCoordinates] = satelliteId;
+                                    dates[nbCoordinates++]    = latestEpoch;
+                                }
+                            }
+                        } else if (file.containsSatellite(satelliteId)) {
+                            if (!latestPosition) {
+                                // velocity without position, the previous
+                                // parser implementation used a null position here
+                                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                          lineNumbers[i], fileName, line);
+                            }
+                            // the velocity values are in dm/s and have to be converted to m/s
+                            values[base + 3] = parseField(line, 4, 18) / 10d;
+                            values[base + 4] = parseField(line, 18, 32) / 10d;
+                            values[base + 5] = parseField(line, 32, 46) / 10d;
+                            // clock rate in file is 1e-4 us / s
+                            values[base + 7] = parseField(line, 46, 60) * 1e-4;
+                            satellites[nbCoordinates] = satelliteId;
+                            dates[nbCoordinates++]    = latestEpoch;
+                        }
+                    }
+                } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new OrekitException(e,
+                                              OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              lineNumbers[i], fileName, line);
+                }
+            }
+
+        }
+
+        /** Merge decoded coordinates into the file.
+         */
+        void merge() {
+            for (int i = 0; i < nbCoordinates; ++i) {
+                file.addSatelliteCoordinate(satellites[i], dates[i], values, SP3File.COMPONENTS * i);
+            }
+        }
+
+    }
+
+    /** Parse an epoch line.
+     * @param line line to parse
+     * @param timeScale time scale of the file
+     * @return parsed epoch
+     */
+    private static AbsoluteDate parseEpoch(final String line, final TimeScale timeScale) {
+        final int    year   = Integer.parseInt(line.substring(3, 7).trim());
+        final int    month  = Integer.parseInt(line.substring(8, 10).trim());
+        final int    day    = Integer.parseInt(line.substring(11, 13).trim());
+        final int    hour   = Integer.parseInt(line.substring(14, 16).trim());
+        final int    minute = Integer.parseInt(line.substring(17, 19).trim());
+        final double second = Double.parseDouble(line.substring(20, 31).trim());
+        return new AbsoluteDate(year, month, day, hour, minute, second, timeScale);
+    }
+
+    /** Parse a fixed-width real field.
+     * @param line line to parse
+     * @param start start index of the field (inclusive)
+     * @param end end index of the field (exclusive)
+     * @return parsed value
+     */
+    private static double parseField(final String line, final int start, final int end) {
+        return Double.parseDouble(line.substring(start, end).trim());
     }
 
     /** Parsers for specific lines. */
@@ -356,8 +656,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_DATE_TIME_REFERENCE);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_DATE_TIME_REFERENCE);
             }
 
         },
@@ -388,8 +688,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_SAT_IDS);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_SAT_IDS);
             }
 
         },
@@ -420,8 +720,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_SAT_IDS, HEADER_ACCURACY);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_SAT_IDS, HEADER_ACCURACY);
             }
 
         },
@@ -447,8 +747,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_ACCURACY, HEADER_TIME_SYSTEM);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_ACCURACY, HEADER_TIME_SYSTEM);
             }
 
         },
@@ -511,8 +811,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_TIME_SYSTEM, HEADER_STANDARD_DEVIATIONS);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_TIME_SYSTEM, HEADER_STANDARD_DEVIATIONS);
             }
 
         },
@@ -538,8 +838,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_STANDARD_DEVIATIONS, HEADER_CUSTOM_PARAMETERS);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_STANDARD_DEVIATIONS, HEADER_CUSTOM_PARAMETERS);
             }
 
         },
@@ -555,8 +855,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_CUSTOM_PARAMETERS, HEADER_COMMENTS);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_CUSTOM_PARAMETERS, HEADER_COMMENTS);
             }
 
         },
@@ -572,8 +872,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(HEADER_COMMENTS, DATA_EPOCH);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(HEADER_COMMENTS, DATA_EPOCH);
             }
 
         },
@@ -584,23 +884,14 @@ public class SP3Parser implements EphemerisFileParser {
             /** {@inheritDoc} */
             @Override
             public void parse(final String line, final ParseInfo pi) {
-                final int    year   = Integer.parseInt(line.substring(3, 7).trim());
-                final int    month  = Integer.parseInt(line.substring(8, 10).trim());
-                final int    day    = Integer.parseInt(line.substring(11, 13).trim());
-                final int    hour   = Integer.parseInt(line.substring(14, 16).trim());
-                final int    minute = Integer.parseInt(line.substring(17, 19).trim());
-                final double second = Double.parseDouble(line.substring(20, 31).trim());
-
-                pi.latestEpoch = new AbsoluteDate(year, month, day,
-                                                  hour, minute, second,
-                                                  pi.timeScale);
-                pi.nbEpochs++;
+                // decoding is deferred until the whole batch of epochs is available
+                pi.addEpoch(line);
             }
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(DATA_POSITION);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(DATA_POSITION);
             }
 
         },
@@ -611,64 +902,14 @@ public class SP3Parser implements EphemerisFileParser {
             /** {@inheritDoc} */
             @Override
             public void parse(final String line, final ParseInfo pi) {
-                final String satelliteId = line.substring(1, 4).trim();
-
-                if (!pi.file.containsSatellite(satelliteId)) {
-                    pi.latestPosition = null;
-                } else {
-                    final double x = Double.parseDouble(line.substring(4, 18).trim());
-                    final double y = Double.parseDouble(line.substring(18, 32).trim());
-                    final double z = Double.parseDouble(line.substring(32, 46).trim());
-
-                    // the position values are in km and have to be converted to m
-                    pi.latestPosition = new Vector3D(x * 1000, y * 1000, z * 1000);
-
-                    // clock (microsec)
-                    pi.latestClock =
-                            Double.parseDouble(line.substring(46, 60).trim()) * 1e-6;
-
-                    // the additional items are optional and not read yet
-
-                    // if (line.length() >= 73) {
-                    // // x-sdev (b**n mm)
-                    // int xStdDevExp = Integer.valueOf(line.substring(61,
-                    // 63).trim());
-                    // // y-sdev (b**n mm)
-                    // int yStdDevExp = Integer.valueOf(line.substring(64,
-                    // 66).trim());
-                    // // z-sdev (b**n mm)
-                    // int zStdDevExp = Integer.valueOf(line.substring(67,
-                    // 69).trim());
-                    // // c-sdev (b**n psec)
-                    // int cStdDevExp = Integer.valueOf(line.substring(70,
-                    // 73).trim());
-                    //
-                    // pi.posStdDevRecord =
-                    // new PositionStdDevRecord(FastMath.pow(pi.posVelBase, xStdDevExp),
-                    // FastMath.pow(pi.posVelBase,
-                    // yStdDevExp), FastMath.pow(pi.posVelBase, zStdDevExp),
-                    // FastMath.pow(pi.clockBase, cStdDevExp));
-                    //
-                    // String clockEventFlag = line.substring(74, 75);
-                    // String clockPredFlag = line.substring(75, 76);
-                    // String maneuverFlag = line.substring(78, 79);
-                    // String orbitPredFlag = line.substring(79, 80);
-                    // }
-
-                    if (!pi.hasVelocityEntries) {
-                        final SP3Coordinate coord =
-                                new SP3Coordinate(pi.latestEpoch,
-                                                  pi.latestPosition,
-                                                  pi.latestClock);
-                        pi.file.addSatelliteCoordinate(satelliteId, coord);
-                    }
-                }
+                // decoding is deferred until the whole batch of epochs is available
+                pi.addData(line);
             }
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(DATA_EPOCH, DATA_POSITION, DATA_POSITION_CORRELATION, DATA_VELOCITY, EOF);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(DATA_EPOCH, DATA_POSITION, DATA_POSITION_CORRELATION, DATA_VELOCITY, EOF);
             }
 
         },
@@ -684,8 +925,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(DATA_EPOCH, DATA_POSITION, DATA_VELOCITY, EOF);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(DATA_EPOCH, DATA_POSITION, DATA_VELOCITY, EOF);
             }
 
         },
@@ -696,51 +937,14 @@ public class SP3Parser implements EphemerisFileParser {
             /** {@inheritDoc} */
             @Override
             public void parse(final String line, final ParseInfo pi) {
-                final String satelliteId = line.substring(1, 4).trim();
-
-                if (pi.file.containsSatellite(satelliteId)) {
-                    final double xv = Double.parseDouble(line.substring(4, 18).trim());
-                    final double yv = Double.parseDouble(line.substring(18, 32).trim());
-                    final double zv = Double.parseDouble(line.substring(32, 46).trim());
-
-                    // the velocity values are in dm/s and have to be converted to m/s
-                    final Vector3D velocity = new Vector3D(xv / 10d, yv / 10d, zv / 10d);
-
-                    // clock rate in file is 1e-4 us / s
-                    final double clockRateChange =
-                            Double.parseDouble(line.substring(46, 60).trim()) * 1e-4;
-
-                    // the additional items are optional and not read yet
-
-                    // if (line.length() >= 73) {
-                    // // xvel-sdev (b**n 10**-4 mm/sec)
-                    // int xVstdDevExp = Integer.valueOf(line.substring(61,
-                    // 63).trim());
-                    // // yvel-sdev (b**n 10**-4 mm/sec)
-                    // int yVstdDevExp = Integer.valueOf(line.substring(64,
-                    // 66).trim());
-                    // // zvel-sdev (b**n 10**-4 mm/sec)
-                    // int zVstdDevExp = Integer.valueOf(line.substring(67,
-                    // 69).trim());
-                    // // clkrate-sdev (b**n 10**-4 psec/sec)
-                    // int clkStdDevExp = Integer.valueOf(line.substring(70,
-                    // 73).trim());
-                    // }
-
-                    final SP3Coordinate coord =
-                            new SP3Coordinate(pi.latestEpoch,
-                                              pi.latestPosition,
-                                              velocity,
-                                              pi.latestClock,
-                                              clockRateChange);
-                    pi.file.addSatelliteCoordinate(satelliteId, coord);
-                }
+                // decoding is deferred until the whole batch of epochs is available
+                pi.addData(line);
             }
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(DATA_EPOCH, DATA_POSITION, DATA_VELOCITY_CORRELATION, EOF);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(DATA_EPOCH, DATA_POSITION, DATA_VELOCITY_CORRELATION, EOF);
             }
 
         },
@@ -756,8 +960,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(DATA_EPOCH, DATA_POSITION, EOF);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(DATA_EPOCH, DATA_POSITION, EOF);
             }
 
         },
@@ -773,8 +977,8 @@ public class SP3Parser implements EphemerisFileParser {
 
             /** {@inheritDoc} */
             @Override
-            public Stream<LineParser> allowedNext() {
-                return Stream.of(EOF);
+            public List<LineParser> allowedNext() {
+                return Arrays.asList(EOF);
             }
 
         };
@@ -782,6 +986,9 @@ public class SP3Parser implements EphemerisFileParser {
         /** Pattern for identifying line. */
         private final Pattern pattern;
 
+        /** Allowed parsers for next line, cached as they are needed for each line. */
+        private List<LineParser> next;
+
         /** Simple constructor.
          * @param lineRegexp regular expression for identifying line
          */
@@ -798,7 +1005,17 @@ public class SP3Parser implements EphemerisFileParser {
         /** Get the allowed parsers for next line.
          * @return allowed parsers for next line
          */
-        public abstract Stream<LineParser> allowedNext();
+        public abstract List<LineParser> allowedNext();
+
+        /** Get the cached allowed parsers for next line.
+         * @return allowed parsers for next line
+         */
+        public List<LineParser> getAllowedNext() {
+            if (next == null) {
+                next = allowedNext();
+            }
+            return next;
+        }
 
         /** Check if parser can handle line.
          * @param line line to parse
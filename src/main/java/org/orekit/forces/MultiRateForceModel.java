@@ -0,0 +1,341 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.hipparchus.Field;
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.propagation.FieldSpacecraftState;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.events.FieldEventDetector;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+
+/** Force model wrapper evaluating a slowly varying force on a coarse schedule.
+ * <p>
+ * Numerical integrators evaluate all force models at each stage of each step.
+ * Some forces (third body attraction, tides, high degree terms of the gravity
+ * field...) vary slowly along the trajectory and could be evaluated much less
+ * often. This wrapper evaluates the underlying model only on a coarse schedule,
+ * and uses a cubic Lagrange polynomial built on the last four evaluations to
+ * interpolate (or extrapolate up to the next evaluation) the acceleration at
+ * intermediate dates.
+ * </p>
+ * <p>
+ * The interval between evaluations is adapted during propagation: each time the
+ * underlying model is evaluated, the polynomial prediction is compared with the
+ * real acceleration, and the interval is reduced or increased (within the
+ * specified bounds) so the prediction error remains below the specified tolerance.
+ * </p>
+ * <p>
+ * The interpolation is performed only with respect to time, so the wrapped model
+ * must be smooth along the trajectory. Models with discontinuities (like eclipses
+ * for solar radiation pressure or maneuvers) and models that do not provide their
+ * whole contribution through {@link #acceleration(SpacecraftState, double[])} (like
+ * {@link org.orekit.forces.gravity.NewtonianAttraction NewtonianAttraction}) should
+ * not be wrapped. Computations with {@link RealFieldElement field elements}, which are
+ * used for Jacobians computation, are not interpolated and always delegate to the
+ * underlying model.
+ * </p>
+ * <p>
+ * Force models are not notified when the integrator accepts or rejects a step, so
+ * the samples are taken at whatever dates the integrator evaluates the derivatives,
+ * including trial stages of steps that are later rejected. Such samples are still
+ * exact evaluations of the underlying model, but on a slightly different trajectory
+ * than the accepted one. This is generally negligible for the smooth models this
+ * wrapper is intended for.
+ * </p>
+ * <p>
+ * As this wrapper holds the samples of the current propagation, a separate instance
+ * should be used for each propagator, and instances are not thread-safe.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class MultiRateForceModel implements ForceModel {
+
+    /** Number of samples used for interpolation. */
+    private static final int SAMPLES = 4;
+
+    /** Safety factor for interval adaptation. */
+    private static final double SAFETY = 0.9;
+
+    /** Minimum reduction factor for interval adaptation. */
+    private static final double MIN_REDUCTION = 0.2;
+
+    /** Maximum growth factor for interval adaptation. */
+    private static final double MAX_GROWTH = 2.0;
+
+    /** Underlying force model. */
+    private final ForceModel model;
+
+    /** Minimum interval between evaluations of the underlying model (s). */
+    private final double minInterval;
+
+    /** Maximum interval between evaluations of the underlying model (s). */
+    private final double maxInterval;
+
+    /** Absolute tolerance on interpolated acceleration (m/s²). */
+    private final double tolerance;
+
+    /** Sampling dates offsets with respect to {@link #reference}. */
+    private final double[] offsets;
+
+    /** Sampled accelerations. */
+    private final Vector3D[] accelerations;
+
+    /** Number of available samples. */
+    private int nbSamples;
+
+    /** Reference date for samples offsets. */
+    private AbsoluteDate reference;
+
+    /** Parameters used for sampled accelerations. */
+    private double[] sampledParameters;
+
+    /** Current interval between evaluations of the underlying model (s). */
+    private double interval;
+
+    /** Propagation direction (+1 for forward, -1 for backward). */
+    private double direction;
+
+    /** Number of evaluations of the underlying model. */
+    private int evaluations;
+
+    /** Simple constructor.
+     * @param model underlying force model
+     * @param minInterval minimum interval between evaluations of the underlying model (s)
+     * @param maxInterval maximum interval between evaluations of the underlying model (s)
+     * @param tolerance absolute tolerance on interpolated acceleration (m/s²)
+     */
+    public MultiRateForceModel(final ForceModel model, final double minInterval, final double maxInterval,
+                               final double tolerance) {
+        if (minInterval <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, minInterval, 0.0);
+        }
+        if (maxInterval < minInterval) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxInterval, minInterval);
+        }
+        if (tolerance <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, tolerance, 0.0);
+        }
+        this.model         = model;
+        this.minInterval   = minInterval;
+        this.maxInterval   = maxInterval;
+        this.tolerance     = tolerance;
+        this.offsets       = new double[SAMPLES];
+        this.accelerations = new Vector3D[SAMPLES];
+        this.direction     = 1.0;
+        this.evaluations   = 0;
+        resetSamples();
+    }
+
+    /** Get the underlying force model.
+     * @return underlying force model
+     */
+    public ForceModel getUnderlyingModel() {
+        return model;
+    }
+
+    /** Get the minimum interval between evaluations of the underlying model.
+     * @return minimum interval between evaluations of the underlying model (s)
+     */
+    public double getMinInterval() {
+        return minInterval;
+    }
+
+    /** Get the maximum interval between evaluations of the underlying model.
+     * @return maximum interval between evaluations of the underlying model (s)
+     */
+    public double getMaxInterval() {
+        return maxInterval;
+    }
+
+    /** Get the absolute tolerance on interpolated acceleration.
+     * @return absolute tolerance on interpolated acceleration (m/s²)
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** Get the number of evaluations of the underlying model since last {@link #init initialization}.
+     * @return number of evaluations of the underlying model
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** Drop all samples. */
+    private void resetSamples() {
+        nbSamples         = 0;
+        reference         = null;
+        sampledParameters = null;
+        interval          = minInterval;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final SpacecraftState initialState, final AbsoluteDate target) {
+        model.init(initialState, target);
+        resetSamples();
+        direction   = target.durationFrom(initialState.getDate()) >= 0 ? 1.0 : -1.0;
+        evaluations = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean dependsOnPositionOnly() {
+        return model.dependsOnPositionOnly();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D acceleration(final SpacecraftState s, final double[] parameters) {
+
+        if (nbSamples > 0 && !Arrays.equals(parameters, sampledParameters)) {
+            // samples were computed with different parameters, they cannot be used anymore
+            resetSamples();
+        }
+
+        if (nbSamples == 0) {
+            // first sample
+            reference         = s.getDate();
+            sampledParameters = parameters.clone();
+            return addSample(0.0, evaluate(s, parameters));
+        }
+
+        final double offset = s.getDate().durationFrom(reference);
+        final double dt     = direction * (offset - offsets[nbSamples - 1]);
+        if (dt >= interval) {
+            // we have reached the next point of the coarse schedule
+            final Vector3D acceleration = evaluate(s, parameters);
+            if (nbSamples == SAMPLES) {
+                // adapt interval according to prediction error
+                final double error = Vector3D.distance(acceleration, interpolate(offset));
+                final double ratio = error == 0 ?
+                                     MAX_GROWTH :
+                                     SAFETY * FastMath.pow(tolerance / error, 1.0 / SAMPLES);
+                interval = FastMath.max(minInterval,
+                                        FastMath.min(maxInterval,
+                                                     interval * FastMath.max(MIN_REDUCTION, FastMath.min(MAX_GROWTH, ratio))));
+            }
+            return addSample(offset, acceleration);
+        } else if (nbSamples < SAMPLES || direction * (offset - offsets[0]) < 0) {
+            // not enough samples yet, or date before the sampled range
+            return evaluate(s, parameters);
+        } else {
+            // interpolate between samples
+            return interpolate(offset);
+        }
+
+    }
+
+    /** Evaluate the underlying model.
+     * @param s current state
+     * @param parameters values of the force model parameters
+     * @return acceleration
+     */
+    private Vector3D evaluate(final SpacecraftState s, final double[] parameters) {
+        ++evaluations;
+        return model.acceleration(s, parameters);
+    }
+
+    /** Add a sample, dropping the oldest one if needed.
+     * @param offset sample date offset with respect to reference
+     * @param acceleration sampled acceleration
+     * @return sampled acceleration
+     */
+    private Vector3D addSample(final double offset, final Vector3D acceleration) {
+        if (nbSamples == SAMPLES) {
+            System.arraycopy(offsets,       1, offsets,       0, SAMPLES - 1);
+            System.arraycopy(accelerations, 1, accelerations, 0, SAMPLES - 1);
+            --nbSamples;
+        }
+        offsets[nbSamples]       = offset;
+        accelerations[nbSamples] = acceleration;
+        ++nbSamples;
+        return acceleration;
+    }
+
+    /** Interpolate acceleration using Lagrange polynomial on the samples.
+     * @param offset date offset with respect to reference
+     * @return interpolated acceleration
+     */
+    private Vector3D interpolate(final double offset) {
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        for (int i = 0; i < nbSamples; ++i) {
+            double w = 1;
+            for (int j = 0; j < nbSamples; ++j) {
+                if (j != i) {
+                    w *= (offset - offsets[j]) / (offsets[i] - offsets[j]);
+                }
+            }
+            x += w * accelerations[i].getX();
+            y += w * accelerations[i].getY();
+            z += w * accelerations[i].getZ();
+        }
+        return new Vector3D(x, y, z);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final FieldSpacecraftState<T> s,
+                                                                         final T[] parameters) {
+        return model.acceleration(s, parameters);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Stream<EventDetector> getEventsDetectors() {
+        return model.getEventsDetectors();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> Stream<FieldEventDetector<T>> getFieldEventsDetectors(final Field<T> field) {
+        return model.getFieldEventsDetectors(field);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriver[] getParametersDrivers() {
+        return model.getParametersDrivers();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriver getParameterDriver(final String name) {
+        return model.getParameterDriver(name);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isSupported(final String name) {
+        return model.isSupported(name);
+    }
+
+}
@@ -53,6 +53,8 @@ public abstract class AbstractFrames implements Frames {
     private transient Map<Predefined, FactoryManagedFrame> frames;
     /** Predefined versioned ITRF frames. */
     private transient Map<ITRFKey, VersionedITRF> versionedItrfFrames;
+    /** Fit settings for precession-nutation models ({@code null} if raw models are used). */
+    private PrecessionNutationFit precessionNutationFit;
 
     /**
      * Simple constructor.
@@ -68,6 +70,32 @@ public abstract class AbstractFrames implements Frames {
         this.versionedItrfFrames = new HashMap<>();
     }
 
+    /** Use fitted precession-nutation models in frames built afterwards.
+     * <p>
+     * By default, the CIRF, TOD, MOD and TEME frames (and hence all frames built on
+     * top of them, like TIRF, ITRF or GTOD) evaluate the raw precession and nutation
+     * series from {@link IERSConventions} at each date. Once this method has been
+     * called, these frames use dense Chebyshev fits of the series over the specified
+     * time span, see {@link org.orekit.time.ChebyshevTimeVectorFunction}. The raw
+     * series are still used outside of this time span.
+     * </p>
+     * <p>
+     * The fits are computed when the frames are built, which takes time proportional
+     * to the time span duration. Frames that have already been built are not affected,
+     * so this method should be called before the first frame is requested.
+     * </p>
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed on the fitted angles (rad)
+     * @since 10.3
+     */
+    public void setPrecessionNutationFit(final AbsoluteDate start, final AbsoluteDate end,
+                                         final double tolerance) {
+        synchronized (this) {
+            precessionNutationFit = new PrecessionNutationFit(start, end, tolerance);
+        }
+    }
+
     @Override
     public Frame getFrame(final Predefined factoryKey) {
         switch (factoryKey) {
@@ -399,7 +427,7 @@ public abstract class AbstractFrames implements Frames {
                 // it's the first time we need this frame, build it and store it
                 final EOPHistory eopHistory = getEOPHistory(conventions, simpleEOP);
                 final TransformProvider shifting =
-                        new ShiftingTransformProvider(new CIRFProvider(eopHistory),
+                        new ShiftingTransformProvider(new CIRFProvider(eopHistory, precessionNutationFit),
                                 CartesianDerivativesFilter.USE_PVA,
                                 AngularDerivativesFilter.USE_R,
                                 6, Constants.JULIAN_DAY / 24,
@@ -629,7 +657,8 @@ public abstract class AbstractFrames implements Frames {
                         null;
                 final TransformProvider shifting =
                         new ShiftingTransformProvider(
-                                new TODProvider(conventions, eopHistory, getTimeScales()),
+                                new TODProvider(conventions, eopHistory, getTimeScales(),
+                                                precessionNutationFit),
                                 CartesianDerivativesFilter.USE_PVA,
                                 AngularDerivativesFilter.USE_R,
                                 interpolationPoints, Constants.JULIAN_DAY / pointsPerDay,
@@ -700,7 +729,7 @@ public abstract class AbstractFrames implements Frames {
 
             if (frame == null) {
                 // it's the first time we need this frame, build it and store it
-                final MODProvider provider = new MODProvider(conventions, getTimeScales());
+                final MODProvider provider = new MODProvider(conventions, getTimeScales(), precessionNutationFit);
                 frame = new FactoryManagedFrame(parent, provider, true, factoryKey);
                 frames.put(factoryKey, frame);
             }
@@ -724,7 +753,8 @@ public abstract class AbstractFrames implements Frames {
                 final ShiftingTransformProvider todShifting =
                         (ShiftingTransformProvider) tod.getTransformProvider();
                 final TEMEProvider temeRaw =
-                        new TEMEProvider(IERSConventions.IERS_1996, null, getTimeScales());
+                        new TEMEProvider(IERSConventions.IERS_1996, null, getTimeScales(),
+                                         precessionNutationFit);
                 final TransformProvider temeShifting =
                         new ShiftingTransformProvider(temeRaw,
                                 CartesianDerivativesFilter.USE_PVA,
@@ -57,14 +57,27 @@ class CIRFProvider implements EOPBasedTransformProvider {
      * @see Frame
      */
     CIRFProvider(final EOPHistory eopHistory) {
+        this(eopHistory, (PrecessionNutationFit) null);
+    }
 
-        // load the nutation model
-        xysPxy2Function = eopHistory.getConventions()
-                .getXYSpXY2Function(eopHistory.getTimeScales());
-
-        // store correction to the model
-        this.eopHistory = eopHistory;
+    /** Constructor with fitted nutation model.
+     * @param eopHistory EOP history
+     * @param fit fit settings for the nutation model ({@code null} if raw model is used)
+     * @since 10.3
+     */
+    CIRFProvider(final EOPHistory eopHistory, final PrecessionNutationFit fit) {
+        this(eopHistory,
+             PrecessionNutationFit.getXYSpXY2Function(fit, eopHistory.getConventions(),
+                                                      eopHistory.getTimeScales()));
+    }
 
+    /** Private constructor.
+     * @param eopHistory EOP history
+     * @param xysPxy2Function function computing CIP/CIO components
+     */
+    private CIRFProvider(final EOPHistory eopHistory, final TimeVectorFunction xysPxy2Function) {
+        this.xysPxy2Function = xysPxy2Function;
+        this.eopHistory      = eopHistory;
     }
 
     /** {@inheritDoc} */
@@ -76,7 +89,7 @@ class CIRFProvider implements EOPBasedTransformProvider {
     /** {@inheritDoc} */
     @Override
     public CIRFProvider getNonInterpolatingProvider() {
-        return new CIRFProvider(eopHistory.getNonInterpolatingEOPHistory());
+        return new CIRFProvider(eopHistory.getNonInterpolatingEOPHistory(), xysPxy2Function);
     }
 
     /** {@inheritDoc} */
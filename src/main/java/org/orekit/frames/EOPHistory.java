@@ -18,9 +18,9 @@ package org.orekit.frames;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -28,6 +28,7 @@ import java.util.stream.Stream;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.interpolation.FieldHermiteInterpolator;
 import org.hipparchus.analysis.interpolation.HermiteInterpolator;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.DataContext;
@@ -60,6 +61,33 @@ public class EOPHistory implements Serializable {
     /** Number of points to use in interpolation. */
     private static final int INTERPOLATION_POINTS = 4;
 
+    /** Number of EOP components interpolated together. */
+    private static final int NB_COMPONENTS = 8;
+
+    /** Index of UT1-UTC in components. */
+    private static final int DUT1 = 0;
+
+    /** Index of LOD in components. */
+    private static final int LOD = 1;
+
+    /** Index of pole X in components. */
+    private static final int X = 2;
+
+    /** Index of pole Y in components. */
+    private static final int Y = 3;
+
+    /** Index of ΔΨ in components. */
+    private static final int DDPSI = 4;
+
+    /** Index of Δε in components. */
+    private static final int DDEPS = 5;
+
+    /** Index of δX in components. */
+    private static final int DX = 6;
+
+    /** Index of δY in components. */
+    private static final int DY = 7;
+
     /**
      * If this history has any EOP data.
      *
@@ -70,6 +98,18 @@ public class EOPHistory implements Serializable {
     /** EOP history entries. */
     private final transient ImmutableTimeStampedCache<EOPEntry> cache;
 
+    /** EOP history entries, in chronological order. */
+    private final transient EOPEntry[] entries;
+
+    /** Offsets of the entries with respect to the first entry. */
+    private final transient double[] offsets;
+
+    /** Mean step between entries (one day for regular IERS data). */
+    private final transient double meanStep;
+
+    /** EOP components, flattened with {@link #NB_COMPONENTS} components per entry. */
+    private final transient double[] components;
+
     /** IERS conventions to which EOP refers. */
     private final IERSConventions conventions;
 
@@ -130,10 +170,34 @@ public class EOPHistory implements Serializable {
             // enough data to interpolate
             cache = new ImmutableTimeStampedCache<EOPEntry>(INTERPOLATION_POINTS, data);
             hasData = true;
+
+            // flatten entries for indexed interpolation
+            entries    = cache.getAll().toArray(new EOPEntry[data.size()]);
+            offsets    = new double[entries.length];
+            components = new double[entries.length * NB_COMPONENTS];
+            for (int i = 0; i < entries.length; ++i) {
+                final EOPEntry entry = entries[i];
+                final int      row   = i * NB_COMPONENTS;
+                offsets[i]            = entry.getDate().durationFrom(entries[0].getDate());
+                components[row + DUT1]  = entry.getUT1MinusUTC();
+                components[row + LOD]   = entry.getLOD();
+                components[row + X]     = entry.getX();
+                components[row + Y]     = entry.getY();
+                components[row + DDPSI] = entry.getDdPsi();
+                components[row + DDEPS] = entry.getDdEps();
+                components[row + DX]    = entry.getDx();
+                components[row + DY]    = entry.getDy();
+            }
+            meanStep = offsets[entries.length - 1] / (entries.length - 1);
+
         } else {
             // not enough data to interpolate -> always use null correction
-            cache = ImmutableTimeStampedCache.emptyCache();
-            hasData = false;
+            cache      = ImmutableTimeStampedCache.emptyCache();
+            hasData    = false;
+            entries    = new EOPEntry[0];
+            offsets    = new double[0];
+            components = new double[0];
+            meanStep   = Double.NaN;
         }
     }
 
@@ -206,18 +270,11 @@ public class EOPHistory implements Serializable {
         }
 
         // we have EOP data -> interpolate offset
-        try {
-            final DUT1Interpolator interpolator = new DUT1Interpolator(date);
-            getNeighbors(date).forEach(interpolator);
-            double interpolated = interpolator.getInterpolated();
-            if (tidalCorrection != null) {
-                interpolated += tidalCorrection.value(date)[2];
-            }
-            return interpolated;
-        } catch (TimeStampedCacheException tce) {
-            //this should not happen because of date check above
-            throw new OrekitInternalError(tce);
+        double interpolated = interpolate(date, DUT1, 1)[0];
+        if (tidalCorrection != null) {
+            interpolated += tidalCorrection.value(date)[2];
         }
+        return interpolated;
 
     }
 
@@ -253,67 +310,6 @@ public class EOPHistory implements Serializable {
 
     }
 
-    /** Local class for DUT1 interpolation, crossing leaps safely. */
-    private static class DUT1Interpolator implements Consumer<EOPEntry> {
-
-        /** DUT at first entry. */
-        private double firstDUT;
-
-        /** Indicator for dates just before a leap occurring during the interpolation sample. */
-        private boolean beforeLeap;
-
-        /** Interpolator to use. */
-        private final HermiteInterpolator interpolator;
-
-        /** Interpolation date. */
-        private AbsoluteDate date;
-
-        /** Simple constructor.
-         * @param date interpolation date
-         */
-        DUT1Interpolator(final AbsoluteDate date) {
-            this.firstDUT     = Double.NaN;
-            this.beforeLeap   = true;
-            this.interpolator = new HermiteInterpolator();
-            this.date         = date;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public void accept(final EOPEntry neighbor) {
-            if (Double.isNaN(firstDUT)) {
-                firstDUT = neighbor.getUT1MinusUTC();
-            }
-            final double dut;
-            if (neighbor.getUT1MinusUTC() - firstDUT > 0.9) {
-                // there was a leap second between the entries
-                dut = neighbor.getUT1MinusUTC() - 1.0;
-                // UTCScale considers the discontinuity to occur at the start of the leap
-                // second so this code must use the same convention. EOP entries are time
-                // stamped at midnight UTC so 1 second before is the start of the leap
-                // second.
-                if (neighbor.getDate().shiftedBy(-1).compareTo(date) <= 0) {
-                    beforeLeap = false;
-                }
-            } else {
-                dut = neighbor.getUT1MinusUTC();
-            }
-            interpolator.addSamplePoint(neighbor.getDate().durationFrom(date),
-                                        new double[] {
-                                            dut
-                                        });
-        }
-
-        /** Get the interpolated value.
-         * @return interpolated value
-         */
-        public double getInterpolated() {
-            final double interpolated = interpolator.value(0)[0];
-            return beforeLeap ? interpolated : interpolated + 1.0;
-        }
-
-    }
-
     /** Local class for DUT1 interpolation, crossing leaps safely. */
     private static class FieldDUT1Interpolator<T extends RealFieldElement<T>> implements Consumer<EOPEntry> {
 
@@ -403,7 +399,7 @@ public class EOPHistory implements Serializable {
         }
 
         // we have EOP data for date -> interpolate correction
-        double interpolated = interpolate(date, entry -> entry.getLOD());
+        double interpolated = interpolate(date, LOD, 1)[0];
         if (tidalCorrection != null) {
             interpolated += tidalCorrection.value(date)[3];
         }
@@ -458,7 +454,7 @@ public class EOPHistory implements Serializable {
         }
 
         // we have EOP data for date -> interpolate correction
-        final double[] interpolated = interpolate(date, entry -> entry.getX(), entry -> entry.getY());
+        final double[] interpolated = interpolate(date, X, 2);
         if (tidalCorrection != null) {
             final double[] correction = tidalCorrection.value(date);
             interpolated[0] += correction[0];
@@ -516,7 +512,7 @@ public class EOPHistory implements Serializable {
         }
 
         // we have EOP data for date -> interpolate correction
-        return interpolate(date, entry -> entry.getDdPsi(), entry -> entry.getDdEps());
+        return interpolate(date, DDPSI, 2);
 
     }
 
@@ -557,7 +553,7 @@ public class EOPHistory implements Serializable {
         }
 
         // we have EOP data for date -> interpolate correction
-        return interpolate(date, entry -> entry.getDx(), entry -> entry.getDy());
+        return interpolate(date, DX, 2);
 
     }
 
@@ -596,15 +592,8 @@ public class EOPHistory implements Serializable {
             return ITRFVersion.ITRF_2014;
         }
 
-        try {
-            // we have EOP data for date
-            final Optional<EOPEntry> first = getNeighbors(date).findFirst();
-            return first.isPresent() ? first.get().getITRFType() : ITRFVersion.ITRF_2014;
-
-        } catch (TimeStampedCacheException tce) {
-            // this should not happen because of date check performed at start
-            throw new OrekitInternalError(tce);
-        }
+        // we have EOP data for date
+        return entries[findFirstNeighbor(date)].getITRFType();
 
     }
 
@@ -651,27 +640,106 @@ public class EOPHistory implements Serializable {
         return cache.getAll();
     }
 
-    /** Interpolate a single EOP component.
+    /** Find the first of the entries surrounding a date.
+     * <p>
+     * The entries are located by index arithmetic, assuming they are regularly
+     * spaced (as daily IERS data are). If the guessed entry does not bracket the
+     * date (for example near data gaps), a binary search is used instead. This
+     * method selects the same entries as {@link #getNeighbors(AbsoluteDate)}.
+     * </p>
+     * <p>
+     * This method should be called <em>only</em> when {@link #hasDataFor(AbsoluteDate)} returns true.
+     * </p>
+     * @param date central date
+     * @return index of the first neighbor entry
+     */
+    private int findFirstNeighbor(final AbsoluteDate date) {
+
+        final double dt = date.durationFrom(entries[0].getDate());
+
+        // guess index from regular spacing
+        int i = FastMath.max(0, FastMath.min(entries.length - 1, (int) FastMath.floor(dt / meanStep)));
+
+        // we want offsets[i] <= dt < offsets[i + 1]
+        if ((i > 0 && offsets[i] > dt) || (i < entries.length - 1 && offsets[i + 1] <= dt)) {
+            // the guess failed, fall back to binary search
+            final int found = Arrays.binarySearch(offsets, dt);
+            i = FastMath.max(0, found >= 0 ? found : -found - 2);
+        }
+
+        // force unbalanced range if necessary
+        return FastMath.max(0, FastMath.min(entries.length - INTERPOLATION_POINTS,
+                                            i - (INTERPOLATION_POINTS - 1) / 2));
+
+    }
+
+    /** Interpolate consecutive EOP components.
+     * <p>
+     * The Lagrange weights depend only on the date, they are computed once and
+     * applied to the requested components only.
+     * </p>
      * <p>
      * This method should be called <em>only</em> when {@link #hasDataFor(AbsoluteDate)} returns true.
      * </p>
      * @param date interpolation date
-     * @param selector selector for EOP entry component
-     * @return interpolated value
+     * @param first index of the first component to interpolate
+     * (among {@link #DUT1}, {@link #LOD}, {@link #X}, {@link #Y}, {@link #DDPSI},
+     * {@link #DDEPS}, {@link #DX}, {@link #DY})
+     * @param n number of consecutive components to interpolate
+     * @return interpolated components
      */
-    private double interpolate(final AbsoluteDate date, final Function<EOPEntry, Double> selector) {
-        try {
-            final HermiteInterpolator interpolator = new HermiteInterpolator();
-            getNeighbors(date).forEach(entry ->
-                                       interpolator.addSamplePoint(entry.getDate().durationFrom(date),
-                                                                   new double[] {
-                                                                       selector.apply(entry)
-                                                                   }));
-            return interpolator.value(0)[0];
-        } catch (TimeStampedCacheException tce) {
-            // this should not happen because of date check performed by caller
-            throw new OrekitInternalError(tce);
+    private double[] interpolate(final AbsoluteDate date, final int first, final int n) {
+
+        final int start = findFirstNeighbor(date);
+
+        // abscissae of neighbors, with respect to interpolation date
+        final double[] x = new double[INTERPOLATION_POINTS];
+        for (int j = 0; j < INTERPOLATION_POINTS; ++j) {
+            x[j] = entries[start + j].getDate().durationFrom(date);
+        }
+
+        final int      firstRow     = start * NB_COMPONENTS + first;
+        boolean        beforeLeap   = true;
+        final double[] interpolated = new double[n];
+        for (int j = 0; j < INTERPOLATION_POINTS; ++j) {
+
+            // Lagrange weight of current neighbor at interpolation date
+            double w = 1;
+            for (int k = 0; k < INTERPOLATION_POINTS; ++k) {
+                if (k != j) {
+                    w *= x[k] / (x[k] - x[j]);
+                }
+            }
+
+            // accumulate deviations from first neighbor, as weights sum up to one
+            // this reduces rounding errors with respect to accumulating raw values
+            final int row = (start + j) * NB_COMPONENTS + first;
+            for (int c = 0; c < n; ++c) {
+                double value = components[row + c];
+                if (first + c == DUT1 && value - components[firstRow + c] > 0.9) {
+                    // there was a leap second between the entries
+                    value -= 1.0;
+                    // UTCScale considers the discontinuity to occur at the start of the leap
+                    // second so this code must use the same convention. EOP entries are time
+                    // stamped at midnight UTC so 1 second before is the start of the leap
+                    // second.
+                    if (x[j] <= 1.0) {
+                        beforeLeap = false;
+                    }
+                }
+                interpolated[c] += w * (value - components[firstRow + c]);
+            }
+
+        }
+
+        for (int c = 0; c < n; ++c) {
+            interpolated[c] += components[firstRow + c];
+        }
+        if (first == DUT1 && !beforeLeap) {
+            interpolated[0] += 1.0;
         }
+        return interpolated;
+
     }
 
     /** Interpolate a single EOP component.
@@ -705,33 +773,6 @@ public class EOPHistory implements Serializable {
         }
     }
 
-    /** Interpolate two EOP components.
-     * <p>
-     * This method should be called <em>only</em> when {@link #hasDataFor(AbsoluteDate)} returns true.
-     * </p>
-     * @param date interpolation date
-     * @param selector1 selector for first EOP entry component
-     * @param selector2 selector for second EOP entry component
-     * @return interpolated value
-     */
-    private double[] interpolate(final AbsoluteDate date,
-                                 final Function<EOPEntry, Double> selector1,
-                                 final Function<EOPEntry, Double> selector2) {
-        try {
-            final HermiteInterpolator interpolator = new HermiteInterpolator();
-            getNeighbors(date).forEach(entry ->
-                                       interpolator.addSamplePoint(entry.getDate().durationFrom(date),
-                                                                   new double[] {
-                                                                       selector1.apply(entry),
-                                                                       selector2.apply(entry)
-                                                                   }));
-            return interpolator.value(0);
-        } catch (TimeStampedCacheException tce) {
-            // this should not happen because of date check performed by caller
-            throw new OrekitInternalError(tce);
-        }
-    }
-
     /** Interpolate two EOP components.
      * <p>
      * This method should be called <em>only</em> when {@link #hasDataFor(AbsoluteDate)} returns true.
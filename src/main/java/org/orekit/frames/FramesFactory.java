@@ -315,6 +315,31 @@ public class FramesFactory {
         getFrames().setEOPContinuityThreshold(threshold);
     }
 
+    /** Use fitted precession-nutation models in frames built afterwards.
+     * <p>
+     * By default, the CIRF, TOD, MOD and TEME frames (and hence all frames built on
+     * top of them, like TIRF, ITRF or GTOD) evaluate the raw precession and nutation
+     * series from {@link IERSConventions} at each date. Once this method has been
+     * called, these frames use dense Chebyshev fits of the series over the specified
+     * time span, see {@link org.orekit.time.ChebyshevTimeVectorFunction}. The raw
+     * series are still used outside of this time span.
+     * </p>
+     * <p>
+     * The fits are computed when the frames are built, which takes time proportional
+     * to the time span duration. Frames that have already been built are not affected,
+     * so this method should be called before the first frame is requested.
+     * </p>
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed on the fitted angles (rad)
+     * @since 10.3
+     */
+    @DefaultDataContext
+    public static void setPrecessionNutationFit(final AbsoluteDate start, final AbsoluteDate end,
+                                                final double tolerance) {
+        getFrames().setPrecessionNutationFit(start, end, tolerance);
+    }
+
     /** Get Earth Orientation Parameters history.
      * <p>
      * If no {@link EOPHistoryLoader} has been added by calling {@link
@@ -66,8 +66,19 @@ class MODProvider implements TransformProvider {
      * @param timeScales used to define this frame.
      */
     MODProvider(final IERSConventions conventions, final TimeScales timeScales) {
+        this(conventions, timeScales, null);
+    }
+
+    /** Constructor with fitted precession model.
+     * @param conventions IERS conventions to apply
+     * @param timeScales used to define this frame.
+     * @param fit fit settings for the precession model ({@code null} if raw model is used)
+     * @since 10.3
+     */
+    MODProvider(final IERSConventions conventions, final TimeScales timeScales,
+                final PrecessionNutationFit fit) {
         this.conventions        = conventions;
-        this.precessionFunction = conventions.getPrecessionFunction(timeScales);
+        this.precessionFunction = PrecessionNutationFit.getPrecessionFunction(fit, conventions, timeScales);
         final TimeScalarFunction epsilonAFunction =
                 conventions.getMeanObliquityFunction(timeScales);
         final AbsoluteDate date0 = conventions.getNutationReferenceEpoch(timeScales);
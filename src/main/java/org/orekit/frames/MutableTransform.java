@@ -0,0 +1,449 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.AngularCoordinates;
+import org.orekit.utils.PVCoordinates;
+
+/** Mutable primitive representation of a {@link Transform}.
+ * <p>
+ * {@link Transform} instances are immutable, so each composition or each
+ * transformation of coordinates allocates several intermediate objects. This
+ * class is intended for inner loops (bulk ephemeris conversions, measurements
+ * modeling...) where garbage generation matters. It stores the transform as
+ * primitive doubles, can be composed in place into reusable instances, and
+ * transforms coordinates stored in caller-provided {@code double[]} buffers.
+ * </p>
+ * <p>
+ * Coordinates arrays use the following layouts: positions and vectors are
+ * stored as 3 consecutive values (x, y, z), position-velocity-acceleration are
+ * stored as 9 consecutive values (x, y, z, vx, vy, vz, ax, ay, az).
+ * </p>
+ * <p>
+ * The semantics are exactly the same as the corresponding methods in {@link
+ * Transform}. Instances of this class are <em>not</em> thread-safe.
+ * </p>
+ * @see Transform
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class MutableTransform {
+
+    /** Translation. */
+    private double tx;
+
+    /** Translation. */
+    private double ty;
+
+    /** Translation. */
+    private double tz;
+
+    /** Velocity. */
+    private double vx;
+
+    /** Velocity. */
+    private double vy;
+
+    /** Velocity. */
+    private double vz;
+
+    /** Acceleration. */
+    private double ax;
+
+    /** Acceleration. */
+    private double ay;
+
+    /** Acceleration. */
+    private double az;
+
+    /** Scalar part of the rotation quaternion. */
+    private double q0;
+
+    /** First component of the vector part of the rotation quaternion. */
+    private double q1;
+
+    /** Second component of the vector part of the rotation quaternion. */
+    private double q2;
+
+    /** Third component of the vector part of the rotation quaternion. */
+    private double q3;
+
+    /** Rotation rate. */
+    private double ox;
+
+    /** Rotation rate. */
+    private double oy;
+
+    /** Rotation rate. */
+    private double oz;
+
+    /** Rotation acceleration. */
+    private double oDotx;
+
+    /** Rotation acceleration. */
+    private double oDoty;
+
+    /** Rotation acceleration. */
+    private double oDotz;
+
+    /** Rotation matrix, row 0. */
+    private double m00;
+
+    /** Rotation matrix, row 0. */
+    private double m01;
+
+    /** Rotation matrix, row 0. */
+    private double m02;
+
+    /** Rotation matrix, row 1. */
+    private double m10;
+
+    /** Rotation matrix, row 1. */
+    private double m11;
+
+    /** Rotation matrix, row 1. */
+    private double m12;
+
+    /** Rotation matrix, row 2. */
+    private double m20;
+
+    /** Rotation matrix, row 2. */
+    private double m21;
+
+    /** Rotation matrix, row 2. */
+    private double m22;
+
+    /** Build an identity transform.
+     */
+    public MutableTransform() {
+        setIdentity();
+    }
+
+    /** Build a mutable transform copying an immutable one.
+     * @param transform transform to copy
+     */
+    public MutableTransform(final Transform transform) {
+        setTransform(transform);
+    }
+
+    /** Reset the instance to identity.
+     * @return the instance
+     */
+    public MutableTransform setIdentity() {
+        tx    = 0;
+        ty    = 0;
+        tz    = 0;
+        vx    = 0;
+        vy    = 0;
+        vz    = 0;
+        ax    = 0;
+        ay    = 0;
+        az    = 0;
+        ox    = 0;
+        oy    = 0;
+        oz    = 0;
+        oDotx = 0;
+        oDoty = 0;
+        oDotz = 0;
+        setQuaternion(1, 0, 0, 0);
+        return this;
+    }
+
+    /** Copy an immutable transform into the instance.
+     * @param transform transform to copy
+     * @return the instance
+     */
+    public MutableTransform setTransform(final Transform transform) {
+
+        final PVCoordinates cartesian = transform.getCartesian();
+        tx = cartesian.getPosition().getX();
+        ty = cartesian.getPosition().getY();
+        tz = cartesian.getPosition().getZ();
+        vx = cartesian.getVelocity().getX();
+        vy = cartesian.getVelocity().getY();
+        vz = cartesian.getVelocity().getZ();
+        ax = cartesian.getAcceleration().getX();
+        ay = cartesian.getAcceleration().getY();
+        az = cartesian.getAcceleration().getZ();
+
+        final AngularCoordinates angular = transform.getAngular();
+        ox    = angular.getRotationRate().getX();
+        oy    = angular.getRotationRate().getY();
+        oz    = angular.getRotationRate().getZ();
+        oDotx = angular.getRotationAcceleration().getX();
+        oDoty = angular.getRotationAcceleration().getY();
+        oDotz = angular.getRotationAcceleration().getZ();
+        final Rotation r = angular.getRotation();
+        setQuaternion(r.getQ0(), r.getQ1(), r.getQ2(), r.getQ3());
+
+        return this;
+
+    }
+
+    /** Copy another mutable transform into the instance.
+     * @param transform transform to copy
+     * @return the instance
+     */
+    public MutableTransform setTransform(final MutableTransform transform) {
+        tx    = transform.tx;
+        ty    = transform.ty;
+        tz    = transform.tz;
+        vx    = transform.vx;
+        vy    = transform.vy;
+        vz    = transform.vz;
+        ax    = transform.ax;
+        ay    = transform.ay;
+        az    = transform.az;
+        ox    = transform.ox;
+        oy    = transform.oy;
+        oz    = transform.oz;
+        oDotx = transform.oDotx;
+        oDoty = transform.oDoty;
+        oDotz = transform.oDotz;
+        setQuaternion(transform.q0, transform.q1, transform.q2, transform.q3);
+        return this;
+    }
+
+    /** Set the instance to the combination of two transforms.
+     * <p>
+     * This is the in-place equivalent to {@link Transform#Transform(AbsoluteDate,
+     * Transform, Transform)}. The instance may be one of the arguments.
+     * </p>
+     * @param first first transform applied
+     * @param second second transform applied
+     * @return the instance
+     */
+    public MutableTransform compose(final MutableTransform first, final MutableTransform second) {
+
+        // second transform elements, in first transform rotated frame
+        // (p₂, v₂ + Ω₁ × p₂ and a₂ + 2 Ω₁ × v₂ + Ω₁ × (Ω₁ × p₂) + dΩ₁/dt × p₂)
+        final double p2x  = second.tx;
+        final double p2y  = second.ty;
+        final double p2z  = second.tz;
+        final double cPx  = first.oy * p2z - first.oz * p2y;
+        final double cPy  = first.oz * p2x - first.ox * p2z;
+        final double cPz  = first.ox * p2y - first.oy * p2x;
+        final double cVx  = first.oy * second.vz - first.oz * second.vy;
+        final double cVy  = first.oz * second.vx - first.ox * second.vz;
+        final double cVz  = first.ox * second.vy - first.oy * second.vx;
+        final double cCPx = first.oy * cPz - first.oz * cPy;
+        final double cCPy = first.oz * cPx - first.ox * cPz;
+        final double cCPz = first.ox * cPy - first.oy * cPx;
+        final double cDPx = first.oDoty * p2z - first.oDotz * p2y;
+        final double cDPy = first.oDotz * p2x - first.oDotx * p2z;
+        final double cDPz = first.oDotx * p2y - first.oDoty * p2x;
+        final double v2x  = second.vx + cPx;
+        final double v2y  = second.vy + cPy;
+        final double v2z  = second.vz + cPz;
+        final double a2x  = second.ax + 2 * cVx + cCPx + cDPx;
+        final double a2y  = second.ay + 2 * cVy + cCPy + cDPy;
+        final double a2z  = second.az + 2 * cVz + cCPz + cDPz;
+
+        // translation part, back in first transform origin frame
+        final double ntx = first.tx + first.m00 * p2x + first.m10 * p2y + first.m20 * p2z;
+        final double nty = first.ty + first.m01 * p2x + first.m11 * p2y + first.m21 * p2z;
+        final double ntz = first.tz + first.m02 * p2x + first.m12 * p2y + first.m22 * p2z;
+        final double nvx = first.vx + first.m00 * v2x + first.m10 * v2y + first.m20 * v2z;
+        final double nvy = first.vy + first.m01 * v2x + first.m11 * v2y + first.m21 * v2z;
+        final double nvz = first.vz + first.m02 * v2x + first.m12 * v2y + first.m22 * v2z;
+        final double nax = first.ax + first.m00 * a2x + first.m10 * a2y + first.m20 * a2z;
+        final double nay = first.ay + first.m01 * a2x + first.m11 * a2y + first.m21 * a2z;
+        final double naz = first.az + first.m02 * a2x + first.m12 * a2y + first.m22 * a2z;
+
+        // rotation rate part, Ω₂ + R₂ Ω₁ and dΩ₂/dt + R₂ dΩ₁/dt - Ω₂ × R₂ Ω₁
+        final double r1x = second.m00 * first.ox + second.m01 * first.oy + second.m02 * first.oz;
+        final double r1y = second.m10 * first.ox + second.m11 * first.oy + second.m12 * first.oz;
+        final double r1z = second.m20 * first.ox + second.m21 * first.oy + second.m22 * first.oz;
+        final double nox = second.ox + r1x;
+        final double noy = second.oy + r1y;
+        final double noz = second.oz + r1z;
+        final double nDx = second.oDotx + second.m00 * first.oDotx + second.m01 * first.oDoty + second.m02 * first.oDotz -
+                           (second.oy * r1z - second.oz * r1y);
+        final double nDy = second.oDoty + second.m10 * first.oDotx + second.m11 * first.oDoty + second.m12 * first.oDotz -
+                           (second.oz * r1x - second.ox * r1z);
+        final double nDz = second.oDotz + second.m20 * first.oDotx + second.m21 * first.oDoty + second.m22 * first.oDotz -
+                           (second.ox * r1y - second.oy * r1x);
+
+        // rotation part, same as Rotation.compose with RotationConvention.FRAME_TRANSFORM
+        final double nq0 = first.q0 * second.q0 - (first.q1 * second.q1 + first.q2 * second.q2 + first.q3 * second.q3);
+        final double nq1 = first.q1 * second.q0 + first.q0 * second.q1 + (first.q2 * second.q3 - first.q3 * second.q2);
+        final double nq2 = first.q2 * second.q0 + first.q0 * second.q2 + (first.q3 * second.q1 - first.q1 * second.q3);
+        final double nq3 = first.q3 * second.q0 + first.q0 * second.q3 + (first.q1 * second.q2 - first.q2 * second.q1);
+
+        tx    = ntx;
+        ty    = nty;
+        tz    = ntz;
+        vx    = nvx;
+        vy    = nvy;
+        vz    = nvz;
+        ax    = nax;
+        ay    = nay;
+        az    = naz;
+        ox    = nox;
+        oy    = noy;
+        oz    = noz;
+        oDotx = nDx;
+        oDoty = nDy;
+        oDotz = nDz;
+        setQuaternion(nq0, nq1, nq2, nq3);
+
+        return this;
+
+    }
+
+    /** Set the rotation quaternion and update the rotation matrix.
+     * @param scalar scalar part of the quaternion
+     * @param x first component of the vector part of the quaternion
+     * @param y second component of the vector part of the quaternion
+     * @param z third component of the vector part of the quaternion
+     */
+    private void setQuaternion(final double scalar, final double x, final double y, final double z) {
+
+        q0 = scalar;
+        q1 = x;
+        q2 = y;
+        q3 = z;
+
+        final double q0q0 = q0 * q0;
+        final double q0q1 = q0 * q1;
+        final double q0q2 = q0 * q2;
+        final double q0q3 = q0 * q3;
+        final double q1q1 = q1 * q1;
+        final double q1q2 = q1 * q2;
+        final double q1q3 = q1 * q3;
+        final double q2q2 = q2 * q2;
+        final double q2q3 = q2 * q3;
+        final double q3q3 = q3 * q3;
+
+        m00 = 2.0 * (q0q0 + q1q1) - 1.0;
+        m01 = 2.0 * (q1q2 + q0q3);
+        m02 = 2.0 * (q1q3 - q0q2);
+        m10 = 2.0 * (q1q2 - q0q3);
+        m11 = 2.0 * (q0q0 + q2q2) - 1.0;
+        m12 = 2.0 * (q2q3 + q0q1);
+        m20 = 2.0 * (q1q3 + q0q2);
+        m21 = 2.0 * (q2q3 - q0q1);
+        m22 = 2.0 * (q0q0 + q3q3) - 1.0;
+
+    }
+
+    /** Transform a position vector (including translation effects).
+     * @param in array containing the position to transform
+     * @param inOffset index of the first position component in input array
+     * @param out array where to put transformed position (may be the same as input array)
+     * @param outOffset index of the first position component in output array
+     * @see Transform#transformPosition(Vector3D)
+     */
+    public void transformPosition(final double[] in, final int inOffset,
+                                  final double[] out, final int outOffset) {
+        final double x = in[inOffset]     + tx;
+        final double y = in[inOffset + 1] + ty;
+        final double z = in[inOffset + 2] + tz;
+        out[outOffset]     = m00 * x + m01 * y + m02 * z;
+        out[outOffset + 1] = m10 * x + m11 * y + m12 * z;
+        out[outOffset + 2] = m20 * x + m21 * y + m22 * z;
+    }
+
+    /** Transform a vector (ignoring translation effects).
+     * @param in array containing the vector to transform
+     * @param inOffset index of the first vector component in input array
+     * @param out array where to put transformed vector (may be the same as input array)
+     * @param outOffset index of the first vector component in output array
+     * @see Transform#transformVector(Vector3D)
+     */
+    public void transformVector(final double[] in, final int inOffset,
+                                final double[] out, final int outOffset) {
+        final double x = in[inOffset];
+        final double y = in[inOffset + 1];
+        final double z = in[inOffset + 2];
+        out[outOffset]     = m00 * x + m01 * y + m02 * z;
+        out[outOffset + 1] = m10 * x + m11 * y + m12 * z;
+        out[outOffset + 2] = m20 * x + m21 * y + m22 * z;
+    }
+
+    /** Transform position-velocity-acceleration including kinematic effects.
+     * @param in array containing the position-velocity-acceleration to transform
+     * @param inOffset index of the first component in input array
+     * @param out array where to put transformed position-velocity-acceleration
+     * (may be the same as input array)
+     * @param outOffset index of the first component in output array
+     * @see Transform#transformPVCoordinates(PVCoordinates)
+     */
+    public void transformPVCoordinates(final double[] in, final int inOffset,
+                                       final double[] out, final int outOffset) {
+
+        // apply translation
+        final double px = in[inOffset]     + tx;
+        final double py = in[inOffset + 1] + ty;
+        final double pz = in[inOffset + 2] + tz;
+        final double vX = in[inOffset + 3] + vx;
+        final double vY = in[inOffset + 4] + vy;
+        final double vZ = in[inOffset + 5] + vz;
+        final double aX = in[inOffset + 6] + ax;
+        final double aY = in[inOffset + 7] + ay;
+        final double aZ = in[inOffset + 8] + az;
+
+        // apply rotation
+        final double rPx  = m00 * px + m01 * py + m02 * pz;
+        final double rPy  = m10 * px + m11 * py + m12 * pz;
+        final double rPz  = m20 * px + m21 * py + m22 * pz;
+        final double cPx  = oy * rPz - oz * rPy;
+        final double cPy  = oz * rPx - ox * rPz;
+        final double cPz  = ox * rPy - oy * rPx;
+        final double rVx  = m00 * vX + m01 * vY + m02 * vZ - cPx;
+        final double rVy  = m10 * vX + m11 * vY + m12 * vZ - cPy;
+        final double rVz  = m20 * vX + m21 * vY + m22 * vZ - cPz;
+        final double cVx  = oy * rVz - oz * rVy;
+        final double cVy  = oz * rVx - ox * rVz;
+        final double cVz  = ox * rVy - oy * rVx;
+        final double cCPx = oy * cPz - oz * cPy;
+        final double cCPy = oz * cPx - ox * cPz;
+        final double cCPz = ox * cPy - oy * cPx;
+        final double cDPx = oDoty * rPz - oDotz * rPy;
+        final double cDPy = oDotz * rPx - oDotx * rPz;
+        final double cDPz = oDotx * rPy - oDoty * rPx;
+
+        out[outOffset]     = rPx;
+        out[outOffset + 1] = rPy;
+        out[outOffset + 2] = rPz;
+        out[outOffset + 3] = rVx;
+        out[outOffset + 4] = rVy;
+        out[outOffset + 5] = rVz;
+        out[outOffset + 6] = m00 * aX + m01 * aY + m02 * aZ - 2 * cVx - cCPx - cDPx;
+        out[outOffset + 7] = m10 * aX + m11 * aY + m12 * aZ - 2 * cVy - cCPy - cDPy;
+        out[outOffset + 8] = m20 * aX + m21 * aY + m22 * aZ - 2 * cVz - cCPz - cDPz;
+
+    }
+
+    /** Build an immutable transform from the instance.
+     * @param date date of the transform
+     * @return immutable transform
+     */
+    public Transform toTransform(final AbsoluteDate date) {
+        return new Transform(date,
+                             new PVCoordinates(new Vector3D(tx, ty, tz),
+                                               new Vector3D(vx, vy, vz),
+                                               new Vector3D(ax, ay, az)),
+                             new AngularCoordinates(new Rotation(q0, q1, q2, q3, false),
+                                                    new Vector3D(ox, oy, oz),
+                                                    new Vector3D(oDotx, oDoty, oDotz)));
+    }
+
+}
@@ -0,0 +1,109 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScales;
+import org.orekit.time.TimeVectorFunction;
+import org.orekit.utils.IERSConventions;
+
+/** Settings for fitted precession-nutation functions in frames providers.
+ * <p>
+ * When these settings are used, the providers replace the raw precession and
+ * nutation series from {@link IERSConventions} by their dense Chebyshev fits
+ * over the configured time span. The raw series are still used outside of this
+ * time span.
+ * </p>
+ * @see org.orekit.time.ChebyshevTimeVectorFunction
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+class PrecessionNutationFit {
+
+    /** Start of the fitted time span. */
+    private final AbsoluteDate start;
+
+    /** End of the fitted time span. */
+    private final AbsoluteDate end;
+
+    /** Maximum absolute error allowed (rad). */
+    private final double tolerance;
+
+    /** Simple constructor.
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed (rad)
+     */
+    PrecessionNutationFit(final AbsoluteDate start, final AbsoluteDate end, final double tolerance) {
+        if (end.compareTo(start) <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND,
+                                                     start, end);
+        }
+        if (!(tolerance > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     tolerance, 0.0);
+        }
+        this.start     = start;
+        this.end       = end;
+        this.tolerance = tolerance;
+    }
+
+    /** Get the function computing the Celestial Intermediate Pole and Origin components.
+     * @param fit fit settings, or null if raw function should be used
+     * @param conventions IERS conventions
+     * @param timeScales time scales used to define the function
+     * @return function computing the Celestial Intermediate Pole and Origin components
+     */
+    static TimeVectorFunction getXYSpXY2Function(final PrecessionNutationFit fit,
+                                                 final IERSConventions conventions,
+                                                 final TimeScales timeScales) {
+        return (fit == null) ?
+               conventions.getXYSpXY2Function(timeScales) :
+               conventions.getXYSpXY2Function(timeScales, fit.start, fit.end, fit.tolerance);
+    }
+
+    /** Get the function computing the precession angles.
+     * @param fit fit settings, or null if raw function should be used
+     * @param conventions IERS conventions
+     * @param timeScales time scales used to define the function
+     * @return function computing the precession angles
+     */
+    static TimeVectorFunction getPrecessionFunction(final PrecessionNutationFit fit,
+                                                    final IERSConventions conventions,
+                                                    final TimeScales timeScales) {
+        return (fit == null) ?
+               conventions.getPrecessionFunction(timeScales) :
+               conventions.getPrecessionFunction(timeScales, fit.start, fit.end, fit.tolerance);
+    }
+
+    /** Get the function computing the nutation angles.
+     * @param fit fit settings, or null if raw function should be used
+     * @param conventions IERS conventions
+     * @param timeScales time scales used to define the function
+     * @return function computing the nutation angles
+     */
+    static TimeVectorFunction getNutationFunction(final PrecessionNutationFit fit,
+                                                  final IERSConventions conventions,
+                                                  final TimeScales timeScales) {
+        return (fit == null) ?
+               conventions.getNutationFunction(timeScales) :
+               conventions.getNutationFunction(timeScales, fit.start, fit.end, fit.tolerance);
+    }
+
+}
@@ -71,10 +71,27 @@ class TEMEProvider implements EOPBasedTransformProvider {
     TEMEProvider(final IERSConventions conventions,
                  final EOPHistory eopHistory,
                  final TimeScales timeScales) {
-        this.conventions       = conventions;
-        this.eopHistory        = eopHistory;
-        this.obliquityFunction = conventions.getMeanObliquityFunction(timeScales);
-        this.nutationFunction  = conventions.getNutationFunction(timeScales);
+        this(conventions, eopHistory, timeScales, null);
+    }
+
+    /**
+     * Constructor with fitted nutation model.
+     *
+     * @param conventions IERS conventions to apply
+     * @param eopHistory  EOP history or {@code null} if no corrections should be
+     *                    applied.
+     * @param timeScales  other time scales used in computing the transform.
+     * @param fit         fit settings for the nutation model ({@code null} if raw
+     *                    model is used)
+     * @since 10.3
+     */
+    TEMEProvider(final IERSConventions conventions,
+                 final EOPHistory eopHistory,
+                 final TimeScales timeScales,
+                 final PrecessionNutationFit fit) {
+        this(conventions, eopHistory,
+             conventions.getMeanObliquityFunction(timeScales),
+             PrecessionNutationFit.getNutationFunction(fit, conventions, timeScales));
     }
 
     /**
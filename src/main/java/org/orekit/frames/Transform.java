@@ -56,7 +56,8 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * coordinates of a vector expressed in the old frame to obtain the
  * same vector expressed in the new frame.
  *
- * <p>Instances of this class are guaranteed to be immutable.</p>
+ * <p>Instances of this class are guaranteed to be immutable. For inner loops
+ * where allocation matters, see {@link MutableTransform}.</p>
  *
  * <h1> Examples </h1>
  *
@@ -123,8 +124,8 @@ public class Transform
      * @param cartesian Cartesian coordinates of the target frame with respect to the original frame
      * @param angular angular coordinates of the target frame with respect to the original frame
      */
-    private Transform(final AbsoluteDate date,
-                      final PVCoordinates cartesian, final AngularCoordinates angular) {
+    Transform(final AbsoluteDate date,
+              final PVCoordinates cartesian, final AngularCoordinates angular) {
         this.date      = date;
         this.cartesian = cartesian;
         this.angular   = angular;
@@ -78,18 +78,30 @@ public class HatanakaCompressFilter implements DataFilter {
     /** Filtering of Hatanaka compressed stream. */
     private static class HatanakaInputStream extends InputStream {
 
+        /** Initial size of the pending bytes buffer. */
+        private static final int INITIAL_BUFFER_SIZE = 4096;
+
         /** Format of the current file. */
         private final CompactRinexFormat format;
 
         /** Line-oriented input. */
         private final BufferedReader reader;
 
-        /** Pending uncompressed output lines. */
+        /** Builder for uncompressed sections (reused between sections). */
+        private final StringBuilder section;
+
+        /** Pending uncompressed output bytes (reused between sections). */
         private byte[] pending;
 
-        /** Number of characters already output in pending lines. */
+        /** Number of pending bytes. */
+        private int nbPending;
+
+        /** Number of bytes already output from pending bytes. */
         private int countOut;
 
+        /** Buffer for single byte reads. */
+        private final byte[] single;
+
         /** Simple constructor.
          * @param name file name
          * @param input underlying compressed stream
@@ -103,51 +115,86 @@ public class HatanakaCompressFilter implements DataFilter {
             // check header
             format = CompactRinexFormat.getFormat(name, reader);
 
-            pending  = null;
+            section   = new StringBuilder();
+            pending   = new byte[INITIAL_BUFFER_SIZE];
+            nbPending = 0;
+            countOut  = 0;
+            single    = new byte[1];
 
         }
 
         /** {@inheritDoc} */
         @Override
         public int read() throws IOException {
-            final byte[] b = new byte[1];
-            return read(b, 0, 1) < 0 ? -1 : b[0];
+            return read(single, 0, 1) < 0 ? -1 : (single[0] & 0xff);
         }
 
         /** {@inheritDoc} */
         @Override
         public int read(final byte[] b, final int offset, final int len) throws IOException {
 
-            if (pending == null) {
-                // we need to read another section from the underlying stream and uncompress it
-                countOut = 0;
-                final String firstLine = reader.readLine();
-                if (firstLine == null) {
+            if (len == 0) {
+                return 0;
+            }
+
+            // fill the caller buffer with as many sections as possible
+            int n = 0;
+            while (n < len) {
+
+                if (countOut == nbPending && !loadSection()) {
                     // there are no lines left
-                    return -1;
-                } else {
-                    pending = format.uncompressSection(firstLine).getBytes(StandardCharsets.UTF_8);
+                    return n == 0 ? -1 : n;
                 }
-            }
 
-            // copy as many characters as possible from current line
-            int n = FastMath.min(len, pending.length - countOut);
-            System.arraycopy(pending, countOut, b, offset, n);
+                // copy as many bytes as possible from current section
+                final int chunk = FastMath.min(len - n, nbPending - countOut);
+                System.arraycopy(pending, countOut, b, offset + n, chunk);
+                countOut += chunk;
+                n        += chunk;
 
-            if (n < len) {
-                // line has been completed and we can still output end of line
-                b[offset + n] = '\n';
-                pending       = null;
-                ++n;
-            } else {
-                // there are still some pending characters
-                countOut += n;
             }
 
             return n;
 
         }
 
+        /** Read another section from the underlying stream and uncompress it.
+         * @return false if there are no lines left
+         * @exception IOException if we cannot read lines from underlying stream
+         */
+        private boolean loadSection() throws IOException {
+
+            final String firstLine = reader.readLine();
+            if (firstLine == null) {
+                return false;
+            }
+
+            section.setLength(0);
+            format.uncompressSection(firstLine, section);
+            section.append('\n');
+
+            // encode the section, RINEX files are almost always pure ASCII
+            final int length = section.length();
+            if (pending.length < length) {
+                pending = new byte[FastMath.max(length, 2 * pending.length)];
+            }
+            for (int i = 0; i < length; ++i) {
+                final char c = section.charAt(i);
+                if (c >= 0x80) {
+                    // non-ASCII characters, fall back to general encoding
+                    pending = section.toString().getBytes(StandardCharsets.UTF_8);
+                    nbPending = pending.length;
+                    countOut  = 0;
+                    return true;
+                }
+                pending[i] = (byte) c;
+            }
+            nbPending = length;
+            countOut  = 0;
+            return true;
+
+        }
+
         /** {@inheritDoc} */
         @Override
         public void close() throws IOException {
@@ -159,6 +206,9 @@ public class HatanakaCompressFilter implements DataFilter {
     /** Processor handling differential compression for one numerical data field. */
     private static class NumericDifferential {
 
+        /** Maximum number of digits in a long. */
+        private static final int MAX_DIGITS = 19;
+
         /** Length of the uncompressed text field. */
         private final int fieldLength;
 
@@ -171,8 +221,14 @@ public class HatanakaCompressFilter implements DataFilter {
         /** Number of components in the state vector. */
         private int nbComponents;
 
+        /** Digits of the unscaled value (stored at the end of the array). */
+        private final char[] digits;
+
         /** Uncompressed value. */
-        private String uncompressed;
+        private char[] uncompressed;
+
+        /** Number of characters in uncompressed value. */
+        private int uncompressedLength;
 
         /** Simple constructor.
          * @param fieldLength length of the uncompressed text field
@@ -184,6 +240,8 @@ public class HatanakaCompressFilter implements DataFilter {
             this.decimalPlaces = decimalPlaces;
             this.state         = new long[order + 1];
             this.nbComponents  = 0;
+            this.digits        = new char[MAX_DIGITS];
+            this.uncompressed  = new char[fieldLength];
         }
 
         /** Handle a new compressed value.
@@ -192,7 +250,7 @@ public class HatanakaCompressFilter implements DataFilter {
         public void accept(final CharSequence sequence) {
 
             // store the value as the last component of state vector
-            state[nbComponents] = Long.parseLong(sequence.toString());
+            state[nbComponents] = parseLong(sequence);
 
             // update state vector
             for (int i = nbComponents; i > 0; --i) {
@@ -204,35 +262,79 @@ public class HatanakaCompressFilter implements DataFilter {
                 --nbComponents;
             }
 
-            // output uncompressed value
-            final String unscaled = Long.toString(FastMath.abs(state[0]));
-            final int    length   = unscaled.length();
-            final int    digits   = FastMath.max(length, decimalPlaces);
-            final int    padding  = fieldLength - (digits + (state[0] < 0 ? 2 : 1));
-            final StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < padding; ++i) {
-                builder.append(' ');
+            // extract digits of the unscaled value, from least to most significant
+            long remaining = FastMath.abs(state[0]);
+            int  length    = 0;
+            do {
+                digits[MAX_DIGITS - 1 - length++] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining != 0);
+
+            // output uncompressed value, from right to left
+            final int nbDigits = FastMath.max(length, decimalPlaces);
+            uncompressedLength = FastMath.max(fieldLength, nbDigits + (state[0] < 0 ? 2 : 1));
+            if (uncompressed.length < uncompressedLength) {
+                uncompressed = new char[uncompressedLength];
             }
-            if (state[0] < 0) {
-                builder.append('-');
+            int index = uncompressedLength;
+            for (int i = 0; i < decimalPlaces; ++i) {
+                uncompressed[--index] = i < length ? digits[MAX_DIGITS - 1 - i] : '0';
+            }
+            uncompressed[--index] = '.';
+            for (int i = decimalPlaces; i < length; ++i) {
+                uncompressed[--index] = digits[MAX_DIGITS - 1 - i];
             }
-            if (length > decimalPlaces) {
-                builder.append(unscaled, 0, length - decimalPlaces);
+            if (state[0] < 0) {
+                uncompressed[--index] = '-';
             }
-            builder.append('.');
-            for (int i = decimalPlaces; i > 0; --i) {
-                builder.append(i > length ? '0' : unscaled.charAt(length - i));
+            while (index > 0) {
+                uncompressed[--index] = ' ';
             }
 
-            uncompressed = builder.toString();
+        }
 
+        /** Parse a long integer without building an intermediate string.
+         * @param sequence sequence containing the integer
+         * @return parsed integer
+         * @exception NumberFormatException if sequence does not contain an integer
+         */
+        private static long parseLong(final CharSequence sequence) {
+            final int     n        = sequence.length();
+            final boolean signed   = n > 0 && (sequence.charAt(0) == '-' || sequence.charAt(0) == '+');
+            final int     start    = signed ? 1 : 0;
+            if (n == start || n - start > MAX_DIGITS) {
+                throw new NumberFormatException(sequence.toString());
+            }
+            long value = 0;
+            for (int i = start; i < n; ++i) {
+                final int digit = Character.digit(sequence.charAt(i), 10);
+                if (digit < 0) {
+                    throw new NumberFormatException(sequence.toString());
+                }
+                value = 10 * value + digit;
+            }
+            return signed && sequence.charAt(0) == '-' ? -value : value;
         }
 
         /** Get a string representation of the uncompressed value.
          * @return string representation of the uncompressed value
          */
         public String getUncompressed() {
-            return uncompressed;
+            return new String(uncompressed, 0, uncompressedLength);
+        }
+
+        /** Append the uncompressed value to a builder.
+         * @param builder builder where to append the uncompressed value
+         */
+        public void appendUncompressed(final StringBuilder builder) {
+            builder.append(uncompressed, 0, uncompressedLength);
+        }
+
+        /** Get the length of the uncompressed value.
+         * @return length of the uncompressed value
+         */
+        public int getUncompressedLength() {
+            return uncompressedLength;
         }
 
     }
@@ -280,6 +382,21 @@ public class HatanakaCompressFilter implements DataFilter {
             return state.toString();
         }
 
+        /** Get the length of the uncompressed value.
+         * @return length of the uncompressed value
+         */
+        public int length() {
+            return state.capacity();
+        }
+
+        /** Get one character of the uncompressed value.
+         * @param index index of the character
+         * @return character at specified index
+         */
+        public char charAt(final int index) {
+            return state.get(index);
+        }
+
     }
 
     /** Container for combined observations and flags. */
@@ -373,17 +490,15 @@ public class HatanakaCompressFilter implements DataFilter {
 
         /** Uncompress a section.
          * @param firstLine first line of the section
-         * @return uncompressed section (contains several lines)
+         * @param builder empty builder where to put the uncompressed section (contains several lines)
          * @exception IOException if we cannot read lines from underlying stream
          */
-        public String uncompressSection(final String firstLine)
+        public void uncompressSection(final String firstLine, final StringBuilder builder)
             throws IOException {
-            final String uncompressed;
             switch (section) {
 
                 case HEADER : {
                     // header lines
-                    final StringBuilder builder = new StringBuilder();
                     String line = firstLine;
                     lineNumber = 3; // there are 2 CRINEX lines before the RINEX header line
                     while (section == Section.HEADER) {
@@ -394,16 +509,15 @@ public class HatanakaCompressFilter implements DataFilter {
                         builder.append(parseHeaderLine(line));
                         trimTrailingSpaces(builder);
                     }
-                    uncompressed = builder.toString();
-                    section      = Section.EPOCH;
+                    section = Section.EPOCH;
                     break;
                 }
 
                 case EPOCH : {
                     // epoch and receiver clock offset lines
                     ++lineNumber; // the caller has read one epoch line
-                    uncompressed = parseEpochAndClockLines(firstLine, readLine().trim());
-                    section      = Section.OBSERVATION;
+                    parseEpochAndClockLines(builder, firstLine, readLine().trim());
+                    section = Section.OBSERVATION;
                     break;
                 }
 
@@ -415,14 +529,12 @@ public class HatanakaCompressFilter implements DataFilter {
                     for (int i = 1; i < lines.length; ++i) {
                         lines[i] = readLine();
                     }
-                    uncompressed = parseObservationLines(lines);
-                    section      = Section.EPOCH;
+                    parseObservationLines(builder, lines);
+                    section = Section.EPOCH;
                 }
 
             }
 
-            return uncompressed;
-
         }
 
         /** Parse a header line.
@@ -445,12 +557,12 @@ public class HatanakaCompressFilter implements DataFilter {
         }
 
         /** Parse epoch and receiver clock offset lines.
+         * @param builder builder where to put the uncompressed lines
          * @param epochLine epoch line
          * @param clockLine receiver clock offset line
-         * @return uncompressed line
          * @exception IOException if we cannot read additional special events lines
          */
-        public abstract String parseEpochAndClockLines(String epochLine, String clockLine)
+        public abstract void parseEpochAndClockLines(StringBuilder builder, String epochLine, String clockLine)
             throws IOException;
 
         /** Parse epoch and receiver clock offset lines.
@@ -545,11 +657,20 @@ public class HatanakaCompressFilter implements DataFilter {
             return epochDifferential.getUncompressed();
         }
 
-        /** Get the uncompressed clock part.
-         * @return uncompressed clock part
+        /** Append the uncompressed clock part, starting at specified column.
+         * <p>
+         * Nothing is appended if there are no clock offsets in the file.
+         * </p>
+         * @param builder builder where to append the clock part
+         * @param clockStart column of the clock field
          */
-        protected String getClockPart() {
-            return clockDifferential == null ? "" : clockDifferential.getUncompressed();
+        protected void appendClockPart(final StringBuilder builder, final int clockStart) {
+            if (clockDifferential != null && clockDifferential.getUncompressedLength() > 0) {
+                while (builder.length() < clockStart) {
+                    builder.append(' ');
+                }
+                clockDifferential.appendUncompressed(builder);
+            }
         }
 
         /** Get the satellites for current observations.
@@ -568,10 +689,10 @@ public class HatanakaCompressFilter implements DataFilter {
         }
 
         /** Parse observation lines.
+         * @param builder builder where to put the uncompressed lines
          * @param observationLines observation lines
-         * @return uncompressed lines
          */
-        public abstract String parseObservationLines(String[] observationLines);
+        public abstract void parseObservationLines(StringBuilder builder, String[] observationLines);
 
         /** Parse observation lines.
          * @param dataLength length of data fields
@@ -752,9 +873,11 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param builder builder to trim
          */
         public static void trimTrailingSpaces(final StringBuilder builder) {
-            for (int i = builder.length() - 1; i >= 0 && builder.charAt(i) == ' '; --i) {
-                builder.deleteCharAt(i);
+            int length = builder.length();
+            while (length > 0 && builder.charAt(length - 1) == ' ') {
+                --length;
             }
+            builder.setLength(length);
         }
 
         /** Enumerate for parsing sections. */
@@ -838,10 +961,10 @@ public class HatanakaCompressFilter implements DataFilter {
 
         @Override
         /** {@inheritDoc} */
-        public String parseEpochAndClockLines(final String epochLine, final String clockLine)
+        public void parseEpochAndClockLines(final StringBuilder builder,
+                                            final String epochLine, final String clockLine)
             throws IOException {
 
-            final StringBuilder builder = new StringBuilder();
             doParseEpochAndClockLines(builder,
                                       EPOCH_START, EPOCH_LENGTH, EVENT_START, NB_SAT_START, SAT_LIST_START,
                                       CLOCK_LENGTH, CLOCK_DECIMAL_PLACES, epochLine,
@@ -855,12 +978,7 @@ public class HatanakaCompressFilter implements DataFilter {
             while (iSat < FastMath.min(satellites.size(), MAX_SAT_EPOCH_LINE)) {
                 builder.append(satellites.get(iSat++));
             }
-            if (!getClockPart().isEmpty()) {
-                while (builder.length() < CLOCK_START) {
-                    builder.append(' ');
-                }
-                builder.append(getClockPart());
-            }
+            appendClockPart(builder, CLOCK_START);
 
             while (iSat < satellites.size()) {
                 // add a continuation line
@@ -875,26 +993,24 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
             }
             trimTrailingSpaces(builder);
-            return builder.toString();
 
         }
 
         @Override
         /** {@inheritDoc} */
-        public String parseObservationLines(final String[] observationLines) {
+        public void parseObservationLines(final StringBuilder builder, final String[] observationLines) {
 
             // parse the observation lines
             doParseObservationLines(DATA_LENGTH, DATA_DECIMAL_PLACES, observationLines);
 
             // build uncompressed lines
-            final StringBuilder builder = new StringBuilder();
             for (final CharSequence sat : getSatellites()) {
                 if (builder.length() > 0) {
                     trimTrailingSpaces(builder);
                     builder.append('\n');
                 }
                 final CombinedDifferentials cd    = getCombinedDifferentials(sat);
-                final String                flags = cd.flags.getUncompressed();
+                final TextDifferential      flags = cd.flags;
                 for (int i = 0; i < cd.observations.length; ++i) {
                     if (i > 0 && i % 5 == 0) {
                         trimTrailingSpaces(builder);
@@ -906,7 +1022,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendUncompressed(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
@@ -917,7 +1033,6 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
             }
             trimTrailingSpaces(builder);
-            return builder.toString();
 
         }
 
@@ -985,10 +1100,10 @@ public class HatanakaCompressFilter implements DataFilter {
 
         @Override
         /** {@inheritDoc} */
-        public String parseEpochAndClockLines(final String epochLine, final String clockLine)
+        public void parseEpochAndClockLines(final StringBuilder builder,
+                                            final String epochLine, final String clockLine)
             throws IOException {
 
-            final StringBuilder builder = new StringBuilder();
             doParseEpochAndClockLines(builder,
                                       EPOCH_START, EPOCH_LENGTH, EVENT_START, NB_SAT_START, SAT_LIST_START,
                                       CLOCK_LENGTH, CLOCK_DECIMAL_PLACES, epochLine,
@@ -996,27 +1111,20 @@ public class HatanakaCompressFilter implements DataFilter {
 
             // build uncompressed line
             builder.append(getEpochPart());
-            if (!getClockPart().isEmpty()) {
-                while (builder.length() < CLOCK_START) {
-                    builder.append(' ');
-                }
-                builder.append(getClockPart());
-            }
+            appendClockPart(builder, CLOCK_START);
 
             trimTrailingSpaces(builder);
-            return builder.toString();
 
         }
 
         @Override
         /** {@inheritDoc} */
-        public String parseObservationLines(final String[] observationLines) {
+        public void parseObservationLines(final StringBuilder builder, final String[] observationLines) {
 
             // parse the observation lines
             doParseObservationLines(DATA_LENGTH, DATA_DECIMAL_PLACES, observationLines);
 
             // build uncompressed lines
-            final StringBuilder builder = new StringBuilder();
             for (final CharSequence sat : getSatellites()) {
                 if (builder.length() > 0) {
                     trimTrailingSpaces(builder);
@@ -1024,7 +1132,7 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
                 builder.append(sat);
                 final CombinedDifferentials cd    = getCombinedDifferentials(sat);
-                final String                flags = cd.flags.getUncompressed();
+                final TextDifferential      flags = cd.flags;
                 for (int i = 0; i < cd.observations.length; ++i) {
                     if (cd.observations[i] == null) {
                         // missing observation
@@ -1032,7 +1140,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendUncompressed(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
@@ -1043,7 +1151,6 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
             }
             trimTrailingSpaces(builder);
-            return builder.toString();
 
         }
 
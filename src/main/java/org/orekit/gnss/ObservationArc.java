@@ -0,0 +1,273 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Columnar observations of one satellite, as held in an {@link ObservationStore}.
+ * <p>
+ * An arc contains one row per epoch at which the satellite was observed, and one
+ * column per observation type. Missing observations are set to {@code Double.NaN}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ObservationArc {
+
+    /** Initial capacity of rows arrays. */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /** Store holding the epochs. */
+    private final ObservationStore store;
+
+    /** Satellite system. */
+    private final SatelliteSystem system;
+
+    /** PRN number of the satellite. */
+    private final int prn;
+
+    /** Epochs indices of rows. */
+    private int[] epochs;
+
+    /** Number of rows. */
+    private int size;
+
+    /** Observation types, in first appearance order. */
+    private final List<ObservationType> types;
+
+    /** Columns per observation type. */
+    private final Map<ObservationType, Column> columns;
+
+    /** Simple constructor.
+     * @param store store holding the epochs
+     * @param system satellite system
+     * @param prn PRN number of the satellite
+     */
+    ObservationArc(final ObservationStore store, final SatelliteSystem system, final int prn) {
+        this.store   = store;
+        this.system  = system;
+        this.prn     = prn;
+        this.epochs  = new int[INITIAL_CAPACITY];
+        this.size    = 0;
+        this.types   = new ArrayList<>();
+        this.columns = new HashMap<>();
+    }
+
+    /** Add a row.
+     * @param epoch index of the epoch
+     * @param observationData observations at epoch
+     */
+    void add(final int epoch, final List<ObservationData> observationData) {
+
+        final int row;
+        if (size > 0 && epochs[size - 1] == epoch) {
+            // the satellite appears twice at the same epoch, the later observations override the earlier ones
+            row = size - 1;
+        } else {
+            if (size == epochs.length) {
+                epochs = Arrays.copyOf(epochs, 2 * epochs.length);
+                for (final Column column : columns.values()) {
+                    column.grow(epochs.length);
+                }
+            }
+            row = size++;
+            epochs[row] = epoch;
+        }
+
+        for (final ObservationData od : observationData) {
+            Column column = columns.get(od.getObservationType());
+            if (column == null) {
+                column = new Column(epochs.length);
+                types.add(od.getObservationType());
+                columns.put(od.getObservationType(), column);
+            }
+            column.values[row]          = od.getValue();
+            column.lli[row]             = (byte) od.getLossOfLockIndicator();
+            column.signalStrength[row]  = (byte) od.getSignalStrength();
+        }
+
+    }
+
+    /** Get the satellite system.
+     * @return satellite system
+     */
+    public SatelliteSystem getSatelliteSystem() {
+        return system;
+    }
+
+    /** Get the PRN number of the satellite.
+     * @return PRN number of the satellite
+     */
+    public int getPrnNumber() {
+        return prn;
+    }
+
+    /** Get the number of rows.
+     * @return number of rows (i.e. number of epochs at which satellite was observed)
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Get the epoch index of a row.
+     * @param row row index
+     * @return index of the epoch in the {@link ObservationStore}
+     */
+    public int getEpoch(final int row) {
+        checkRow(row);
+        return epochs[row];
+    }
+
+    /** Get the date of a row.
+     * @param row row index
+     * @return date of the row
+     */
+    public AbsoluteDate getDate(final int row) {
+        return store.getDate(getEpoch(row));
+    }
+
+    /** Get the dates of all rows.
+     * @return dates of all rows
+     */
+    public AbsoluteDate[] getDates() {
+        final AbsoluteDate[] dates = new AbsoluteDate[size];
+        for (int i = 0; i < size; ++i) {
+            dates[i] = store.getDate(epochs[i]);
+        }
+        return dates;
+    }
+
+    /** Get the observation types available in this arc.
+     * @return unmodifiable view of observation types, in first appearance order
+     */
+    public List<ObservationType> getObservationTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    /** Get the observed values for one observation type.
+     * @param type observation type
+     * @return observed values for all rows (filled with {@code Double.NaN} if type was never observed)
+     */
+    public double[] getValues(final ObservationType type) {
+        final Column column = columns.get(type);
+        if (column == null) {
+            final double[] nan = new double[size];
+            Arrays.fill(nan, Double.NaN);
+            return nan;
+        }
+        return Arrays.copyOf(column.values, size);
+    }
+
+    /** Get the Loss of Lock Indicators for one observation type.
+     * @param type observation type
+     * @return Loss of Lock Indicators for all rows
+     */
+    public int[] getLossOfLockIndicators(final ObservationType type) {
+        final int[] lli = new int[size];
+        final Column column = columns.get(type);
+        if (column != null) {
+            for (int i = 0; i < size; ++i) {
+                lli[i] = column.lli[i];
+            }
+        }
+        return lli;
+    }
+
+    /** Get the signal strengths for one observation type.
+     * @param type observation type
+     * @return signal strengths for all rows
+     */
+    public int[] getSignalStrengths(final ObservationType type) {
+        final int[] strengths = new int[size];
+        final Column column = columns.get(type);
+        if (column != null) {
+            for (int i = 0; i < size; ++i) {
+                strengths[i] = column.signalStrength[i];
+            }
+        }
+        return strengths;
+    }
+
+    /** Get the observations of one row as an observation data set.
+     * @param row row index
+     * @return observation data set for the row, with one observation per
+     * observation type of the arc (set to {@code Double.NaN} if not observed)
+     */
+    public ObservationDataSet getObservationDataSet(final int row) {
+        final int epoch = getEpoch(row);
+        final List<ObservationData> observationData = new ArrayList<>(types.size());
+        for (final ObservationType type : types) {
+            final Column column = columns.get(type);
+            observationData.add(new ObservationData(type, column.values[row],
+                                                    column.lli[row], column.signalStrength[row]));
+        }
+        return new ObservationDataSet(store.getHeader(epoch), system, prn, store.getDate(epoch),
+                                      store.getRcvrClkOffset(epoch), observationData);
+    }
+
+    /** Check a row index.
+     * @param row row index
+     */
+    private void checkRow(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(row));
+        }
+    }
+
+    /** Column for one observation type. */
+    private static class Column {
+
+        /** Observed values. */
+        private double[] values;
+
+        /** Loss of Lock Indicators. */
+        private byte[] lli;
+
+        /** Signal strengths. */
+        private byte[] signalStrength;
+
+        /** Simple constructor.
+         * @param capacity initial capacity
+         */
+        Column(final int capacity) {
+            values         = new double[capacity];
+            lli            = new byte[capacity];
+            signalStrength = new byte[capacity];
+            Arrays.fill(values, Double.NaN);
+        }
+
+        /** Grow the column.
+         * @param capacity new capacity
+         */
+        void grow(final int capacity) {
+            final int old = values.length;
+            values         = Arrays.copyOf(values, capacity);
+            lli            = Arrays.copyOf(lli, capacity);
+            signalStrength = Arrays.copyOf(signalStrength, capacity);
+            Arrays.fill(values, old, capacity, Double.NaN);
+        }
+
+    }
+
+}
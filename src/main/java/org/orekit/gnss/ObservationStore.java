@@ -0,0 +1,187 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Columnar store for GNSS observations.
+ * <p>
+ * This store is an alternative to keeping a list of {@link ObservationDataSet}
+ * instances, which hold one object per observed value. Here, observed values are
+ * kept in primitive arrays, one {@link ObservationArc arc} per satellite, each arc
+ * holding one column per {@link ObservationType observation type}. This reduces
+ * memory consumption and allows processing whole arcs at once, which is interesting
+ * when preprocessing observations from large station networks.
+ * </p>
+ * <p>
+ * As the store implements {@code Consumer<ObservationDataSet>}, it can be populated
+ * directly by a {@link RinexLoader} used in streaming mode, without retaining the
+ * intermediate data sets:
+ * </p>
+ * <pre>
+ *   final ObservationStore store = new ObservationStore();
+ *   new RinexLoader(input, name, timeScales, store);
+ * </pre>
+ * <p>
+ * Observation data sets must be provided in chronological order, which is
+ * the order of RINEX files. Observations for several satellites at the same date
+ * share the same epoch.
+ * </p>
+ * <p>
+ * This class is not thread-safe while it is populated.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ObservationStore implements Consumer<ObservationDataSet> {
+
+    /** Initial capacity of epoch-indexed arrays. */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /** Epochs dates. */
+    private final List<AbsoluteDate> dates;
+
+    /** Rinex headers associated with epochs. */
+    private final List<RinexHeader> headers;
+
+    /** Receiver clock offsets at epochs. */
+    private double[] clockOffsets;
+
+    /** Arcs, in satellites first appearance order. */
+    private final List<ObservationArc> arcs;
+
+    /** Arcs per satellite. */
+    private final Map<String, ObservationArc> arcsMap;
+
+    /** Build an empty store.
+     */
+    public ObservationStore() {
+        this.dates        = new ArrayList<>();
+        this.headers      = new ArrayList<>();
+        this.clockOffsets = new double[INITIAL_CAPACITY];
+        this.arcs         = new ArrayList<>();
+        this.arcsMap      = new HashMap<>();
+    }
+
+    /** Add an observation data set to the store.
+     * @param observationDataSet observation data set to add
+     */
+    @Override
+    public void accept(final ObservationDataSet observationDataSet) {
+
+        // find the epoch
+        final int last = dates.size() - 1;
+        final int epoch;
+        if (last >= 0 &&
+            dates.get(last).equals(observationDataSet.getDate()) &&
+            headers.get(last) == observationDataSet.getHeader()) {
+            epoch = last;
+        } else {
+            epoch = last + 1;
+            dates.add(observationDataSet.getDate());
+            headers.add(observationDataSet.getHeader());
+            if (epoch >= clockOffsets.length) {
+                final double[] grown = new double[2 * clockOffsets.length];
+                System.arraycopy(clockOffsets, 0, grown, 0, clockOffsets.length);
+                clockOffsets = grown;
+            }
+            clockOffsets[epoch] = observationDataSet.getRcvrClkOffset();
+        }
+
+        // find the arc
+        final SatelliteSystem system = observationDataSet.getSatelliteSystem();
+        final int             prn    = observationDataSet.getPrnNumber();
+        final String          key    = key(system, prn);
+        ObservationArc arc = arcsMap.get(key);
+        if (arc == null) {
+            arc = new ObservationArc(this, system, prn);
+            arcs.add(arc);
+            arcsMap.put(key, arc);
+        }
+
+        // store the observations
+        arc.add(epoch, observationDataSet.getObservationData());
+
+    }
+
+    /** Get the number of epochs.
+     * @return number of epochs
+     */
+    public int getNbEpochs() {
+        return dates.size();
+    }
+
+    /** Get the date of an epoch.
+     * @param epoch index of the epoch
+     * @return date of the epoch
+     */
+    public AbsoluteDate getDate(final int epoch) {
+        return dates.get(epoch);
+    }
+
+    /** Get the Rinex header associated with an epoch.
+     * @param epoch index of the epoch
+     * @return Rinex header associated with the epoch
+     */
+    public RinexHeader getHeader(final int epoch) {
+        return headers.get(epoch);
+    }
+
+    /** Get the receiver clock offset at an epoch.
+     * @param epoch index of the epoch
+     * @return receiver clock offset (it is optional, may be 0)
+     */
+    public double getRcvrClkOffset(final int epoch) {
+        if (epoch < 0 || epoch >= dates.size()) {
+            throw new IndexOutOfBoundsException(Integer.toString(epoch));
+        }
+        return clockOffsets[epoch];
+    }
+
+    /** Get all the arcs.
+     * @return unmodifiable view of the arcs, in satellites first appearance order
+     */
+    public List<ObservationArc> getArcs() {
+        return Collections.unmodifiableList(arcs);
+    }
+
+    /** Get the arc for one satellite.
+     * @param system satellite system
+     * @param prn PRN number of the satellite
+     * @return arc for the satellite, or null if the satellite was never observed
+     */
+    public ObservationArc getArc(final SatelliteSystem system, final int prn) {
+        return arcsMap.get(key(system, prn));
+    }
+
+    /** Build a key for a satellite.
+     * @param system satellite system
+     * @param prn PRN number of the satellite
+     * @return key for the satellite
+     */
+    private static String key(final SatelliteSystem system, final int prn) {
+        return system.getKey() + Integer.toString(prn);
+    }
+
+}
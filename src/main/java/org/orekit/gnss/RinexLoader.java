@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.hipparchus.exception.DummyLocalizable;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -115,6 +116,9 @@ public class RinexLoader {
     /** Rinex Observations. */
     private final List<ObservationDataSet> observationDataSets;
 
+    /** Consumer for parsed observations. */
+    private final Consumer<ObservationDataSet> consumer;
+
     /** Set of time scales. */
     private final TimeScales timeScales;
 
@@ -148,6 +152,7 @@ public class RinexLoader {
                        final DataProvidersManager dataProvidersManager,
                        final TimeScales timeScales) {
         observationDataSets = new ArrayList<>();
+        consumer            = observationDataSets::add;
         this.timeScales = timeScales;
         dataProvidersManager.feed(supportedNames, new Parser());
     }
@@ -178,6 +183,35 @@ public class RinexLoader {
         try {
             this.timeScales = timeScales;
             observationDataSets = new ArrayList<>();
+            consumer            = observationDataSets::add;
+            new Parser().loadData(input, name);
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /**
+     * Loads RINEX from the given input stream, streaming observations to a consumer.
+     *
+     * <p>
+     * Each observation data set is passed to the consumer as soon as it has
+     * been parsed, and it is not stored, so {@link #getObservationDataSets()} returns
+     * an empty list. Memory consumption therefore does not depend on the file size.
+     * </p>
+     * @param input data input stream
+     * @param name name of the file (or zip entry)
+     * @param timeScales the set of time scales to use when parsing dates.
+     * @param consumer consumer for observation data sets, called in file order
+     * @since 10.3
+     */
+    public RinexLoader(final InputStream input,
+                       final String name,
+                       final TimeScales timeScales,
+                       final Consumer<ObservationDataSet> consumer) {
+        try {
+            this.timeScales     = timeScales;
+            observationDataSets = Collections.emptyList();
+            this.consumer       = consumer;
             new Parser().loadData(input, name);
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
@@ -639,7 +673,7 @@ public class RinexLoader {
                                                                           lineNumber, name, line);
                                         }
 
-                                        observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                        consumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
                                                                                        tObs, rcvrClkOffset, observationData));
 
                                     }
@@ -1069,7 +1103,7 @@ public class RinexLoader {
                                                                                         parseInt(17 + j * 16, 1),
                                                                                         parseInt(18 + j * 16, 1)));
                                             }
-                                            observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                            consumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
                                                                                            tObs, rcvrClkOffset, observationData));
 
                                         }
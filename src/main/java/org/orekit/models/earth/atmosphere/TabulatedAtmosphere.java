@@ -0,0 +1,420 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import java.util.Arrays;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.stat.descriptive.StreamingStatistics;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Atmosphere model interpolating densities tabulated from a reference model.
+ * <p>
+ * At construction, the reference model (typically {@link NRLMSISE00},
+ * {@link JB2008} or {@link DTM2000}) is sampled on a regular grid of
+ * time, altitude, latitude and local solar time. Densities are then
+ * computed by linear interpolation of the logarithm of the tabulated
+ * densities, which is orders of magnitude cheaper than evaluating
+ * the full empirical model. This is intended for applications
+ * that need a huge number of density evaluations, like reentry Monte-Carlo
+ * or long-term lifetime analysis.
+ * </p>
+ * <p>
+ * The local solar time is represented as the hour angle of the point with
+ * respect to the Sun, i.e. the difference between the point longitude and the
+ * Sun longitude in body frame. The Sun longitude itself is tabulated at the
+ * grid time nodes, so the Sun ephemeris is not needed anymore once the grid
+ * has been built. Altitudes outside of the tabulated range are extrapolated
+ * exponentially from the two closest altitude nodes.
+ * </p>
+ * <p>
+ * The accuracy of the table with respect to the reference model can be
+ * checked by calling {@link #getRelativeErrors(int, RandomGenerator)}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class TabulatedAtmosphere implements Atmosphere {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20201018L;
+
+    /** Half π. */
+    private static final double HALF_PI = 0.5 * FastMath.PI;
+
+    /** Mean rotation rate of the Sun longitude in body frame (rad/s). */
+    private static final double SUN_LONGITUDE_RATE = -MathUtils.TWO_PI / Constants.JULIAN_DAY;
+
+    /** Reference model. */
+    private final Atmosphere reference;
+
+    /** Earth body shape. */
+    private final OneAxisEllipsoid earth;
+
+    /** Start of the grid. */
+    private final AbsoluteDate start;
+
+    /** End of the grid. */
+    private final AbsoluteDate end;
+
+    /** Time step between grid nodes (s). */
+    private final double timeStep;
+
+    /** Time step between the last two grid nodes (s), in (0, timeStep]. */
+    private final double lastStep;
+
+    /** Altitude nodes (m). */
+    private final double[] altitudes;
+
+    /** Number of time nodes. */
+    private final int nT;
+
+    /** Number of latitude nodes, from -π/2 to +π/2 included. */
+    private final int nLat;
+
+    /** Number of local solar time nodes, periodic over [0, 2π). */
+    private final int nLst;
+
+    /** Latitude step (rad). */
+    private final double latStep;
+
+    /** Local solar time step (rad). */
+    private final double lstStep;
+
+    /** Sun longitude in body frame at time nodes, unwrapped (rad). */
+    private final double[] sunLongitude;
+
+    /** Natural logarithm of tabulated densities.
+     * <p>
+     * Density at time node k, altitude node i, latitude node j and local
+     * solar time node l is at index {@code ((k * nH + i) * nLat + j) * nLst + l}.
+     * </p>
+     */
+    private final double[] logDensity;
+
+    /** Build a table by sampling a reference atmosphere model.
+     * <p>
+     * The number of reference model evaluations is the product of the
+     * numbers of nodes along each dimension, which may be huge. As an
+     * example, sampling one year with a 3 hours time step, 40 altitudes,
+     * 19 latitudes and 24 local solar times implies 53 million evaluations
+     * and a 430 MB table.
+     * </p>
+     * <p>
+     * The time nodes are separated by {@code timeStep}, except the last one
+     * which is set exactly at {@code end}, so the last interval may be shorter.
+     * The reference model is therefore never evaluated outside of the
+     * [start, end] span, which matters for models relying on space weather
+     * data that may not be available after {@code end}.
+     * </p>
+     * @param reference reference atmosphere model to sample
+     * @param sun Sun position
+     * @param earth Earth body shape
+     * @param start start of the grid
+     * @param end end of the grid
+     * @param timeStep time step between grid nodes (s)
+     * @param altitudes altitude nodes (m), must be strictly increasing
+     * @param nLat number of latitude nodes, from -π/2 to +π/2 included (must be at least 2)
+     * @param nLst number of local solar time nodes, evenly spread over [0, 2π) (must be at least 2)
+     */
+    public TabulatedAtmosphere(final Atmosphere reference, final PVCoordinatesProvider sun,
+                               final OneAxisEllipsoid earth,
+                               final AbsoluteDate start, final AbsoluteDate end, final double timeStep,
+                               final double[] altitudes, final int nLat, final int nLst) {
+
+        // check grid consistency
+        if (timeStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, timeStep, 0.0);
+        }
+        if (end.compareTo(start) <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND, start, end);
+        }
+        if (altitudes.length < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, altitudes.length, 2);
+        }
+        for (int i = 1; i < altitudes.length; ++i) {
+            if (altitudes[i] <= altitudes[i - 1]) {
+                throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE,
+                                                         altitudes[i], altitudes[i - 1], i, i - 1);
+            }
+        }
+        if (nLat < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, nLat, 2);
+        }
+        if (nLst < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, nLst, 2);
+        }
+
+        this.reference = reference;
+        this.earth     = earth;
+        this.start     = start;
+        this.end       = end;
+        this.timeStep  = timeStep;
+        this.altitudes = altitudes.clone();
+        this.nT        = 1 + (int) FastMath.ceil(end.durationFrom(start) / timeStep);
+        this.lastStep  = end.durationFrom(start) - (nT - 2) * timeStep;
+        this.nLat      = nLat;
+        this.nLst      = nLst;
+        this.latStep   = FastMath.PI / (nLat - 1);
+        this.lstStep   = MathUtils.TWO_PI / nLst;
+
+        // sample the reference model
+        final Frame bodyFrame = earth.getBodyFrame();
+        final int   nH        = altitudes.length;
+        this.sunLongitude = new double[nT];
+        this.logDensity   = new double[nT * nH * nLat * nLst];
+        int index = 0;
+        for (int k = 0; k < nT; ++k) {
+
+            // the last node is clamped at grid end
+            final AbsoluteDate date = (k == nT - 1) ? end : start.shiftedBy(k * timeStep);
+            final double lonS = sun.getPVCoordinates(date, bodyFrame).getPosition().getAlpha();
+            sunLongitude[k] = (k == 0) ?
+                              lonS :
+                              MathUtils.normalizeAngle(lonS, sunLongitude[k - 1] + SUN_LONGITUDE_RATE * step(k - 1));
+
+            for (int i = 0; i < nH; ++i) {
+                for (int j = 0; j < nLat; ++j) {
+                    final double latitude = j * latStep - HALF_PI;
+                    for (int l = 0; l < nLst; ++l) {
+                        final GeodeticPoint gp = new GeodeticPoint(latitude, lonS + l * lstStep, altitudes[i]);
+                        final double rho = reference.getDensity(date, earth.transform(gp), bodyFrame);
+                        logDensity[index++] = FastMath.log(FastMath.max(rho, Double.MIN_NORMAL));
+                    }
+                }
+            }
+
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    public Frame getFrame() {
+        return earth.getBodyFrame();
+    }
+
+    /** Get the reference model sampled by this table.
+     * @return reference model sampled by this table
+     */
+    public Atmosphere getReference() {
+        return reference;
+    }
+
+    /** Get the start of the grid.
+     * @return start of the grid
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the end of the grid.
+     * @return end of the grid
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Get the altitude nodes.
+     * @return altitude nodes (m)
+     */
+    public double[] getAltitudes() {
+        return altitudes.clone();
+    }
+
+    /** {@inheritDoc} */
+    public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+
+        // time interpolation node
+        final double dt = date.durationFrom(start);
+        final int    k  = timeIndex(date, dt);
+        final double wT = (dt - k * timeStep) / step(k);
+
+        // position of the point with respect to the Sun
+        final GeodeticPoint gp   = earth.transform(position, frame, date);
+        final double        lonS = sunLongitude[k] + wT * (sunLongitude[k + 1] - sunLongitude[k]);
+        final double        lst  = MathUtils.normalizeAngle(gp.getLongitude() - lonS, FastMath.PI);
+
+        // other interpolation nodes
+        final int    i  = altitudeIndex(gp.getAltitude());
+        final double wH = (gp.getAltitude() - altitudes[i]) / (altitudes[i + 1] - altitudes[i]);
+        final int    j  = latitudeIndex(gp.getLatitude());
+        final double wB = (gp.getLatitude() + HALF_PI) / latStep - j;
+        final int    l  = lstIndex(lst);
+        final double wL = lst / lstStep - l;
+
+        // multi-linear interpolation of the logarithm of density
+        final int    l1 = (l + 1) % nLst;
+        double logRho = 0;
+        for (int dk = 0; dk < 2; ++dk) {
+            final double cT = (dk == 0) ? 1 - wT : wT;
+            for (int di = 0; di < 2; ++di) {
+                final double cH = (di == 0) ? 1 - wH : wH;
+                for (int dj = 0; dj < 2; ++dj) {
+                    final double cB   = (dj == 0) ? 1 - wB : wB;
+                    final int    base = (((k + dk) * altitudes.length + i + di) * nLat + j + dj) * nLst;
+                    logRho += cT * cH * cB * ((1 - wL) * logDensity[base + l] + wL * logDensity[base + l1]);
+                }
+            }
+        }
+
+        return FastMath.exp(logRho);
+
+    }
+
+    /** {@inheritDoc} */
+    public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                        final FieldVector3D<T> position,
+                                                        final Frame frame) {
+
+        // time interpolation node
+        final T   dt = date.durationFrom(start);
+        final int k  = timeIndex(date.toAbsoluteDate(), dt.getReal());
+        final T   wT = dt.subtract(k * timeStep).divide(step(k));
+
+        // position of the point with respect to the Sun
+        final FieldGeodeticPoint<T> gp   = earth.transform(position, frame, date);
+        final T                     lonS = wT.multiply(sunLongitude[k + 1] - sunLongitude[k]).add(sunLongitude[k]);
+        final T                     dLon = gp.getLongitude().subtract(lonS);
+        final T                     lst  = dLon.subtract(MathUtils.TWO_PI *
+                                                         FastMath.floor(dLon.getReal() / MathUtils.TWO_PI));
+
+        // other interpolation nodes
+        final int i  = altitudeIndex(gp.getAltitude().getReal());
+        final T   wH = gp.getAltitude().subtract(altitudes[i]).divide(altitudes[i + 1] - altitudes[i]);
+        final int j  = latitudeIndex(gp.getLatitude().getReal());
+        final T   wB = gp.getLatitude().add(HALF_PI).divide(latStep).subtract(j);
+        final int l  = lstIndex(lst.getReal());
+        final T   wL = lst.divide(lstStep).subtract(l);
+
+        // multi-linear interpolation of the logarithm of density
+        final T   one    = dt.getField().getOne();
+        final int l1     = (l + 1) % nLst;
+        T         logRho = dt.getField().getZero();
+        for (int dk = 0; dk < 2; ++dk) {
+            final T cT = (dk == 0) ? one.subtract(wT) : wT;
+            for (int di = 0; di < 2; ++di) {
+                final T cH = (di == 0) ? one.subtract(wH) : wH;
+                for (int dj = 0; dj < 2; ++dj) {
+                    final T   cB   = (dj == 0) ? one.subtract(wB) : wB;
+                    final int base = (((k + dk) * altitudes.length + i + di) * nLat + j + dj) * nLst;
+                    final T   lstInterpolated = one.subtract(wL).multiply(logDensity[base + l]).
+                                                add(wL.multiply(logDensity[base + l1]));
+                    logRho = logRho.add(cT.multiply(cH).multiply(cB).multiply(lstInterpolated));
+                }
+            }
+        }
+
+        return logRho.exp();
+
+    }
+
+    /** Compute relative errors of the table with respect to the reference model.
+     * <p>
+     * The errors are computed at random points spread uniformly in time,
+     * altitude, latitude and longitude over the tabulated domain. Each
+     * sample evaluates the reference model, so this method is as expensive
+     * as the reference model itself.
+     * </p>
+     * @param nSamples number of random samples
+     * @param random random generator to use for selecting sample points
+     * @return statistics of relative errors |ρ<sub>tab</sub> - ρ<sub>ref</sub>| / ρ<sub>ref</sub>
+     */
+    public StreamingStatistics getRelativeErrors(final int nSamples, final RandomGenerator random) {
+        final StreamingStatistics statistics = new StreamingStatistics();
+        final Frame  bodyFrame = earth.getBodyFrame();
+        final double duration  = end.durationFrom(start);
+        final double hMin      = altitudes[0];
+        final double hMax      = altitudes[altitudes.length - 1];
+        for (int n = 0; n < nSamples; ++n) {
+            final AbsoluteDate  date     = start.shiftedBy(random.nextDouble() * duration);
+            final double        latitude = FastMath.asin(2 * random.nextDouble() - 1);
+            final double        altitude = hMin + random.nextDouble() * (hMax - hMin);
+            final GeodeticPoint gp       = new GeodeticPoint(latitude, MathUtils.TWO_PI * random.nextDouble(), altitude);
+            final Vector3D      position = earth.transform(gp);
+            final double        rhoRef   = reference.getDensity(date, position, bodyFrame);
+            final double        rhoTab   = getDensity(date, position, bodyFrame);
+            statistics.addValue(FastMath.abs(rhoTab - rhoRef) / rhoRef);
+        }
+        return statistics;
+    }
+
+    /** Get the index of the time node just before a date.
+     * @param date current date
+     * @param dt offset of the date with respect to grid start
+     * @return index of the time node just before date
+     */
+    private int timeIndex(final AbsoluteDate date, final double dt) {
+        if (dt < 0 || date.compareTo(end) > 0) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, start, end);
+        }
+        return FastMath.min((int) FastMath.floor(dt / timeStep), nT - 2);
+    }
+
+    /** Get the time step between a time node and the next one.
+     * @param k index of the time node
+     * @return time step between node k and node k + 1 (s)
+     */
+    private double step(final int k) {
+        return (k == nT - 2) ? lastStep : timeStep;
+    }
+
+    /** Get the index of the altitude node just below an altitude.
+     * @param altitude current altitude (m)
+     * @return index of the altitude node just below altitude, limited
+     * to the range allowing extrapolation from the closest cell
+     */
+    private int altitudeIndex(final double altitude) {
+        final int index = Arrays.binarySearch(altitudes, altitude);
+        final int below = (index >= 0) ? index : -index - 2;
+        return FastMath.max(0, FastMath.min(below, altitudes.length - 2));
+    }
+
+    /** Get the index of the latitude node just below a latitude.
+     * @param latitude current latitude (rad)
+     * @return index of the latitude node just below latitude
+     */
+    private int latitudeIndex(final double latitude) {
+        final int index = (int) FastMath.floor((latitude + HALF_PI) / latStep);
+        return FastMath.max(0, FastMath.min(index, nLat - 2));
+    }
+
+    /** Get the index of the local solar time node just before a local solar time.
+     * @param lst current local solar time, as an angle in [0, 2π) (rad)
+     * @return index of the local solar time node just before local solar time
+     */
+    private int lstIndex(final double lst) {
+        final int index = (int) FastMath.floor(lst / lstStep);
+        return FastMath.max(0, FastMath.min(index, nLst - 1));
+    }
+
+}
@@ -17,14 +17,16 @@
 
 package org.orekit.models.earth.atmosphere.data;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.SortedSet;
 
+import org.hipparchus.util.FastMath;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.AbstractSelfFeedingLoader;
 import org.orekit.data.DataContext;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.models.earth.atmosphere.DTM2000InputParameters;
 import org.orekit.models.earth.atmosphere.NRLMSISE00InputParameters;
@@ -33,7 +35,6 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeStamped;
 import org.orekit.utils.Constants;
-import org.orekit.utils.ImmutableTimeStampedCache;
 
 /**
  * This class provides three-hourly and daily solar activity data needed by atmospheric
@@ -47,6 +48,15 @@ import org.orekit.utils.ImmutableTimeStampedCache;
  * mentioned in the <a href="http://celestrak.com/SpaceData/SpaceWx-format.php">
  * Celestrak space weather data documentation</a>.
  * </p>
+ * <p>
+ * At construction, the data are flattened into per-day and per-three-hours
+ * arrays. As the daily entries of the file are evenly spaced, the entry
+ * bracketing a date is found by direct indexing rather than by searching,
+ * so each call to {@link #getAp(AbsoluteDate)} or
+ * {@link #getDailyFlux(AbsoluteDate)} costs only a few array accesses.
+ * Monthly predictions at the end of the file are located by a binary search.
+ * As no mutable state is kept, instances of this class are thread-safe.
+ * </p>
  *
  * @author Clément Jonglez
  * @since 10.2
@@ -55,13 +65,16 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
         implements DTM2000InputParameters, NRLMSISE00InputParameters {
 
     /** Serializable UID. */
-    private static final long serialVersionUID = 4249411710645968978L;
+    private static final long serialVersionUID = 20201018L;
 
     /** Size of the list. */
     private static final int N_NEIGHBORS = 2;
 
-    /** Data set. */
-    private final transient ImmutableTimeStampedCache<TimeStamped> data;
+    /** Number of three-hourly values per day. */
+    private static final int SLOTS_PER_DAY = 8;
+
+    /** Duration of a three-hourly slot (s). */
+    private static final double SLOT_DURATION = 3.0 * 3600.0;
 
     /** UTC time scale. */
     private final TimeScale utc;
@@ -78,11 +91,35 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     /** Last available date. */
     private final AbsoluteDate lastDate;
 
-    /** Previous set of solar activity parameters. */
-    private LineParameters previousParam;
+    /** Entries dates. */
+    private final AbsoluteDate[] dates;
+
+    /** Entries dates, as offsets from first date (s). */
+    private final double[] offsets;
+
+    /** Index of the entry at {@link #lastObservedDate}. */
+    private final int lastObservedIndex;
+
+    /** Index of the entry at {@link #lastDailyPredictedDate}. */
+    private final int lastDailyIndex;
+
+    /** Daily adjusted F10.7 flux. */
+    private final double[] f107Adj;
+
+    /** Daily 81-day centered average of adjusted F10.7 flux. */
+    private final double[] ctr81Adj;
+
+    /** Daily average Ap index. */
+    private final double[] apAvg;
+
+    /** Daily average Kp index. */
+    private final double[] kpAvg;
+
+    /** Three-hourly Ap indices, {@link #SLOTS_PER_DAY} values per entry. */
+    private final double[] threeHourlyAp;
 
-    /** Current set of solar activity parameters. */
-    private LineParameters nextParam;
+    /** Three-hourly Kp indices, {@link #SLOTS_PER_DAY} values per entry. */
+    private final double[] threeHourlyKp;
 
     /**
      * Simple constructor. This constructor uses the default data context.
@@ -109,11 +146,46 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
         this.utc = utc;
         final CssiSpaceWeatherDataLoader loader = new CssiSpaceWeatherDataLoader(utc);
         this.feed(loader);
-        data = new ImmutableTimeStampedCache<>(N_NEIGHBORS, loader.getDataSet());
         firstDate = loader.getMinDate();
         lastDate = loader.getMaxDate();
         lastObservedDate = loader.getLastObservedDate();
         lastDailyPredictedDate = loader.getLastDailyPredictedDate();
+
+        final SortedSet<TimeStamped> set = loader.getDataSet();
+        if (set.size() < N_NEIGHBORS) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS,
+                                                     set.size(), N_NEIGHBORS);
+        }
+
+        // flatten the data set into arrays
+        final int n = set.size();
+        dates         = new AbsoluteDate[n];
+        offsets       = new double[n];
+        f107Adj       = new double[n];
+        ctr81Adj      = new double[n];
+        apAvg         = new double[n];
+        kpAvg         = new double[n];
+        threeHourlyAp = new double[SLOTS_PER_DAY * n];
+        threeHourlyKp = new double[SLOTS_PER_DAY * n];
+        int i = 0;
+        for (final TimeStamped entry : set) {
+            final LineParameters parameters = (LineParameters) entry;
+            dates[i]    = parameters.getDate();
+            offsets[i]  = dates[i].durationFrom(firstDate);
+            f107Adj[i]  = parameters.getF107Adj();
+            ctr81Adj[i] = parameters.getCtr81Adj();
+            apAvg[i]    = parameters.getApAvg();
+            kpAvg[i]    = parameters.getKpSum() / SLOTS_PER_DAY;
+            for (int j = 0; j < SLOTS_PER_DAY; ++j) {
+                threeHourlyAp[SLOTS_PER_DAY * i + j] = parameters.getThreeHourlyAp(j);
+                threeHourlyKp[SLOTS_PER_DAY * i + j] = parameters.getThreeHourlyKp(j);
+            }
+            ++i;
+        }
+
+        lastObservedIndex = (lastObservedDate == null) ? -1 : searchIndex(lastObservedDate.durationFrom(firstDate));
+        lastDailyIndex    = (lastDailyPredictedDate == null) ? -1 : searchIndex(lastDailyPredictedDate.durationFrom(firstDate));
+
     }
 
     /** {@inheritDoc} */
@@ -127,60 +199,100 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     }
 
     /**
-     * Find the data bracketing a specified date.
-     *
+     * Find the index of the entry bracketing a specified date.
+     * <p>
+     * The returned index {@code i} is such that entries {@code i} and {@code i + 1}
+     * surround the date, with entry {@code i} at or before the date.
+     * </p>
      * @param date date to bracket
+     * @return index of the entry just before (or at) the date
      */
-    private void bracketDate(final AbsoluteDate date) {
-        if ((date.durationFrom(firstDate) < 0) || (date.durationFrom(lastDate) > 0)) {
+    private int bracketDate(final AbsoluteDate date) {
+        final double dt = date.durationFrom(firstDate);
+        if ((dt < 0) || (date.durationFrom(lastDate) > 0)) {
             throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, firstDate, lastDate);
         }
 
-        // don't search if the cached selection is fine
-        if ((previousParam != null) && (date.durationFrom(previousParam.getDate()) > 0) &&
-                        (date.durationFrom(nextParam.getDate()) <= 0)) {
-            return;
+        int index;
+        if (lastDailyIndex > 0 && dt < offsets[lastDailyIndex]) {
+            // daily entries are evenly spaced, we can index them directly,
+            // at most one step correction is needed to account for leap seconds
+            index = (int) FastMath.floor(dt / Constants.JULIAN_DAY);
+            if (index > lastDailyIndex) {
+                index = lastDailyIndex;
+            }
+            while (index > 0 && offsets[index] > dt) {
+                --index;
+            }
+            while (index < lastDailyIndex && offsets[index + 1] <= dt) {
+                ++index;
+            }
+        } else {
+            // monthly entries are not evenly spaced
+            index = searchIndex(dt);
         }
 
-        final List<TimeStamped> neigbors = data.getNeighbors(date).collect(Collectors.toList());
-        previousParam = (LineParameters) neigbors.get(0);
-        nextParam = (LineParameters) neigbors.get(1);
-        if (previousParam.getDate().compareTo(date) > 0) {
-            /**
-             * Throwing exception if neighbors are unbalanced because we are at the
-             * beginning of the data set
-             */
-            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, firstDate, lastDate);
-        }
+        return FastMath.min(index, offsets.length - N_NEIGHBORS);
+
+    }
+
+    /**
+     * Search the index of the last entry at or before an offset.
+     * @param dt offset with respect to first date (s)
+     * @return index of the last entry at or before the offset
+     */
+    private int searchIndex(final double dt) {
+        final int index = Arrays.binarySearch(offsets, dt);
+        return (index >= 0) ? index : -index - 2;
     }
 
     /**
      * Performs a linear interpolation between two values The weights are computed
      * from the time delta between previous date, current date, next date.
      *
-     * @param date          the current date
-     * @param previousValue the value at previous date
-     * @param nextValue     the value at next date
+     * @param date   the current date
+     * @param index  index of the previous entry, as returned by {@link #bracketDate(AbsoluteDate)}
+     * @param values the values at all entries
      * @return the value interpolated for the current date
      */
-    private double getLinearInterpolation(final AbsoluteDate date, final double previousValue, final double nextValue) {
+    private double getLinearInterpolation(final AbsoluteDate date, final int index, final double[] values) {
         // perform a linear interpolation
-        final AbsoluteDate previousDate = previousParam.getDate();
-        final AbsoluteDate currentDate = nextParam.getDate();
-        final double dt = currentDate.durationFrom(previousDate);
-        final double previousWeight = currentDate.durationFrom(date) / dt;
-        final double nextWeight = date.durationFrom(previousDate) / dt;
+        final double previousOffset = offsets[index];
+        final double nextOffset     = offsets[index + 1];
+        final double dt             = nextOffset - previousOffset;
+        final double offset         = date.durationFrom(firstDate);
+        final double previousWeight = (nextOffset - offset) / dt;
+        final double nextWeight     = (offset - previousOffset) / dt;
 
         // returns the data interpolated at the date
-        return previousValue * previousWeight + nextValue * nextWeight;
+        return values[index] * previousWeight + values[index + 1] * nextWeight;
+    }
+
+    /**
+     * Get the index of the three-hourly slot containing a date.
+     * @param date the current date
+     * @param index index of the entry containing the date, as returned by {@link #bracketDate(AbsoluteDate)}
+     * @return index of the slot in the three-hourly arrays
+     */
+    private int getSlot(final AbsoluteDate date, final int index) {
+        final double hourOfDay = date.offsetFrom(dates[index], utc) / 3600;
+        int slot = (int) (hourOfDay / 3);
+        if (slot >= SLOTS_PER_DAY) {
+            /**
+             * hourOfDay can take the value 24.0 at midnight due to floating point precision
+             * when bracketing the dates or during a leap second because the hour of day is
+             * computed in UTC view
+             */
+            slot = SLOTS_PER_DAY - 1;
+        }
+        return SLOTS_PER_DAY * index + slot;
     }
 
     /** {@inheritDoc} */
     public double getInstantFlux(final AbsoluteDate date) {
         // Interpolating two neighboring daily fluxes
         // get the neighboring dates
-        bracketDate(date);
-        return getLinearInterpolation(date, previousParam.getF107Adj(), nextParam.getF107Adj());
+        return getLinearInterpolation(date, bracketDate(date), f107Adj);
     }
 
     /** {@inheritDoc}
@@ -197,18 +309,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
             /**
              * If observation data is available, it contains three-hourly data
              */
-            bracketDate(date);
-            final double hourOfDay = date.offsetFrom(previousParam.getDate(), utc) / 3600;
-            int i_kp = (int) (hourOfDay / 3);
-            if (i_kp >= 8) {
-                /**
-                 * hourOfDay can take the value 24.0 at midnight due to floating point precision
-                 * when bracketing the dates or during a leap second because the hour of day is
-                 * computed in UTC view
-                 */
-                i_kp = 7;
-            }
-            return previousParam.getThreeHourlyKp(i_kp);
+            final int index = bracketDate(date);
+            return threeHourlyKp[getSlot(date, index)];
         } else {
             /**
              * Only predictions are available, there are no three-hourly data
@@ -219,15 +321,13 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
 
     /** {@inheritDoc} */
     public double get24HoursKp(final AbsoluteDate date) {
+        final int index = bracketDate(date);
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Daily data is available, just taking the daily average
-            bracketDate(date);
-            return previousParam.getKpSum() / 8;
+            return kpAvg[index];
         } else {
             // Only monthly data is available, better interpolate between two months
-            // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getKpSum() / 8, nextParam.getKpSum() / 8);
+            return getLinearInterpolation(date, index, kpAvg);
         }
     }
 
@@ -244,28 +344,24 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
      * @return the daily F10.7 flux (adjusted)
      */
     private double getDailyFluxOnDay(final AbsoluteDate date) {
+        final int index = bracketDate(date);
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Getting the value for the previous day
-            bracketDate(date);
-            return previousParam.getF107Adj();
+            return f107Adj[index];
         } else {
             // Only monthly data is available, better interpolate between two months
-            // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getF107Adj(), nextParam.getF107Adj());
+            return getLinearInterpolation(date, index, f107Adj);
         }
     }
 
     /** {@inheritDoc} */
     public double getAverageFlux(final AbsoluteDate date) {
+        final int index = bracketDate(date);
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
-            bracketDate(date);
-            return previousParam.getCtr81Adj();
+            return ctr81Adj[index];
         } else {
             // Only monthly data is available, better interpolate between two months
-            // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getCtr81Adj(), nextParam.getCtr81Adj());
+            return getLinearInterpolation(date, index, ctr81Adj);
         }
     }
 
@@ -274,11 +370,11 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
         final double[] apArray = new double[7];
         apArray[0] = getDailyAp(date);
         apArray[1] = getThreeHourlyAp(date);
-        apArray[2] = getThreeHourlyAp(date.shiftedBy(-3.0 * 3600.0));
-        apArray[3] = getThreeHourlyAp(date.shiftedBy(-6.0 * 3600.0));
-        apArray[4] = getThreeHourlyAp(date.shiftedBy(-9.0 * 3600.0));
-        apArray[5] = get24HoursAverageAp(date.shiftedBy(-12.0 * 3600.0));
-        apArray[6] = get24HoursAverageAp(date.shiftedBy(-36.0 * 3600.0));
+        apArray[2] = getThreeHourlyAp(date.shiftedBy(-1.0 * SLOT_DURATION));
+        apArray[3] = getThreeHourlyAp(date.shiftedBy(-2.0 * SLOT_DURATION));
+        apArray[4] = getThreeHourlyAp(date.shiftedBy(-3.0 * SLOT_DURATION));
+        apArray[5] = get24HoursAverageAp(date.shiftedBy(-4.0 * SLOT_DURATION));
+        apArray[6] = get24HoursAverageAp(date.shiftedBy(-12.0 * SLOT_DURATION));
         return apArray;
     }
 
@@ -293,18 +389,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
             /**
              * If observation data is available, it contains three-hourly data.
              */
-            bracketDate(date);
-            final double hourOfDay = date.offsetFrom(previousParam.getDate(), utc) / 3600;
-            int i_ap = (int) (hourOfDay / 3);
-            if (i_ap >= 8) {
-                /**
-                 * hourOfDay can take the value 24.0 at midnight due to floating point precision
-                 * when bracketing the dates or during a leap second because the hour of day is
-                 * computed in UTC view
-                 */
-                i_ap = 7;
-            }
-            return previousParam.getThreeHourlyAp(i_ap);
+            final int index = bracketDate(date);
+            return threeHourlyAp[getSlot(date, index)];
         } else {
             /**
              * Only predictions are available, there are no three-hourly data
@@ -323,12 +409,20 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
      */
     private double get24HoursAverageAp(final AbsoluteDate date) {
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
-            // Computing running mean
+            // Computing running mean over the consecutive slots
+            final int last  = getSlot(date, bracketDate(date));
+            final int first = last - (SLOTS_PER_DAY - 1);
+            if (first < 0) {
+                final AbsoluteDate earliest = date.shiftedBy(-SLOT_DURATION * (SLOTS_PER_DAY - 1));
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, earliest, firstDate, lastDate);
+            }
             double apSum = 0.0;
-            for (int i = 0; i < 8; i++) {
-                apSum += getThreeHourlyAp(date.shiftedBy(-3.0 * 3600 * i));
+            for (int slot = last; slot >= first; --slot) {
+                final int index = slot / SLOTS_PER_DAY;
+                // after observations, only daily predictions are available
+                apSum += (index <= lastObservedIndex) ? threeHourlyAp[slot] : apAvg[index];
             }
-            return apSum / 8;
+            return apSum / SLOTS_PER_DAY;
         } else {
             /**
              * Only monthly predictions are available, no need to compute the average from
@@ -345,15 +439,13 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
      * @return the daily Ap index
      */
     private double getDailyAp(final AbsoluteDate date) {
+        final int index = bracketDate(date);
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Daily data is available, just taking the daily average
-            bracketDate(date);
-            return previousParam.getApAvg();
+            return apAvg[index];
         } else {
             // Only monthly data is available, better interpolate between two months
-            // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getApAvg(), nextParam.getApAvg());
+            return getLinearInterpolation(date, index, apAvg);
         }
     }
 
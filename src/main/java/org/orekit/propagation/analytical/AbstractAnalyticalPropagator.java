@@ -17,6 +17,7 @@
 package org.orekit.propagation.analytical;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -58,6 +59,9 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
+    /** Size of the cache for states shared among event detectors. */
+    private static final int EVENTS_STATES_CACHE_SIZE = 32;
+
     /** Provider for attitude computation. */
     private PVCoordinatesProvider pvProvider;
 
@@ -76,6 +80,15 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
     /** Event steps. */
     private final Collection<EventState<?>> eventsStates;
 
+    /** Dates of the interpolated states shared among event detectors. */
+    private final AbsoluteDate[] cachedDates;
+
+    /** Interpolated states shared among event detectors. */
+    private final SpacecraftState[] cachedStates;
+
+    /** Index of the next cache slot to overwrite. */
+    private int nextCachedState;
+
     /** Build a new instance.
      * @param attitudeProvider provider for attitude computation
      */
@@ -86,6 +99,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         lastPropagationEnd       = AbsoluteDate.FUTURE_INFINITY;
         statesInitialized        = false;
         eventsStates             = new ArrayList<EventState<?>>();
+        cachedDates              = new AbsoluteDate[EVENTS_STATES_CACHE_SIZE];
+        cachedStates             = new SpacecraftState[EVENTS_STATES_CACHE_SIZE];
+        clearStatesCache();
     }
 
     /** {@inheritDoc} */
@@ -174,6 +190,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
             } while (!isLastStep);
 
             // return the last computed state
+            clearStatesCache();
             lastPropagationEnd = state.getDate();
             setStartDate(state.getDate());
             return state;
@@ -198,6 +215,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         final SpacecraftState current  = interpolator.getCurrentState();
         OrekitStepInterpolator restricted = interpolator;
 
+        // the propagation model may have been reset since the previous step
+        clearStatesCache();
+
 
         // initialize the events states if needed
         if (!statesInitialized) {
@@ -263,6 +283,8 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                     // all event detectors agree we can advance to the current event time
 
                     final EventOccurrence occurrence = currentEvent.doEvent(eventState);
+                    // the handler may have changed the model or the additional states
+                    clearStatesCache();
                     final Action action = occurrence.getAction();
                     isLastStep = action == Action.STOP;
 
@@ -340,6 +362,43 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
     }
 
+    /** Clear the cache of interpolated states shared among event detectors.
+     */
+    private void clearStatesCache() {
+        Arrays.fill(cachedDates, null);
+        Arrays.fill(cachedStates, null);
+        nextCachedState = 0;
+    }
+
+    /** Get an interpolated state, sharing it among event detectors.
+     * <p>
+     * All event detectors are evaluated independently during each step, and
+     * detectors sharing the same max check interval request states at the
+     * same dates. Keeping the few last interpolated states avoids
+     * recomputing orbit, attitude and additional states for each detector.
+     * </p>
+     * @param date interpolation date
+     * @return interpolated state
+     */
+    private SpacecraftState getSharedState(final AbsoluteDate date) {
+
+        // look for an already computed state
+        for (int i = 0; i < cachedDates.length; ++i) {
+            if (date.equals(cachedDates[i])) {
+                return cachedStates[i];
+            }
+        }
+
+        // compute the state and store it in the least recently added slot
+        final SpacecraftState state = updateAdditionalStates(basicPropagate(date));
+        cachedDates[nextCachedState]  = date;
+        cachedStates[nextCachedState] = state;
+        nextCachedState               = (nextCachedState + 1) % cachedDates.length;
+
+        return state;
+
+    }
+
     /** Get the mass.
      * @param date target date for the orbit
      * @return mass mass
@@ -539,13 +598,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         /** {@inheritDoc} */
         @Override
         public SpacecraftState getInterpolatedState(final AbsoluteDate date) {
-
-            // compute the basic spacecraft state
-            final SpacecraftState basicState = basicPropagate(date);
-
-            // add the additional states
-            return updateAdditionalStates(basicState);
-
+            // compute the spacecraft state, with additional states,
+            // sharing it with other event detectors
+            return getSharedState(date);
         }
 
         /** {@inheritDoc} */
@@ -32,6 +32,7 @@ import org.orekit.estimation.sequential.KalmanModel;
 import org.orekit.forces.ForceModel;
 import org.orekit.forces.gravity.NewtonianAttraction;
 import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
@@ -55,6 +56,9 @@ public class NumericalPropagatorBuilder extends AbstractPropagatorBuilder implem
     /** Current mass for initial state (kg). */
     private double mass;
 
+    /** Period between rectifications of the Encke reference trajectory (0 if Encke mode is disabled). */
+    private double enckeRectificationPeriod;
+
     /** Build a new instance.
      * <p>
      * The reference orbit is used as a model to {@link
@@ -124,6 +128,7 @@ public class NumericalPropagatorBuilder extends AbstractPropagatorBuilder implem
                                                        getPositionScale(),
                                                        getAttitudeProvider());
         copyBuilder.setMass(mass);
+        copyBuilder.setEnckeRectificationPeriod(enckeRectificationPeriod);
         for (ForceModel model : forceModels) {
             copyBuilder.addForceModel(model);
         }
@@ -196,6 +201,31 @@ public class NumericalPropagatorBuilder extends AbstractPropagatorBuilder implem
         this.mass = mass;
     }
 
+    /** Get the period between rectifications of the Encke reference trajectory.
+     * @return period between rectifications of the Keplerian reference trajectory (s),
+     * 0 if Encke mode is disabled
+     * @see NumericalPropagator#getEnckeRectificationPeriod()
+     * @since 10.3
+     */
+    public double getEnckeRectificationPeriod() {
+        return enckeRectificationPeriod;
+    }
+
+    /** Set the period between rectifications of the Encke reference trajectory.
+     * <p>
+     * When the period is strictly positive, the built propagators use Encke mode,
+     * and their integrators are built with tolerances computed for {@link
+     * OrbitType#CARTESIAN Cartesian} parameters.
+     * </p>
+     * @param rectificationPeriod period between rectifications of the Keplerian
+     * reference trajectory (s), 0 to disable Encke mode
+     * @see NumericalPropagator#setEnckeRectificationPeriod(double)
+     * @since 10.3
+     */
+    public void setEnckeRectificationPeriod(final double rectificationPeriod) {
+        this.enckeRectificationPeriod = rectificationPeriod;
+    }
+
     /** {@inheritDoc} */
     public NumericalPropagator buildPropagator(final double[] normalizedParameters) {
 
@@ -205,11 +235,14 @@ public class NumericalPropagatorBuilder extends AbstractPropagatorBuilder implem
                 getAttitudeProvider().getAttitude(orbit, orbit.getDate(), getFrame());
         final SpacecraftState state    = new SpacecraftState(orbit, attitude, mass);
 
+        // in Encke mode, the integrated state is always Cartesian
+        final OrbitType integrationType = enckeRectificationPeriod > 0 ? OrbitType.CARTESIAN : getOrbitType();
         final NumericalPropagator propagator = new NumericalPropagator(
-                builder.buildIntegrator(orbit, getOrbitType()),
+                builder.buildIntegrator(orbit, integrationType),
                 getAttitudeProvider());
         propagator.setOrbitType(getOrbitType());
         propagator.setPositionAngleType(getPositionAngle());
+        propagator.setEnckeRectificationPeriod(enckeRectificationPeriod);
 
         // Configure force models
         if (!hasNewtonianAttraction()) {
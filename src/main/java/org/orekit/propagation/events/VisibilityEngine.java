@@ -0,0 +1,460 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.sampling.OrekitStepHandler;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
+import org.orekit.time.AbsoluteDate;
+
+/** Step handler computing visibility windows for a huge number of ground stations.
+ * <p>
+ * Using one {@link ElevationDetector} per station implies evaluating one g function
+ * per station at each check of each propagation step, which does not scale when
+ * thousands of stations are considered. This engine replaces all these detectors
+ * by a single {@link OrekitStepHandler step handler} that:
+ * </p>
+ * <ul>
+ *   <li>indexes stations in geocentric latitude/longitude cells at construction,</li>
+ *   <li>samples the step once for all stations, converting spacecraft position
+ *       to body frame only once per sample,</li>
+ *   <li>only evaluates elevation for stations close to the current footprint
+ *       (or stations already in visibility),</li>
+ *   <li>locates rise and set events accurately using a root solver,</li>
+ *   <li>reports them in chronological order to a {@link VisibilityHandler}.</li>
+ * </ul>
+ * <p>
+ * The engine is an observer: it cannot stop propagation or reset state. It is
+ * registered to the propagator as any step handler, for example using
+ * {@link org.orekit.propagation.Propagator#setMasterMode(OrekitStepHandler)} or
+ * an {@link org.orekit.propagation.sampling.OrekitStepHandlerMultiplexer}.
+ * Stations that are already visible at propagation start do not generate a rise
+ * event, they are reported by {@link #getVisibleStations()}.
+ * </p>
+ * <p>
+ * All stations must be defined with respect to the same body frame.
+ * </p>
+ * @see ElevationDetector
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class VisibilityEngine implements OrekitStepHandler {
+
+    /** Default size of the stations index cells (rad). */
+    public static final double DEFAULT_CELL_SIZE = FastMath.toRadians(2.0);
+
+    /** Tolerance for the difference between geodetic zenith and geocentric direction (rad).
+     * <p>
+     * The largest difference for Earth is about 0.19°, we use a safety margin on top of it.
+     * </p>
+     */
+    private static final double ZENITH_TOLERANCE = FastMath.toRadians(0.5);
+
+    /** Half π. */
+    private static final double HALF_PI = 0.5 * FastMath.PI;
+
+    /** Stations. */
+    private final TopocentricFrame[] stations;
+
+    /** Body frame in which stations are defined. */
+    private final Frame bodyFrame;
+
+    /** Stations positions in body frame (m), stored as x, y, z triplets. */
+    private final double[] positions;
+
+    /** Stations zenith directions in body frame, stored as x, y, z triplets. */
+    private final double[] zeniths;
+
+    /** Stations geocentric directions in body frame, stored as x, y, z triplets. */
+    private final double[] directions;
+
+    /** Smallest station distance to body center (m). */
+    private final double minRadius;
+
+    /** Minimum elevation (rad). */
+    private final double minElevation;
+
+    /** Sine of minimum elevation. */
+    private final double sinMinElevation;
+
+    /** Maximum checking interval (s). */
+    private final double maxCheck;
+
+    /** Convergence threshold (s). */
+    private final double threshold;
+
+    /** Maximum number of iterations in the root solver. */
+    private final int maxIter;
+
+    /** Size of the index cells (rad). */
+    private final double cellSize;
+
+    /** Number of latitude cells. */
+    private final int nLat;
+
+    /** Number of longitude cells. */
+    private final int nLon;
+
+    /** Stations indices in each cell. */
+    private final int[][] cells;
+
+    /** Handler for visibility changes. */
+    private final VisibilityHandler handler;
+
+    /** Stations currently in visibility. */
+    private final BitSet visible;
+
+    /** Candidate stations for the current step. */
+    private final BitSet candidates;
+
+    /** Forward propagation indicator. */
+    private boolean forward;
+
+    /** Build a new engine using {@link #DEFAULT_CELL_SIZE default cell size}.
+     * @param stations ground stations to monitor
+     * @param minElevation minimum elevation for visibility (rad)
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param handler handler for visibility changes
+     */
+    public VisibilityEngine(final List<TopocentricFrame> stations, final double minElevation,
+                            final double maxCheck, final double threshold,
+                            final VisibilityHandler handler) {
+        this(stations, minElevation, maxCheck, threshold, AbstractDetector.DEFAULT_MAX_ITER,
+             DEFAULT_CELL_SIZE, handler);
+    }
+
+    /** Build a new engine.
+     * @param stations ground stations to monitor
+     * @param minElevation minimum elevation for visibility (rad)
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param maxIter maximum number of iterations in the root solver
+     * @param cellSize size of the stations index cells (rad)
+     * @param handler handler for visibility changes
+     */
+    public VisibilityEngine(final List<TopocentricFrame> stations, final double minElevation,
+                            final double maxCheck, final double threshold, final int maxIter,
+                            final double cellSize, final VisibilityHandler handler) {
+
+        if (stations.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, 0, 1);
+        }
+        if (cellSize <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     cellSize, 0.0);
+        }
+
+        this.stations        = stations.toArray(new TopocentricFrame[stations.size()]);
+        this.bodyFrame       = this.stations[0].getParentShape().getBodyFrame();
+        this.positions       = new double[3 * this.stations.length];
+        this.zeniths         = new double[3 * this.stations.length];
+        this.directions      = new double[3 * this.stations.length];
+        this.minElevation    = minElevation;
+        this.sinMinElevation = FastMath.sin(minElevation);
+        this.maxCheck        = maxCheck;
+        this.threshold       = threshold;
+        this.maxIter         = maxIter;
+        this.cellSize        = cellSize;
+        this.nLat            = (int) FastMath.ceil(FastMath.PI / cellSize);
+        this.nLon            = (int) FastMath.ceil(MathUtils.TWO_PI / cellSize);
+        this.handler         = handler;
+        this.visible         = new BitSet(this.stations.length);
+        this.candidates      = new BitSet(this.stations.length);
+
+        // index the stations
+        final List<List<Integer>> lists = new ArrayList<>(nLat * nLon);
+        for (int c = 0; c < nLat * nLon; ++c) {
+            lists.add(new ArrayList<>());
+        }
+        double rMin = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < this.stations.length; ++k) {
+            final TopocentricFrame station = this.stations[k];
+            final Vector3D p = station.getParentShape().transform(station.getPoint());
+            final Vector3D z = station.getZenith();
+            final Vector3D u = p.normalize();
+            positions[3 * k]      = p.getX();
+            positions[3 * k + 1]  = p.getY();
+            positions[3 * k + 2]  = p.getZ();
+            zeniths[3 * k]        = z.getX();
+            zeniths[3 * k + 1]    = z.getY();
+            zeniths[3 * k + 2]    = z.getZ();
+            directions[3 * k]     = u.getX();
+            directions[3 * k + 1] = u.getY();
+            directions[3 * k + 2] = u.getZ();
+            rMin = FastMath.min(rMin, p.getNorm());
+            lists.get(latitudeCell(u.getDelta()) * nLon + longitudeCell(u.getAlpha())).add(k);
+        }
+        this.minRadius = rMin;
+        this.cells     = new int[nLat * nLon][];
+        for (int c = 0; c < cells.length; ++c) {
+            final List<Integer> list = lists.get(c);
+            cells[c] = new int[list.size()];
+            for (int i = 0; i < cells[c].length; ++i) {
+                cells[c][i] = list.get(i);
+            }
+        }
+
+    }
+
+    /** Get the monitored stations.
+     * @return monitored stations
+     */
+    public List<TopocentricFrame> getStations() {
+        final List<TopocentricFrame> list = new ArrayList<>(stations.length);
+        Collections.addAll(list, stations);
+        return list;
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Get the stations currently in visibility.
+     * @return stations currently in visibility
+     */
+    public List<TopocentricFrame> getVisibleStations() {
+        final List<TopocentricFrame> list = new ArrayList<>(visible.cardinality());
+        for (int k = visible.nextSetBit(0); k >= 0; k = visible.nextSetBit(k + 1)) {
+            list.add(stations[k]);
+        }
+        return list;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final SpacecraftState s0, final AbsoluteDate t) {
+        forward = t.compareTo(s0.getDate()) >= 0;
+        final Vector3D p0 = s0.getPVCoordinates(bodyFrame).getPosition();
+        visible.clear();
+        for (int k = 0; k < stations.length; ++k) {
+            if (g(k, p0) > 0) {
+                visible.set(k);
+            }
+        }
+        handler.init(s0, t);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast) {
+
+        forward = interpolator.isForward();
+
+        // sample the step, once for all stations
+        final AbsoluteDate t0 = interpolator.getPreviousState().getDate();
+        final AbsoluteDate t1 = interpolator.getCurrentState().getDate();
+        final double       dt = t1.durationFrom(t0);
+        final int          n  = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / maxCheck));
+        final AbsoluteDate[] dates   = new AbsoluteDate[n + 1];
+        final Vector3D[]     samples = new Vector3D[n + 1];
+        for (int i = 0; i <= n; ++i) {
+            dates[i]   = (i == 0) ? t0 : ((i == n) ? t1 : t0.shiftedBy(i * dt / n));
+            samples[i] = interpolator.getInterpolatedState(dates[i]).getPVCoordinates(bodyFrame).getPosition();
+        }
+
+        // select candidate stations
+        candidates.clear();
+        candidates.or(visible);
+        for (int i = 0; i <= n; ++i) {
+            // the margin ensures the footprint covers the track between samples
+            final double before = (i == 0) ? 0 : Vector3D.angle(samples[i - 1], samples[i]);
+            final double after  = (i == n) ? 0 : Vector3D.angle(samples[i], samples[i + 1]);
+            selectCandidates(samples[i], footprintRadius(samples[i]) + 0.5 * FastMath.max(before, after));
+        }
+
+        // look for visibility changes
+        final List<VisibilityChange> changes = new ArrayList<>();
+        for (int k = candidates.nextSetBit(0); k >= 0; k = candidates.nextSetBit(k + 1)) {
+            double ga = g(k, samples[0]);
+            for (int i = 1; i <= n; ++i) {
+                final double gb = g(k, samples[i]);
+                if ((ga > 0) ^ (gb > 0)) {
+                    final boolean rising = forward ? gb > 0 : ga > 0;
+                    changes.add(new VisibilityChange(findRoot(interpolator, k, dates[i - 1], dates[i]), k, rising));
+                }
+                ga = gb;
+            }
+            visible.set(k, ga > 0);
+        }
+
+        // report visibility changes in chronological order
+        Collections.sort(changes, (c1, c2) -> forward ?
+                                              c1.date.compareTo(c2.date) :
+                                              c2.date.compareTo(c1.date));
+        for (final VisibilityChange change : changes) {
+            handler.visibilityChange(interpolator.getInterpolatedState(change.date),
+                                     stations[change.index], change.rising);
+        }
+
+    }
+
+    /** Compute the visibility switching function.
+     * <p>
+     * The function is the sine of spacecraft elevation minus the sine of minimum elevation.
+     * </p>
+     * @param k station index
+     * @param p spacecraft position in body frame
+     * @return visibility switching function, positive when spacecraft is visible
+     */
+    private double g(final int k, final Vector3D p) {
+        final double dx = p.getX() - positions[3 * k];
+        final double dy = p.getY() - positions[3 * k + 1];
+        final double dz = p.getZ() - positions[3 * k + 2];
+        final double up = dx * zeniths[3 * k] + dy * zeniths[3 * k + 1] + dz * zeniths[3 * k + 2];
+        return up / FastMath.sqrt(dx * dx + dy * dy + dz * dz) - sinMinElevation;
+    }
+
+    /** Compute the footprint radius.
+     * @param p spacecraft position in body frame
+     * @return central angle between sub-satellite point and the farthest potentially visible station (rad)
+     */
+    private double footprintRadius(final Vector3D p) {
+        final double e     = minElevation - ZENITH_TOLERANCE;
+        final double ratio = minRadius * FastMath.cos(e) / p.getNorm();
+        return (ratio >= 1) ? 0 : FastMath.acos(ratio) - e;
+    }
+
+    /** Select candidate stations close to a sub-satellite point.
+     * @param p spacecraft position in body frame
+     * @param radius central angle around sub-satellite point (rad)
+     */
+    private void selectCandidates(final Vector3D p, final double radius) {
+
+        if (radius <= 0) {
+            return;
+        }
+
+        final double latitude  = p.getDelta();
+        final double longitude = p.getAlpha();
+        final int    latStart  = latitudeCell(FastMath.max(latitude - radius, -HALF_PI));
+        final int    latEnd    = latitudeCell(FastMath.min(latitude + radius, HALF_PI));
+
+        // longitude extent of the spherical cap
+        final double sinRatio = FastMath.sin(radius) / FastMath.cos(latitude);
+        final int    lonStart;
+        final int    lonCount;
+        if (latitude - radius <= -HALF_PI || latitude + radius >= HALF_PI || sinRatio >= 1) {
+            // the cap contains a pole or is wide, consider all longitudes
+            lonStart = 0;
+            lonCount = nLon;
+        } else {
+            final double dLon = FastMath.asin(sinRatio);
+            lonStart = (int) FastMath.floor((longitude - dLon + FastMath.PI) / cellSize);
+            lonCount = FastMath.min(nLon,
+                                    (int) FastMath.floor((longitude + dLon + FastMath.PI) / cellSize) - lonStart + 1);
+        }
+
+        final double ux       = p.getX() / p.getNorm();
+        final double uy       = p.getY() / p.getNorm();
+        final double uz       = p.getZ() / p.getNorm();
+        final double cosLimit = FastMath.cos(radius);
+        for (int iLat = latStart; iLat <= latEnd; ++iLat) {
+            for (int j = 0; j < lonCount; ++j) {
+                final int iLon = ((lonStart + j) % nLon + nLon) % nLon;
+                for (final int k : cells[iLat * nLon + iLon]) {
+                    final double cos = ux * directions[3 * k] + uy * directions[3 * k + 1] + uz * directions[3 * k + 2];
+                    if (cos >= cosLimit) {
+                        candidates.set(k);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /** Get the latitude cell index.
+     * @param latitude geocentric latitude (rad)
+     * @return latitude cell index
+     */
+    private int latitudeCell(final double latitude) {
+        return FastMath.max(0, FastMath.min(nLat - 1, (int) FastMath.floor((latitude + HALF_PI) / cellSize)));
+    }
+
+    /** Get the longitude cell index.
+     * @param longitude longitude (rad)
+     * @return longitude cell index
+     */
+    private int longitudeCell(final double longitude) {
+        return FastMath.max(0, FastMath.min(nLon - 1, (int) FastMath.floor((longitude + FastMath.PI) / cellSize)));
+    }
+
+    /** Locate a visibility change.
+     * @param interpolator interpolator for current step
+     * @param k station index
+     * @param ta start of the bracketing interval
+     * @param tb end of the bracketing interval
+     * @return date of visibility change
+     */
+    private AbsoluteDate findRoot(final OrekitStepInterpolator interpolator, final int k,
+                                  final AbsoluteDate ta, final AbsoluteDate tb) {
+        final BracketedUnivariateSolver<UnivariateFunction> solver =
+                        new BracketingNthOrderBrentSolver(0, threshold, 0, 5);
+        final UnivariateFunction f =
+            dt -> g(k, interpolator.getInterpolatedState(ta.shiftedBy(dt)).getPVCoordinates(bodyFrame).getPosition());
+        final double span = tb.durationFrom(ta);
+        final double root = solver.solve(maxIter, f,
+                                         FastMath.min(0, span), FastMath.max(0, span),
+                                         AllowedSolution.ANY_SIDE);
+        return ta.shiftedBy(root);
+    }
+
+    /** Container for visibility changes within one step. */
+    private static class VisibilityChange {
+
+        /** Date of the change. */
+        private final AbsoluteDate date;
+
+        /** Station index. */
+        private final int index;
+
+        /** Rising indicator. */
+        private final boolean rising;
+
+        /** Simple constructor.
+         * @param date date of the change
+         * @param index station index
+         * @param rising rising indicator
+         */
+        VisibilityChange(final AbsoluteDate date, final int index, final boolean rising) {
+            this.date   = date;
+            this.index  = index;
+            this.rising = rising;
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+
+/** Interface for handling rise and set events computed by {@link VisibilityEngine}.
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public interface VisibilityHandler {
+
+    /** Initialize handler at the start of a propagation.
+     * <p>
+     * The default implementation does nothing
+     * </p>
+     * @param initialState initial state
+     * @param target target date for the propagation
+     */
+    default void init(final SpacecraftState initialState, final AbsoluteDate target) {
+        // nothing by default
+    }
+
+    /** Handle a visibility change.
+     * <p>
+     * Visibility changes are reported in chronological order (or reverse
+     * chronological order if propagation is backward).
+     * </p>
+     * @param s spacecraft state at visibility change
+     * @param station ground station
+     * @param rising if true, the spacecraft rises above the station
+     * minimum elevation, otherwise it sets below it (with respect to
+     * time, regardless of propagation direction)
+     */
+    void visibilityChange(SpacecraftState s, TopocentricFrame station, boolean rising);
+
+}
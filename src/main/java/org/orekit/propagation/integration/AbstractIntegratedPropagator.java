@@ -17,6 +17,7 @@
 package org.orekit.propagation.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,6 +63,9 @@ import org.orekit.time.AbsoluteDate;
  */
 public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
+    /** Size of the cache for states shared among event detectors. */
+    private static final int EVENTS_STATES_CACHE_SIZE = 32;
+
     /** Event detectors not related to force models. */
     private final List<EventDetector> detectors;
 
@@ -94,6 +98,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     private PropagationType propagationType;
 
+    /** Cache for states shared among event detectors. */
+    private final EventsStatesCache eventsStatesCache;
+
     /** Build a new instance.
      * @param integrator numerical integrator to use for propagation.
      * @param propagationType type of orbit to output (mean or osculating).
@@ -104,6 +111,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         this.integrator      = integrator;
         this.propagationType = propagationType;
         this.resetAtEnd      = true;
+        this.eventsStatesCache = new EventsStatesCache();
     }
 
     /** Allow/disallow resetting the initial state at end of propagation.
@@ -446,6 +454,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             }
 
             integrator.clearEventHandlers();
+            eventsStatesCache.clear();
 
             // set up events added by user, only if handlers are activated
             if (activateHandlers) {
@@ -772,8 +781,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
         /** {@inheritDoc} */
         public void init(final ODEStateAndDerivative s0, final double t) {
-            detector.init(getCompleteState(s0.getTime(), s0.getCompleteState(), s0.getCompleteDerivative()),
-                          stateMapper.mapDoubleToDate(t));
+            detector.init(eventsStatesCache.getCompleteState(s0), stateMapper.mapDoubleToDate(t));
             this.lastT = Double.NaN;
             this.lastG = Double.NaN;
         }
@@ -782,19 +790,17 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public double g(final ODEStateAndDerivative s) {
             if (!Precision.equals(lastT, s.getTime(), 0)) {
                 lastT = s.getTime();
-                lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative()));
+                lastG = detector.g(eventsStatesCache.getCompleteState(s));
             }
             return lastG;
         }
 
         /** {@inheritDoc} */
         public Action eventOccurred(final ODEStateAndDerivative s, final boolean increasing) {
-            return detector.eventOccurred(
-                    getCompleteState(
-                            s.getTime(),
-                            s.getCompleteState(),
-                            s.getCompleteDerivative()),
-                    increasing);
+            final Action action = detector.eventOccurred(eventsStatesCache.getCompleteState(s), increasing);
+            // the handler may have changed some settings used when converting states
+            eventsStatesCache.clear();
+            return action;
         }
 
         /** {@inheritDoc} */
@@ -803,6 +809,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             final SpacecraftState oldState = getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative());
             final SpacecraftState newState = detector.resetState(oldState);
             stateChanged(newState);
+            eventsStatesCache.clear();
 
             // main part
             final double[] primary    = new double[s.getPrimaryStateDimension()];
@@ -821,6 +828,83 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Cache for states converted from mathematical world, shared by all event detectors.
+     * <p>
+     * During each step, the integrator evaluates all event detectors independently.
+     * When several detectors share the same max check interval, they are evaluated
+     * at the same times, so converting the mathematical states into {@link SpacecraftState}
+     * (including attitude computation and additional states update) once and
+     * sharing the result among all detectors saves a lot of computation. States
+     * are matched by comparing time and complete state and derivative arrays, so
+     * the cache is immune to step restrictions.
+     * </p>
+     */
+    private class EventsStatesCache {
+
+        /** Times of cached states. */
+        private final double[] times;
+
+        /** Complete state arrays of cached states. */
+        private final double[][] states;
+
+        /** Complete derivative arrays of cached states. */
+        private final double[][] derivatives;
+
+        /** Converted states. */
+        private final SpacecraftState[] converted;
+
+        /** Index of the next slot to overwrite. */
+        private int next;
+
+        /** Simple constructor.
+         */
+        EventsStatesCache() {
+            this.times       = new double[EVENTS_STATES_CACHE_SIZE];
+            this.states      = new double[EVENTS_STATES_CACHE_SIZE][];
+            this.derivatives = new double[EVENTS_STATES_CACHE_SIZE][];
+            this.converted   = new SpacecraftState[EVENTS_STATES_CACHE_SIZE];
+            clear();
+        }
+
+        /** Clear the cache.
+         */
+        public void clear() {
+            Arrays.fill(converted, null);
+            next = 0;
+        }
+
+        /** Get the complete state corresponding to a mathematical state.
+         * @param s mathematical state
+         * @return complete state, either retrieved from cache or converted
+         */
+        public SpacecraftState getCompleteState(final ODEStateAndDerivative s) {
+
+            final double   t    = s.getTime();
+            final double[] y    = s.getCompleteState();
+            final double[] yDot = s.getCompleteDerivative();
+
+            // look for an already converted state
+            for (int i = 0; i < converted.length; ++i) {
+                if (converted[i] != null && Precision.equals(times[i], t, 0) &&
+                    Arrays.equals(states[i], y) && Arrays.equals(derivatives[i], yDot)) {
+                    return converted[i];
+                }
+            }
+
+            // convert the state and store it in the least recently added slot
+            final SpacecraftState state = AbstractIntegratedPropagator.this.getCompleteState(t, y, yDot);
+            times[next]       = t;
+            states[next]      = y.clone();
+            derivatives[next] = yDot.clone();
+            converted[next]   = state;
+            next              = (next + 1) % converted.length;
+
+            return state;
+
+        }
+
+    }
+
     /** Adapt an {@link org.orekit.propagation.sampling.OrekitStepHandler}
      * to Hipparchus {@link ODEStepHandler} interface.
      * @author Luc Maisonobe
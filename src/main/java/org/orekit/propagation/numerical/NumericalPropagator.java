@@ -21,8 +21,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.ODEIntegrator;
+import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.attitudes.Attitude;
@@ -36,6 +38,8 @@ import org.orekit.forces.ForceModel;
 import org.orekit.forces.gravity.NewtonianAttraction;
 import org.orekit.forces.inertia.InertialForces;
 import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
@@ -112,6 +116,16 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * </ul>
  * <p> The last element is the mass in kilograms.
  *
+ * <p>For near-Keplerian orbits, an Encke-style propagation mode can be selected
+ * by calling {@link #setEnckeRectificationPeriod(double)}. In this mode, the six
+ * first elements of the state are the Cartesian deviations (position and velocity)
+ * with respect to a Keplerian reference trajectory, which is periodically rectified
+ * to match the osculating orbit. As the deviations are small and smooth, adaptive
+ * stepsize integrators can use larger steps for the same accuracy. The tolerances
+ * should then be computed for {@link OrbitType#CARTESIAN Cartesian} parameters.
+ * As the reference arcs are Keplerian orbits, this mode requires the propagation
+ * frame to be pseudo-inertial and the orbit not to be almost parabolic.</p>
+ *
  * <p>The following code snippet shows a typical setting for Low Earth Orbit propagation in
  * equinoctial parameters and true longitude argument:</p>
  * <pre>
@@ -152,6 +166,12 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
     /** boolean to ignore or not the creation of a NewtonianAttraction. */
     private boolean ignoreCentralAttraction = false;
 
+    /** Period between rectifications of the Encke reference trajectory (0 if Encke mode is disabled). */
+    private double enckeRectificationPeriod = 0.0;
+
+    /** Mapper used in Encke mode for the current propagation. */
+    private EnckeMapper enckeMapper;
+
     /** Create a new instance of NumericalPropagator, based on orbit definition mu.
      * After creation, the instance is empty, i.e. the attitude provider is set to an
      * unspecified default law and there are no perturbing forces at all.
@@ -205,6 +225,51 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
         this.ignoreCentralAttraction = ignoreCentralAttraction;
     }
 
+    /** Set the period between rectifications of the Encke reference trajectory.
+     * <p>
+     * Setting a strictly positive period enables the Encke propagation mode: the
+     * integrated state is the Cartesian deviation with respect to a Keplerian reference
+     * trajectory, and the reference trajectory is rectified (i.e. reset to the current
+     * osculating orbit) at regular time intervals, so the deviations remain small.
+     * The period should be small enough for the deviations to remain small with
+     * respect to the orbit radius, typically of the order of the orbital period.
+     * Setting the period to 0 (which is the default) disables the Encke mode.
+     * </p>
+     * <p>
+     * As the integrated state is Cartesian in Encke mode, the integrator tolerances
+     * should be computed for {@link OrbitType#CARTESIAN Cartesian} parameters, for
+     * example using {@link #tolerances(double, Orbit, OrbitType)}. The {@link
+     * #getOrbitType() orbit type} is still used for the orbits provided to the user.
+     * </p>
+     * <p>
+     * As each reference arc is a {@link KeplerianOrbit}, the Encke mode requires
+     * the propagation frame to be {@link Frame#isPseudoInertial() pseudo-inertial},
+     * even when {@link AbsolutePVCoordinates} are propagated, and the orbit must
+     * not be almost parabolic at rectification dates. The frame is checked as soon
+     * as both the initial state and the Encke mode are set, the orbit is checked at
+     * each rectification, and an {@link OrekitException} is thrown if they are not
+     * suitable.
+     * </p>
+     * @param rectificationPeriod period between rectifications of the Keplerian
+     * reference trajectory (s), 0 to disable Encke mode
+     * @since 10.3
+     */
+    public void setEnckeRectificationPeriod(final double rectificationPeriod) {
+        if (rectificationPeriod < 0 || Double.isNaN(rectificationPeriod)) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL, rectificationPeriod, 0.0);
+        }
+        this.enckeRectificationPeriod = rectificationPeriod;
+    }
+
+    /** Get the period between rectifications of the Encke reference trajectory.
+     * @return period between rectifications of the Keplerian reference trajectory (s),
+     * 0 if Encke mode is disabled
+     * @since 10.3
+     */
+    public double getEnckeRectificationPeriod() {
+        return enckeRectificationPeriod;
+    }
+
      /** Set the central attraction coefficient μ.
       * <p>
       * Setting the central attraction coefficient is
@@ -379,7 +444,17 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
     protected StateMapper createMapper(final AbsoluteDate referenceDate, final double mu,
                                        final OrbitType orbitType, final PositionAngle positionAngleType,
                                        final AttitudeProvider attitudeProvider, final Frame frame) {
-        return new OsculatingMapper(referenceDate, mu, orbitType, positionAngleType, attitudeProvider, frame);
+        if (enckeRectificationPeriod > 0) {
+            if (frame != null && !frame.isPseudoInertial()) {
+                // the Keplerian reference arcs can only be built in pseudo-inertial frames
+                throw new OrekitException(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, frame.getName());
+            }
+            enckeMapper = new EnckeMapper(referenceDate, mu, orbitType, positionAngleType, attitudeProvider, frame);
+            return enckeMapper;
+        } else {
+            enckeMapper = null;
+            return new OsculatingMapper(referenceDate, mu, orbitType, positionAngleType, attitudeProvider, frame);
+        }
     }
 
     /** Internal mapper using directly osculating parameters. */
@@ -462,9 +537,333 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
 
     }
 
+    /** Internal mapper using deviations with respect to a Keplerian reference trajectory.
+     * <p>
+     * The reference trajectory is piecewise Keplerian: each rectification starts a new
+     * Keplerian arc at the osculating orbit of the rectification date. All arcs are kept,
+     * so states can be mapped anywhere in the propagation range, which is needed by
+     * {@link org.orekit.propagation.integration.IntegratedEphemeris integrated ephemerides}.
+     * </p>
+     */
+    private static class EnckeMapper extends StateMapper {
+
+        /** Reference arcs, in propagation order. */
+        private final List<EnckeReference> references;
+
+        /** Propagation direction (+1 for forward, -1 for backward). */
+        private double direction;
+
+        /** Reference arc selected by the last call to {@link #mapArrayToState}. */
+        private EnckeReference current;
+
+        /** Reference position-velocity at {@link #currentDate}. */
+        private PVCoordinates currentPV;
+
+        /** Date of {@link #currentPV}. */
+        private AbsoluteDate currentDate;
+
+        /** Simple constructor.
+         * @param referenceDate reference date
+         * @param mu central attraction coefficient (m³/s²)
+         * @param orbitType orbit type to use for mapping (can be null for {@link AbsolutePVCoordinates})
+         * @param positionAngleType angle type to use for propagation
+         * @param attitudeProvider attitude provider
+         * @param frame inertial frame
+         */
+        EnckeMapper(final AbsoluteDate referenceDate, final double mu,
+                    final OrbitType orbitType, final PositionAngle positionAngleType,
+                    final AttitudeProvider attitudeProvider, final Frame frame) {
+            super(referenceDate, mu, orbitType, positionAngleType, attitudeProvider, frame);
+            this.references = new ArrayList<>();
+            this.direction  = 1.0;
+        }
+
+        /** Start a new reference arc.
+         * @param state state at rectification date
+         */
+        public void rectify(final SpacecraftState state) {
+            final double[] jump = new double[6];
+            if (!references.isEmpty()) {
+                // deviation with respect to the previous arc, just before rectification
+                fillDeviation(state.getPVCoordinates(), referencePV(select(state.getDate(), null), state.getDate()), jump);
+                direction = state.getDate().durationFrom(references.get(0).date) >= 0 ? 1.0 : -1.0;
+            }
+            references.add(new EnckeReference(state.getPVCoordinates(), getFrame(), getMu(), jump));
+        }
+
+        /** Select the reference arc for a date.
+         * @param date date
+         * @param y deviations array (null if unknown)
+         * @return reference arc
+         */
+        private EnckeReference select(final AbsoluteDate date, final double[] y) {
+            for (int i = references.size() - 1; i > 0; --i) {
+                final EnckeReference reference = references.get(i);
+                final double dt = direction * date.durationFrom(reference.date);
+                if (dt > 0) {
+                    return reference;
+                } else if (dt == 0) {
+                    // exactly at rectification date, the deviations may be related either
+                    // to the new arc (they are then close to zero) or to the previous arc
+                    // (they are then close to the jump recorded at rectification)
+                    if (y == null || distance2(y, null) <= distance2(y, reference.jump)) {
+                        return reference;
+                    } else {
+                        return references.get(i - 1);
+                    }
+                }
+            }
+            return references.get(0);
+        }
+
+        /** Compute squared distance between position deviations.
+         * @param y deviations array
+         * @param ref reference deviations (null for zero)
+         * @return squared distance between positions deviations
+         */
+        private static double distance2(final double[] y, final double[] ref) {
+            double d2 = 0;
+            for (int i = 0; i < 3; ++i) {
+                final double d = ref == null ? y[i] : y[i] - ref[i];
+                d2 += d * d;
+            }
+            return d2;
+        }
+
+        /** Get the reference position-velocity.
+         * @param reference reference arc
+         * @param date date
+         * @return reference position-velocity at date
+         */
+        private PVCoordinates referencePV(final EnckeReference reference, final AbsoluteDate date) {
+            if (reference != current || !date.equals(currentDate)) {
+                current     = reference;
+                currentDate = date;
+                currentPV   = reference.getPVCoordinates(date);
+            }
+            return currentPV;
+        }
+
+        /** Get the reference position-velocity selected by the last call to {@link #mapArrayToState}.
+         * @return reference position-velocity
+         */
+        public PVCoordinates getCurrentReferencePV() {
+            return currentPV;
+        }
+
+        /** Fill deviations array.
+         * @param pv actual position-velocity
+         * @param reference reference position-velocity
+         * @param deviation array to fill
+         */
+        private static void fillDeviation(final PVCoordinates pv, final PVCoordinates reference, final double[] deviation) {
+            final Vector3D dP = pv.getPosition().subtract(reference.getPosition());
+            final Vector3D dV = pv.getVelocity().subtract(reference.getVelocity());
+            deviation[0] = dP.getX();
+            deviation[1] = dP.getY();
+            deviation[2] = dP.getZ();
+            deviation[3] = dV.getX();
+            deviation[4] = dV.getY();
+            deviation[5] = dV.getZ();
+        }
+
+        /** {@inheritDoc} */
+        public SpacecraftState mapArrayToState(final AbsoluteDate date, final double[] y, final double[] yDot,
+                                               final PropagationType type) {
+            // the parameter type is ignored for the Numerical Propagator
+
+            final double mass = y[6];
+            if (mass <= 0.0) {
+                throw new OrekitException(OrekitMessages.SPACECRAFT_MASS_BECOMES_NEGATIVE, mass);
+            }
+
+            final PVCoordinates reference = referencePV(select(date, y), date);
+            final Vector3D p = new Vector3D(1, reference.getPosition(), 1, new Vector3D(y[0], y[1], y[2]));
+            final Vector3D v = new Vector3D(1, reference.getVelocity(), 1, new Vector3D(y[3], y[4], y[5]));
+            final TimeStampedPVCoordinates pv;
+            if (yDot == null) {
+                pv = new TimeStampedPVCoordinates(date, p, v);
+            } else {
+                final Vector3D rP = reference.getPosition();
+                final double   r2 = rP.getNormSq();
+                final Vector3D a  = new Vector3D(-getMu() / (r2 * FastMath.sqrt(r2)), rP,
+                                                 1, new Vector3D(yDot[3], yDot[4], yDot[5]));
+                pv = new TimeStampedPVCoordinates(date, p, v, a);
+            }
+
+            if (getOrbitType() == null) {
+                // propagation uses absolute position-velocity-acceleration
+                final AbsolutePVCoordinates absPva = new AbsolutePVCoordinates(getFrame(), pv);
+                final Attitude attitude = getAttitudeProvider().getAttitude(absPva, date, getFrame());
+                return new SpacecraftState(absPva, attitude, mass);
+            } else {
+                // propagation uses regular orbits
+                final Orbit orbit       = getOrbitType().convertType(new CartesianOrbit(pv, getFrame(), getMu()));
+                final Attitude attitude = getAttitudeProvider().getAttitude(orbit, date, getFrame());
+                return new SpacecraftState(orbit, attitude, mass);
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        public void mapStateToArray(final SpacecraftState state, final double[] y, final double[] yDot) {
+
+            if (references.isEmpty()) {
+                // this is the initial state, it defines the first reference arc
+                rectify(state);
+            }
+
+            final PVCoordinates pv        = state.getPVCoordinates();
+            final PVCoordinates reference = referencePV(select(state.getDate(), null), state.getDate());
+            fillDeviation(pv, reference, y);
+            y[6] = state.getMass();
+
+            if (yDot != null) {
+                final Vector3D rP = reference.getPosition();
+                final double   r2 = rP.getNormSq();
+                final Vector3D dA = new Vector3D(1, pv.getAcceleration(),
+                                                 getMu() / (r2 * FastMath.sqrt(r2)), rP);
+                yDot[0] = y[3];
+                yDot[1] = y[4];
+                yDot[2] = y[5];
+                yDot[3] = dA.getX();
+                yDot[4] = dA.getY();
+                yDot[5] = dA.getZ();
+            }
+
+        }
+
+    }
+
+    /** Keplerian arc of the Encke reference trajectory. */
+    private static class EnckeReference {
+
+        /** Threshold on |2 - r v² / μ| = |r / a| below which orbit is considered parabolic. */
+        private static final double PARABOLIC_THRESHOLD = 1.0e-10;
+
+        /** Start date of the arc. */
+        private final AbsoluteDate date;
+
+        /** Position-velocity at start date. */
+        private final PVCoordinates pv;
+
+        /** Keplerian orbit at start date. */
+        private final KeplerianOrbit orbit;
+
+        /** Deviation with respect to the previous arc at start date. */
+        private final double[] jump;
+
+        /** Simple constructor.
+         * @param pv position-velocity at start date
+         * @param frame inertial frame
+         * @param mu central attraction coefficient (m³/s²)
+         * @param jump deviation with respect to the previous arc at start date
+         */
+        EnckeReference(final TimeStampedPVCoordinates pv, final Frame frame, final double mu,
+                       final double[] jump) {
+            final double rV2OnMu = pv.getPosition().getNorm() * pv.getVelocity().getNormSq() / mu;
+            if (FastMath.abs(2 - rV2OnMu) < PARABOLIC_THRESHOLD) {
+                // the semi-major axis would be infinite
+                throw new OrekitException(OrekitMessages.ALMOST_PARABOLIC_ORBIT, pv.getDate());
+            }
+            this.date  = pv.getDate();
+            this.pv    = new PVCoordinates(pv.getPosition(), pv.getVelocity());
+            // acceleration is deliberately ignored, so the arc remains purely Keplerian
+            this.orbit = new KeplerianOrbit(new TimeStampedPVCoordinates(date, pv.getPosition(), pv.getVelocity()),
+                                            frame, mu);
+            this.jump  = jump;
+        }
+
+        /** Get the position-velocity on the Keplerian arc.
+         * @param t date
+         * @return position-velocity at date
+         */
+        public PVCoordinates getPVCoordinates(final AbsoluteDate t) {
+            final double dt = t.durationFrom(date);
+            // at start date, we use the exact position-velocity, to ensure deviations are exactly 0
+            return dt == 0 ? pv : orbit.shiftedBy(dt).getPVCoordinates();
+        }
+
+    }
+
+    /** Event detector rectifying the Encke reference trajectory at regular intervals.
+     * <p>
+     * The switching function is a sine wave vanishing at each rectification date. It is
+     * continuous, and is not changed by the rectifications themselves, so the events
+     * are triggered only once even if the state is reset.
+     * </p>
+     */
+    private class EnckeRectifier implements EventDetector {
+
+        /** Convergence threshold on rectification dates (s). */
+        private static final double THRESHOLD = 1.0e-6;
+
+        /** Maximum number of iterations in the event time search. */
+        private static final int MAX_ITERATIONS = 100;
+
+        /** Mapper holding the reference trajectory. */
+        private final EnckeMapper mapper;
+
+        /** Propagation start date. */
+        private AbsoluteDate start;
+
+        /** Simple constructor.
+         * @param mapper mapper holding the reference trajectory
+         */
+        EnckeRectifier(final EnckeMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final SpacecraftState s0, final AbsoluteDate t) {
+            start = s0.getDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double g(final SpacecraftState s) {
+            return FastMath.sin(FastMath.PI * s.getDate().durationFrom(start) / enckeRectificationPeriod);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getThreshold() {
+            return THRESHOLD;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMaxCheckInterval() {
+            // switching function changes sign at each rectification
+            return 0.5 * enckeRectificationPeriod;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getMaxIterationCount() {
+            return MAX_ITERATIONS;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Action eventOccurred(final SpacecraftState s, final boolean increasing) {
+            return Action.RESET_STATE;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState resetState(final SpacecraftState oldState) {
+            // start a new Keplerian arc, the state itself is unchanged
+            mapper.rectify(oldState);
+            return oldState;
+        }
+
+    }
+
     /** {@inheritDoc} */
     protected MainStateEquations getMainStateEquations(final ODEIntegrator integrator) {
-        return new Main(integrator);
+        return enckeMapper == null ? new Main(integrator) : new EnckeMain(integrator, enckeMapper);
     }
 
     /** Internal class for osculating parameters integration. */
@@ -583,6 +982,143 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
 
     }
 
+    /** Internal class for Encke deviations integration. */
+    private class EnckeMain implements MainStateEquations, TimeDerivativesEquations {
+
+        /** Derivatives array. */
+        private final double[] yDot;
+
+        /** Mapper holding the reference trajectory. */
+        private final EnckeMapper mapper;
+
+        /** Current position. */
+        private Vector3D position;
+
+        /** Current reference position. */
+        private Vector3D referencePosition;
+
+        /** Indicator for reference acceleration removal. */
+        private boolean referenceRemoved;
+
+        /** Simple constructor.
+         * @param integrator numerical integrator to use for propagation.
+         * @param mapper mapper holding the reference trajectory
+         */
+        EnckeMain(final ODEIntegrator integrator, final EnckeMapper mapper) {
+
+            this.yDot   = new double[7];
+            this.mapper = mapper;
+
+            for (final ForceModel forceModel : forceModels) {
+                forceModel.getEventsDetectors().forEach(detector -> setUpEventDetector(integrator, detector));
+            }
+            setUpEventDetector(integrator, new EnckeRectifier(mapper));
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final SpacecraftState initialState, final AbsoluteDate target) {
+            for (final ForceModel forceModel : forceModels) {
+                forceModel.init(initialState, target);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] computeDerivatives(final SpacecraftState state) {
+
+            final PVCoordinates pv        = state.getPVCoordinates();
+            final PVCoordinates reference = mapper.getCurrentReferencePV();
+            position          = pv.getPosition();
+            referencePosition = reference.getPosition();
+            referenceRemoved  = false;
+
+            // position deviation derivative is velocity deviation
+            final Vector3D dV = pv.getVelocity().subtract(reference.getVelocity());
+            yDot[0] = dV.getX();
+            yDot[1] = dV.getY();
+            yDot[2] = dV.getZ();
+            Arrays.fill(yDot, 3, 7, 0.0);
+
+            // compute the contributions of all forces
+            for (final ForceModel forceModel : forceModels) {
+                forceModel.addContribution(state, this);
+            }
+
+            if (!referenceRemoved) {
+                // there are no central attraction, but reference trajectory is still Keplerian
+                addReferenceAcceleration(1.0);
+            }
+
+            return yDot.clone();
+
+        }
+
+        /** Add (or remove) the Keplerian acceleration of the reference trajectory.
+         * @param factor factor to apply to the reference acceleration
+         */
+        private void addReferenceAcceleration(final double factor) {
+            final double r2    = referencePosition.getNormSq();
+            final double coeff = factor * mapper.getMu() / (r2 * FastMath.sqrt(r2));
+            yDot[3] += coeff * referencePosition.getX();
+            yDot[4] += coeff * referencePosition.getY();
+            yDot[5] += coeff * referencePosition.getZ();
+            referenceRemoved = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void addKeplerContribution(final double mu) {
+
+            // if mu is neither 0 nor NaN, we want to include Newtonian acceleration
+            if (mu > 0) {
+
+                // use Battin's formulation to compute the difference between
+                // actual and reference central attractions without cancellation
+                final double   muRef = mapper.getMu();
+                final Vector3D delta = position.subtract(referencePosition);
+                final double   r2    = position.getNormSq();
+                final double   q     = Vector3D.dotProduct(delta, delta.subtract(2, position)) / r2;
+                final double   f     = q * (3 + q * (3 + q)) / (1 + FastMath.pow(1 + q, 1.5));
+                final double   rho2  = referencePosition.getNormSq();
+                final double   coeff = -muRef / (rho2 * FastMath.sqrt(rho2));
+                yDot[3] += coeff * (f * position.getX() + delta.getX());
+                yDot[4] += coeff * (f * position.getY() + delta.getY());
+                yDot[5] += coeff * (f * position.getZ() + delta.getZ());
+
+                if (mu != muRef) {
+                    // central attraction coefficient differs from the one used for reference trajectory
+                    final double coeff2 = (muRef - mu) / (r2 * FastMath.sqrt(r2));
+                    yDot[3] += coeff2 * position.getX();
+                    yDot[4] += coeff2 * position.getY();
+                    yDot[5] += coeff2 * position.getZ();
+                }
+
+                referenceRemoved = true;
+
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        public void addNonKeplerianAcceleration(final Vector3D gamma) {
+            yDot[3] += gamma.getX();
+            yDot[4] += gamma.getY();
+            yDot[5] += gamma.getZ();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void addMassDerivative(final double q) {
+            if (q > 0) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.POSITIVE_FLOW_RATE, q);
+            }
+            yDot[6] += q;
+        }
+
+    }
+
     /** Estimate tolerance vectors for integrators when propagating in absolute position-velocity-acceleration.
      * @param dP user specified position error
      * @param absPva reference absolute position-velocity-acceleration
@@ -0,0 +1,93 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import org.hipparchus.analysis.integration.gauss.GaussIntegrator;
+import org.hipparchus.analysis.integration.gauss.GaussIntegratorFactory;
+import org.hipparchus.special.Erf;
+import org.hipparchus.util.FastMath;
+
+/** Alfano method for computing probability of collision.
+ * <p>
+ * This method integrates analytically the two-dimensional Gaussian density along the
+ * second principal axis, using error functions, and integrates numerically the result
+ * along the first principal axis. The numerical integration uses the change of variable
+ * x = R cos &theta; which removes the square root singularity at the disk boundary, and a
+ * Gauss-Legendre rule whose nodes are computed once at construction.
+ * </p>
+ * <p>
+ * Reference: S. Alfano, "A numerical implementation of spherical object collision
+ * probability", Journal of the Astronautical Sciences, Vol. 53, No. 1, 2005.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class Alfano2005 implements ProbabilityOfCollisionMethod {
+
+    /** Default number of nodes. */
+    public static final int DEFAULT_NODES = 64;
+
+    /** Cosines of nodes. */
+    private final double[] cos;
+
+    /** Sines of nodes. */
+    private final double[] sin;
+
+    /** Weights, including the change of variable factor. */
+    private final double[] weights;
+
+    /** Build a method with default number of nodes.
+     */
+    public Alfano2005() {
+        this(DEFAULT_NODES);
+    }
+
+    /** Build a method.
+     * @param nodes number of nodes
+     */
+    public Alfano2005(final int nodes) {
+        final GaussIntegrator integrator = new GaussIntegratorFactory().legendre(nodes, 0.0, FastMath.PI);
+        cos     = new double[nodes];
+        sin     = new double[nodes];
+        weights = new double[nodes];
+        for (int i = 0; i < nodes; ++i) {
+            final double theta = integrator.getPoint(i);
+            cos[i]     = FastMath.cos(theta);
+            sin[i]     = FastMath.sin(theta);
+            weights[i] = integrator.getWeight(i) * sin[i];
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double compute(final double xm, final double ym,
+                          final double sigmaX, final double sigmaY,
+                          final double radius) {
+        ShortTermEncounter2D.checkStandardDeviations(sigmaX, sigmaY);
+        final double ax = 1.0 / (sigmaX * FastMath.sqrt(2.0));
+        final double ay = 1.0 / (sigmaY * FastMath.sqrt(2.0));
+        double sum = 0;
+        for (int i = 0; i < cos.length; ++i) {
+            final double dx = ax * (radius * cos[i] - xm);
+            final double h  = radius * sin[i];
+            sum += weights[i] * FastMath.exp(-dx * dx) *
+                   (Erf.erf(ay * (h - ym)) + Erf.erf(ay * (h + ym)));
+        }
+        return sum * radius * ax / (2 * FastMath.sqrt(FastMath.PI));
+    }
+
+}
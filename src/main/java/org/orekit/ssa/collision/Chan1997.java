@@ -0,0 +1,84 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import org.hipparchus.util.FastMath;
+
+/** Chan method for computing probability of collision.
+ * <p>
+ * This method replaces the combined hard body disk by an equivalent area region in
+ * which the Gaussian density becomes isotropic, and expands the probability as a
+ * convergent series. It is exact for isotropic covariances and very fast, but its
+ * accuracy degrades for highly elongated covariances combined with large hard body
+ * radii.
+ * </p>
+ * <p>
+ * Reference: K. Chan, "Collision probability analyses for Earth orbiting satellites",
+ * Advances in the Astronautical Sciences, Vol. 96, 1997.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class Chan1997 implements ProbabilityOfCollisionMethod {
+
+    /** Default number of terms in the series. */
+    public static final int DEFAULT_TERMS = 10;
+
+    /** Number of terms in the series. */
+    private final int terms;
+
+    /** Build a method with default number of terms.
+     */
+    public Chan1997() {
+        this(DEFAULT_TERMS);
+    }
+
+    /** Build a method.
+     * @param terms number of terms in the series
+     */
+    public Chan1997(final int terms) {
+        this.terms = terms;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double compute(final double xm, final double ym,
+                          final double sigmaX, final double sigmaY,
+                          final double radius) {
+
+        ShortTermEncounter2D.checkStandardDeviations(sigmaX, sigmaY);
+        final double u = radius * radius / (sigmaX * sigmaY);
+        final double v = xm * xm / (sigmaX * sigmaX) + ym * ym / (sigmaY * sigmaY);
+
+        // tail = 1 - exp(-u/2) Σ_{k=0}^{m} (u/2)^k / k!, which is positive
+        final double expU = FastMath.exp(-0.5 * u);
+        double vTerm = 1;
+        double uTerm = 1;
+        double tail  = -FastMath.expm1(-0.5 * u);
+        double sum   = tail;
+        for (int m = 1; m < terms; ++m) {
+            vTerm *= 0.5 * v / m;
+            uTerm *= 0.5 * u / m;
+            tail   = FastMath.max(0.0, tail - expU * uTerm);
+            sum   += vTerm * tail;
+        }
+
+        return FastMath.exp(-0.5 * v) * sum;
+
+    }
+
+}
@@ -0,0 +1,118 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import org.orekit.frames.Frame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Container for a close approach between two space objects.
+ * @see ConjunctionScreener
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class Conjunction implements TimeStamped {
+
+    /** Index of the primary object. */
+    private final int primaryIndex;
+
+    /** Index of the secondary object. */
+    private final int secondaryIndex;
+
+    /** State of the primary object at time of closest approach. */
+    private final SpacecraftState primaryState;
+
+    /** State of the secondary object at time of closest approach. */
+    private final SpacecraftState secondaryState;
+
+    /** Relative position-velocity of secondary with respect to primary. */
+    private final TimeStampedPVCoordinates relative;
+
+    /** Simple constructor.
+     * @param primaryIndex index of the primary object
+     * @param primaryState state of the primary object at time of closest approach
+     * @param secondaryIndex index of the secondary object
+     * @param secondaryState state of the secondary object at time of closest approach
+     * @param frame inertial frame in which relative position-velocity should be computed
+     */
+    public Conjunction(final int primaryIndex, final SpacecraftState primaryState,
+                       final int secondaryIndex, final SpacecraftState secondaryState,
+                       final Frame frame) {
+        this.primaryIndex   = primaryIndex;
+        this.primaryState   = primaryState;
+        this.secondaryIndex = secondaryIndex;
+        this.secondaryState = secondaryState;
+        this.relative       = new TimeStampedPVCoordinates(primaryState.getDate(),
+                                                           new PVCoordinates(primaryState.getPVCoordinates(frame),
+                                                                             secondaryState.getPVCoordinates(frame)));
+    }
+
+    /** Get the time of closest approach.
+     * @return time of closest approach
+     */
+    @Override
+    public AbsoluteDate getDate() {
+        return primaryState.getDate();
+    }
+
+    /** Get the index of the primary object.
+     * @return index of the primary object
+     */
+    public int getPrimaryIndex() {
+        return primaryIndex;
+    }
+
+    /** Get the state of the primary object at time of closest approach.
+     * @return state of the primary object at time of closest approach
+     */
+    public SpacecraftState getPrimaryState() {
+        return primaryState;
+    }
+
+    /** Get the index of the secondary object.
+     * @return index of the secondary object
+     */
+    public int getSecondaryIndex() {
+        return secondaryIndex;
+    }
+
+    /** Get the state of the secondary object at time of closest approach.
+     * @return state of the secondary object at time of closest approach
+     */
+    public SpacecraftState getSecondaryState() {
+        return secondaryState;
+    }
+
+    /** Get the miss distance.
+     * @return miss distance (m)
+     */
+    public double getMissDistance() {
+        return relative.getPosition().getNorm();
+    }
+
+    /** Get the relative position-velocity of secondary with respect to primary.
+     * @return relative position-velocity of secondary with respect to primary,
+     * in the frame specified at construction
+     */
+    public TimeStampedPVCoordinates getRelativePVCoordinates() {
+        return relative;
+    }
+
+}
@@ -0,0 +1,427 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+/** Screening engine for close approaches among a large set of space objects.
+ * <p>
+ * Monitoring the distance between all pairs of objects using one event detector per pair
+ * has a cost quadratic in the number of objects. This screener avoids it by splitting the
+ * screening span into short time windows and using cheap filters to discard most pairs
+ * before any accurate computation:
+ * </p>
+ * <ol>
+ *   <li>all objects are sampled once at windows boundaries, in parallel,</li>
+ *   <li>within each window, the trajectory of each object is enclosed in a bounding sphere,</li>
+ *   <li>a global apogee/perigee filter discards pairs whose radial shells are too far apart,</li>
+ *   <li>a sweep-and-prune along one axis selects pairs whose bounding spheres are closer than
+ *       the screening distance,</li>
+ *   <li>for the remaining pairs, the time of closest approach is located by finding the root
+ *       of the range rate, using the propagators,</li>
+ *   <li>close approaches with a miss distance below the screening distance are reported.</li>
+ * </ol>
+ * <p>
+ * Windows are processed in parallel. As propagators are generally not thread-safe, each
+ * propagator is accessed by one thread at a time. The window duration should be small with
+ * respect to the orbital periods (typically a few tens of seconds for low Earth orbits), so
+ * that at most one closest approach per pair occurs in each window. Minimum distances reached
+ * at the boundaries of the screening span are not considered to be closest approaches.
+ * </p>
+ * @see Conjunction
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ConjunctionScreener {
+
+    /** Default maximum number of iterations in the root solver. */
+    public static final int DEFAULT_MAX_ITER = 100;
+
+    /** Inertial frame in which screening is performed. */
+    private final Frame frame;
+
+    /** Screening distance (m). */
+    private final double screeningDistance;
+
+    /** Maximum duration of screening windows (s). */
+    private final double windowDuration;
+
+    /** Convergence threshold on time of closest approach (s). */
+    private final double threshold;
+
+    /** Number of threads to use. */
+    private final int nbThreads;
+
+    /** Build a screener using all available processors.
+     * @param frame inertial frame in which screening is performed
+     * @param screeningDistance screening distance (m)
+     * @param windowDuration maximum duration of screening windows (s)
+     * @param threshold convergence threshold on time of closest approach (s)
+     */
+    public ConjunctionScreener(final Frame frame, final double screeningDistance,
+                               final double windowDuration, final double threshold) {
+        this(frame, screeningDistance, windowDuration, threshold,
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Build a screener.
+     * @param frame inertial frame in which screening is performed
+     * @param screeningDistance screening distance (m)
+     * @param windowDuration maximum duration of screening windows (s)
+     * @param threshold convergence threshold on time of closest approach (s)
+     * @param nbThreads number of threads to use
+     */
+    public ConjunctionScreener(final Frame frame, final double screeningDistance,
+                               final double windowDuration, final double threshold,
+                               final int nbThreads) {
+        if (!frame.isPseudoInertial()) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, frame.getName());
+        }
+        if (windowDuration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     windowDuration, 0.0);
+        }
+        if (nbThreads < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, nbThreads, 1);
+        }
+        this.frame             = frame;
+        this.screeningDistance = screeningDistance;
+        this.windowDuration    = windowDuration;
+        this.threshold         = threshold;
+        this.nbThreads         = nbThreads;
+    }
+
+    /** Get the screening distance.
+     * @return screening distance (m)
+     */
+    public double getScreeningDistance() {
+        return screeningDistance;
+    }
+
+    /** Screen a set of objects.
+     * <p>
+     * Objects are identified in the returned conjunctions by their index in the list,
+     * the primary object always having the lower index.
+     * </p>
+     * @param objects objects to screen
+     * @param start start of the screening span
+     * @param end end of the screening span
+     * @return close approaches, sorted by time of closest approach
+     */
+    public List<Conjunction> screen(final List<? extends BoundedPropagator> objects,
+                                    final AbsoluteDate start, final AbsoluteDate end) {
+
+        if (end.compareTo(start) <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND,
+                                                     start, end);
+        }
+        for (final BoundedPropagator object : objects) {
+            if (start.compareTo(object.getMinDate()) < 0) {
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                          start, object.getMinDate(), object.getMaxDate());
+            }
+            if (end.compareTo(object.getMaxDate()) > 0) {
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                          end, object.getMinDate(), object.getMaxDate());
+            }
+        }
+
+        final int    n  = objects.size();
+        final int    nW = (int) FastMath.ceil(end.durationFrom(start) / windowDuration);
+        final double dt = end.durationFrom(start) / nW;
+        final AbsoluteDate[] dates = new AbsoluteDate[nW + 1];
+        for (int k = 0; k <= nW; ++k) {
+            dates[k] = (k == nW) ? end : start.shiftedBy(k * dt);
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads);
+        try {
+
+            // sample all objects at windows boundaries
+            final List<Callable<Sampling>> samplingTasks = new ArrayList<>(n);
+            for (final BoundedPropagator object : objects) {
+                samplingTasks.add(() -> new Sampling(object, dates, dt));
+            }
+            final Sampling[] samplings = new Sampling[n];
+            int i = 0;
+            for (final Sampling sampling : runAll(executorService, samplingTasks)) {
+                samplings[i++] = sampling;
+            }
+
+            // screen windows
+            final List<Callable<List<Conjunction>>> windowsTasks = new ArrayList<>(nW);
+            for (int k = 0; k < nW; ++k) {
+                final int window = k;
+                windowsTasks.add(() -> screenWindow(objects, samplings, dates, window));
+            }
+            final List<Conjunction> conjunctions = new ArrayList<>();
+            for (final List<Conjunction> windowConjunctions : runAll(executorService, windowsTasks)) {
+                conjunctions.addAll(windowConjunctions);
+            }
+
+            conjunctions.sort(Comparator.comparing(Conjunction::getDate).
+                              thenComparingInt(Conjunction::getPrimaryIndex).
+                              thenComparingInt(Conjunction::getSecondaryIndex));
+            return conjunctions;
+
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    /** Run tasks and wait for their completion.
+     * @param executorService executor service
+     * @param tasks tasks to run
+     * @param <T> type of the tasks results
+     * @return tasks results, in tasks order
+     */
+    private <T> List<T> runAll(final ExecutorService executorService, final List<Callable<T>> tasks) {
+        try {
+            final List<T> results = new ArrayList<>(tasks.size());
+            for (final Future<T> future : executorService.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        }
+    }
+
+    /** Screen one window.
+     * @param objects objects to screen
+     * @param samplings objects samplings
+     * @param dates windows boundaries
+     * @param k index of the window
+     * @return close approaches within the window
+     */
+    private List<Conjunction> screenWindow(final List<? extends BoundedPropagator> objects,
+                                           final Sampling[] samplings, final AbsoluteDate[] dates,
+                                           final int k) {
+
+        // sort objects according to lower bound of their bounding sphere along X
+        final int n = samplings.length;
+        final Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparingDouble(i -> samplings[i].lowX(k)));
+
+        // sweep-and-prune
+        final List<Conjunction> conjunctions = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            final Sampling si = samplings[sorted[i]];
+            final double   xMax = si.highX(k) + screeningDistance;
+            for (int j = i + 1; j < n && samplings[sorted[j]].lowX(k) <= xMax; ++j) {
+                final int p = FastMath.min(sorted[i], sorted[j]);
+                final int s = FastMath.max(sorted[i], sorted[j]);
+                if (samplings[p].radialOverlap(samplings[s], screeningDistance) &&
+                    samplings[p].spheresOverlap(samplings[s], k, screeningDistance) &&
+                    samplings[p].rangeRate(samplings[s], k) < 0 &&
+                    samplings[p].rangeRate(samplings[s], k + 1) >= 0) {
+                    // there is a closest approach within the window
+                    final Conjunction conjunction = refine(p, objects.get(p), s, objects.get(s), dates[k], dates[k + 1]);
+                    if (conjunction.getMissDistance() <= screeningDistance) {
+                        conjunctions.add(conjunction);
+                    }
+                }
+            }
+        }
+
+        return conjunctions;
+
+    }
+
+    /** Locate accurately a closest approach.
+     * @param p index of the primary object
+     * @param primary primary object
+     * @param s index of the secondary object
+     * @param secondary secondary object
+     * @param ta start of the window
+     * @param tb end of the window
+     * @return closest approach
+     */
+    private Conjunction refine(final int p, final BoundedPropagator primary,
+                               final int s, final BoundedPropagator secondary,
+                               final AbsoluteDate ta, final AbsoluteDate tb) {
+        // locks are always acquired in increasing objects indices order, to avoid deadlocks
+        synchronized (primary) {
+            synchronized (secondary) {
+                final UnivariateFunction rangeRate = dt -> {
+                    final AbsoluteDate date = ta.shiftedBy(dt);
+                    final PVCoordinates relative =
+                                    new PVCoordinates(primary.propagate(date).getPVCoordinates(frame),
+                                                      secondary.propagate(date).getPVCoordinates(frame));
+                    return relative.getPosition().dotProduct(relative.getVelocity());
+                };
+                final BracketedUnivariateSolver<UnivariateFunction> solver =
+                                new BracketingNthOrderBrentSolver(0, threshold, 0, 5);
+                final double tca = solver.solve(DEFAULT_MAX_ITER, rangeRate, 0, tb.durationFrom(ta),
+                                                AllowedSolution.ANY_SIDE);
+                final AbsoluteDate date = ta.shiftedBy(tca);
+                return new Conjunction(p, primary.propagate(date), s, secondary.propagate(date), frame);
+            }
+        }
+    }
+
+    /** Sampling of one object at windows boundaries. */
+    private class Sampling {
+
+        /** Positions and velocities, stored as x, y, z, vx, vy, vz sextuplets. */
+        private final double[] pv;
+
+        /** Bounding spheres, stored as x, y, z, radius quadruplets. */
+        private final double[] spheres;
+
+        /** Smallest distance to frame origin over screening span (m). */
+        private final double rMin;
+
+        /** Largest distance to frame origin over screening span (m). */
+        private final double rMax;
+
+        /** Simple constructor.
+         * @param object object to sample
+         * @param dates sampling dates
+         * @param dt windows duration (s)
+         */
+        Sampling(final BoundedPropagator object, final AbsoluteDate[] dates, final double dt) {
+
+            pv = new double[6 * dates.length];
+            for (int k = 0; k < dates.length; ++k) {
+                final PVCoordinates c = object.propagate(dates[k]).getPVCoordinates(frame);
+                pv[6 * k]     = c.getPosition().getX();
+                pv[6 * k + 1] = c.getPosition().getY();
+                pv[6 * k + 2] = c.getPosition().getZ();
+                pv[6 * k + 3] = c.getVelocity().getX();
+                pv[6 * k + 4] = c.getVelocity().getY();
+                pv[6 * k + 5] = c.getVelocity().getZ();
+            }
+
+            spheres = new double[4 * (dates.length - 1)];
+            double min = Double.POSITIVE_INFINITY;
+            double max = 0;
+            for (int k = 0; k < dates.length - 1; ++k) {
+                final double cx  = 0.5 * (pv[6 * k]     + pv[6 * k + 6]);
+                final double cy  = 0.5 * (pv[6 * k + 1] + pv[6 * k + 7]);
+                final double cz  = 0.5 * (pv[6 * k + 2] + pv[6 * k + 8]);
+                final double dpx = pv[6 * k + 6]  - pv[6 * k];
+                final double dpy = pv[6 * k + 7]  - pv[6 * k + 1];
+                final double dpz = pv[6 * k + 8]  - pv[6 * k + 2];
+                final double dvx = pv[6 * k + 9]  - pv[6 * k + 3];
+                final double dvy = pv[6 * k + 10] - pv[6 * k + 4];
+                final double dvz = pv[6 * k + 11] - pv[6 * k + 5];
+                // the trajectory stays within A dt² / 8 of the chord, A being the largest
+                // acceleration, which we estimate conservatively as twice the mean acceleration
+                final double radius = 0.5 * FastMath.sqrt(dpx * dpx + dpy * dpy + dpz * dpz) +
+                                      0.25 * dt * FastMath.sqrt(dvx * dvx + dvy * dvy + dvz * dvz);
+                spheres[4 * k]     = cx;
+                spheres[4 * k + 1] = cy;
+                spheres[4 * k + 2] = cz;
+                spheres[4 * k + 3] = radius;
+                final double r = FastMath.sqrt(cx * cx + cy * cy + cz * cz);
+                min = FastMath.min(min, r - radius);
+                max = FastMath.max(max, r + radius);
+            }
+            rMin = min;
+            rMax = max;
+
+        }
+
+        /** Get the lower bound of the bounding sphere along X.
+         * @param k index of the window
+         * @return lower bound of the bounding sphere along X
+         */
+        double lowX(final int k) {
+            return spheres[4 * k] - spheres[4 * k + 3];
+        }
+
+        /** Get the upper bound of the bounding sphere along X.
+         * @param k index of the window
+         * @return upper bound of the bounding sphere along X
+         */
+        double highX(final int k) {
+            return spheres[4 * k] + spheres[4 * k + 3];
+        }
+
+        /** Check if radial shells of two objects overlap (apogee/perigee filter).
+         * @param other other object
+         * @param distance screening distance
+         * @return true if radial shells are closer than screening distance
+         */
+        boolean radialOverlap(final Sampling other, final double distance) {
+            return rMin - other.rMax <= distance && other.rMin - rMax <= distance;
+        }
+
+        /** Check if bounding spheres of two objects overlap.
+         * @param other other object
+         * @param k index of the window
+         * @param distance screening distance
+         * @return true if bounding spheres are closer than screening distance
+         */
+        boolean spheresOverlap(final Sampling other, final int k, final double distance) {
+            final double dx    = other.spheres[4 * k]     - spheres[4 * k];
+            final double dy    = other.spheres[4 * k + 1] - spheres[4 * k + 1];
+            final double dz    = other.spheres[4 * k + 2] - spheres[4 * k + 2];
+            final double limit = spheres[4 * k + 3] + other.spheres[4 * k + 3] + distance;
+            return dx * dx + dy * dy + dz * dz <= limit * limit;
+        }
+
+        /** Compute the range rate between two objects, up to a positive factor.
+         * @param other other object
+         * @param k index of the sample
+         * @return dot product of relative position and relative velocity
+         */
+        double rangeRate(final Sampling other, final int k) {
+            double dot = 0;
+            for (int i = 0; i < 3; ++i) {
+                dot += (other.pv[6 * k + i] - pv[6 * k + i]) * (other.pv[6 * k + i + 3] - pv[6 * k + i + 3]);
+            }
+            return dot;
+        }
+
+    }
+
+}
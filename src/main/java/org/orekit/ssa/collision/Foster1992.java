@@ -0,0 +1,108 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import org.hipparchus.analysis.integration.gauss.GaussIntegrator;
+import org.hipparchus.analysis.integration.gauss.GaussIntegratorFactory;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/** Foster method for computing probability of collision.
+ * <p>
+ * This method integrates numerically the two-dimensional Gaussian density over the
+ * combined hard body disk, in polar coordinates centered on the disk. A Gauss-Legendre
+ * rule is used along the radius and a trapezoidal rule (which converges very fast for
+ * periodic functions) is used along the angle. The quadrature nodes are computed once
+ * at construction.
+ * </p>
+ * <p>
+ * Reference: J. L. Foster and H. S. Estes, "A parametric analysis of orbital debris
+ * collision probability and maneuver rate for space vehicles", NASA/JSC-25898, 1992.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class Foster1992 implements ProbabilityOfCollisionMethod {
+
+    /** Default number of radial nodes. */
+    public static final int DEFAULT_RADIAL_NODES = 32;
+
+    /** Default number of angular nodes. */
+    public static final int DEFAULT_ANGULAR_NODES = 64;
+
+    /** Radial nodes, normalized on [0, 1]. */
+    private final double[] rho;
+
+    /** Radial weights, including the polar area element. */
+    private final double[] rhoWeights;
+
+    /** Cosines of angular nodes. */
+    private final double[] cos;
+
+    /** Sines of angular nodes. */
+    private final double[] sin;
+
+    /** Build a method with default number of nodes.
+     */
+    public Foster1992() {
+        this(DEFAULT_RADIAL_NODES, DEFAULT_ANGULAR_NODES);
+    }
+
+    /** Build a method.
+     * @param radialNodes number of radial nodes
+     * @param angularNodes number of angular nodes
+     */
+    public Foster1992(final int radialNodes, final int angularNodes) {
+        final GaussIntegrator integrator = new GaussIntegratorFactory().legendre(radialNodes, 0.0, 1.0);
+        rho        = new double[radialNodes];
+        rhoWeights = new double[radialNodes];
+        for (int i = 0; i < radialNodes; ++i) {
+            rho[i]        = integrator.getPoint(i);
+            rhoWeights[i] = integrator.getWeight(i) * rho[i] * MathUtils.TWO_PI / angularNodes;
+        }
+        cos = new double[angularNodes];
+        sin = new double[angularNodes];
+        for (int j = 0; j < angularNodes; ++j) {
+            final double theta = j * MathUtils.TWO_PI / angularNodes;
+            cos[j] = FastMath.cos(theta);
+            sin[j] = FastMath.sin(theta);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double compute(final double xm, final double ym,
+                          final double sigmaX, final double sigmaY,
+                          final double radius) {
+        ShortTermEncounter2D.checkStandardDeviations(sigmaX, sigmaY);
+        final double ax  = 1.0 / (sigmaX * FastMath.sqrt(2.0));
+        final double ay  = 1.0 / (sigmaY * FastMath.sqrt(2.0));
+        double sum = 0;
+        for (int i = 0; i < rho.length; ++i) {
+            final double r = radius * rho[i];
+            double ring = 0;
+            for (int j = 0; j < cos.length; ++j) {
+                final double dx = ax * (r * cos[j] - xm);
+                final double dy = ay * (r * sin[j] - ym);
+                ring += FastMath.exp(-(dx * dx + dy * dy));
+            }
+            sum += rhoWeights[i] * ring;
+        }
+        return sum * radius * radius / (MathUtils.TWO_PI * sigmaX * sigmaY);
+    }
+
+}
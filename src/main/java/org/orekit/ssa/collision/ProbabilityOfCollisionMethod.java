@@ -0,0 +1,100 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import java.util.List;
+
+/** Interface for short-term encounter probability of collision methods.
+ * <p>
+ * All methods work in the encounter plane, using principal axes of the projected
+ * combined covariance. The batch evaluation methods allow ranking large numbers of
+ * conjunctions, working on primitive arrays.
+ * </p>
+ * @see ShortTermEncounter2D
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public interface ProbabilityOfCollisionMethod {
+
+    /** Compute the probability of collision.
+     * @param xm miss distance along the first principal axis (m)
+     * @param ym miss distance along the second principal axis (m)
+     * @param sigmaX standard deviation along the first principal axis (m)
+     * @param sigmaY standard deviation along the second principal axis (m)
+     * @param radius combined hard body radius (m)
+     * @return probability of collision
+     * @exception org.orekit.errors.OrekitException if either standard deviation
+     * is not strictly positive
+     */
+    double compute(double xm, double ym, double sigmaX, double sigmaY, double radius);
+
+    /** Compute the probability of collision.
+     * @param encounter encounter in the encounter plane
+     * @return probability of collision
+     */
+    default double compute(final ShortTermEncounter2D encounter) {
+        return compute(encounter.getXm(), encounter.getYm(),
+                       encounter.getSigmaX(), encounter.getSigmaY(),
+                       encounter.getRadius());
+    }
+
+    /** Compute the probabilities of collision for several encounters.
+     * <p>
+     * All arrays must have the same length.
+     * </p>
+     * @param xm miss distances along the first principal axis (m)
+     * @param ym miss distances along the second principal axis (m)
+     * @param sigmaX standard deviations along the first principal axis (m)
+     * @param sigmaY standard deviations along the second principal axis (m)
+     * @param radius combined hard body radii (m)
+     * @return probabilities of collision
+     * @exception org.orekit.errors.OrekitException if any standard deviation
+     * is not strictly positive
+     */
+    default double[] compute(final double[] xm, final double[] ym,
+                             final double[] sigmaX, final double[] sigmaY,
+                             final double[] radius) {
+        final double[] pc = new double[xm.length];
+        for (int i = 0; i < pc.length; ++i) {
+            pc[i] = compute(xm[i], ym[i], sigmaX[i], sigmaY[i], radius[i]);
+        }
+        return pc;
+    }
+
+    /** Compute the probabilities of collision for several encounters.
+     * @param encounters encounters in the encounter plane
+     * @return probabilities of collision, in encounters order
+     */
+    default double[] compute(final List<ShortTermEncounter2D> encounters) {
+        final int      n      = encounters.size();
+        final double[] xm     = new double[n];
+        final double[] ym     = new double[n];
+        final double[] sigmaX = new double[n];
+        final double[] sigmaY = new double[n];
+        final double[] radius = new double[n];
+        for (int i = 0; i < n; ++i) {
+            final ShortTermEncounter2D encounter = encounters.get(i);
+            xm[i]     = encounter.getXm();
+            ym[i]     = encounter.getYm();
+            sigmaX[i] = encounter.getSigmaX();
+            sigmaY[i] = encounter.getSigmaY();
+            radius[i] = encounter.getRadius();
+        }
+        return compute(xm, ym, sigmaX, sigmaY, radius);
+    }
+
+}
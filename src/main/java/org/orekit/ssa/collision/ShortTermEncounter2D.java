@@ -0,0 +1,225 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.PVCoordinates;
+
+/** Short-term encounter projected in the encounter plane.
+ * <p>
+ * In the short-term encounter model, relative motion is assumed to be rectilinear
+ * during the encounter, and position uncertainties are assumed to be constant. The
+ * probability of collision is then the integral of the two-dimensional Gaussian
+ * distribution of the relative position projected in the encounter plane (which is
+ * normal to the relative velocity at time of closest approach), over the disk whose
+ * radius is the combined hard body radius of the two objects.
+ * </p>
+ * <p>
+ * This class performs the projection once and stores the encounter in the principal
+ * axes of the projected combined covariance, so the probability of collision can be
+ * evaluated using any {@link ProbabilityOfCollisionMethod}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ShortTermEncounter2D {
+
+    /** Miss distance along the first principal axis (m). */
+    private final double xm;
+
+    /** Miss distance along the second principal axis (m). */
+    private final double ym;
+
+    /** Standard deviation along the first principal axis (m). */
+    private final double sigmaX;
+
+    /** Standard deviation along the second principal axis (m). */
+    private final double sigmaY;
+
+    /** Combined hard body radius (m). */
+    private final double radius;
+
+    /** Build an encounter from a conjunction and the objects covariances.
+     * <p>
+     * The covariance matrices must be expressed in Cartesian coordinates in the
+     * frame used to compute the {@link Conjunction#getRelativePVCoordinates() relative
+     * position-velocity}. They may be either 3x3 position covariances or 6x6
+     * position-velocity covariances, in which case only the position part is used.
+     * </p>
+     * @param conjunction conjunction
+     * @param primaryCovariance covariance of the primary object
+     * @param secondaryCovariance covariance of the secondary object
+     * @param radius combined hard body radius (m)
+     * @exception OrekitException if the projected combined covariance is degenerate
+     */
+    public ShortTermEncounter2D(final Conjunction conjunction,
+                                final RealMatrix primaryCovariance, final RealMatrix secondaryCovariance,
+                                final double radius) {
+        this(conjunction.getRelativePVCoordinates(),
+             position(primaryCovariance).add(position(secondaryCovariance)),
+             radius);
+    }
+
+    /** Build an encounter from relative position-velocity and combined covariance.
+     * @param relative relative position-velocity of secondary with respect to primary
+     * @param combinedCovariance combined position covariance (3x3 or 6x6) of both
+     * objects, in the same frame as relative position-velocity
+     * @param radius combined hard body radius (m)
+     * @exception OrekitException if the projected combined covariance is degenerate
+     */
+    public ShortTermEncounter2D(final PVCoordinates relative, final RealMatrix combinedCovariance,
+                                final double radius) {
+
+        // encounter plane, normal to relative velocity
+        final Vector3D v  = relative.getVelocity();
+        final Vector3D r  = relative.getPosition();
+        final Vector3D rp = r.subtract(v.scalarMultiply(Vector3D.dotProduct(r, v) / v.getNormSq()));
+        final Vector3D e1 = rp.getNorm() > 0 ? rp.normalize() : v.orthogonal();
+        final Vector3D e2 = Vector3D.crossProduct(v, e1).normalize();
+
+        // projected covariance
+        final RealMatrix c   = position(combinedCovariance);
+        final double[]   c1  = c.operate(e1.toArray());
+        final double[]   c2  = c.operate(e2.toArray());
+        final double     c11 = e1.getX() * c1[0] + e1.getY() * c1[1] + e1.getZ() * c1[2];
+        final double     c12 = e2.getX() * c1[0] + e2.getY() * c1[1] + e2.getZ() * c1[2];
+        final double     c22 = e2.getX() * c2[0] + e2.getY() * c2[1] + e2.getZ() * c2[2];
+
+        // principal axes
+        final double half  = 0.5 * (c11 + c22);
+        final double delta = FastMath.hypot(0.5 * (c11 - c22), c12);
+        final double theta = 0.5 * FastMath.atan2(2 * c12, c11 - c22);
+        final double d     = rp.getNorm();
+        this.xm     = d * FastMath.cos(theta);
+        this.ym     = -d * FastMath.sin(theta);
+        this.sigmaX = FastMath.sqrt(half + delta);
+        this.sigmaY = FastMath.sqrt(FastMath.max(0.0, half - delta));
+        this.radius = radius;
+        checkStandardDeviations(sigmaX, sigmaY);
+
+    }
+
+    /** Build an encounter directly in the principal axes of the projected covariance.
+     * @param xm miss distance along the first principal axis (m)
+     * @param ym miss distance along the second principal axis (m)
+     * @param sigmaX standard deviation along the first principal axis (m)
+     * @param sigmaY standard deviation along the second principal axis (m)
+     * @param radius combined hard body radius (m)
+     * @exception OrekitException if either standard deviation is not strictly positive
+     */
+    public ShortTermEncounter2D(final double xm, final double ym,
+                                final double sigmaX, final double sigmaY,
+                                final double radius) {
+        this.xm     = xm;
+        this.ym     = ym;
+        this.sigmaX = sigmaX;
+        this.sigmaY = sigmaY;
+        this.radius = radius;
+        checkStandardDeviations(sigmaX, sigmaY);
+    }
+
+    /** Check standard deviations are strictly positive.
+     * <p>
+     * All probability of collision methods divide by the standard deviations, so
+     * a degenerate covariance (for example a zero variance along one axis in the
+     * encounter plane) would silently lead to NaN probabilities.
+     * </p>
+     * @param sigmaX standard deviation along the first principal axis (m)
+     * @param sigmaY standard deviation along the second principal axis (m)
+     * @exception OrekitException if either standard deviation is not strictly positive
+     */
+    static void checkStandardDeviations(final double sigmaX, final double sigmaY) {
+        if (!(sigmaX > 0)) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, sigmaX, 0.0);
+        }
+        if (!(sigmaY > 0)) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, sigmaY, 0.0);
+        }
+    }
+
+    /** Extract position covariance.
+     * @param covariance 3x3 or 6x6 covariance
+     * @return 3x3 position covariance
+     */
+    private static RealMatrix position(final RealMatrix covariance) {
+        if (covariance.getRowDimension() == 3 && covariance.getColumnDimension() == 3) {
+            return covariance;
+        } else if (covariance.getRowDimension() == 6 && covariance.getColumnDimension() == 6) {
+            return covariance.getSubMatrix(0, 2, 0, 2);
+        }
+        throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                 covariance.getRowDimension(), 6);
+    }
+
+    /** Get the miss distance along the first principal axis.
+     * @return miss distance along the first principal axis (m)
+     */
+    public double getXm() {
+        return xm;
+    }
+
+    /** Get the miss distance along the second principal axis.
+     * @return miss distance along the second principal axis (m)
+     */
+    public double getYm() {
+        return ym;
+    }
+
+    /** Get the standard deviation along the first principal axis.
+     * @return standard deviation along the first principal axis (m)
+     */
+    public double getSigmaX() {
+        return sigmaX;
+    }
+
+    /** Get the standard deviation along the second principal axis.
+     * @return standard deviation along the second principal axis (m)
+     */
+    public double getSigmaY() {
+        return sigmaY;
+    }
+
+    /** Get the combined hard body radius.
+     * @return combined hard body radius (m)
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /** Get the projected miss distance.
+     * @return projected miss distance (m)
+     */
+    public double getMissDistance() {
+        return FastMath.hypot(xm, ym);
+    }
+
+    /** Get the projected covariance in principal axes.
+     * @return projected covariance in principal axes
+     */
+    public RealMatrix getPrincipalCovariance() {
+        return MatrixUtils.createRealDiagonalMatrix(new double[] {
+            sigmaX * sigmaX, sigmaY * sigmaY
+        });
+    }
+
+}
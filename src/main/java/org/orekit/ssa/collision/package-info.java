@@ -0,0 +1,42 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * This package provides tools for collision risk assessment between
+ * space objects.
+ *
+ * <p>
+ * The {@link org.orekit.ssa.collision.ConjunctionScreener ConjunctionScreener}
+ * identifies close approaches among large sets of objects, avoiding the
+ * quadratic cost of pairwise distance monitoring.
+ * </p>
+ *
+ * <p>
+ * The {@link org.orekit.ssa.collision.ShortTermEncounter2D ShortTermEncounter2D}
+ * projects a close approach and the objects covariances in the encounter plane,
+ * where the probability of collision can be evaluated using the methods from
+ * {@link org.orekit.ssa.collision.Foster1992 Foster},
+ * {@link org.orekit.ssa.collision.Chan1997 Chan} or
+ * {@link org.orekit.ssa.collision.Alfano2005 Alfano}, either for one
+ * encounter or in batch.
+ * </p>
+ *
+ * @author Luc Maisonobe
+ * @since 10.3
+ *
+ */
+package org.orekit.ssa.collision;
@@ -0,0 +1,336 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Dense Chebyshev fit of a {@link TimeVectorFunction} over a time span.
+ * <p>
+ * This class is intended to speed up evaluation of costly functions like the
+ * precession-nutation models from {@link org.orekit.utils.IERSConventions}, which
+ * sum thousands of Poisson series terms at each date. At construction, the time span
+ * is split in segments, and each segment is fitted by a Chebyshev polynomial
+ * interpolating the raw function at Chebyshev nodes. The fit is then checked at the
+ * extrema of the Chebyshev polynomial (including segment boundaries); segments for
+ * which the error exceeds the tolerance are split in two halves, recursively. If a
+ * segment cannot be fitted even at the minimum segment duration (for example because
+ * the raw function is discontinuous), the raw function is used in this segment.
+ * </p>
+ * <p>
+ * Outside of the fitted time span, the raw function is used. Instances of this class
+ * are thread-safe if the raw function is thread-safe.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class ChebyshevTimeVectorFunction implements TimeVectorFunction {
+
+    /** Default initial segments duration (s). */
+    public static final double DEFAULT_SEGMENT_DURATION = 86400.0;
+
+    /** Default Chebyshev polynomials degree. */
+    public static final int DEFAULT_DEGREE = 12;
+
+    /** Minimum segments duration (s). */
+    private static final double MIN_SEGMENT_DURATION = 60.0;
+
+    /** Raw function. */
+    private final TimeVectorFunction raw;
+
+    /** Start of the fitted time span. */
+    private final AbsoluteDate start;
+
+    /** Duration of the fitted time span (s). */
+    private final double duration;
+
+    /** Chebyshev polynomials degree. */
+    private final int degree;
+
+    /** Dimension of the function. */
+    private final int dimension;
+
+    /** Segments start, as offsets from start of time span (s). */
+    private final double[] segmentsStart;
+
+    /** Segments end, as offsets from start of time span (s). */
+    private final double[] segmentsEnd;
+
+    /** Chebyshev coefficients for each segment, null for segments using the raw function. */
+    private final double[][] coefficients;
+
+    /** Build a fitted function with default settings.
+     * @param raw raw function
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed for all components
+     */
+    public ChebyshevTimeVectorFunction(final TimeVectorFunction raw,
+                                       final AbsoluteDate start, final AbsoluteDate end,
+                                       final double tolerance) {
+        this(raw, start, end, DEFAULT_SEGMENT_DURATION, DEFAULT_DEGREE, tolerance);
+    }
+
+    /** Build a fitted function.
+     * @param raw raw function
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param segmentDuration initial segments duration (s)
+     * @param degree Chebyshev polynomials degree
+     * @param tolerance maximum absolute error allowed for all components
+     */
+    public ChebyshevTimeVectorFunction(final TimeVectorFunction raw,
+                                       final AbsoluteDate start, final AbsoluteDate end,
+                                       final double segmentDuration, final int degree,
+                                       final double tolerance) {
+
+        if (end.compareTo(start) <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND,
+                                                     start, end);
+        }
+        if (segmentDuration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     segmentDuration, 0.0);
+        }
+        if (degree < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+        }
+
+        this.raw       = raw;
+        this.start     = start;
+        this.duration  = end.durationFrom(start);
+        this.degree    = degree;
+        this.dimension = raw.value(start).length;
+
+        // fit all segments
+        final List<double[]> bounds = new ArrayList<>();
+        final List<double[]> coeffs = new ArrayList<>();
+        final int n = (int) FastMath.ceil(duration / segmentDuration);
+        for (int i = 0; i < n; ++i) {
+            fit(i * duration / n, (i + 1 == n) ? duration : (i + 1) * duration / n,
+                tolerance, bounds, coeffs);
+        }
+
+        segmentsStart = new double[bounds.size()];
+        segmentsEnd   = new double[bounds.size()];
+        coefficients  = new double[bounds.size()][];
+        for (int i = 0; i < segmentsStart.length; ++i) {
+            segmentsStart[i] = bounds.get(i)[0];
+            segmentsEnd[i]   = bounds.get(i)[1];
+            coefficients[i]  = coeffs.get(i);
+        }
+
+    }
+
+    /** Fit one segment, splitting it if needed.
+     * @param a segment start, as an offset from start of time span (s)
+     * @param b segment end, as an offset from start of time span (s)
+     * @param tolerance maximum absolute error allowed for all components
+     * @param bounds placeholder for segments bounds
+     * @param coeffs placeholder for segments coefficients
+     */
+    private void fit(final double a, final double b, final double tolerance,
+                     final List<double[]> bounds, final List<double[]> coeffs) {
+
+        // sample the raw function at Chebyshev nodes
+        final int      n      = degree + 1;
+        final double[] c      = new double[dimension * n];
+        for (int k = 0; k < n; ++k) {
+            final double   theta = FastMath.PI * (k + 0.5) / n;
+            final double[] f     = raw.value(start.shiftedBy(offset(a, b, FastMath.cos(theta))));
+            for (int j = 0; j < n; ++j) {
+                final double cos = FastMath.cos(j * theta);
+                for (int d = 0; d < dimension; ++d) {
+                    c[d * n + j] += f[d] * cos;
+                }
+            }
+        }
+        for (int d = 0; d < dimension; ++d) {
+            c[d * n] /= n;
+            for (int j = 1; j < n; ++j) {
+                c[d * n + j] *= 2.0 / n;
+            }
+        }
+
+        // check the fit at Chebyshev extrema
+        boolean accurate = true;
+        for (int k = 0; accurate && k <= n; ++k) {
+            final double   x = FastMath.cos(FastMath.PI * k / n);
+            final double[] f = raw.value(start.shiftedBy(offset(a, b, x)));
+            for (int d = 0; d < dimension; ++d) {
+                if (!(FastMath.abs(clenshaw(c, d, x) - f[d]) <= tolerance)) {
+                    accurate = false;
+                }
+            }
+        }
+
+        if (accurate) {
+            bounds.add(new double[] {
+                a, b
+            });
+            coeffs.add(c);
+        } else if (b - a < 2 * MIN_SEGMENT_DURATION) {
+            // we cannot fit this segment, we will use the raw function
+            bounds.add(new double[] {
+                a, b
+            });
+            coeffs.add(null);
+        } else {
+            final double middle = 0.5 * (a + b);
+            fit(a, middle, tolerance, bounds, coeffs);
+            fit(middle, b, tolerance, bounds, coeffs);
+        }
+
+    }
+
+    /** Convert a normalized abscissa to an offset.
+     * @param a segment start, as an offset from start of time span (s)
+     * @param b segment end, as an offset from start of time span (s)
+     * @param x normalized abscissa in [-1, +1]
+     * @return offset from start of time span (s)
+     */
+    private static double offset(final double a, final double b, final double x) {
+        return 0.5 * ((a + b) + x * (b - a));
+    }
+
+    /** Evaluate one component of a Chebyshev polynomial using Clenshaw algorithm.
+     * @param c coefficients for all components
+     * @param d index of the component
+     * @param x normalized abscissa in [-1, +1]
+     * @return value of the polynomial
+     */
+    private double clenshaw(final double[] c, final int d, final double x) {
+        final int n = degree + 1;
+        double bk1 = 0;
+        double bk2 = 0;
+        for (int j = degree; j > 0; --j) {
+            final double bk = 2 * x * bk1 - bk2 + c[d * n + j];
+            bk2 = bk1;
+            bk1 = bk;
+        }
+        return x * bk1 - bk2 + c[d * n];
+    }
+
+    /** Evaluate one component of a Chebyshev polynomial using Clenshaw algorithm.
+     * @param c coefficients for all components
+     * @param d index of the component
+     * @param x normalized abscissa in [-1, +1]
+     * @param <T> type of the field elements
+     * @return value of the polynomial
+     */
+    private <T extends RealFieldElement<T>> T clenshaw(final double[] c, final int d, final T x) {
+        final int n = degree + 1;
+        T bk1 = x.getField().getZero();
+        T bk2 = x.getField().getZero();
+        for (int j = degree; j > 0; --j) {
+            final T bk = x.multiply(bk1).multiply(2).subtract(bk2).add(c[d * n + j]);
+            bk2 = bk1;
+            bk1 = bk;
+        }
+        return x.multiply(bk1).subtract(bk2).add(c[d * n]);
+    }
+
+    /** Find the segment containing an offset.
+     * @param t offset from start of time span (s)
+     * @return index of the segment, or -1 if offset is outside of fitted time span
+     */
+    private int segment(final double t) {
+        if (t < 0 || t > duration) {
+            return -1;
+        }
+        final int i = Arrays.binarySearch(segmentsStart, t);
+        return (i >= 0) ? i : FastMath.max(0, -i - 2);
+    }
+
+    /** Get the start of the fitted time span.
+     * @return start of the fitted time span
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the end of the fitted time span.
+     * @return end of the fitted time span
+     */
+    public AbsoluteDate getEnd() {
+        return start.shiftedBy(duration);
+    }
+
+    /** Get the number of segments.
+     * @return number of segments
+     */
+    public int getSegmentsNumber() {
+        return segmentsStart.length;
+    }
+
+    /** Get the number of segments that could not be fitted and use the raw function.
+     * @return number of segments that could not be fitted
+     */
+    public int getRawSegmentsNumber() {
+        int count = 0;
+        for (final double[] c : coefficients) {
+            if (c == null) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] value(final AbsoluteDate date) {
+        final double t = date.durationFrom(start);
+        final int    i = segment(t);
+        if (i < 0 || coefficients[i] == null) {
+            return raw.value(date);
+        }
+        final double   a = segmentsStart[i];
+        final double   b = segmentsEnd[i];
+        final double   x = (2 * t - (a + b)) / (b - a);
+        final double[] v = new double[dimension];
+        for (int d = 0; d < dimension; ++d) {
+            v[d] = clenshaw(coefficients[i], d, x);
+        }
+        return v;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T[] value(final FieldAbsoluteDate<T> date) {
+        final T   t = date.durationFrom(start);
+        final int i = segment(t.getReal());
+        if (i < 0 || coefficients[i] == null) {
+            return raw.value(date);
+        }
+        final double a = segmentsStart[i];
+        final double b = segmentsEnd[i];
+        final T      x = t.multiply(2).subtract(a + b).divide(b - a);
+        final T[]    v = MathArrays.buildArray(t.getField(), dimension);
+        for (int d = 0; d < dimension; ++d) {
+            v[d] = clenshaw(coefficients[i], d, x);
+        }
+        return v;
+    }
+
+}
@@ -17,7 +17,6 @@
 package org.orekit.time;
 
 import java.io.Serializable;
-import java.text.DecimalFormat;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -119,12 +118,6 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
     /** Factory for non-leap years. */
     private static final MonthDayFactory COMMON_YEAR_FACTORY  = new CommonYearFactory();
 
-    /** Format for years. */
-    private static final DecimalFormat FOUR_DIGITS = new DecimalFormat("0000");
-
-    /** Format for months and days. */
-    private static final DecimalFormat TWO_DIGITS  = new DecimalFormat("00");
-
     /** Offset between J2000 epoch and modified julian day epoch. */
     private static final int MJD_TO_J2000 = 51544;
 
@@ -137,6 +130,14 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
     /** Basic and extended format week date. */
     private static final Pattern WEEK_FORMAT = Pattern.compile("^(-?\\d\\d\\d\\d)-?W(\\d\\d)-?(\\d)$");
 
+    /** Last parsed date (may be null).
+     * <p>
+     * The referenced object is immutable, so there is no need to synchronize
+     * concurrent accesses, the cache is simply less efficient in this case.
+     * </p>
+     */
+    private static ParsedDate lastParsed;
+
     static {
         // this static statement makes sure the reference epoch are initialized
         // once AFTER the various factories have been set up
@@ -327,6 +328,91 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
      * @exception IllegalArgumentException if string cannot be parsed
      */
     public static  DateComponents parseDate(final String string) {
+        return parseDate(string, string.length());
+    }
+
+    /** Parse the beginning of a string in ISO-8601 format to build a date.
+     * <p>
+     * Data files often contain many consecutive dates within the same day, so the
+     * last parsed date is cached and returned directly if the same text is parsed
+     * again. Calendar and ordinal dates are parsed without regular expressions.
+     * </p>
+     * @param string string to parse
+     * @param end index after the last character of the date in the string
+     * @return a parsed date
+     * @exception IllegalArgumentException if string cannot be parsed
+     * @see #parseDate(String)
+     * @since 10.3
+     */
+    static DateComponents parseDate(final String string, final int end) {
+
+        final ParsedDate last = lastParsed;
+        if (last != null && last.text.length() == end && string.regionMatches(0, last.text, 0, end)) {
+            return last.date;
+        }
+
+        final String text = string.substring(0, end);
+        DateComponents date = parseCalendarOrOrdinal(text);
+        if (date == null) {
+            date = parseWithPatterns(text);
+        }
+        lastParsed = new ParsedDate(text, date);
+        return date;
+
+    }
+
+    /** Parse calendar or ordinal dates without regular expressions.
+     * @param string string to parse
+     * @return a parsed date, or null if the string is neither a
+     * plain calendar date nor a plain ordinal date
+     */
+    private static DateComponents parseCalendarOrOrdinal(final String string) {
+
+        // year
+        int index = 0;
+        final boolean negative = string.length() > 0 && string.charAt(0) == '-';
+        if (negative) {
+            ++index;
+        }
+        final int absYear = DateTimeFields.parseDigits(string, index, 4);
+        if (absYear < 0) {
+            return null;
+        }
+        final int year = negative ? -absYear : absYear;
+        index += 4;
+        if (index < string.length() && string.charAt(index) == '-') {
+            ++index;
+        }
+
+        final int remaining = string.length() - index;
+        if (remaining == 3) {
+            // ordinal date
+            final int dayNumber = DateTimeFields.parseDigits(string, index, 3);
+            return dayNumber < 0 ? null : new DateComponents(year, dayNumber);
+        } else if (remaining == 4 || remaining == 5) {
+            // calendar date
+            final int month = DateTimeFields.parseDigits(string, index, 2);
+            index += 2;
+            if (remaining == 5) {
+                if (string.charAt(index) != '-') {
+                    return null;
+                }
+                ++index;
+            }
+            final int day = DateTimeFields.parseDigits(string, index, 2);
+            return (month < 0 || day < 0) ? null : new DateComponents(year, month, day);
+        } else {
+            return null;
+        }
+
+    }
+
+    /** Parse a string in ISO-8601 format using regular expressions.
+     * @param string string to parse
+     * @return a parsed date
+     * @exception IllegalArgumentException if string cannot be parsed
+     */
+    private static DateComponents parseWithPatterns(final String string) {
 
         // is the date a calendar date ?
         final Matcher calendarMatcher = CALENDAR_FORMAT.matcher(string);
@@ -468,11 +554,20 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
      * @return string representation of the date.
      */
     public String toString() {
-        return new StringBuffer().
-               append(FOUR_DIGITS.format(year)).append('-').
-               append(TWO_DIGITS.format(month)).append('-').
-               append(TWO_DIGITS.format(day)).
-               toString();
+        final StringBuilder builder = new StringBuilder(10);
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    /** Append a string representation (ISO-8601) of the date.
+     * @param builder builder where to append the date
+     * @return builder
+     * @since 10.3
+     */
+    StringBuilder appendTo(final StringBuilder builder) {
+        DateTimeFields.appendPadded(builder, year, 4).append('-');
+        DateTimeFields.appendPadded(builder, month, 2).append('-');
+        return DateTimeFields.appendPadded(builder, day, 2);
     }
 
     /** {@inheritDoc} */
@@ -673,4 +768,24 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
 
     }
 
+    /** Holder for the last parsed date. */
+    private static class ParsedDate {
+
+        /** Parsed text. */
+        private final String text;
+
+        /** Parsed date. */
+        private final DateComponents date;
+
+        /** Simple constructor.
+         * @param text parsed text
+         * @param date parsed date
+         */
+        ParsedDate(final String text, final DateComponents date) {
+            this.text = text;
+            this.date = date;
+        }
+
+    }
+
 }
@@ -169,8 +169,8 @@ public class DateTimeComponents implements Serializable, Comparable<DateTimeComp
         // is there a time ?
         final int tIndex = string.indexOf('T');
         if (tIndex > 0) {
-            return new DateTimeComponents(DateComponents.parseDate(string.substring(0, tIndex)),
-                                          TimeComponents.parseTime(string.substring(tIndex + 1)));
+            return new DateTimeComponents(DateComponents.parseDate(string, tIndex),
+                                          TimeComponents.parseTime(string, tIndex + 1));
         }
 
         return new DateTimeComponents(DateComponents.parseDate(string), TimeComponents.H00);
@@ -262,9 +262,13 @@ public class DateTimeComponents implements Serializable, Comparable<DateTimeComp
                     ++j2000;
                 }
             }
-            return new DateComponents(j2000).toString() + 'T' + new TimeComponents(hour, minute, second).toString();
+            final StringBuilder builder = new StringBuilder(32);
+            new DateComponents(j2000).appendTo(builder).append('T');
+            return new TimeComponents(hour, minute, second).appendTo(builder).toString();
         }
-        return date.toString() + 'T' + time.toString();
+        final StringBuilder builder = new StringBuilder(32);
+        date.appendTo(builder).append('T');
+        return time.appendTo(builder).toString();
     }
 
     /**
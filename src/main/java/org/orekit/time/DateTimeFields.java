@@ -0,0 +1,172 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.util.FastMath;
+
+/** Utility methods for fixed-width numeric fields in date/time strings.
+ * <p>
+ * These methods avoid regular expressions and {@link java.text.DecimalFormat}
+ * for the most common ISO-8601 layouts. They handle only the simple cases
+ * and report anything else to the caller, which falls back to the general
+ * (slower) parsing or formatting.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+final class DateTimeFields {
+
+    /** Exact powers of ten. */
+    private static final double[] POWERS_OF_TEN = {
+        1.0e0,  1.0e1,  1.0e2,  1.0e3,  1.0e4,  1.0e5,  1.0e6,  1.0e7,
+        1.0e8,  1.0e9,  1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15
+    };
+
+    /** Maximum number of significant digits for exact decimal parsing. */
+    private static final int MAX_DIGITS = 15;
+
+    /** Distance to rounding tie below which formatting is delegated. */
+    private static final double TIE_THRESHOLD = 1.0e-6;
+
+    /** Private constructor for a utility class.
+     */
+    private DateTimeFields() {
+        // nothing to do
+    }
+
+    /** Parse a fixed-width unsigned integer field.
+     * @param string string containing the field
+     * @param start index of the first character of the field
+     * @param width number of characters in the field
+     * @return parsed value, or -1 if the field is truncated or contains non-digits
+     */
+    static int parseDigits(final String string, final int start, final int width) {
+        if (start + width > string.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + width; ++i) {
+            final char c = string.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /** Parse a seconds field, with optional fractional part.
+     * <p>
+     * The field is two digits, optionally followed by a '.' or ',' separator
+     * and at least one digit. The result is exactly the same as the one
+     * returned by {@link Double#parseDouble(String)}.
+     * </p>
+     * @param string string containing the field
+     * @param start index of the first character of the field
+     * @param end index after the last character of the field
+     * @return parsed value, or NaN if the field does not have the expected layout
+     */
+    static double parseSeconds(final String string, final int start, final int end) {
+
+        final int integer = parseDigits(string, start, 2);
+        if (integer < 0 || end > string.length()) {
+            return Double.NaN;
+        } else if (end == start + 2) {
+            return integer;
+        } else if (end < start + 4 || (string.charAt(start + 2) != '.' && string.charAt(start + 2) != ',')) {
+            return Double.NaN;
+        }
+
+        final int fractionDigits = end - start - 3;
+        if (fractionDigits + 2 > MAX_DIGITS) {
+            // too many digits for the exact division below
+            for (int i = start + 3; i < end; ++i) {
+                if (string.charAt(i) < '0' || string.charAt(i) > '9') {
+                    return Double.NaN;
+                }
+            }
+            return Double.parseDouble(string.substring(start, end).replace(',', '.'));
+        }
+
+        long mantissa = integer;
+        for (int i = start + 3; i < end; ++i) {
+            final char c = string.charAt(i);
+            if (c < '0' || c > '9') {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+        }
+
+        // both mantissa and power of ten are exactly representable,
+        // so the correctly rounded division is the correctly rounded decimal
+        return mantissa / POWERS_OF_TEN[fractionDigits];
+
+    }
+
+    /** Append a zero-padded integer.
+     * @param builder builder where to append the field
+     * @param value value to append
+     * @param width minimum number of digits
+     * @return builder
+     */
+    static StringBuilder appendPadded(final StringBuilder builder, final long value, final int width) {
+        long abs = value;
+        if (value < 0) {
+            builder.append('-');
+            abs = -value;
+        }
+        int digits = 1;
+        for (long v = abs / 10; v > 0; v /= 10) {
+            ++digits;
+        }
+        for (int i = digits; i < width; ++i) {
+            builder.append('0');
+        }
+        return builder.append(abs);
+    }
+
+    /** Append seconds rounded to milliseconds, using a "00.000" layout.
+     * <p>
+     * Rounding is half-even, as with {@link java.text.DecimalFormat}. Values
+     * that are not finite or too close to a rounding tie for the binary scaling
+     * to be trusted are not appended.
+     * </p>
+     * @param builder builder where to append the field
+     * @param second seconds to append
+     * @return true if the seconds were appended, false if caller should use a general formatter
+     */
+    static boolean appendMilliseconds(final StringBuilder builder, final double second) {
+
+        if (!(second >= 0 && second < Integer.MAX_VALUE)) {
+            return false;
+        }
+
+        final double scaled   = second * 1000;
+        final double floor    = FastMath.floor(scaled);
+        final double fraction = scaled - floor;
+        if (FastMath.abs(fraction - 0.5) < TIE_THRESHOLD) {
+            return false;
+        }
+
+        final long millis = (long) floor + (fraction < 0.5 ? 0 : 1);
+        appendPadded(builder, millis / 1000, 2).append('.');
+        appendPadded(builder, millis % 1000, 3);
+        return true;
+
+    }
+
+}
@@ -47,9 +47,6 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
     /** Serializable UID. */
     private static final long serialVersionUID = 20160331L;
 
-    /** Format for hours and minutes. */
-    private static final DecimalFormat TWO_DIGITS = new DecimalFormat("00");
-
     /** Format for seconds. */
     private static final DecimalFormat SECONDS_FORMAT =
         new DecimalFormat("00.000", new DecimalFormatSymbols(Locale.US));
@@ -340,6 +337,45 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
      * @exception IllegalArgumentException if string cannot be parsed
      */
     public static TimeComponents parseTime(final String string) {
+        return parseTime(string, 0);
+    }
+
+    /** Parse the end of a string in ISO-8601 format to build a time.
+     * <p>
+     * The extended format local time hh:mm:ss (with optional decimals in seconds
+     * and optional UTC time) is parsed without regular expressions.
+     * </p>
+     * @param string string to parse
+     * @param start index of the first character of the time in the string
+     * @return a parsed time
+     * @exception IllegalArgumentException if string cannot be parsed
+     * @see #parseTime(String)
+     * @since 10.3
+     */
+    static TimeComponents parseTime(final String string, final int start) {
+
+        // fast path for hh:mm:ss[.sss][Z]
+        final int end = (string.length() > start && string.charAt(string.length() - 1) == 'Z') ?
+                        string.length() - 1 : string.length();
+        if (end - start >= 8 && string.charAt(start + 2) == ':' && string.charAt(start + 5) == ':') {
+            final int    hour   = DateTimeFields.parseDigits(string, start, 2);
+            final int    minute = DateTimeFields.parseDigits(string, start + 3, 2);
+            final double second = DateTimeFields.parseSeconds(string, start + 6, end);
+            if (hour >= 0 && minute >= 0 && !Double.isNaN(second)) {
+                return new TimeComponents(hour, minute, second);
+            }
+        }
+
+        return parseWithPattern(start == 0 ? string : string.substring(start));
+
+    }
+
+    /** Parse a string in ISO-8601 format using regular expressions.
+     * @param string string to parse
+     * @return a parsed time
+     * @exception IllegalArgumentException if string cannot be parsed
+     */
+    private static TimeComponents parseWithPattern(final String string) {
 
         // is the date a calendar date ?
         final Matcher timeMatcher = ISO8601_FORMATS.matcher(string);
@@ -424,17 +460,30 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
      * @return string representation of the time
      */
     public String toString() {
-        StringBuilder builder  = new StringBuilder().
-                                 append(TWO_DIGITS.format(hour)).append(':').
-                                 append(TWO_DIGITS.format(minute)).append(':').
-                                 append(SECONDS_FORMAT.format(second));
+        final StringBuilder builder = new StringBuilder(18);
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    /** Append a string representation of the time.
+     * @param builder builder where to append the time
+     * @return builder
+     * @since 10.3
+     */
+    StringBuilder appendTo(final StringBuilder builder) {
+        DateTimeFields.appendPadded(builder, hour, 2).append(':');
+        DateTimeFields.appendPadded(builder, minute, 2).append(':');
+        if (!DateTimeFields.appendMilliseconds(builder, second)) {
+            synchronized (SECONDS_FORMAT) {
+                builder.append(SECONDS_FORMAT.format(second));
+            }
+        }
         if (minutesFromUTC != 0) {
-            builder = builder.
-                      append(minutesFromUTC < 0 ? '-' : '+').
-                      append(TWO_DIGITS.format(FastMath.abs(minutesFromUTC) / 60)).append(':').
-                      append(TWO_DIGITS.format(FastMath.abs(minutesFromUTC) % 60));
+            builder.append(minutesFromUTC < 0 ? '-' : '+');
+            DateTimeFields.appendPadded(builder, FastMath.abs(minutesFromUTC) / 60, 2).append(':');
+            DateTimeFields.appendPadded(builder, FastMath.abs(minutesFromUTC) % 60, 2);
         }
-        return builder.toString();
+        return builder;
     }
 
     /** {@inheritDoc} */
@@ -55,6 +55,20 @@ public class UTCScale implements TimeScale {
     /** UTC-TAI offsets. */
     private UTCTAIOffset[] offsets;
 
+    /** Modified Julian Day of the first offset. */
+    private final int firstMJD;
+
+    /** Index of the offset valid for each day between first and last offsets. */
+    private final int[] dayIndex;
+
+    /** Index of the last offset found from an absolute date.
+     * <p>
+     * This field is only a hint, it is checked before being used,
+     * so there is no need to synchronize concurrent accesses.
+     * </p>
+     */
+    private int lastIndex;
+
     /** Package private constructor for the factory.
      * Used to create the prototype instance of this class that is used to
      * clone all subsequent instances of {@link UTCScale}. Initializes the offset
@@ -131,6 +145,16 @@ public class UTCScale implements TimeScale {
 
         }
 
+        // day-indexed table, for conversions from components
+        this.firstMJD = this.offsets[0].getMJD();
+        this.dayIndex = new int[this.offsets[this.offsets.length - 1].getMJD() - firstMJD];
+        for (int i = 0; i < this.offsets.length - 1; ++i) {
+            for (int mjd = this.offsets[i].getMJD(); mjd < this.offsets[i + 1].getMJD(); ++mjd) {
+                dayIndex[mjd - firstMJD] = i;
+            }
+        }
+        this.lastIndex = this.offsets.length - 1;
+
     }
 
     /** {@inheritDoc} */
@@ -277,6 +301,14 @@ public class UTCScale implements TimeScale {
      * @return index of the offset valid at this date, or -1 if date is before first offset.
      */
     private int findOffsetIndex(final AbsoluteDate date) {
+
+        // fast path: successive conversions generally fall in the same interval
+        final int hint = lastIndex;
+        if (date.compareTo(offsets[hint].getDate()) >= 0 &&
+            (hint == offsets.length - 1 || date.compareTo(offsets[hint + 1].getDate()) < 0)) {
+            return hint;
+        }
+
         int inf = 0;
         int sup = offsets.length;
         while (sup - inf > 1) {
@@ -289,11 +321,13 @@ public class UTCScale implements TimeScale {
         }
         if (sup == offsets.length) {
             // the date is after the last known leap second
-            return offsets.length - 1;
+            lastIndex = offsets.length - 1;
+            return lastIndex;
         } else if (date.compareTo(offsets[inf].getDate()) < 0) {
             // the date is before the first known leap
             return -1;
         } else {
+            lastIndex = inf;
             return inf;
         }
     }
@@ -303,24 +337,15 @@ public class UTCScale implements TimeScale {
      * @return offset valid at this date, or null if date is before first offset.
      */
     private UTCTAIOffset findOffset(final int mjd) {
-        int inf = 0;
-        int sup = offsets.length;
-        while (sup - inf > 1) {
-            final int middle = (inf + sup) >>> 1;
-            if (mjd < offsets[middle].getMJD()) {
-                sup = middle;
-            } else {
-                inf = middle;
-            }
-        }
-        if (sup == offsets.length) {
-            // the date is after the last known leap second
-            return offsets[offsets.length - 1];
-        } else if (mjd < offsets[inf].getMJD()) {
+        final int day = mjd - firstMJD;
+        if (day < 0) {
             // the date is before the first known leap
             return null;
+        } else if (day >= dayIndex.length) {
+            // the date is after the last known leap second
+            return offsets[offsets.length - 1];
         } else {
-            return offsets[inf];
+            return offsets[dayIndex[day]];
         }
     }
 
@@ -53,6 +53,7 @@ import org.orekit.frames.EOPHistory;
 import org.orekit.frames.FieldPoleCorrection;
 import org.orekit.frames.PoleCorrection;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.ChebyshevTimeVectorFunction;
 import org.orekit.time.DateComponents;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.TimeComponents;
@@ -2545,6 +2546,30 @@ public enum IERSConventions {
      */
     public abstract TimeVectorFunction getXYSpXY2Function(TimeScales timeScales);
 
+    /**
+     * Get a fast fitted version of the function computing the Celestial Intermediate
+     * Pole and Celestial Intermediate Origin components.
+     * <p>
+     * The returned function is a dense Chebyshev fit of {@link
+     * #getXYSpXY2Function(TimeScales)} over the specified time span, with an error
+     * checked against the tolerance at the Chebyshev extrema of each segment. Outside of this time span, the raw function is used.
+     * </p>
+     *
+     * @param timeScales used to define the function.
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed at the check points (rad)
+     * @return fitted function computing the Celestial Intermediate Pole and Celestial
+     * Intermediate Origin components
+     * @see ChebyshevTimeVectorFunction
+     * @since 10.3
+     */
+    public TimeVectorFunction getXYSpXY2Function(final TimeScales timeScales,
+                                                 final AbsoluteDate start, final AbsoluteDate end,
+                                                 final double tolerance) {
+        return new ChebyshevTimeVectorFunction(getXYSpXY2Function(timeScales), start, end, tolerance);
+    }
+
     /** Get the function computing the raw Earth Orientation Angle.
      *
      * <p>This method uses the {@link DataContext#getDefault() default data context}.
@@ -2620,6 +2645,26 @@ public enum IERSConventions {
      */
     public abstract TimeVectorFunction getPrecessionFunction(TimeScales timeScales);
 
+    /** Get a fast fitted version of the function computing the precession angles.
+     * <p>
+     * The returned function is a dense Chebyshev fit of {@link
+     * #getPrecessionFunction(TimeScales)} over the specified time span, with an error
+     * checked against the tolerance at the Chebyshev extrema of each segment. Outside of this time span, the raw function is used.
+     * </p>
+     * @param timeScales used to define the function.
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed at the check points (rad)
+     * @return fitted function computing the precession angle
+     * @see ChebyshevTimeVectorFunction
+     * @since 10.3
+     */
+    public TimeVectorFunction getPrecessionFunction(final TimeScales timeScales,
+                                                    final AbsoluteDate start, final AbsoluteDate end,
+                                                    final double tolerance) {
+        return new ChebyshevTimeVectorFunction(getPrecessionFunction(timeScales), start, end, tolerance);
+    }
+
     /** Get the function computing the nutation angles.
      *
      * <p>This method uses the {@link DataContext#getDefault() default data context}.
@@ -2651,6 +2696,29 @@ public enum IERSConventions {
      */
     public abstract TimeVectorFunction getNutationFunction(TimeScales timeScales);
 
+    /** Get a fast fitted version of the function computing the nutation angles.
+     * <p>
+     * The returned function is a dense Chebyshev fit of {@link
+     * #getNutationFunction(TimeScales)} over the specified time span, with an error
+     * checked against the tolerance at the Chebyshev extrema of each segment. Outside of this time span, the raw function is used. As the correction
+     * to the equation of equinoxes is discontinuous on 1997-02-27, the raw function is
+     * used around this date.
+     * </p>
+     * @param timeScales used in the computation including TAI and TT.
+     * @param start start of the fitted time span
+     * @param end end of the fitted time span
+     * @param tolerance maximum absolute error allowed at the check points (rad)
+     * @return fitted function computing the nutation in longitude ΔΨ and Δε
+     * and the correction of equation of equinoxes
+     * @see ChebyshevTimeVectorFunction
+     * @since 10.3
+     */
+    public TimeVectorFunction getNutationFunction(final TimeScales timeScales,
+                                                  final AbsoluteDate start, final AbsoluteDate end,
+                                                  final double tolerance) {
+        return new ChebyshevTimeVectorFunction(getNutationFunction(timeScales), start, end, tolerance);
+    }
+
     /** Get the function computing Greenwich mean sidereal time, in radians.
      *
      * <p>This method uses the {@link DataContext#getDefault() default data context}.
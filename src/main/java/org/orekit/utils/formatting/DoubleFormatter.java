@@ -0,0 +1,50 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+/** Interface for formatters appending double numbers to a {@link StringBuilder}.
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+@FunctionalInterface
+public interface DoubleFormatter {
+
+    /** Formatter with full precision.
+     * <p>
+     * This formatter produces the same output as {@link Double#toString(double)},
+     * i.e. the shortest representation that can be parsed back to the same double,
+     * without creating intermediate strings.
+     * </p>
+     */
+    DoubleFormatter FULL_PRECISION = (builder, value) -> builder.append(value);
+
+    /** Append a formatted value to a builder.
+     * @param builder builder to which value should be appended
+     * @param value value to format
+     * @return the builder
+     */
+    StringBuilder appendTo(StringBuilder builder, double value);
+
+    /** Format a value.
+     * @param value value to format
+     * @return formatted value
+     */
+    default String toString(final double value) {
+        return appendTo(new StringBuilder(), value).toString();
+    }
+
+}
@@ -0,0 +1,155 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+
+/** Formatter for double numbers with a fixed number of fraction digits.
+ * <p>
+ * The output has the same layout as {@code String.format(Locale.US, "%.nf", value)},
+ * but the rounding contract is different. This class rounds from the exact binary
+ * value of the double, i.e. the result is always the one of {@code new
+ * BigDecimal(value).setScale(n, roundingMode)}, where the rounding mode is
+ * {@link RoundingMode#HALF_UP} by default and may be set to {@link RoundingMode#HALF_EVEN}
+ * or {@link RoundingMode#HALF_DOWN} at construction. {@code String.format} rounds
+ * from the shortest decimal representation of the double instead, so both differ when
+ * this representation is a tie whereas the binary value is not (for example 1.005 is
+ * formatted as 1.00 here and as 1.01 by {@code String.format}).
+ * </p>
+ * <p>
+ * The decimal separator is always '.' regardless of the default locale, and
+ * the digits are appended directly to a {@link StringBuilder}, without any
+ * intermediate object in the general case. Only values too large for a
+ * {@code long} representation of the scaled value or too close to a rounding
+ * tie are delegated to {@link BigDecimal}.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class FastDoubleFormatter implements DoubleFormatter {
+
+    /** Maximum number of fraction digits. */
+    public static final int MAX_FRACTION_DIGITS = 17;
+
+    /** Limit for scaled values, ensuring fraction part computation is exact. */
+    private static final double FAST_LIMIT = 0x1.0p52;
+
+    /** Relative error bound on scaled values. */
+    private static final double SCALING_ERROR = 0x1.0p-52;
+
+    /** Number of fraction digits. */
+    private final int fractionDigits;
+
+    /** Scaling factor. */
+    private final double scale;
+
+    /** Rounding mode for ties. */
+    private final RoundingMode roundingMode;
+
+    /** Simple constructor.
+     * <p>
+     * Ties are rounded using {@link RoundingMode#HALF_UP}.
+     * </p>
+     * @param fractionDigits number of fraction digits (between 0 and {@link #MAX_FRACTION_DIGITS})
+     */
+    public FastDoubleFormatter(final int fractionDigits) {
+        this(fractionDigits, RoundingMode.HALF_UP);
+    }
+
+    /** Constructor with rounding mode.
+     * @param fractionDigits number of fraction digits (between 0 and {@link #MAX_FRACTION_DIGITS})
+     * @param roundingMode rounding mode for ties, must be one of {@link RoundingMode#HALF_UP},
+     * {@link RoundingMode#HALF_DOWN} or {@link RoundingMode#HALF_EVEN}
+     */
+    public FastDoubleFormatter(final int fractionDigits, final RoundingMode roundingMode) {
+        if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+            throw new OrekitException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                      fractionDigits, 0, MAX_FRACTION_DIGITS);
+        }
+        if (roundingMode != RoundingMode.HALF_UP &&
+            roundingMode != RoundingMode.HALF_DOWN &&
+            roundingMode != RoundingMode.HALF_EVEN) {
+            throw new OrekitException(OrekitMessages.FUNCTION_NOT_IMPLEMENTED, roundingMode);
+        }
+        this.fractionDigits = fractionDigits;
+        this.scale          = FastLongFormatter.POWERS_OF_TEN[fractionDigits];
+        this.roundingMode   = roundingMode;
+    }
+
+    /** Get the number of fraction digits.
+     * @return number of fraction digits
+     */
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+
+    /** Get the rounding mode for ties.
+     * @return rounding mode for ties
+     */
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder, final double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return builder.append(value);
+        }
+
+        // the sign is output even if the value rounds to zero, as String.format does
+        if (Double.doubleToRawLongBits(value) < 0) {
+            builder.append('-');
+        }
+        final double abs    = FastMath.abs(value);
+        final double scaled = abs * scale;
+
+        if (scaled < FAST_LIMIT) {
+            // both the floor and the distance to the rounding tie are computed exactly,
+            // only the scaling by a power of ten may introduce an error; as ties are
+            // always delegated to the slow path, this path does not depend on rounding mode
+            final double floor = FastMath.floor(scaled);
+            final double delta = (scaled - floor) - 0.5;
+            if (FastMath.abs(delta) > scaled * SCALING_ERROR) {
+                final long rounded = (long) floor + (delta > 0 ? 1 : 0);
+                final long power   = FastLongFormatter.POWERS_OF_TEN[fractionDigits];
+                final long integerPart = rounded / power;
+                FastLongFormatter.appendPadded(builder, integerPart, FastLongFormatter.countDigits(integerPart));
+                if (fractionDigits > 0) {
+                    builder.append('.');
+                    FastLongFormatter.appendPadded(builder, rounded % power, fractionDigits);
+                }
+                return builder;
+            }
+        }
+
+        // slow path for huge values or values too close to a tie
+        return builder.append(new BigDecimal(abs).setScale(fractionDigits, roundingMode).toPlainString());
+
+    }
+
+}
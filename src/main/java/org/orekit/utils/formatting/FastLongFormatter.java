@@ -0,0 +1,157 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+/** Formatter for integer numbers.
+ * <p>
+ * This class is a fast replacement for {@code String.format(Locale.US, "%nd", value)}
+ * or {@code String.format(Locale.US, "%0nd", value)}. The digits are appended directly
+ * to a {@link StringBuilder}, without any intermediate object.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class FastLongFormatter {
+
+    /** Exact powers of ten. */
+    static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+        1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+
+    /** Minimum width. */
+    private final int width;
+
+    /** Indicator for zero padding. */
+    private final boolean zeroPadding;
+
+    /** Simple constructor.
+     * @param width minimum width
+     * @param zeroPadding if true, values are padded with zeros, otherwise
+     * they are padded with spaces
+     */
+    public FastLongFormatter(final int width, final boolean zeroPadding) {
+        this.width       = width;
+        this.zeroPadding = zeroPadding;
+    }
+
+    /** Get the minimum width.
+     * @return minimum width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /** Check if values are padded with zeros.
+     * @return true if values are padded with zeros, false if they are padded with spaces
+     */
+    public boolean isZeroPadding() {
+        return zeroPadding;
+    }
+
+    /** Format a value.
+     * @param value value to format
+     * @return formatted value
+     */
+    public String toString(final long value) {
+        return appendTo(new StringBuilder(), value).toString();
+    }
+
+    /** Append a formatted value to a builder.
+     * @param builder builder to which value should be appended
+     * @param value value to format
+     * @return the builder
+     */
+    public StringBuilder appendTo(final StringBuilder builder, final long value) {
+
+        if (value == Long.MIN_VALUE) {
+            // special case, as the absolute value cannot be represented
+            final String s = Long.toString(value);
+            if (zeroPadding) {
+                builder.append('-');
+                pad(builder, width - s.length(), true);
+                return builder.append(s, 1, s.length());
+            } else {
+                pad(builder, width - s.length(), false);
+                return builder.append(s);
+            }
+        }
+
+        final boolean negative = value < 0;
+        final long    abs      = negative ? -value : value;
+        final int     nbDigits = countDigits(abs);
+        final int     padding  = width - nbDigits - (negative ? 1 : 0);
+        if (zeroPadding) {
+            if (negative) {
+                builder.append('-');
+            }
+            pad(builder, padding, true);
+        } else {
+            pad(builder, padding, false);
+            if (negative) {
+                builder.append('-');
+            }
+        }
+        appendPadded(builder, abs, nbDigits);
+        return builder;
+
+    }
+
+    /** Append padding characters.
+     * @param builder builder to which padding should be appended
+     * @param n number of padding characters (may be negative)
+     * @param zero if true, pad with zeros, otherwise pad with spaces
+     */
+    private void pad(final StringBuilder builder, final int n, final boolean zero) {
+        for (int i = 0; i < n; ++i) {
+            builder.append(zero ? '0' : ' ');
+        }
+    }
+
+    /** Count the number of digits of a non-negative integer.
+     * @param value value (must be non-negative)
+     * @return number of digits
+     */
+    static int countDigits(final long value) {
+        int nbDigits = 1;
+        while (nbDigits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[nbDigits]) {
+            ++nbDigits;
+        }
+        return nbDigits;
+    }
+
+    /** Append the digits of a non-negative integer, zero-padded to a fixed width.
+     * @param builder builder to which digits should be appended
+     * @param value value to append (must be non-negative and have at most nbDigits digits)
+     * @param nbDigits number of digits
+     */
+    static void appendPadded(final StringBuilder builder, final long value, final int nbDigits) {
+        long remaining = value;
+        for (int i = nbDigits - 1; i > 0; --i) {
+            final long power = POWERS_OF_TEN[i];
+            final long digit = remaining / power;
+            builder.append((char) ('0' + digit));
+            remaining -= digit * power;
+        }
+        builder.append((char) ('0' + remaining));
+    }
+
+}
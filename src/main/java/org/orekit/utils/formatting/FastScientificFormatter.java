@@ -0,0 +1,188 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+
+/** Formatter for double numbers in scientific notation.
+ * <p>
+ * This class is a fast replacement for {@code String.format(Locale.US, "%.ne", value)},
+ * where n is the number of significant digits minus one. As with {@link FastDoubleFormatter},
+ * the result is exactly rounded (half-up) from the binary value of the double, the decimal
+ * separator is always '.' regardless of the default locale, and only values too close to
+ * a rounding tie or with extreme exponents are delegated to {@link BigDecimal}.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 10.3
+ */
+public class FastScientificFormatter implements DoubleFormatter {
+
+    /** Maximum number of significant digits. */
+    public static final int MAX_SIGNIFICANT_DIGITS = 17;
+
+    /** Exact powers of ten representable as doubles. */
+    private static final double[] POWERS_OF_TEN = {
+        1.0e0,  1.0e1,  1.0e2,  1.0e3,  1.0e4,  1.0e5,  1.0e6,  1.0e7,  1.0e8,  1.0e9,
+        1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15, 1.0e16, 1.0e17, 1.0e18, 1.0e19,
+        1.0e20, 1.0e21, 1.0e22
+    };
+
+    /** Limit for scaled values, ensuring fraction part computation is exact. */
+    private static final double FAST_LIMIT = 0x1.0p52;
+
+    /** Relative error bound on scaled values. */
+    private static final double SCALING_ERROR = 0x1.0p-52;
+
+    /** Number of significant digits. */
+    private final int significantDigits;
+
+    /** Smallest mantissa with the required number of digits. */
+    private final long lowerMantissa;
+
+    /** Smallest mantissa with too many digits. */
+    private final long upperMantissa;
+
+    /** Rounding context for the slow path. */
+    private final MathContext context;
+
+    /** Simple constructor.
+     * @param significantDigits number of significant digits
+     * (between 1 and {@link #MAX_SIGNIFICANT_DIGITS})
+     */
+    public FastScientificFormatter(final int significantDigits) {
+        if (significantDigits < 1 || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            throw new OrekitException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                      significantDigits, 1, MAX_SIGNIFICANT_DIGITS);
+        }
+        this.significantDigits = significantDigits;
+        this.lowerMantissa     = FastLongFormatter.POWERS_OF_TEN[significantDigits - 1];
+        this.upperMantissa     = FastLongFormatter.POWERS_OF_TEN[significantDigits];
+        this.context           = new MathContext(significantDigits, RoundingMode.HALF_UP);
+    }
+
+    /** Get the number of significant digits.
+     * @return number of significant digits
+     */
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder, final double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return builder.append(value);
+        }
+
+        // the sign is output even for zero, as String.format does
+        if (Double.doubleToRawLongBits(value) < 0) {
+            builder.append('-');
+        }
+        final double abs = FastMath.abs(value);
+
+        if (abs == 0) {
+            appendMantissa(builder, 0L);
+            return appendExponent(builder, 0);
+        }
+
+        // the logarithm provides only an estimate of the exponent, which may be off by one
+        int exponent = (int) FastMath.floor(FastMath.log10(abs));
+        for (int attempt = 0; attempt < 2; ++attempt) {
+
+            final int p = significantDigits - 1 - exponent;
+            if (p < -22 || p > 22) {
+                // the scaling factor is not exactly representable
+                break;
+            }
+
+            // a multiplication or division by an exact power of ten is correctly rounded
+            final double scaled = p >= 0 ? abs * POWERS_OF_TEN[p] : abs / POWERS_OF_TEN[-p];
+            if (scaled >= FAST_LIMIT) {
+                break;
+            }
+
+            final double floor = FastMath.floor(scaled);
+            if (floor < lowerMantissa) {
+                --exponent;
+            } else if (floor >= upperMantissa) {
+                ++exponent;
+            } else {
+                final double delta = (scaled - floor) - 0.5;
+                if (FastMath.abs(delta) <= scaled * SCALING_ERROR) {
+                    // too close to a rounding tie
+                    break;
+                }
+                long mantissa = (long) floor + (delta > 0 ? 1 : 0);
+                if (mantissa == upperMantissa) {
+                    // rounding carried to an additional digit
+                    mantissa = lowerMantissa;
+                    ++exponent;
+                }
+                appendMantissa(builder, mantissa);
+                return appendExponent(builder, exponent);
+            }
+
+        }
+
+        // slow path for extreme exponents or values too close to a tie
+        final BigDecimal rounded  = new BigDecimal(abs).round(context);
+        final String     digits   = rounded.unscaledValue().toString();
+        long mantissa = Long.parseLong(digits);
+        for (int i = digits.length(); i < significantDigits; ++i) {
+            mantissa *= 10;
+        }
+        appendMantissa(builder, mantissa);
+        return appendExponent(builder, digits.length() - 1 - rounded.scale());
+
+    }
+
+    /** Append mantissa.
+     * @param builder builder to which mantissa should be appended
+     * @param mantissa mantissa, as an integer with {@link #significantDigits} digits
+     */
+    private void appendMantissa(final StringBuilder builder, final long mantissa) {
+        final long integerPart = mantissa / lowerMantissa;
+        builder.append((char) ('0' + integerPart));
+        if (significantDigits > 1) {
+            builder.append('.');
+            FastLongFormatter.appendPadded(builder, mantissa - integerPart * lowerMantissa, significantDigits - 1);
+        }
+    }
+
+    /** Append exponent.
+     * @param builder builder to which exponent should be appended
+     * @param exponent exponent
+     * @return the builder
+     */
+    private StringBuilder appendExponent(final StringBuilder builder, final int exponent) {
+        builder.append(exponent < 0 ? "e-" : "e+");
+        final int abs = FastMath.abs(exponent);
+        FastLongFormatter.appendPadded(builder, abs, FastMath.max(2, FastLongFormatter.countDigits(abs)));
+        return builder;
+    }
+
+}
@@ -0,0 +1,217 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.files.ccsds.TDMParser;
+import org.orekit.files.ccsds.TDMParser.TDMFileFormat;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+public class TDMMeasurementsHandlerTest {
+
+    @Test
+    public void testRoundTrip() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.EQUINOCTIAL, PositionAngle.TRUE, false,
+                                              1.0e-6, 60.0, 0.001);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> ranges =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+        final List<ObservedMeasurement<?>> rangeRates =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeRateMeasurementCreator(context, true),
+                                                               1.0, 3.0, 300.0);
+        final List<ObservedMeasurement<?>> angles =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new AngularAzElMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        // write a TDM with one block per station and measurement type
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final StringBuilder tdm = new StringBuilder();
+        tdm.append("CCSDS_TDM_VERS = 1.0\n");
+        tdm.append("CREATION_DATE = 2020-10-01T00:00:00\n");
+        tdm.append("ORIGINATOR = OREKIT\n");
+        final Map<String, GroundStation> stations = new HashMap<>();
+        for (final GroundStation station : context.stations) {
+            final String name = "STATION-" + (stations.size() + 1);
+            stations.put(name, station);
+            appendBlock(tdm, name, "RANGE_UNITS = km\n");
+            for (final ObservedMeasurement<?> m : ranges) {
+                if (((Range) m).getStation() == station) {
+                    // two-way ranges are written along the whole signal path
+                    tdm.append(String.format(Locale.US, "RANGE = %s %.12f%n",
+                                             m.getDate().toString(utc), 2.0 * m.getObservedValue()[0] / 1000.0));
+                }
+            }
+            tdm.append("DATA_STOP\n");
+            appendBlock(tdm, name, "");
+            for (final ObservedMeasurement<?> m : rangeRates) {
+                if (((RangeRate) m).getStation() == station) {
+                    tdm.append(String.format(Locale.US, "DOPPLER_INSTANTANEOUS = %s %.15f%n",
+                                             m.getDate().toString(utc), m.getObservedValue()[0] / 1000.0));
+                }
+            }
+            tdm.append("DATA_STOP\n");
+            appendBlock(tdm, name, "ANGLE_TYPE = AZEL\n");
+            for (final ObservedMeasurement<?> m : angles) {
+                if (((AngularAzEl) m).getStation() == station) {
+                    tdm.append(String.format(Locale.US, "ANGLE_1 = %s %.12f%n",
+                                             m.getDate().toString(utc), FastMath.toDegrees(m.getObservedValue()[0])));
+                    tdm.append(String.format(Locale.US, "ANGLE_2 = %s %.12f%n",
+                                             m.getDate().toString(utc), FastMath.toDegrees(m.getObservedValue()[1])));
+                }
+            }
+            tdm.append("DATA_STOP\n");
+        }
+
+        // these blocks must be ignored
+        appendBlock(tdm, "UNKNOWN", "RANGE_UNITS = km\n");
+        tdm.append("RANGE = 2000-01-01T12:00:00.000 1000.0\n");
+        tdm.append("DATA_STOP\n");
+        appendBlock(tdm, "STATION-1", "RANGE_UNITS = RU\n");
+        tdm.append("RANGE = 2000-01-01T12:00:00.000 1000.0\n");
+        tdm.append("DATA_STOP\n");
+
+        final Map<String, ObservableSatellite> satellites = new HashMap<>();
+        satellites.put("SAT", new ObservableSatellite(0));
+        final List<ObservedMeasurement<?>> parsed = new ArrayList<>();
+        new TDMParser().
+            withFileFormat(TDMFileFormat.KEYVALUE).
+            parse(new ByteArrayInputStream(tdm.toString().getBytes(StandardCharsets.UTF_8)), "generated.txt",
+                  new TDMMeasurementsHandler(stations, satellites, 1.0, 0.001, new double[] { 1.0e-5, 1.0e-5 },
+                                             m -> parsed.add(m)));
+
+        Assert.assertEquals(ranges.size() + rangeRates.size() + angles.size(), parsed.size());
+        int nbRanges     = 0;
+        int nbRangeRates = 0;
+        int nbAngles     = 0;
+        for (final ObservedMeasurement<?> m : parsed) {
+            final List<ObservedMeasurement<?>> references;
+            final double tolerance;
+            if (m instanceof Range) {
+                ++nbRanges;
+                Assert.assertTrue(((Range) m).isTwoWay());
+                references = ranges;
+                tolerance  = 1.0e-9;
+            } else if (m instanceof RangeRate) {
+                ++nbRangeRates;
+                Assert.assertTrue(((RangeRate) m).isTwoWay());
+                references = rangeRates;
+                tolerance  = 1.0e-12;
+            } else {
+                ++nbAngles;
+                references = angles;
+                tolerance  = 1.0e-13;
+            }
+            final ObservedMeasurement<?> reference = findReference(references, m);
+            Assert.assertEquals(0.0, m.getDate().durationFrom(reference.getDate()), 1.0e-3);
+            for (int i = 0; i < m.getDimension(); ++i) {
+                Assert.assertEquals(reference.getObservedValue()[i], m.getObservedValue()[i], tolerance);
+            }
+        }
+        Assert.assertEquals(ranges.size(),     nbRanges);
+        Assert.assertEquals(rangeRates.size(), nbRangeRates);
+        Assert.assertEquals(angles.size(),     nbAngles);
+
+    }
+
+    @Test
+    public void testRangeUnits() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final Map<String, GroundStation> stations = new HashMap<>();
+        stations.put("STATION", context.stations.get(0));
+        final Map<String, ObservableSatellite> satellites = new HashMap<>();
+        satellites.put("SAT", new ObservableSatellite(0));
+
+        final List<ObservedMeasurement<?>> parsed = new ArrayList<>();
+        final String name = "/ccsds/TDM-range-units.txt";
+        new TDMParser().
+            withFileFormat(TDMFileFormat.KEYVALUE).
+            parse(getClass().getResourceAsStream(name), name,
+                  new TDMMeasurementsHandler(stations, satellites, 1.0, 0.001, new double[] { 1.0e-5, 1.0e-5 },
+                                             m -> parsed.add(m)));
+
+        // the block with range units RU is skipped
+        Assert.assertEquals(4, parsed.size());
+        final TimeScale    utc = TimeScalesFactory.getUTC();
+        final AbsoluteDate t0  = new AbsoluteDate(2020, 9, 30, 12, 0, 0.0, utc);
+        final boolean[]    twoWay   = { false, true, false, true };
+        final double[]     expected = {
+            1.0e6, 1.0e6, 0.004 * Constants.SPEED_OF_LIGHT, 0.004 * Constants.SPEED_OF_LIGHT
+        };
+        for (int i = 0; i < parsed.size(); ++i) {
+            final Range range = (Range) parsed.get(i);
+            Assert.assertSame(context.stations.get(0), range.getStation());
+            Assert.assertEquals(twoWay[i], range.isTwoWay());
+            Assert.assertEquals(0.0, range.getDate().durationFrom(t0.shiftedBy(60.0 * i)), 1.0e-10);
+            Assert.assertEquals(expected[i], range.getObservedValue()[0], 1.0e-6);
+        }
+
+    }
+
+    private void appendBlock(final StringBuilder tdm, final String station, final String extra) {
+        tdm.append("META_START\n");
+        tdm.append("TIME_SYSTEM = UTC\n");
+        tdm.append("PARTICIPANT_1 = ").append(station).append('\n');
+        tdm.append("PARTICIPANT_2 = SAT\n");
+        tdm.append("MODE = SEQUENTIAL\n");
+        tdm.append("PATH = 1,2,1\n");
+        tdm.append(extra);
+        tdm.append("META_STOP\n");
+        tdm.append("DATA_START\n");
+    }
+
+    private ObservedMeasurement<?> findReference(final List<ObservedMeasurement<?>> references,
+                                                 final ObservedMeasurement<?> m) {
+        for (final ObservedMeasurement<?> reference : references) {
+            if (FastMath.abs(reference.getDate().durationFrom(m.getDate())) < 1.0e-3 &&
+                reference.getParametersDrivers().get(0) == m.getParametersDrivers().get(0)) {
+                return reference;
+            }
+        }
+        Assert.fail("no reference measurement found");
+        return null;
+    }
+
+}
@@ -0,0 +1,177 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.data.DataFilter;
+import org.orekit.data.GzipFilter;
+import org.orekit.data.NamedData;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.Frequency;
+import org.orekit.gnss.HatanakaCompressFilter;
+import org.orekit.gnss.ObservationArc;
+import org.orekit.gnss.ObservationData;
+import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationStore;
+import org.orekit.gnss.RinexLoader;
+import org.orekit.time.TimeScalesFactory;
+
+public class AbstractCycleSlipDetectorTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testDefaultArcManagement() throws URISyntaxException, IOException {
+        final NamedData nd = load("shld0440.16d.Z");
+        final List<ObservationDataSet> obserDataSets =
+                        new RinexLoader(nd.getStreamOpener().openStream(), nd.getName()).getObservationDataSets();
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(nd.getStreamOpener().openStream(), nd.getName(), TimeScalesFactory.getTimeScales(), store);
+
+        final ObservationArc arc = store.getArcs().get(0);
+        final RecordingDetector detector = new RecordingDetector();
+        detector.manageData(arc);
+        Assert.assertEquals(arc.size(), detector.received.size());
+
+        // the default implementation feeds the arc rows as the original data sets
+        int row = 0;
+        for (final ObservationDataSet expected : obserDataSets) {
+            if (expected.getSatelliteSystem() == arc.getSatelliteSystem() &&
+                expected.getPrnNumber() == arc.getPrnNumber()) {
+                final ObservationDataSet actual = detector.received.get(row++);
+                Assert.assertEquals(expected.getHeader().getMarkerName(), actual.getHeader().getMarkerName());
+                Assert.assertEquals(expected.getSatelliteSystem(), actual.getSatelliteSystem());
+                Assert.assertEquals(expected.getPrnNumber(), actual.getPrnNumber());
+                Assert.assertEquals(expected.getDate(), actual.getDate());
+                Assert.assertEquals(expected.getRcvrClkOffset(), actual.getRcvrClkOffset(), 0.0);
+                Assert.assertEquals(arc.getObservationTypes().size(), actual.getObservationData().size());
+                for (final ObservationData e : expected.getObservationData()) {
+                    ObservationData a = null;
+                    for (final ObservationData candidate : actual.getObservationData()) {
+                        if (candidate.getObservationType() == e.getObservationType()) {
+                            a = candidate;
+                        }
+                    }
+                    Assert.assertNotNull(a);
+                    Assert.assertEquals(e.getValue(), a.getValue(), 0.0);
+                    Assert.assertEquals(e.getLossOfLockIndicator(), a.getLossOfLockIndicator());
+                    Assert.assertEquals(e.getSignalStrength(), a.getSignalStrength());
+                }
+            }
+        }
+        Assert.assertEquals(arc.size(), row);
+
+    }
+
+    @Test
+    public void testDefaultCopy() throws URISyntaxException, IOException {
+        final NamedData nd = load("shld0440.16d.Z");
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(nd.getStreamOpener().openStream(), nd.getName(), TimeScalesFactory.getTimeScales(), store);
+        try {
+            new RecordingDetector().detect(store, 2);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.FUNCTION_NOT_IMPLEMENTED, oe.getSpecifier());
+            Assert.assertEquals("RecordingDetector in parallel detection", oe.getParts()[0]);
+        }
+    }
+
+    /** Check parallel detection on a columnar store gives the same results as sequential detection.
+     * @param fileName name of the RINEX file in the gnss/cycleSlip resources folder
+     * @param factory factory for detectors with identical settings
+     */
+    static void checkStore(final String fileName, final Supplier<AbstractCycleSlipDetector> factory)
+        throws URISyntaxException, IOException {
+        final NamedData nd = load(fileName);
+        final List<ObservationDataSet> obserDataSets =
+                        new RinexLoader(nd.getStreamOpener().openStream(), nd.getName()).getObservationDataSets();
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(nd.getStreamOpener().openStream(), nd.getName(), TimeScalesFactory.getTimeScales(), store);
+
+        // processing whole arcs in parallel gives the same results as processing epoch by epoch
+        final List<CycleSlipDetectorResults> expected = factory.get().detect(obserDataSets);
+        final List<CycleSlipDetectorResults> results  = factory.get().detect(store, 4);
+        Assert.assertEquals(expected.size(), results.size());
+        int nbSlips = 0;
+        for (final CycleSlipDetectorResults e : expected) {
+            CycleSlipDetectorResults r = null;
+            for (final CycleSlipDetectorResults candidate : results) {
+                if (candidate.getSatelliteName().equals(e.getSatelliteName())) {
+                    r = candidate;
+                }
+            }
+            Assert.assertNotNull(r);
+            Assert.assertEquals(e.getCycleSlipMap(), r.getCycleSlipMap());
+            for (final Frequency f : e.getCycleSlipMap().keySet()) {
+                Assert.assertEquals(e.getBeginDate(f), r.getBeginDate(f));
+                Assert.assertEquals(e.getEndDate(f), r.getEndDate(f));
+                nbSlips += e.getCycleSlipMap().get(f).size();
+            }
+        }
+        Assert.assertTrue(nbSlips > 0);
+    }
+
+    private static NamedData load(final String fileName) throws URISyntaxException, IOException {
+        final String inputPath = AbstractCycleSlipDetectorTest.class.getClassLoader().
+                                 getResource("gnss/cycleSlip/" + fileName).toURI().getPath();
+        final File input  = new File(inputPath);
+        NamedData nd = new NamedData(fileName,
+                                     () -> new FileInputStream(new File(input.getParentFile(), fileName)));
+        for (final DataFilter filter : Arrays.asList(new GzipFilter(),
+                                                     new UnixCompressFilter(),
+                                                     new HatanakaCompressFilter())) {
+            nd = filter.filter(nd);
+        }
+        return nd;
+    }
+
+    /** Detector relying on the default implementations, only recording the data sets it receives. */
+    private static class RecordingDetector extends AbstractCycleSlipDetector {
+
+        private final List<ObservationDataSet> received;
+
+        RecordingDetector() {
+            super(31.0, 10);
+            this.received = new ArrayList<>();
+        }
+
+        @Override
+        protected void manageData(final ObservationDataSet observation) {
+            received.add(observation);
+        }
+
+    }
+
+}
@@ -85,6 +85,32 @@ public abstract class AbstractLambdaMethodTest {
         }
     }
 
+    @Test
+    public void testWorkspaceReuse() {
+        RandomGenerator random = new Well19937a(0x3b1a8b23f9d6a4e5l);
+        final AbstractLambdaMethod reused = buildReducer();
+        for (int k = 0; k < 200; ++k) {
+            // alternate between a few problem sizes, so workspace is sometimes reused and sometimes reallocated
+            final int        n           = 2 + k % 3;
+            final RealMatrix covariance  = createRandomSymmetricPositiveDefiniteMatrix(n, random);
+            final int[]      indirection = new int[n];
+            final double[]   floatAmbiguities = new double[n];
+            for (int i = 0; i < n; ++i) {
+                indirection[i]      = i;
+                floatAmbiguities[i] = 20 * random.nextDouble() - 10;
+            }
+            final IntegerLeastSquareSolution[] expected =
+                            buildReducer().solveILS(3, floatAmbiguities, indirection, covariance);
+            final IntegerLeastSquareSolution[] solutions =
+                            reused.solveILS(3, floatAmbiguities, indirection, covariance);
+            Assert.assertEquals(expected.length, solutions.length);
+            for (int i = 0; i < expected.length; ++i) {
+                Assert.assertArrayEquals(expected[i].getSolution(), solutions[i].getSolution());
+                Assert.assertEquals(expected[i].getSquaredDistance(), solutions[i].getSquaredDistance(), 0.0);
+            }
+        }
+    }
+
     @Test
     public void testJoostenTiberiusFAQ() {
         // this test corresponds to the "LAMBDA: FAQs" paper by Peter Joosten and Christian Tiberius
@@ -0,0 +1,113 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchAmbiguitySolverTest {
+
+    @Test
+    public void testSameAsSequential() {
+        RandomGenerator random = new Well19937a(0x6d2c5e4f3a1b9870l);
+        final List<double[]>   floatAmbiguities = new ArrayList<>();
+        final List<RealMatrix> covariances      = new ArrayList<>();
+        for (int k = 0; k < 500; ++k) {
+            final int n = 2 + random.nextInt(10);
+            final double[] a = new double[n];
+            final RealMatrix q = MatrixUtils.createRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                a[i] = 20 * random.nextDouble() - 10;
+                for (int j = 0; j < n; ++j) {
+                    q.setEntry(i, j, 0.2 * random.nextDouble() - 0.1);
+                }
+            }
+            floatAmbiguities.add(a);
+            covariances.add(q.transposeMultiply(q));
+        }
+
+        final AmbiguityAcceptance acceptance = new SimpleRatioAmbiguityAcceptance(1.0 / 3.0);
+        final List<BatchAmbiguitySolver.Resolution> resolutions =
+                        new BatchAmbiguitySolver(LambdaMethod::new, acceptance, Integer.MAX_VALUE, 4).
+                        fixIntegerAmbiguities(floatAmbiguities, covariances);
+
+        Assert.assertEquals(floatAmbiguities.size(), resolutions.size());
+        int fixed = 0;
+        for (int k = 0; k < resolutions.size(); ++k) {
+            final double[] a = floatAmbiguities.get(k);
+            final int[] indirection = new int[a.length];
+            for (int i = 0; i < indirection.length; ++i) {
+                indirection[i] = i;
+            }
+            final IntegerLeastSquareSolution[] candidates =
+                            new LambdaMethod().solveILS(acceptance.numberOfCandidates(), a, indirection, covariances.get(k));
+            final IntegerLeastSquareSolution expected = acceptance.accept(candidates);
+            final BatchAmbiguitySolver.Resolution resolution = resolutions.get(k);
+            if (expected == null) {
+                Assert.assertNull(resolution.getSolution());
+                Assert.assertEquals(0, resolution.getFixedIndices().length);
+                Assert.assertEquals(0, resolution.getFixedValues().length);
+            } else {
+                Assert.assertTrue(resolution.isFullyFixed(a.length));
+                Assert.assertArrayEquals(indirection, resolution.getFixedIndices());
+                Assert.assertArrayEquals(expected.getSolution(), resolution.getFixedValues());
+                ++fixed;
+            }
+        }
+        Assert.assertTrue(fixed > 0);
+        Assert.assertTrue(fixed < resolutions.size());
+
+    }
+
+    @Test
+    public void testPartialResolution() {
+
+        // the last ambiguity is very poorly determined, so the full problem cannot be fixed
+        final double[] a = new double[] { 1.02, 2.01, -2.98, 0.5 };
+        final RealMatrix q = MatrixUtils.createRealDiagonalMatrix(new double[] { 0.01, 0.02, 0.01, 100.0 });
+        final List<double[]>   floatAmbiguities = new ArrayList<>();
+        final List<RealMatrix> covariances      = new ArrayList<>();
+        floatAmbiguities.add(a);
+        covariances.add(q);
+
+        final AmbiguityAcceptance acceptance = new SimpleRatioAmbiguityAcceptance(1.0 / 3.0);
+
+        // without partial ambiguity resolution, nothing is fixed
+        final BatchAmbiguitySolver.Resolution full =
+                        new BatchAmbiguitySolver(ModifiedLambdaMethod::new, acceptance, Integer.MAX_VALUE, 1).
+                        fixIntegerAmbiguities(floatAmbiguities, covariances).get(0);
+        Assert.assertNull(full.getSolution());
+        Assert.assertFalse(full.isFullyFixed(a.length));
+
+        // with partial ambiguity resolution, the three precise ambiguities are fixed
+        final BatchAmbiguitySolver.Resolution partial =
+                        new BatchAmbiguitySolver(ModifiedLambdaMethod::new, acceptance, 2, 1).
+                        fixIntegerAmbiguities(floatAmbiguities, covariances).get(0);
+        Assert.assertFalse(partial.isFullyFixed(a.length));
+        Assert.assertArrayEquals(new int[] { 0, 1, 2 }, partial.getFixedIndices());
+        Assert.assertArrayEquals(new long[] { 1, 2, -3 }, partial.getFixedValues());
+
+    }
+
+}
@@ -194,4 +194,9 @@ public class GeometryFreeCycleSlipDetectorTest {
               
     }
 
+    @Test
+    public void testStore() throws URISyntaxException, IOException {
+        AbstractCycleSlipDetectorTest.checkStore("shld0440.16d.Z", () -> new GeometryFreeCycleSlipDetector(31, 31.0, 10));
+    }
+
 }
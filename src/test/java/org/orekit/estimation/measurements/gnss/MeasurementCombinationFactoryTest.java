@@ -31,12 +31,15 @@ import org.orekit.gnss.CombinedObservationData;
 import org.orekit.gnss.CombinedObservationDataSet;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.MeasurementType;
+import org.orekit.gnss.ObservationArc;
 import org.orekit.gnss.ObservationData;
 import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.ObservationStore;
 import org.orekit.gnss.ObservationType;
 import org.orekit.gnss.RinexHeader;
 import org.orekit.gnss.RinexLoader;
 import org.orekit.gnss.SatelliteSystem;
+import org.orekit.time.TimeScalesFactory;
 
 public class MeasurementCombinationFactoryTest {
 
@@ -383,6 +386,92 @@ public class MeasurementCombinationFactoryTest {
         Assert.assertEquals("2016-02-13T00:49:43.000", combinedDataSet.getDate().toString());
     }
 
+    @Test
+    public void testArcCombinations() {
+
+        final String name = "rinex/truncate-sbch0440.16o";
+        final List<ObservationDataSet> dataSets = load(name).getObservationDataSets();
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name,
+                        TimeScalesFactory.getTimeScales(), store);
+
+        final AbstractDualFrequencyCombination[] dual = new AbstractDualFrequencyCombination[] {
+            MeasurementCombinationFactory.getGeometryFreeCombination(system),
+            MeasurementCombinationFactory.getIonosphereFreeCombination(system),
+            MeasurementCombinationFactory.getWideLaneCombination(system),
+            MeasurementCombinationFactory.getNarrowLaneCombination(system)
+        };
+        final AbstractSingleFrequencyCombination pmc = MeasurementCombinationFactory.getPhaseMinusCodeCombination(system);
+        final MelbourneWubbenaCombination        mw  = MeasurementCombinationFactory.getMelbourneWubbenaCombination(system);
+
+        int checked = 0;
+        for (final ObservationArc arc : store.getArcs()) {
+
+            final double[][] bulk = new double[dual.length][];
+            for (int k = 0; k < dual.length; ++k) {
+                bulk[k] = dual[k].combine(arc, ObservationType.L1, ObservationType.L2);
+            }
+            final double[] bulkPmc = pmc.combine(arc, ObservationType.L1, ObservationType.C1);
+            final double[] bulkMw  = mw.combine(arc, ObservationType.L1, ObservationType.L2,
+                                                ObservationType.P1, ObservationType.P2);
+
+            int row = 0;
+            for (final ObservationDataSet dataSet : dataSets) {
+                if (dataSet.getSatelliteSystem() == arc.getSatelliteSystem() &&
+                    dataSet.getPrnNumber() == arc.getPrnNumber()) {
+                    final ObservationData l1 = find(dataSet, ObservationType.L1);
+                    final ObservationData l2 = find(dataSet, ObservationType.L2);
+                    final ObservationData c1 = find(dataSet, ObservationType.C1);
+                    final ObservationData p1 = find(dataSet, ObservationType.P1);
+                    final ObservationData p2 = find(dataSet, ObservationType.P2);
+                    for (int k = 0; k < dual.length; ++k) {
+                        Assert.assertEquals(dual[k].combine(l1, l2).getValue(), bulk[k][row], 0.0);
+                    }
+                    Assert.assertEquals(pmc.combine(l1, c1).getValue(), bulkPmc[row], 0.0);
+                    final double wl = MeasurementCombinationFactory.getWideLaneCombination(system).combine(l1, l2).getValue();
+                    final double nl = MeasurementCombinationFactory.getNarrowLaneCombination(system).combine(p1, p2).getValue();
+                    Assert.assertEquals(wl - nl, bulkMw[row], 0.0);
+                    ++row;
+                    ++checked;
+                }
+            }
+            Assert.assertEquals(arc.size(), row);
+
+        }
+        Assert.assertEquals(dataSets.size(), checked);
+
+        // inconsistent types are detected once for the whole arc
+        final ObservationArc arc = store.getArcs().get(0);
+        try {
+            dual[0].combine(arc, ObservationType.L1, ObservationType.L1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INCOMPATIBLE_FREQUENCIES_FOR_COMBINATION_OF_MEASUREMENTS, oe.getSpecifier());
+        }
+        try {
+            pmc.combine(arc, ObservationType.L1, ObservationType.L1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INVALID_MEASUREMENT_TYPES_FOR_COMBINATION_OF_MEASUREMENTS, oe.getSpecifier());
+        }
+        try {
+            mw.combine(arc, ObservationType.L1, ObservationType.L2, ObservationType.P2, ObservationType.P1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INCOMPATIBLE_FREQUENCIES_FOR_COMBINATION_OF_MEASUREMENTS, oe.getSpecifier());
+        }
+
+    }
+
+    private ObservationData find(final ObservationDataSet dataSet, final ObservationType type) {
+        for (final ObservationData od : dataSet.getObservationData()) {
+            if (od.getObservationType() == type) {
+                return od;
+            }
+        }
+        return null;
+    }
+
     private RinexLoader load(final String name) {
         return new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name);
     }
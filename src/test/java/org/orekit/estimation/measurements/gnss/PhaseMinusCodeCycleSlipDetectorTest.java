@@ -281,4 +281,9 @@ public class PhaseMinusCodeCycleSlipDetectorTest {
         if(d.getSatelliteName().substring(6).compareTo("31")==0) {return 31;} else {return 32;}
               
     }
+    @Test
+    public void testStore() throws URISyntaxException, IOException {
+        AbstractCycleSlipDetectorTest.checkStore("seat0440.16d.Z", () -> new PhaseMinusCodeCycleSlipDetector(90, 10, 20, 3));
+    }
+
 }
@@ -16,9 +16,11 @@
  */
 package org.orekit.files.ccsds;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.SequenceInputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -159,6 +161,62 @@ public class OEMParserTest {
         Assert.assertNull(file.getEphemeridesBlocks().get(2).getCovarianceMatrices().get(1).getLofType());
     }
 
+    @Test
+    public void testStreaming() throws IOException {
+        final String ex = "/ccsds/OEMExample.txt";
+        final OEMParser parser = new OEMParser().withMu(CelestialBodyFactory.getEarth().getGM());
+        final OEMFile reference = parser.parse(getClass().getResourceAsStream(ex), "OEMExample.txt");
+
+        final List<TimeStampedPVCoordinates> streamed = new ArrayList<>();
+        final List<EphemeridesBlock> started  = new ArrayList<>();
+        final List<EphemeridesBlock> ended    = new ArrayList<>();
+        final OEMFile file;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(ex),
+                                                                              StandardCharsets.UTF_8))) {
+            file = parser.parse(reader, "OEMExample.txt", new OEMHandler() {
+                @Override
+                public void blockStart(final OEMFile f, final EphemeridesBlock block) {
+                    Assert.assertEquals(started.size(), ended.size());
+                    Assert.assertEquals("EME2000", block.getMetaData().getFrameString());
+                    started.add(block);
+                }
+                @Override
+                public void ephemeris(final EphemeridesBlock block,
+                                      final TimeStampedPVCoordinates coordinates,
+                                      final boolean hasAcceleration) {
+                    Assert.assertSame(started.get(started.size() - 1), block);
+                    streamed.add(coordinates);
+                }
+                @Override
+                public void blockEnd(final EphemeridesBlock block) {
+                    ended.add(block);
+                }
+            });
+        }
+
+        Assert.assertEquals(reference.getEphemeridesBlocks().size(), file.getEphemeridesBlocks().size());
+        Assert.assertEquals(file.getEphemeridesBlocks(), started);
+        Assert.assertEquals(file.getEphemeridesBlocks(), ended);
+        int index = 0;
+        for (int i = 0; i < file.getEphemeridesBlocks().size(); ++i) {
+            final EphemeridesBlock refBlock = reference.getEphemeridesBlocks().get(i);
+            final EphemeridesBlock block    = file.getEphemeridesBlocks().get(i);
+            Assert.assertTrue(block.getEphemeridesDataLines().isEmpty());
+            Assert.assertEquals(refBlock.getStartTime(), block.getStartTime());
+            Assert.assertEquals(refBlock.getAvailableDerivatives(), block.getAvailableDerivatives());
+            Assert.assertEquals(refBlock.getEphemeridesDataLinesComment(), block.getEphemeridesDataLinesComment());
+            Assert.assertEquals(refBlock.getCovarianceMatrices().size(), block.getCovarianceMatrices().size());
+            for (final TimeStampedPVCoordinates pv : refBlock.getEphemeridesDataLines()) {
+                final TimeStampedPVCoordinates s = streamed.get(index++);
+                Assert.assertEquals(0.0, s.getDate().durationFrom(pv.getDate()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pv.getPosition(), s.getPosition()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pv.getVelocity(), s.getVelocity()), 0.0);
+            }
+        }
+        Assert.assertEquals(streamed.size(), index);
+
+    }
+
     @Test
     public void testParseOEM1OrbitFile() throws IOException {
 
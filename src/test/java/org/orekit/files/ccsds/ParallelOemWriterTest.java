@@ -0,0 +1,129 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.files.ccsds.OEMFile.EphemeridesBlock;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class ParallelOemWriterTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testConstellation() throws IOException {
+
+        final TimeScale    utc   = TimeScalesFactory.getUTC();
+        final Frame        eme   = FramesFactory.getEME2000();
+        final AbsoluteDate start = new AbsoluteDate(2020, 6, 1, 12, 0, 0.0, utc);
+        final AbsoluteDate stop  = start.shiftedBy(Constants.JULIAN_DAY);
+
+        final Map<Keyword, String> common = new HashMap<>();
+        common.put(Keyword.ORIGINATOR, "TEST");
+        final ParallelOemWriter writer = new ParallelOemWriter(utc, common, 6, 9, 4);
+
+        final List<Propagator> references = new ArrayList<>();
+        final List<File>       files      = new ArrayList<>();
+        for (int i = 0; i < 12; ++i) {
+            final KeplerianOrbit orbit = new KeplerianOrbit(29600e3, 1.0e-3, FastMath.toRadians(56.0),
+                                                            0.0, FastMath.toRadians(120.0 * (i % 3)),
+                                                            FastMath.toRadians(45.0 * i), PositionAngle.MEAN,
+                                                            eme, start, Constants.EIGEN5C_EARTH_MU);
+            final Map<Keyword, String> metadata = new HashMap<>();
+            metadata.put(Keyword.OBJECT_NAME, "SAT-" + i);
+            metadata.put(Keyword.OBJECT_ID, "2020-001" + (char) ('A' + i));
+            final File file = tempFolder.newFile("sat-" + i + ".oem");
+            writer.addSatellite(new KeplerianPropagator(orbit), metadata, file.toPath());
+            references.add(new KeplerianPropagator(orbit));
+            files.add(file);
+        }
+        writer.write(eme, start, stop, 300.0);
+
+        final OEMParser parser = new OEMParser().withMu(Constants.EIGEN5C_EARTH_MU);
+        for (int i = 0; i < files.size(); ++i) {
+            final OEMFile oem = parser.parse(files.get(i).getAbsolutePath());
+            Assert.assertEquals("TEST", oem.getOriginator());
+            Assert.assertEquals(1, oem.getEphemeridesBlocks().size());
+            final EphemeridesBlock block = oem.getEphemeridesBlocks().get(0);
+            Assert.assertEquals("SAT-" + i, block.getMetaData().getObjectName());
+            Assert.assertEquals(0.0, block.getStart().durationFrom(start), 1.0e-9);
+            Assert.assertEquals(0.0, block.getStop().durationFrom(stop),   1.0e-9);
+            Assert.assertEquals(289, block.getEphemeridesDataLines().size());
+            for (final TimeStampedPVCoordinates pv : block.getEphemeridesDataLines()) {
+                final TimeStampedPVCoordinates ref = references.get(i).getPVCoordinates(pv.getDate(), eme);
+                // 6 digits in km for position, 9 digits in km/s for velocity
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(), pv.getPosition()), 0.87e-3);
+                Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(), pv.getVelocity()), 0.87e-6);
+            }
+        }
+
+    }
+
+    @Test
+    public void testUnwritableFile() throws IOException {
+        final TimeScale    utc   = TimeScalesFactory.getUTC();
+        final Frame        eme   = FramesFactory.getEME2000();
+        final AbsoluteDate start = new AbsoluteDate(2020, 6, 1, 12, 0, 0.0, utc);
+        final KeplerianOrbit orbit = new KeplerianOrbit(7000e3, 1.0e-3, 1.0, 0.0, 0.0, 0.0, PositionAngle.MEAN,
+                                                        eme, start, Constants.EIGEN5C_EARTH_MU);
+        final ParallelOemWriter writer = new ParallelOemWriter(utc, Collections.emptyMap(), 6, 9, 2);
+        final Map<Keyword, String> metadata = new HashMap<>();
+        metadata.put(Keyword.OBJECT_NAME, "SAT");
+        metadata.put(Keyword.OBJECT_ID, "2020-001A");
+        writer.addSatellite(new KeplerianPropagator(orbit), metadata,
+                            tempFolder.newFolder().toPath().resolve("missing").resolve("sat.oem"));
+        try {
+            writer.write(eme, start, start.shiftedBy(600.0), 60.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertTrue(oe.getCause() instanceof IOException);
+        }
+    }
+
+}
@@ -45,6 +45,7 @@ import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.TimeStampedAngularCoordinates;
+import org.orekit.utils.formatting.FastScientificFormatter;
 
 
 public class StreamingAemWriterTest {
@@ -151,6 +152,50 @@ public class StreamingAemWriterTest {
 
     }
 
+    @Test
+    public void testWriteAemFixedPrecision() throws Exception {
+
+        TimeScale utc = TimeScalesFactory.getUTC();
+        InputStream inEntry = getClass().getResourceAsStream("/ccsds/AEMExample7.txt");
+        AEMParser parser = new AEMParser().withMu(CelestialBodyFactory.getEarth().getGM()).withConventions(IERSConventions.IERS_2010);
+        AEMFile aemFile = parser.parse(inEntry, "AEMExample.txt");
+        AttitudeEphemeridesBlock ephemerisBlock = aemFile.getAttitudeBlocks().get(0);
+
+        Map<Keyword, String> metadata = new LinkedHashMap<>();
+        metadata.put(Keyword.OBJECT_NAME,     ephemerisBlock.getMetaData().getObjectName());
+        metadata.put(Keyword.OBJECT_ID,       ephemerisBlock.getMetaData().getObjectID());
+        metadata.put(Keyword.CENTER_NAME,     ephemerisBlock.getMetaData().getCenterName());
+        metadata.put(Keyword.ATTITUDE_DIR,    ephemerisBlock.getAttitudeDirection());
+        metadata.put(Keyword.QUATERNION_TYPE, "LAST");
+        metadata.put(Keyword.ATTITUDE_TYPE,   ephemerisBlock.getAttitudeType());
+        metadata.put(Keyword.REF_FRAME_A,     ephemerisBlock.getRefFrameAString());
+        metadata.put(Keyword.REF_FRAME_B,     ephemerisBlock.getRefFrameBString().replace(' ', '_'));
+        metadata.put(Keyword.START_TIME,      StreamingAemWriter.dateToString(ephemerisBlock.getStart().getComponents(utc)));
+        metadata.put(Keyword.STOP_TIME,       StreamingAemWriter.dateToString(ephemerisBlock.getStop().getComponents(utc)));
+
+        StringBuilder buffer = new StringBuilder();
+        StreamingAemWriter writer = new StreamingAemWriter(buffer, utc, metadata, new FastScientificFormatter(6));
+        writer.writeHeader();
+        AEMSegment segment = writer.newSegment(new LinkedHashMap<>());
+        segment.writeMetadata();
+        segment.startAttitudeBlock();
+        for (final TimeStampedAngularCoordinates ac : ephemerisBlock.getAngularCoordinates()) {
+            segment.writeAttitudeEphemerisLine(ac, false, ephemerisBlock.getAttitudeType(), null);
+        }
+        segment.endAttitudeBlock();
+
+        Assert.assertTrue(buffer.toString().contains("2002-12-18T12:00:00.331 5.67480e-01 3.14600e-02 4.56890e-01 6.84270e-01\n"));
+        AEMFile generatedAemFile = parser.parse(new BufferedReader(new StringReader(buffer.toString())), "buffer");
+        List<TimeStampedAngularCoordinates> original  = ephemerisBlock.getAngularCoordinates();
+        List<TimeStampedAngularCoordinates> generated = generatedAemFile.getAttitudeBlocks().get(0).getAngularCoordinates();
+        Assert.assertEquals(original.size(), generated.size());
+        for (int i = 0; i < original.size(); ++i) {
+            Assert.assertEquals(0.0, generated.get(i).getDate().durationFrom(original.get(i).getDate()), DATE_PRECISION);
+            Assert.assertEquals(0.0, Rotation.distance(original.get(i).getRotation(), generated.get(i).getRotation()), 1.0e-5);
+        }
+
+    }
+
     /**
      * Create a Keplerian propagator.
      * @param date reference date
@@ -22,10 +22,14 @@ import static org.junit.Assert.assertThat;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import org.hamcrest.CoreMatchers;
@@ -51,12 +55,14 @@ import org.orekit.frames.TopocentricFrame;
 import org.orekit.frames.Transform;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateTimeComponents;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.TimeStampedPVCoordinates;
+import org.orekit.utils.formatting.FastDoubleFormatter;
 
 /**
  * Check {@link StreamingOemWriter}.
@@ -269,6 +275,76 @@ public class StreamingOemWriterTest {
 
     }
 
+    @Test
+    public void testWriteOemFixedPrecision() throws Exception {
+        TimeScale utc = TimeScalesFactory.getUTC();
+        OEMParser parser = new OEMParser()
+                .withMu(CelestialBodyFactory.getEarth().getGM())
+                .withConventions(IERSConventions.IERS_2010);
+        OEMFile oemFile = parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample5.txt"),
+                                       "OEMExample5.txt");
+        EphemeridesBlock block = oemFile.getEphemeridesBlocks().get(0);
+
+        Map<Keyword, String> metadata = new LinkedHashMap<>();
+        metadata.put(Keyword.ORIGINATOR, oemFile.getOriginator());
+        metadata.put(Keyword.OBJECT_NAME, block.getMetaData().getObjectName());
+        metadata.put(Keyword.OBJECT_ID, block.getMetaData().getObjectID());
+        metadata.put(Keyword.START_TIME,
+                     StreamingOemWriter.dateToString(block.getStart().getComponents(utc)));
+        metadata.put(Keyword.STOP_TIME,
+                     StreamingOemWriter.dateToString(block.getStop().getComponents(utc)));
+
+        StringBuilder buffer = new StringBuilder();
+        StreamingOemWriter writer = new StreamingOemWriter(buffer, utc, metadata,
+                                                           new FastDoubleFormatter(6),
+                                                           new FastDoubleFormatter(9));
+        writer.writeHeader();
+        Segment segment = writer.newSegment(block.getFrame(), Collections.emptyMap());
+        segment.writeMetadata();
+        for (TimeStampedPVCoordinates coordinate : block.getCoordinates()) {
+            segment.writeEphemerisLine(coordinate);
+        }
+
+        OEMFile generatedOemFile = parser.parse(new BufferedReader(new StringReader(buffer.toString())), "buffer");
+        EphemeridesBlock generated = generatedOemFile.getEphemeridesBlocks().get(0);
+        // 6 digits in km for position, 9 digits in km/s for velocity
+        compareOemEphemerisBlocks(block, generated, 0.87e-3, 0.87e-6);
+        assertThat(buffer.toString(), CoreMatchers.containsString("2017-04-11T22:31:43.121856 2906.275218 4076.358069 4561.363661 -6.879497316 1.449531311 3.081317620\n"));
+    }
+
+    @Test
+    public void testAppendDate() {
+        TimeScale utc = TimeScalesFactory.getUTC();
+        AbsoluteDate t0 = new AbsoluteDate(2020, 3, 4, 5, 6, 7.0, utc);
+        StringBuilder builder = new StringBuilder();
+        for (double dt : new double[] {
+            0.0, 0.5, 1.0e-9, 1.23456789e-6, 3.0 - 1.0e-12, 2.999999999, 3599.125, 86399.0, 86399.999999999,
+            5.0 + 0x1.0p-10, 5.0 + 0x3.0p-10
+        }) {
+            DateTimeComponents components = t0.shiftedBy(dt).getComponents(utc);
+            builder.setLength(0);
+            StreamingOemWriter.appendDate(builder, components);
+            assertEquals(referenceDate(components), builder.toString());
+            assertEquals(referenceDate(components), StreamingOemWriter.dateToString(components));
+        }
+
+        // exact binary ties are rounded to even
+        assertEquals("2020-03-04T05:06:12.000976562",
+                     StreamingOemWriter.dateToString(t0.shiftedBy(5.0 + 0x1.0p-10).getComponents(utc)));
+        assertEquals("2020-03-04T05:06:12.002929688",
+                     StreamingOemWriter.dateToString(t0.shiftedBy(5.0 + 0x3.0p-10).getComponents(utc)));
+    }
+
+    private static String referenceDate(final DateTimeComponents components) {
+        final DecimalFormatSymbols locale = new DecimalFormatSymbols(Locale.US);
+        final DecimalFormat twoDigits = new DecimalFormat("00", locale);
+        final DecimalFormat precise = new DecimalFormat("00.0########", locale);
+        return components.getDate().toString() + "T" +
+               twoDigits.format(components.getTime().getHour()) + ":" +
+               twoDigits.format(components.getTime().getMinute()) + ":" +
+               precise.format(components.getTime().getSecond());
+    }
+
     private static void compareOemEphemerisBlocks(EphemeridesBlock block1,
                                                   EphemeridesBlock block2,
                                                   double p_tol,
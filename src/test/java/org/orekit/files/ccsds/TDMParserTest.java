@@ -73,6 +73,66 @@ public class TDMParserTest {
         }
     }
 
+    @Test
+    public void testStreaming() {
+        for (final String name : new String[] {
+            "/ccsds/TDMExample2.txt", "/ccsds/TDMExample4.txt", "/ccsds/TDMExample6.txt",
+            "/ccsds/TDMExample8.txt", "/ccsds/TDMExample15.txt", "/ccsds/TDMExampleAllKeywords.txt",
+            "/ccsds/XML/TDMExample2.xml", "/ccsds/XML/TDMExample4.xml", "/ccsds/XML/TDMExample6.xml",
+            "/ccsds/XML/TDMExample8.xml", "/ccsds/XML/TDMExample15.xml", "/ccsds/XML/TDMExampleAllKeywords.xml"
+        }) {
+            checkStreaming(name);
+        }
+    }
+
+    private void checkStreaming(final String name) {
+
+        final TDMParser parser = new TDMParser().withFileFormat(TDMFileFormat.UNKNOWN);
+        final TDMFile reference = parser.parse(TDMParserTest.class.getResourceAsStream(name), name);
+
+        final List<TDMFile.Observation>      streamed = new ArrayList<>();
+        final List<TDMFile.ObservationsBlock> started  = new ArrayList<>();
+        final List<TDMFile.ObservationsBlock> ended    = new ArrayList<>();
+        final TDMFile file = parser.parse(TDMParserTest.class.getResourceAsStream(name), name, new TDMHandler() {
+            @Override
+            public void blockStart(final TDMFile f, final TDMFile.ObservationsBlock block) {
+                Assert.assertEquals(started.size(), ended.size());
+                Assert.assertNotNull(block.getMetaData().getTimeSystem());
+                started.add(block);
+            }
+            @Override
+            public void observation(final TDMFile.ObservationsBlock block, final String keyword,
+                                    final AbsoluteDate epoch, final double measurement) {
+                Assert.assertSame(started.get(started.size() - 1), block);
+                streamed.add(new TDMFile.Observation(keyword, epoch, measurement));
+            }
+            @Override
+            public void blockEnd(final TDMFile.ObservationsBlock block) {
+                ended.add(block);
+            }
+        });
+
+        Assert.assertEquals(reference.getObservationsBlocks().size(), file.getObservationsBlocks().size());
+        Assert.assertEquals(file.getObservationsBlocks(), started);
+        Assert.assertEquals(file.getObservationsBlocks(), ended);
+        int index = 0;
+        for (int i = 0; i < file.getObservationsBlocks().size(); ++i) {
+            final TDMFile.ObservationsBlock refBlock = reference.getObservationsBlocks().get(i);
+            final TDMFile.ObservationsBlock block    = file.getObservationsBlocks().get(i);
+            Assert.assertTrue(block.getObservations().isEmpty());
+            Assert.assertEquals(refBlock.getMetaData().getParticipants(), block.getMetaData().getParticipants());
+            Assert.assertEquals(refBlock.getObservationsComment(), block.getObservationsComment());
+            for (final TDMFile.Observation observation : refBlock.getObservations()) {
+                final TDMFile.Observation s = streamed.get(index++);
+                Assert.assertEquals(observation.getKeyword(), s.getKeyword());
+                Assert.assertEquals(0.0, s.getEpoch().durationFrom(observation.getEpoch()), 0.0);
+                Assert.assertEquals(observation.getMeasurement(), s.getMeasurement(), 0.0);
+            }
+        }
+        Assert.assertEquals(streamed.size(), index);
+
+    }
+
     @Test
     public void testParseTdmKeyValueExample2() throws IOException {
         // Example 2 of [1]
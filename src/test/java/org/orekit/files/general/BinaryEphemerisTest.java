@@ -0,0 +1,357 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.ccsds.OEMParser;
+import org.orekit.files.general.BinaryEphemerisFile.BinaryEphemerisSegment;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.files.general.EphemerisFile.SatelliteEphemeris;
+import org.orekit.files.general.OrekitEphemerisFile.OrekitSatelliteEphemeris;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.Transform;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class BinaryEphemerisTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testRoundTripPropagated() throws IOException {
+
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        final OrekitSatelliteEphemeris sat1 = ephemerisFile.addSatellite("SAT-1");
+        sat1.addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                     FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                                  0.0, 3600.0, 60.0));
+        sat1.addNewSegment(sample(new KeplerianOrbit(7.1e6, 0.002, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                     FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                                  3600.0, 7200.0, 60.0));
+        final OrekitSatelliteEphemeris sat2 = ephemerisFile.addSatellite("SAT-2");
+        sat2.addNewSegment(sample(new KeplerianOrbit(2.6e7, 0.01, 0.96, 0.5, 1.3, 2.4, PositionAngle.MEAN,
+                                                     FramesFactory.getGCRF(), t0, Constants.EIGEN5C_EARTH_MU),
+                                  0.0, 86400.0, 900.0),
+                           CelestialBodyFactory.getEarth(), 5, TimeScalesFactory.getTT());
+
+        final Path path = tempFolder.newFile("propagated.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+        final BinaryEphemerisFile parsed = new BinaryEphemerisParser().parse(path.toString());
+
+        Assert.assertEquals(2, parsed.getSatellites().size());
+        checkSame(ephemerisFile.getSatellites().get("SAT-1"), parsed.getSatellites().get("SAT-1"));
+        checkSame(ephemerisFile.getSatellites().get("SAT-2"), parsed.getSatellites().get("SAT-2"));
+        Assert.assertSame(FramesFactory.getEME2000(),
+                          parsed.getSatellites().get("SAT-1").getSegments().get(1).getFrame());
+        Assert.assertSame(FramesFactory.getGCRF(),
+                          parsed.getSatellites().get("SAT-2").getSegments().get(0).getFrame());
+
+    }
+
+    @Test
+    public void testRoundTripOEM() throws IOException {
+
+        final EphemerisFile oem = new OEMParser().
+                                  withConventions(IERSConventions.IERS_2010).
+                                  withMu(CelestialBodyFactory.getEarth().getGM()).
+                                  parse(getClass().getResourceAsStream("/ccsds/OEMExample.txt"), "OEMExample.txt");
+
+        final Path path = tempFolder.newFile("oem.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), oem);
+        final BinaryEphemerisFile parsed =
+                        new BinaryEphemerisParser(name -> FramesFactory.getEME2000(),
+                                                  TimeScalesFactory.getTimeScales()).parse(path.toString());
+
+        for (final String id : oem.getSatellites().keySet()) {
+            checkSame(oem.getSatellites().get(id), parsed.getSatellites().get(id));
+        }
+
+    }
+
+    @Test
+    public void testPropagator() throws IOException {
+
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final KeplerianOrbit orbit = new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                        FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU);
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").addNewSegment(sample(orbit, 0.0, 7200.0, 30.0));
+
+        final Path path = tempFolder.newFile("propagator.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+        final EphemerisSegment original = ephemerisFile.getSatellites().get("SAT").getSegments().get(0);
+        final EphemerisSegment parsed   = new BinaryEphemerisParser().parse(path.toString()).
+                                          getSatellites().get("SAT").getSegments().get(0);
+
+        final BoundedPropagator reference = new EphemerisSegmentPropagator(original);
+        final BoundedPropagator mapped    = parsed.getPropagator();
+        Assert.assertTrue(mapped instanceof IndexedEphemerisPropagator);
+        Assert.assertEquals(0.0, mapped.getMinDate().durationFrom(reference.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, mapped.getMaxDate().durationFrom(reference.getMaxDate()), 1.0e-15);
+
+        final RandomGenerator random = new Well19937a(0x3f7a9a4c1c82b6e5l);
+        for (int i = 0; i < 1000; ++i) {
+            final AbsoluteDate date = t0.shiftedBy(7200.0 * random.nextDouble());
+            final PVCoordinates expected = reference.getPVCoordinates(date, FramesFactory.getGCRF());
+            final PVCoordinates actual   = mapped.getPVCoordinates(date, FramesFactory.getGCRF());
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-8);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-11);
+        }
+
+        final SpacecraftState state = mapped.propagate(t0.shiftedBy(1234.5));
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(reference.propagate(t0.shiftedBy(1234.5)).getPVCoordinates().getPosition(),
+                                              state.getPVCoordinates().getPosition()),
+                            1.0e-8);
+
+        try {
+            mapped.getPVCoordinates(t0.shiftedBy(-10.0), FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, oe.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testWrongMagic() throws IOException {
+        final Path path = tempFolder.newFile("wrong-magic.bin").toPath();
+        Files.write(path, Arrays.asList("this is not", "a binary ephemeris"));
+        try {
+            new BinaryEphemerisParser().parse(path.toString());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").
+        addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                             0.0, 600.0, 60.0));
+        final Path path = tempFolder.newFile("truncated.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+        final byte[] full = Files.readAllBytes(path);
+        for (final int length : new int[] { 30, full.length - 8 }) {
+            Files.write(path, Arrays.copyOf(full, length));
+            try {
+                new BinaryEphemerisParser().parse(path.toString());
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(OrekitMessages.UNEXPECTED_END_OF_FILE, oe.getSpecifier());
+            }
+        }
+    }
+
+    @Test
+    public void testNotEnoughData() throws IOException {
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").
+        addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                             0.0, 120.0, 60.0),
+                      CelestialBodyFactory.getEarth(), 7);
+        final Path path = tempFolder.newFile("not-enough-data.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+        final BinaryEphemerisSegment segment = new BinaryEphemerisParser().parse(path.toString()).
+                                               getSatellites().get("SAT").getSegments().get(0);
+        Assert.assertEquals(3, segment.getCoordinates().size());
+        try {
+            segment.getNeighbors(t0.shiftedBy(30.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, oe.getSpecifier());
+            Assert.assertEquals(3, ((Integer) oe.getParts()[0]).intValue());
+        }
+    }
+
+    @Test
+    public void testUnknownFrame() throws IOException {
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final Frame custom = new Frame(FramesFactory.getEME2000(), Transform.IDENTITY, "custom-frame", true);
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").
+        addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                custom, t0, Constants.EIGEN5C_EARTH_MU),
+                             0.0, 600.0, 60.0));
+        final Path path = tempFolder.newFile("unknown-frame.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+        try {
+            new BinaryEphemerisParser().parse(path.toString());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNKNOWN_FRAME, oe.getSpecifier());
+            Assert.assertEquals("custom-frame", oe.getParts()[0]);
+        }
+
+        // a custom frame builder can resolve the name
+        final BinaryEphemerisFile parsed =
+                        new BinaryEphemerisParser(name -> custom, TimeScalesFactory.getTimeScales()).
+                        parse(path.toString());
+        Assert.assertSame(custom, parsed.getSatellites().get("SAT").getSegments().get(0).getFrame());
+    }
+
+    @Test
+    public void testUnsupportedTimeScale() throws IOException {
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").
+        addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                             0.0, 600.0, 60.0),
+                      CelestialBodyFactory.getEarth(), 7,
+                      TimeScalesFactory.getUT1(IERSConventions.IERS_2010, true));
+        final Path path = tempFolder.getRoot().toPath().resolve("ut1.bin");
+        try {
+            new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNKNOWN_TIME_SCALE, oe.getSpecifier());
+            Assert.assertEquals("UT1", oe.getParts()[0]);
+        }
+        Assert.assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testUnknownTimeScale() throws IOException {
+        final AbsoluteDate t0 = new AbsoluteDate(2020, 6, 15, 12, 0, 0.25, TimeScalesFactory.getUTC());
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").
+        addNewSegment(sample(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.2, 0.3, 0.4, PositionAngle.MEAN,
+                                                FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU),
+                             0.0, 600.0, 60.0),
+                      CelestialBodyFactory.getEarth(), 7, TimeScalesFactory.getTCB());
+        final Path path = tempFolder.newFile("unknown-time-scale.bin").toPath();
+        new BinaryEphemerisWriter().write(path.toString(), ephemerisFile);
+
+        // replace the time scale name in the header
+        final byte[] content = Files.readAllBytes(path);
+        final int index = new String(content, StandardCharsets.ISO_8859_1).indexOf("TCB");
+        content[index]     = 'X';
+        content[index + 1] = 'Y';
+        content[index + 2] = 'Z';
+        Files.write(path, content);
+
+        try {
+            new BinaryEphemerisParser().parse(path.toString());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNKNOWN_TIME_SCALE, oe.getSpecifier());
+            Assert.assertEquals("XYZ", oe.getParts()[0]);
+        }
+    }
+
+    @Test
+    public void testTextNotSupported() {
+        try {
+            new BinaryEphemerisParser().parse(new BufferedReader(new StringReader("")), "dummy");
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+        try {
+            new BinaryEphemerisWriter().write(new StringBuilder(), new OrekitEphemerisFile());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    private List<SpacecraftState> sample(final KeplerianOrbit orbit,
+                                         final double start, final double stop, final double step) {
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (double dt = start; dt <= stop; dt += step) {
+            states.add(propagator.propagate(orbit.getDate().shiftedBy(dt)));
+        }
+        return states;
+    }
+
+    private void checkSame(final SatelliteEphemeris expected, final SatelliteEphemeris actual) {
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getMu(), actual.getMu(), 0.0);
+        Assert.assertEquals(expected.getSegments().size(), actual.getSegments().size());
+        for (int i = 0; i < expected.getSegments().size(); ++i) {
+            final EphemerisSegment e = expected.getSegments().get(i);
+            final EphemerisSegment a = actual.getSegments().get(i);
+            Assert.assertEquals(e.getFrameString(), a.getFrameString());
+            Assert.assertEquals(e.getFrameCenterString(), a.getFrameCenterString());
+            Assert.assertSame(e.getTimeScale(), a.getTimeScale());
+            Assert.assertEquals(e.getMu(), a.getMu(), 0.0);
+            Assert.assertEquals(e.getInterpolationSamples(), a.getInterpolationSamples());
+            Assert.assertEquals(e.getAvailableDerivatives(), a.getAvailableDerivatives());
+            Assert.assertEquals(0.0, a.getStart().durationFrom(e.getStart()), 1.0e-15);
+            Assert.assertEquals(0.0, a.getStop().durationFrom(e.getStop()), 1.0e-15);
+            Assert.assertEquals(e.getCoordinates().size(), a.getCoordinates().size());
+            for (int j = 0; j < e.getCoordinates().size(); ++j) {
+                final TimeStampedPVCoordinates pe = e.getCoordinates().get(j);
+                final TimeStampedPVCoordinates pa = a.getCoordinates().get(j);
+                Assert.assertEquals(0.0, pa.getDate().durationFrom(pe.getDate()), 1.0e-12);
+                Assert.assertEquals(pe.getPosition(),     pa.getPosition());
+                Assert.assertEquals(pe.getVelocity(),     pa.getVelocity());
+                if (e.getAvailableDerivatives().getMaxOrder() > 1) {
+                    Assert.assertEquals(pe.getAcceleration(), pa.getAcceleration());
+                }
+            }
+        }
+    }
+
+}
@@ -16,13 +16,18 @@
  */
 package org.orekit.files.sp3;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -30,6 +35,7 @@ import org.orekit.Utils;
 import org.orekit.data.NamedData;
 import org.orekit.data.UnixCompressFilter;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.sp3.SP3File.SP3Coordinate;
 import org.orekit.files.sp3.SP3File.SP3Ephemeris;
@@ -45,7 +51,9 @@ import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
+import org.orekit.utils.ImmutableTimeStampedCache;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
 
 public class SP3ParserTest {
 
@@ -324,6 +332,50 @@ public class SP3ParserTest {
                 expected);
     }
 
+    @Test
+    public void testNotEnoughData() throws IOException {
+        // example-a-2 contains only 3 epochs
+        final Frame frame = FramesFactory.getITRF(IERSConventions.IERS_2003, true);
+        final SP3Parser parser = new SP3Parser(Constants.EIGEN5C_EARTH_MU, 4, s -> frame);
+        final SP3Ephemeris ephemeris = parser.parse(getClass().getResourceAsStream("/sp3/example-a-2.sp3")).
+                                       getSatellites().get("1");
+        Assert.assertEquals(3, ephemeris.getCoordinates().size());
+        try {
+            ephemeris.getPropagator();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, oiae.getSpecifier());
+            Assert.assertEquals(3, ((Integer) oiae.getParts()[0]).intValue());
+        }
+        try {
+            ephemeris.getNeighbors(ephemeris.getStart().shiftedBy(60.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_DATA_FOR_INTERPOLATION, oe.getSpecifier());
+            Assert.assertEquals(3, ((Integer) oe.getParts()[0]).intValue());
+        }
+    }
+
+    @Test
+    public void testEmptyEphemeris() {
+        final SP3File file = new SP3File(Constants.EIGEN5C_EARTH_MU, 3, s -> FramesFactory.getGCRF());
+        file.addSatellite("G01");
+        final SP3Ephemeris ephemeris = file.getSatellites().get("G01");
+        Assert.assertTrue(ephemeris.getCoordinates().isEmpty());
+        try {
+            ephemeris.getStart();
+            Assert.fail("an exception should have been thrown");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // expected
+        }
+        try {
+            ephemeris.getStop();
+            Assert.fail("an exception should have been thrown");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // expected
+        }
+    }
+
     @Test
     public void testSP3Compressed() throws IOException {
         final String ex = "/sp3/gbm18432.sp3.Z";
@@ -354,6 +406,52 @@ public class SP3ParserTest {
         Assert.assertEquals(-0.000482447619,  coord.getClockCorrection(), 1.0e-15);
     }
 
+    @Test
+    public void testParallelDecoding() throws IOException {
+        final String ex = "/sp3/gbm18432.sp3.Z";
+        final Frame frame = FramesFactory.getGCRF();
+        final SP3Parser parser = new SP3Parser(Constants.EIGEN5C_EARTH_MU, 7, s -> frame);
+        final NamedData compressed = new NamedData(ex, () -> getClass().getResourceAsStream(ex));
+        final SP3File sequential = parser.parse(new UnixCompressFilter().filter(compressed).getStreamOpener().openStream());
+        final SP3File parallel;
+        try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(new UnixCompressFilter().filter(compressed).getStreamOpener().openStream(),
+                                                                 StandardCharsets.UTF_8))) {
+            parallel = parser.parse(reader, ex, 4);
+        }
+
+        Assert.assertEquals(sequential.getSatelliteCount(), parallel.getSatelliteCount());
+        final RandomGenerator random = new Well19937a(0x6f1f6c54e5a3a2c9l);
+        for (final String id : sequential.getSatellites().keySet()) {
+            final SP3Ephemeris s = sequential.getSatellites().get(id);
+            final SP3Ephemeris p = parallel.getSatellites().get(id);
+            Assert.assertEquals(s.getCoordinates().size(), p.getCoordinates().size());
+            for (int i = 0; i < s.getCoordinates().size(); ++i) {
+                final SP3Coordinate cs = s.getCoordinates().get(i);
+                final SP3Coordinate cp = p.getCoordinates().get(i);
+                Assert.assertEquals(cs.getDate(), cp.getDate());
+                Assert.assertEquals(cs.getPosition(), cp.getPosition());
+                Assert.assertEquals(cs.getVelocity(), cp.getVelocity());
+                Assert.assertEquals(cs.getClockCorrection(), cp.getClockCorrection(), 0.0);
+                Assert.assertEquals(cs.getClockRateChange(), cp.getClockRateChange(), 0.0);
+            }
+
+            // the indexed propagator must select the same neighbors as a regular cache
+            final ImmutableTimeStampedCache<TimeStampedPVCoordinates> cache =
+                            new ImmutableTimeStampedCache<>(p.getInterpolationSamples(), s.getCoordinates());
+            final BoundedPropagator propagator = p.getPropagator();
+            final double duration = p.getStop().durationFrom(p.getStart());
+            for (int i = 0; i < 20; ++i) {
+                final AbsoluteDate date = p.getStart().shiftedBy(duration * random.nextDouble());
+                final TimeStampedPVCoordinates expected =
+                                TimeStampedPVCoordinates.interpolate(date, s.getAvailableDerivatives(),
+                                                                     cache.getNeighbors(date));
+                final TimeStampedPVCoordinates actual = propagator.getPVCoordinates(date, frame);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-15);
+            }
+        }
+    }
+
     private void checkPVEntry(final PVCoordinates expected, final PVCoordinates actual) {
         final Vector3D expectedPos = expected.getPosition();
         final Vector3D expectedVel = expected.getVelocity();
@@ -0,0 +1,215 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces;
+
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.ThirdBodyAttraction;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.ICGEMFormatReader;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.FieldSpacecraftState;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.ParameterDriver;
+
+public class MultiRateForceModelTest {
+
+    private Orbit orbit;
+
+    @Test
+    public void testForward() {
+        doTestPropagation(6 * Constants.JULIAN_DAY / 24, 490, 1.3e-4);
+    }
+
+    @Test
+    public void testBackward() {
+        doTestPropagation(-6 * Constants.JULIAN_DAY / 24, 502, 2.3e-4);
+    }
+
+    private void doTestPropagation(final double dt, final int expectedEvaluations, final double tolerance) {
+
+        final CountingThirdBodyAttraction referenceMoon = new CountingThirdBodyAttraction(CelestialBodyFactory.getMoon());
+        final SpacecraftState reference = propagate(null, referenceMoon, dt);
+
+        final MultiRateForceModel sun  = new MultiRateForceModel(new ThirdBodyAttraction(CelestialBodyFactory.getSun()),
+                                                                 1.0, 300.0, 1.0e-11);
+        final MultiRateForceModel moon = new MultiRateForceModel(new ThirdBodyAttraction(CelestialBodyFactory.getMoon()),
+                                                                 1.0, 300.0, 1.0e-11);
+        final SpacecraftState multiRate = propagate(sun, moon, dt);
+
+        // the slowly varying forces are evaluated more than ten times less often than other forces
+        Assert.assertEquals(expectedEvaluations, moon.getEvaluations());
+        Assert.assertTrue(referenceMoon.getEvaluations() > 10 * moon.getEvaluations());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                              multiRate.getPVCoordinates().getPosition()),
+                            tolerance);
+
+    }
+
+    private SpacecraftState propagate(final ForceModel sun, final ForceModel moon, final double dt) {
+        final double[][] tol = NumericalPropagator.tolerances(1.0e-4, orbit, OrbitType.CARTESIAN);
+        final NumericalPropagator propagator = new NumericalPropagator(new DormandPrince853Integrator(0.001, 60.0, tol[0], tol[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                                       GravityFieldFactory.getNormalizedProvider(8, 8)));
+        propagator.addForceModel(sun  == null ? new ThirdBodyAttraction(CelestialBodyFactory.getSun())  : sun);
+        propagator.addForceModel(moon == null ? new ThirdBodyAttraction(CelestialBodyFactory.getMoon()) : moon);
+        propagator.setInitialState(new SpacecraftState(orbit));
+        return propagator.propagate(orbit.getDate().shiftedBy(dt));
+    }
+
+    /** Third body attraction counting its evaluations. */
+    private static class CountingThirdBodyAttraction extends ThirdBodyAttraction {
+
+        private int evaluations;
+
+        CountingThirdBodyAttraction(final CelestialBody body) {
+            super(body);
+            evaluations = 0;
+        }
+
+        @Override
+        public Vector3D acceleration(final SpacecraftState s, final double[] parameters) {
+            ++evaluations;
+            return super.acceleration(s, parameters);
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+    }
+
+    @Test
+    public void testParametersChange() {
+
+        final ThirdBodyAttraction underlying = new ThirdBodyAttraction(CelestialBodyFactory.getMoon());
+        final MultiRateForceModel multiRate  = new MultiRateForceModel(underlying, 10.0, 600.0, 1.0e-11);
+        final ParameterDriver driver = multiRate.getParametersDrivers()[0];
+        multiRate.init(new SpacecraftState(orbit), orbit.getDate().shiftedBy(3600.0));
+
+        // build a full set of samples, the interval between evaluations increases
+        for (double dt = 0; dt < 100.0; dt += 10.0) {
+            final SpacecraftState state = new SpacecraftState(orbit.shiftedBy(dt));
+            multiRate.acceleration(state, multiRate.getParameters());
+        }
+        Assert.assertEquals(6, multiRate.getEvaluations());
+
+        // intermediate dates are interpolated
+        final SpacecraftState intermediate = new SpacecraftState(orbit.shiftedBy(55.0));
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(underlying.acceleration(intermediate, underlying.getParameters()),
+                                              multiRate.acceleration(intermediate, multiRate.getParameters())),
+                            3.0e-15);
+        Assert.assertEquals(6, multiRate.getEvaluations());
+
+        // changing parameters resets the samples
+        driver.setValue(2 * driver.getValue());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(underlying.acceleration(intermediate, underlying.getParameters()),
+                                              multiRate.acceleration(intermediate, multiRate.getParameters())),
+                            0.0);
+        Assert.assertEquals(7, multiRate.getEvaluations());
+
+    }
+
+    @Test
+    public void testDelegation() {
+
+        final ThirdBodyAttraction underlying = new ThirdBodyAttraction(CelestialBodyFactory.getSun());
+        final MultiRateForceModel multiRate  = new MultiRateForceModel(underlying, 10.0, 600.0, 1.0e-11);
+        Assert.assertSame(underlying, multiRate.getUnderlyingModel());
+        Assert.assertEquals(10.0,    multiRate.getMinInterval(), 0.0);
+        Assert.assertEquals(600.0,   multiRate.getMaxInterval(), 0.0);
+        Assert.assertEquals(1.0e-11, multiRate.getTolerance(),   0.0);
+        Assert.assertTrue(multiRate.dependsOnPositionOnly());
+        Assert.assertEquals(1, multiRate.getParametersDrivers().length);
+        final String name = CelestialBodyFactory.SUN + ThirdBodyAttraction.ATTRACTION_COEFFICIENT_SUFFIX;
+        Assert.assertTrue(multiRate.isSupported(name));
+        Assert.assertSame(underlying.getParameterDriver(name), multiRate.getParameterDriver(name));
+        Assert.assertEquals(0L, multiRate.getEventsDetectors().count());
+
+        // field computations are never interpolated
+        final DSFactory factory = new DSFactory(1, 1);
+        final FieldSpacecraftState<DerivativeStructure> fieldState =
+                        new FieldSpacecraftState<>(factory.getDerivativeField(), new SpacecraftState(orbit));
+        Assert.assertEquals(0L, multiRate.getFieldEventsDetectors(factory.getDerivativeField()).count());
+        final FieldVector3D<DerivativeStructure> expected =
+                        underlying.acceleration(fieldState, underlying.getParameters(factory.getDerivativeField()));
+        final FieldVector3D<DerivativeStructure> actual =
+                        multiRate.acceleration(fieldState, multiRate.getParameters(factory.getDerivativeField()));
+        Assert.assertEquals(0.0, FieldVector3D.distance(expected, actual).getReal(), 0.0);
+        Assert.assertEquals(0, multiRate.getEvaluations());
+
+    }
+
+    @Test
+    public void testWrongIntervals() {
+        final ThirdBodyAttraction underlying = new ThirdBodyAttraction(CelestialBodyFactory.getSun());
+        try {
+            new MultiRateForceModel(underlying, 0.0, 600.0, 1.0e-11);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new MultiRateForceModel(underlying, 10.0, 5.0, 1.0e-11);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new MultiRateForceModel(underlying, 10.0, 600.0, -1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        orbit = new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.1, PositionAngle.MEAN,
+                                   FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2003, 3, 1, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
@@ -21,6 +21,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.util.Decimal64;
 import org.hipparchus.util.Decimal64Field;
@@ -28,6 +30,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
+import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
@@ -125,6 +128,58 @@ public class EOPHistoryTest {
         }
     }
 
+    @Test
+    public void testIndexedInterpolationConsistency() {
+        EOPHistory history = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        AbsoluteDate start = history.getStartDate();
+        double span = history.getEndDate().durationFrom(start);
+        for (double dt = 0; dt <= span; dt += 0.37 * Constants.JULIAN_DAY) {
+            checkConsistency(history, start.shiftedBy(dt), 1.0);
+        }
+        AbsoluteDate endLeap = new AbsoluteDate(2006, 1, 1, TimeScalesFactory.getUTC());
+        for (double dt = -3 * Constants.JULIAN_DAY; dt < 3 * Constants.JULIAN_DAY; dt += 1800.0) {
+            if (dt < -1 || dt > 0) {
+                checkConsistency(history, endLeap.shiftedBy(dt), 1.0);
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedInterpolationWithGaps() {
+        // remove a large block and a few isolated entries, so regular spacing guesses fail
+        final EOPHistory regular = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        final List<EOPEntry> entries = new ArrayList<>(regular.getEntries());
+        entries.subList(200, 300).clear();
+        entries.remove(450);
+        entries.remove(40);
+        final EOPHistory history = new EOPHistory(IERSConventions.IERS_2010, entries, true,
+                                                  DataContext.getDefault().getTimeScales());
+        final AbsoluteDate start = history.getStartDate();
+        final double span = history.getEndDate().durationFrom(start);
+        for (double dt = 0; dt <= span; dt += 0.37 * Constants.JULIAN_DAY) {
+            checkConsistency(history, start.shiftedBy(dt), 100.0);
+        }
+    }
+
+    private void checkConsistency(final EOPHistory history, final AbsoluteDate date,
+                                  final double scale) {
+        final FieldAbsoluteDate<Decimal64> fDate = new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date);
+        Assert.assertEquals(history.getUT1MinusUTC(fDate).getReal(), history.getUT1MinusUTC(date), scale * 1.0e-14);
+        Assert.assertEquals(history.getLOD(fDate).getReal(),         history.getLOD(date),         scale * 1.0e-17);
+        final PoleCorrection pole = history.getPoleCorrection(date);
+        final FieldPoleCorrection<Decimal64> fPole = history.getPoleCorrection(fDate);
+        Assert.assertEquals(fPole.getXp().getReal(), pole.getXp(), scale * 1.0e-20);
+        Assert.assertEquals(fPole.getYp().getReal(), pole.getYp(), scale * 1.0e-20);
+        final double[]    equinox  = history.getEquinoxNutationCorrection(date);
+        final Decimal64[] fEquinox = history.getEquinoxNutationCorrection(fDate);
+        final double[]    nro      = history.getNonRotatinOriginNutationCorrection(date);
+        final Decimal64[] fNro     = history.getNonRotatinOriginNutationCorrection(fDate);
+        for (int i = 0; i < 2; ++i) {
+            Assert.assertEquals(fEquinox[i].getReal(), equinox[i], scale * 1.0e-22);
+            Assert.assertEquals(fNro[i].getReal(),     nro[i],     scale * 1.0e-22);
+        }
+    }
+
     @Test
     public void testSerialization() throws IOException, ClassNotFoundException {
         EOPHistory history = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
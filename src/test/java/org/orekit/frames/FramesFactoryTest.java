@@ -32,6 +32,7 @@ import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.analysis.differentiation.FiniteDifferencesDifferentiator;
 import org.hipparchus.analysis.differentiation.UnivariateDifferentiableVectorFunction;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.Decimal64;
@@ -48,7 +49,9 @@ import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.data.DataContext;
 import org.orekit.data.DataProvidersManager;
+import org.orekit.data.LazyLoadedDataContext;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitIllegalStateException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
@@ -388,6 +391,58 @@ public class FramesFactoryTest {
         }
     }
 
+    @Test
+    public void testPrecessionNutationFit() {
+
+        final AbsoluteDate start = new AbsoluteDate(2004, 6, 1, TimeScalesFactory.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(5 * Constants.JULIAN_DAY);
+        final LazyLoadedFrames fittedFrames = new LazyLoadedDataContext().getFrames();
+        fittedFrames.setPrecessionNutationFit(start, end, 1.0e-13);
+
+        checkFit(FramesFactory.getCIRF(IERSConventions.IERS_2010, false),
+                 fittedFrames.getCIRF(IERSConventions.IERS_2010, false),
+                 start, end, 3.0e-13);
+        checkFit(FramesFactory.getTOD(IERSConventions.IERS_2003, false),
+                 fittedFrames.getTOD(IERSConventions.IERS_2003, false),
+                 start, end, 3.0e-13);
+        checkFit(FramesFactory.getMOD(IERSConventions.IERS_2010),
+                 fittedFrames.getMOD(IERSConventions.IERS_2010),
+                 start, end, 3.0e-13);
+        checkFit(FramesFactory.getTEME(), fittedFrames.getTEME(),
+                 start, end, 3.0e-13);
+
+        try {
+            fittedFrames.setPrecessionNutationFit(end, start, 1.0e-13);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND, oiae.getSpecifier());
+        }
+
+    }
+
+    private void checkFit(final Frame raw, final Frame fitted,
+                          final AbsoluteDate start, final AbsoluteDate end,
+                          final double tolerance) {
+
+        // within fitted time span, transforms match the direct series within tolerance
+        double maxError = 0;
+        for (AbsoluteDate date = start; date.compareTo(end) <= 0; date = date.shiftedBy(1234.5)) {
+            final Rotation rRaw    = raw.getTransformProvider().getTransform(date).getRotation();
+            final Rotation rFitted = fitted.getTransformProvider().getTransform(date).getRotation();
+            maxError = FastMath.max(maxError, Rotation.distance(rRaw, rFitted));
+        }
+        Assert.assertTrue(raw.getName() + " " + maxError, maxError > 0);
+        Assert.assertEquals(raw.getName(), 0.0, maxError, tolerance);
+
+        // outside of fitted time span, the direct series are used
+        for (final AbsoluteDate date : new AbsoluteDate[] { start.shiftedBy(-3600.0), end.shiftedBy(3600.0) }) {
+            final Rotation rRaw    = raw.getTransformProvider().getTransform(date).getRotation();
+            final Rotation rFitted = fitted.getTransformProvider().getTransform(date).getRotation();
+            Assert.assertEquals(raw.getName(), 0.0, Rotation.distance(rRaw, rFitted), 1.0e-15);
+        }
+
+    }
+
     @Test
     public void testEOPConversion() {
 
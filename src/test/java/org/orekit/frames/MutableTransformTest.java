@@ -0,0 +1,141 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+public class MutableTransformTest {
+
+    @Test
+    public void testIdentity() {
+        final RandomGenerator random = new Well19937a(0x7b1e3d04a9c2f685l);
+        final MutableTransform identity = new MutableTransform(randomTransform(random)).setIdentity();
+        final double[] pva = new double[9];
+        final double[] out = new double[9];
+        for (int i = 0; i < pva.length; ++i) {
+            pva[i] = random.nextDouble();
+        }
+        identity.transformPVCoordinates(pva, 0, out, 0);
+        Assert.assertArrayEquals(pva, out, 1.0e-15);
+    }
+
+    @Test
+    public void testSameAsTransform() {
+        final RandomGenerator random = new Well19937a(0x2f6c8a1d93e04b57l);
+        final double[] buffer = new double[12];
+        for (int i = 0; i < 100; ++i) {
+            final Transform        transform = randomTransform(random);
+            final MutableTransform mutable   = new MutableTransform(transform);
+            final PVCoordinates    pv        = new PVCoordinates(randomVector(1.0e3, random),
+                                                                 randomVector(1.0, random),
+                                                                 randomVector(1.0e-3, random));
+
+            // use an offset to check indexing
+            System.arraycopy(pv.getPosition().toArray(),     0, buffer, 3, 3);
+            System.arraycopy(pv.getVelocity().toArray(),     0, buffer, 6, 3);
+            System.arraycopy(pv.getAcceleration().toArray(), 0, buffer, 9, 3);
+
+            final double[] out = new double[3];
+            mutable.transformPosition(buffer, 3, out, 0);
+            checkVector(transform.transformPosition(pv.getPosition()), out, 0, 1.0e-15);
+            mutable.transformVector(buffer, 3, out, 0);
+            checkVector(transform.transformVector(pv.getPosition()), out, 0, 1.0e-15);
+
+            // transform in place
+            final PVCoordinates expected = transform.transformPVCoordinates(pv);
+            mutable.transformPVCoordinates(buffer, 3, buffer, 3);
+            checkVector(expected.getPosition(),     buffer, 3, 1.0e-15);
+            checkVector(expected.getVelocity(),     buffer, 6, 1.0e-14);
+            checkVector(expected.getAcceleration(), buffer, 9, 1.0e-13);
+        }
+    }
+
+    @Test
+    public void testCompose() {
+        final RandomGenerator random = new Well19937a(0x58d3e1a7c06f29b4l);
+        final MutableTransform combined = new MutableTransform();
+        Transform reference = Transform.IDENTITY;
+        for (int i = 0; i < 20; ++i) {
+            final Transform t = randomElementaryTransform(random);
+            reference = new Transform(AbsoluteDate.J2000_EPOCH, reference, t);
+            // composition in place, the instance being the first argument
+            combined.compose(combined, new MutableTransform(t));
+        }
+        final Transform converted = combined.toTransform(AbsoluteDate.J2000_EPOCH);
+        Assert.assertEquals(0.0, Vector3D.distance(reference.getTranslation(),  converted.getTranslation()),  1.0e-10);
+        Assert.assertEquals(0.0, Vector3D.distance(reference.getVelocity(),     converted.getVelocity()),     1.0e-12);
+        Assert.assertEquals(0.0, Vector3D.distance(reference.getAcceleration(), converted.getAcceleration()), 1.0e-14);
+        Assert.assertEquals(0.0, Rotation.distance(reference.getRotation(),     converted.getRotation()),     1.0e-14);
+        Assert.assertEquals(0.0, Vector3D.distance(reference.getRotationRate(), converted.getRotationRate()), 1.0e-15);
+        Assert.assertEquals(0.0, Vector3D.distance(reference.getRotationAcceleration(),
+                                                   converted.getRotationAcceleration()),
+                            1.0e-16);
+
+        // composition with the instance as second argument
+        final Transform first = randomElementaryTransform(random);
+        final MutableTransform copy = new MutableTransform().setTransform(combined);
+        copy.compose(new MutableTransform(first), copy);
+        final Transform expected = new Transform(AbsoluteDate.J2000_EPOCH, first, reference);
+        Assert.assertEquals(0.0, Vector3D.distance(expected.getTranslation(),
+                                                   copy.toTransform(AbsoluteDate.J2000_EPOCH).getTranslation()),
+                            1.0e-10);
+    }
+
+    private void checkVector(final Vector3D expected, final double[] array, final int offset, final double tolerance) {
+        Assert.assertEquals(expected.getX(), array[offset],     tolerance * expected.getNorm());
+        Assert.assertEquals(expected.getY(), array[offset + 1], tolerance * expected.getNorm());
+        Assert.assertEquals(expected.getZ(), array[offset + 2], tolerance * expected.getNorm());
+    }
+
+    private Transform randomTransform(final RandomGenerator random) {
+        Transform combined = Transform.IDENTITY;
+        for (int k = 0; k < 20; ++k) {
+            combined = new Transform(AbsoluteDate.J2000_EPOCH, combined, randomElementaryTransform(random));
+        }
+        return combined;
+    }
+
+    private Transform randomElementaryTransform(final RandomGenerator random) {
+        return random.nextBoolean() ?
+               new Transform(AbsoluteDate.J2000_EPOCH, randomVector(1.0e3, random), randomVector(1.0, random), randomVector(1.0e-3, random)) :
+               new Transform(AbsoluteDate.J2000_EPOCH, randomRotation(random), randomVector(0.01, random), randomVector(1.0e-4, random));
+    }
+
+    private Vector3D randomVector(final double scale, final RandomGenerator random) {
+        return new Vector3D(random.nextDouble() * scale,
+                            random.nextDouble() * scale,
+                            random.nextDouble() * scale);
+    }
+
+    private Rotation randomRotation(final RandomGenerator random) {
+        final double q0 = random.nextDouble() * 2 - 1;
+        final double q1 = random.nextDouble() * 2 - 1;
+        final double q2 = random.nextDouble() * 2 - 1;
+        final double q3 = random.nextDouble() * 2 - 1;
+        final double q  = FastMath.sqrt(q0 * q0 + q1 * q1 + q2 * q2 + q3 * q3);
+        return new Rotation(q0 / q, q1 / q, q2 / q, q3 / q, false);
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.orekit.gnss;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -417,6 +418,37 @@ public class HatanakaCompressFilterTest {
 
     }
 
+    @Test
+    public void testReadSizes() throws IOException {
+
+        final String name = "rinex/ZIMM00CHE_R_20190320000_15M_30S_MO.crx.gz";
+        final NamedData raw = new NamedData(name.substring(name.indexOf('/') + 1),
+                                            () -> Utils.class.getClassLoader().getResourceAsStream(name));
+        final NamedData filtered = new HatanakaCompressFilter().filter(new GzipFilter().filter(raw));
+
+        // reference: byte by byte reads
+        final ByteArrayOutputStream reference = new ByteArrayOutputStream();
+        try (InputStream is = filtered.getStreamOpener().openStream()) {
+            for (int c = is.read(); c >= 0; c = is.read()) {
+                reference.write(c);
+            }
+        }
+
+        // reads with buffers smaller or larger than sections must give the same output
+        for (final int size : new int[] { 3, 80, 1000, 1 << 16 }) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[size];
+            try (InputStream is = filtered.getStreamOpener().openStream()) {
+                for (int n = is.read(buffer, 0, size); n >= 0; n = is.read(buffer, 0, size)) {
+                    Assert.assertTrue(n > 0);
+                    output.write(buffer, 0, n);
+                }
+            }
+            Assert.assertArrayEquals(reference.toByteArray(), output.toByteArray());
+        }
+
+    }
+
     @Test
     public void testDifferential3rdOrder() {
         doTestDifferential(15, 3, 3,
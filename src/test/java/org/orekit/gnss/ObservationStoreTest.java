@@ -0,0 +1,113 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.time.TimeScalesFactory;
+
+public class ObservationStoreTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testConsistency() {
+        for (final String name : new String[] { "rinex/aaaa0000.00o", "rinex/jnu10110.17o", "rinex/dddd0000.01o" }) {
+
+            final List<ObservationDataSet> sets =
+                            new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name).
+                            getObservationDataSets();
+            final ObservationStore store = new ObservationStore();
+            new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name,
+                            TimeScalesFactory.getTimeScales(), store);
+
+            // all observations can be retrieved from the columns
+            int nbRows = 0;
+            for (final ObservationArc arc : store.getArcs()) {
+                nbRows += arc.size();
+            }
+            Assert.assertEquals(sets.size(), nbRows);
+            for (final ObservationDataSet set : sets) {
+                final ObservationArc arc = store.getArc(set.getSatelliteSystem(), set.getPrnNumber());
+                int row = -1;
+                for (int i = 0; i < arc.size(); ++i) {
+                    if (arc.getDate(i).equals(set.getDate())) {
+                        row = i;
+                    }
+                }
+                Assert.assertTrue(row >= 0);
+                Assert.assertEquals(set.getHeader().getMarkerName(),
+                                    store.getHeader(arc.getEpoch(row)).getMarkerName());
+                Assert.assertEquals(set.getRcvrClkOffset(), store.getRcvrClkOffset(arc.getEpoch(row)), 0.0);
+                for (final ObservationData od : set.getObservationData()) {
+                    Assert.assertEquals(od.getValue(), arc.getValues(od.getObservationType())[row], 0.0);
+                    Assert.assertEquals(od.getLossOfLockIndicator(),
+                                        arc.getLossOfLockIndicators(od.getObservationType())[row]);
+                    Assert.assertEquals(od.getSignalStrength(),
+                                        arc.getSignalStrengths(od.getObservationType())[row]);
+                }
+            }
+
+            // epochs are shared between satellites and chronological
+            for (int i = 1; i < store.getNbEpochs(); ++i) {
+                Assert.assertTrue(store.getDate(i).compareTo(store.getDate(i - 1)) >= 0);
+            }
+            for (final ObservationArc arc : store.getArcs()) {
+                Assert.assertEquals(arc.size(), arc.getDates().length);
+                for (int i = 1; i < arc.size(); ++i) {
+                    Assert.assertTrue(arc.getEpoch(i) > arc.getEpoch(i - 1));
+                }
+            }
+
+        }
+    }
+
+    @Test
+    public void testMissingObservationType() {
+        final String name = "rinex/aaaa0000.00o";
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name,
+                        TimeScalesFactory.getTimeScales(), store);
+        final ObservationArc arc = store.getArcs().get(0);
+        Assert.assertFalse(arc.getObservationTypes().contains(ObservationType.L9C));
+        for (final double value : arc.getValues(ObservationType.L9C)) {
+            Assert.assertTrue(Double.isNaN(value));
+        }
+        for (final int lli : arc.getLossOfLockIndicators(ObservationType.L9C)) {
+            Assert.assertEquals(0, lli);
+        }
+        Assert.assertNull(store.getArc(SatelliteSystem.IRNSS, 99));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWrongRow() {
+        final String name = "rinex/aaaa0000.00o";
+        final ObservationStore store = new ObservationStore();
+        new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name,
+                        TimeScalesFactory.getTimeScales(), store);
+        final ObservationArc arc = store.getArcs().get(0);
+        arc.getDate(arc.size());
+    }
+
+}
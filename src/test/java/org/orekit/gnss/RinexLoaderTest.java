@@ -18,6 +18,7 @@ package org.orekit.gnss;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -764,6 +765,35 @@ public class RinexLoaderTest {
 
     }
 
+    @Test
+    public void testStreaming() {
+        for (final String name : new String[] { "rinex/aaaa0000.00o", "rinex/jnu10110.17o" }) {
+            final List<ObservationDataSet> expected = load(name).getObservationDataSets();
+            final List<ObservationDataSet> streamed = new ArrayList<>();
+            final RinexLoader loader = new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name,
+                                                       TimeScalesFactory.getTimeScales(), streamed::add);
+            Assert.assertTrue(loader.getObservationDataSets().isEmpty());
+            Assert.assertEquals(expected.size(), streamed.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                final ObservationDataSet e = expected.get(i);
+                final ObservationDataSet s = streamed.get(i);
+                Assert.assertEquals(e.getSatelliteSystem(), s.getSatelliteSystem());
+                Assert.assertEquals(e.getPrnNumber(), s.getPrnNumber());
+                Assert.assertEquals(e.getDate(), s.getDate());
+                Assert.assertEquals(e.getRcvrClkOffset(), s.getRcvrClkOffset(), 0.0);
+                Assert.assertEquals(e.getObservationData().size(), s.getObservationData().size());
+                for (int j = 0; j < e.getObservationData().size(); ++j) {
+                    final ObservationData oe = e.getObservationData().get(j);
+                    final ObservationData os = s.getObservationData().get(j);
+                    Assert.assertEquals(oe.getObservationType(), os.getObservationType());
+                    Assert.assertEquals(oe.getValue(), os.getValue(), 0.0);
+                    Assert.assertEquals(oe.getLossOfLockIndicator(), os.getLossOfLockIndicator());
+                    Assert.assertEquals(oe.getSignalStrength(), os.getSignalStrength());
+                }
+            }
+        }
+    }
+
     private RinexLoader load(final String name) {
         return new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name);
      }
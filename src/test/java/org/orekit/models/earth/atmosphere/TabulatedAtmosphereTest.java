@@ -0,0 +1,200 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.stat.descriptive.StreamingStatistics;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class TabulatedAtmosphereTest {
+
+    private PVCoordinatesProvider sun;
+    private OneAxisEllipsoid earth;
+    private HarrisPriester reference;
+    private AbsoluteDate start;
+    private double[] altitudes;
+
+    @Test
+    public void testAccuracy() {
+        final TabulatedAtmosphere tabulated =
+                        new TabulatedAtmosphere(reference, sun, earth,
+                                                start, start.shiftedBy(7200.0), 1800.0,
+                                                altitudes, 19, 48);
+        final StreamingStatistics errors = tabulated.getRelativeErrors(1000, new Well19937a(0x3c1ab3d1b69e9ef8l));
+        Assert.assertEquals(1000, errors.getN());
+        Assert.assertTrue(errors.getMean() < 2.0e-3);
+        Assert.assertTrue(errors.getMax()  < 1.5e-2);
+    }
+
+    @Test
+    public void testNodes() {
+        final TabulatedAtmosphere tabulated =
+                        new TabulatedAtmosphere(reference, sun, earth,
+                                                start, start.shiftedBy(14400.0), 3600.0,
+                                                altitudes, 19, 24);
+        final AbsoluteDate date      = start.shiftedBy(7200.0);
+        final double       sunLon    = sun.getPVCoordinates(date, earth.getBodyFrame()).getPosition().getAlpha();
+        final Frame        bodyFrame = earth.getBodyFrame();
+        for (final double altitude : new double[] { 200000.0, 500000.0, 800000.0 }) {
+            for (int j = 1; j < 18; ++j) {
+                final double latitude = FastMath.toRadians(10 * j - 90);
+                for (int l = 0; l < 24; ++l) {
+                    final double   longitude = sunLon + FastMath.toRadians(15 * l);
+                    final Vector3D p         = earth.transform(new GeodeticPoint(latitude, longitude, altitude));
+                    final double   rhoRef    = reference.getDensity(date, p, bodyFrame);
+                    final double   rhoTab    = tabulated.getDensity(date, p, bodyFrame);
+                    Assert.assertEquals(0.0, (rhoTab - rhoRef) / rhoRef, 1.0e-10);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testField() {
+        final TabulatedAtmosphere tabulated =
+                        new TabulatedAtmosphere(reference, sun, earth,
+                                                start, start.shiftedBy(14400.0), 3600.0,
+                                                altitudes, 19, 24);
+        final Frame        eme2000 = FramesFactory.getEME2000();
+        final AbsoluteDate date    = start.shiftedBy(12345.0);
+        final Vector3D     p       = new Vector3D(1000.0, 6783260.0, -2000.0);
+        final double       rho     = tabulated.getDensity(date, p, eme2000);
+
+        final DSFactory factory = new DSFactory(3, 1);
+        final FieldVector3D<DerivativeStructure> fp =
+                        new FieldVector3D<>(factory.variable(0, p.getX()),
+                                            factory.variable(1, p.getY()),
+                                            factory.variable(2, p.getZ()));
+        final DerivativeStructure fRho =
+                        tabulated.getDensity(new FieldAbsoluteDate<>(factory.getDerivativeField(), date), fp, eme2000);
+        Assert.assertEquals(rho, fRho.getReal(), 1.0e-13 * rho);
+
+        // derivative should be consistent with finite differences (far from grid nodes)
+        final double h  = 10.0;
+        final double dY = (tabulated.getDensity(date, new Vector3D(p.getX(), p.getY() + h, p.getZ()), eme2000) -
+                           tabulated.getDensity(date, new Vector3D(p.getX(), p.getY() - h, p.getZ()), eme2000)) /
+                          (2 * h);
+        Assert.assertTrue(dY < 0);
+        Assert.assertEquals(dY, fRho.getPartialDerivative(0, 1, 0), 1.0e-6 * FastMath.abs(dY));
+    }
+
+    @Test
+    public void testLastNodeAtEnd() {
+        // the span is not a multiple of the time step, the reference model
+        // must not be evaluated after grid end
+        final AbsoluteDate end     = start.shiftedBy(10000.0);
+        final Atmosphere   bounded = new Atmosphere() {
+            private static final long serialVersionUID = 1L;
+            public Frame getFrame() {
+                return reference.getFrame();
+            }
+            public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+                Assert.assertTrue(date.compareTo(end) <= 0);
+                return reference.getDensity(date, position, frame);
+            }
+            public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                                final FieldVector3D<T> position,
+                                                                final Frame frame) {
+                Assert.assertTrue(date.toAbsoluteDate().compareTo(end) <= 0);
+                return reference.getDensity(date, position, frame);
+            }
+        };
+        final TabulatedAtmosphere tabulated =
+                        new TabulatedAtmosphere(bounded, sun, earth,
+                                                start, end, 3600.0,
+                                                altitudes, 19, 24);
+
+        // the last node is exactly at grid end
+        final double   sunLon    = sun.getPVCoordinates(end, earth.getBodyFrame()).getPosition().getAlpha();
+        final Frame    bodyFrame = earth.getBodyFrame();
+        for (int l = 0; l < 24; ++l) {
+            final double   longitude = sunLon + FastMath.toRadians(15 * l);
+            final Vector3D p         = earth.transform(new GeodeticPoint(FastMath.toRadians(30.0), longitude, 400000.0));
+            final double   rhoRef    = reference.getDensity(end, p, bodyFrame);
+            final double   rhoTab    = tabulated.getDensity(end, p, bodyFrame);
+            Assert.assertEquals(0.0, (rhoTab - rhoRef) / rhoRef, 1.0e-10);
+        }
+
+        // the shorter last interval is still interpolated accurately
+        final StreamingStatistics errors = tabulated.getRelativeErrors(1000, new Well19937a(0x5d3e9f40e7a1c2b8l));
+        Assert.assertTrue(errors.getMean() < 5.0e-3);
+        Assert.assertTrue(errors.getMax()  < 3.0e-2);
+
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final TabulatedAtmosphere tabulated =
+                        new TabulatedAtmosphere(reference, sun, earth,
+                                                start, start.shiftedBy(14400.0), 3600.0,
+                                                altitudes, 19, 24);
+        try {
+            tabulated.getDensity(start.shiftedBy(-1.0), new Vector3D(6778137.0, 0, 0), earth.getBodyFrame());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test(expected = OrekitIllegalArgumentException.class)
+    public void testNonIncreasingAltitudes() {
+        new TabulatedAtmosphere(reference, sun, earth,
+                                start, start.shiftedBy(14400.0), 3600.0,
+                                new double[] { 300000.0, 200000.0 }, 19, 24);
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        sun   = CelestialBodyFactory.getSun();
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        reference = new HarrisPriester(sun, earth);
+        start     = new AbsoluteDate(2003, 3, 21, 1, 0, 0.0, TimeScalesFactory.getUTC());
+        final double[][] table = reference.getTabDensity();
+        // Harris-Priester does not allow evaluating exactly at its table boundaries
+        altitudes = new double[table.length - 2];
+        for (int i = 0; i < altitudes.length; ++i) {
+            altitudes[i] = table[i + 1][0];
+        }
+    }
+
+}
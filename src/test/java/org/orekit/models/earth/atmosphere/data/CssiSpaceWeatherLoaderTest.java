@@ -251,6 +251,23 @@ public class CssiSpaceWeatherLoaderTest {
         assertThat(ap[4], closeTo(179, 1e-10));
     }
 
+    /**
+     * This is to test that indexed lookup of daily entries is not fooled by leap seconds
+     */
+    @Test
+    public void testLeapSecondDay() {
+        CssiSpaceWeatherData cswl = loadCswl();
+        AbsoluteDate during = new AbsoluteDate(2015, 6, 30, 23, 59, 60.5, utc);
+        AbsoluteDate after  = new AbsoluteDate(2015, 7, 1, 0, 0, 0.5, utc);
+        assertThat(cswl.getAp(during)[1], closeTo(9, 1e-10));
+        assertThat(cswl.getAp(after)[1], closeTo(5, 1e-10));
+        assertThat(cswl.getAp(after)[2], closeTo(9, 1e-10));
+        assertThat(cswl.get24HoursKp(during), closeTo(10.3 / 8, 1e-10));
+        assertThat(cswl.get24HoursKp(after), closeTo(8.7 / 8, 1e-10));
+        assertThat(cswl.getAverageFlux(during), closeTo(117.0, 1e-10));
+        assertThat(cswl.getDailyFlux(after.shiftedBy(Constants.JULIAN_DAY)), closeTo(113.3, 1e-10));
+    }
+
     /**
      * Check integration error is small when integrating the same equations over the same
      * interval.
@@ -35,6 +35,7 @@ import org.orekit.Utils;
 import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.attitudes.FieldAttitude;
+import org.orekit.attitudes.InertialProvider;
 import org.orekit.bodies.BodyShape;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
@@ -738,6 +739,38 @@ public class KeplerianPropagatorTest {
         (1 + ex*FastMath.cos(Lv) + ey*FastMath.sin(Lv) + FastMath.sqrt(1 - ex*ex - ey*ey));
     }
 
+    @Test
+    public void testSharedEventsStates() {
+        // detectors sharing the same max check interval should not
+        // trigger recomputation of the same states
+        Assert.assertEquals(countAttitudeCalls(1), countAttitudeCalls(10));
+    }
+
+    private int countAttitudeCalls(final int nbDetectors) {
+        final AbsoluteDate initDate = AbsoluteDate.J2000_EPOCH;
+        final Orbit orbit = new KeplerianOrbit(7.0e6, 1.0e-3, 0.5, 0, 0, 0, PositionAngle.TRUE,
+                                               FramesFactory.getEME2000(), initDate, mu);
+        final AttitudeProvider inertial = new InertialProvider(FramesFactory.getEME2000());
+        final int[] count = new int[1];
+        final AttitudeProvider counting = new AttitudeProvider() {
+            public Attitude getAttitude(PVCoordinatesProvider pvProv, AbsoluteDate date, Frame frame) {
+                ++count[0];
+                return inertial.getAttitude(pvProv, date, frame);
+            }
+            public <T extends RealFieldElement<T>> FieldAttitude<T> getAttitude(FieldPVCoordinatesProvider<T> pvProv,
+                                                                                FieldAbsoluteDate<T> date,
+                                                                                Frame frame) {
+                return inertial.getAttitude(pvProv, date, frame);
+            }
+        };
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit, counting);
+        for (int i = 0; i < nbDetectors; ++i) {
+            propagator.addEventDetector(new DateDetector(300.0, 1.0e-6, initDate.shiftedBy(-1000.0)));
+        }
+        propagator.propagate(initDate.shiftedBy(3600.0));
+        return count[0];
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
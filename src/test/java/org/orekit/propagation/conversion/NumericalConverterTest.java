@@ -122,6 +122,43 @@ public class NumericalConverterTest {
                  DragSensitive.DRAG_COEFFICIENT, NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT);
     }
 
+    @Test
+    public void testEnckeMode() {
+
+        NumericalPropagatorBuilder builder =
+                        new NumericalPropagatorBuilder(OrbitType.CARTESIAN.convertType(orbit),
+                                                       new DormandPrince853IntegratorBuilder(minStep, maxStep, dP),
+                                                       PositionAngle.TRUE, dP);
+        Assert.assertEquals(0.0, builder.getEnckeRectificationPeriod(), 0.0);
+        builder.setEnckeRectificationPeriod(1200.0);
+        builder.addForceModel(gravity);
+
+        // rectification period is preserved by copy
+        final NumericalPropagatorBuilder copy = builder.copy();
+        Assert.assertEquals(1200.0, copy.getEnckeRectificationPeriod(), 0.0);
+        final NumericalPropagator built = copy.buildPropagator(copy.getSelectedNormalizedParameters());
+        Assert.assertEquals(1200.0, built.getEnckeRectificationPeriod(), 0.0);
+        // Jacobians are still available in Encke mode
+        final double[][] tol = NumericalPropagator.tolerances(dP, orbit, OrbitType.CARTESIAN);
+        final NumericalPropagator regular =
+                        new NumericalPropagator(new DormandPrince853Integrator(minStep, maxStep, tol[0], tol[1]));
+        regular.setInitialState(new SpacecraftState(orbit));
+        regular.setOrbitType(OrbitType.CARTESIAN);
+        regular.addForceModel(gravity);
+        JacobianPropagatorConverter fitter = new JacobianPropagatorConverter(builder, 1.0e-3, 5000);
+        fitter.convert(regular, 6000, 21);
+        Orbit fitted = fitter.getAdaptedPropagator().getInitialState().getOrbit();
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(orbit.getPVCoordinates().getPosition(),
+                                              fitted.getPVCoordinates().getPosition()),
+                            1.0);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(orbit.getPVCoordinates().getVelocity(),
+                                              fitted.getPVCoordinates().getVelocity()),
+                            1.0e-3);
+
+    }
+
     @Test
     public void testIntegrators01() {
 
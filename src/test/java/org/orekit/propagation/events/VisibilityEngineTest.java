@@ -0,0 +1,162 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class VisibilityEngineTest {
+
+    private OneAxisEllipsoid earth;
+    private Orbit orbit;
+
+    @Test
+    public void testSameEventsAsElevationDetectors() {
+        doTestSameEvents(60, 1);
+    }
+
+    @Test
+    public void testSameEventsAsElevationDetectorsBackward() {
+        doTestSameEvents(40, -1);
+    }
+
+    @Test
+    public void testVisibleAtStart() {
+        final GeodeticPoint sub = earth.transform(orbit.getPVCoordinates().getPosition(),
+                                                  orbit.getFrame(), orbit.getDate());
+        final List<TopocentricFrame> stations = new ArrayList<>();
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(sub.getLatitude(), sub.getLongitude(), 0.0), "below"));
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(-sub.getLatitude(), sub.getLongitude() + FastMath.PI, 0.0), "antipode"));
+        final List<Boolean> changes = new ArrayList<>();
+        final VisibilityEngine engine =
+                        new VisibilityEngine(stations, FastMath.toRadians(5.0), 60.0, 1.0e-3,
+                            (s, station, rising) -> {
+                                Assert.assertEquals("below", station.getName());
+                                changes.add(rising);
+                            });
+        Assert.assertEquals(2, engine.getStations().size());
+        Assert.assertEquals(FastMath.toRadians(5.0), engine.getMinElevation(), 1.0e-15);
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setMasterMode(engine);
+        propagator.propagate(orbit.getDate().shiftedBy(60.0));
+        Assert.assertEquals(1, engine.getVisibleStations().size());
+        Assert.assertEquals("below", engine.getVisibleStations().get(0).getName());
+        Assert.assertTrue(changes.isEmpty());
+        propagator.propagate(orbit.getDate().shiftedBy(1800.0));
+        Assert.assertTrue(engine.getVisibleStations().isEmpty());
+        Assert.assertEquals(1, changes.size());
+        Assert.assertFalse(changes.get(0));
+    }
+
+    @Test(expected = OrekitIllegalArgumentException.class)
+    public void testNoStations() {
+        new VisibilityEngine(new ArrayList<>(), 0.0, 60.0, 1.0e-3, (s, station, rising) -> {});
+    }
+
+    private void doTestSameEvents(final int nbStations, final int direction) {
+
+        final RandomGenerator random = new Well19937a(0x5a3e1c0a8e9f2b7dl);
+        final List<TopocentricFrame> stations = new ArrayList<>();
+        for (int i = 0; i < nbStations; ++i) {
+            final GeodeticPoint point = new GeodeticPoint(FastMath.asin(2 * random.nextDouble() - 1),
+                                                          2 * FastMath.PI * random.nextDouble() - FastMath.PI,
+                                                          3000.0 * random.nextDouble());
+            stations.add(new TopocentricFrame(earth, point, "station-" + i));
+        }
+        final double minElevation = FastMath.toRadians(5.0);
+        final double maxCheck     = 10.0;
+        final double threshold    = 1.0e-6;
+        final AbsoluteDate target = orbit.getDate().shiftedBy(direction * Constants.JULIAN_DAY);
+
+        // reference events, using one detector per station
+        final Propagator reference = new KeplerianPropagator(orbit);
+        final EventsLogger logger = new EventsLogger();
+        for (final TopocentricFrame station : stations) {
+            reference.addEventDetector(logger.monitorDetector(new ElevationDetector(maxCheck, threshold, station).
+                                                              withConstantElevation(minElevation).
+                                                              withHandler(new ContinueOnEvent<>())));
+        }
+        reference.propagate(target);
+        final List<LoggedEvent> expected = logger.getLoggedEvents();
+
+        // events from the engine
+        final List<SpacecraftState>  states  = new ArrayList<>();
+        final List<TopocentricFrame> names   = new ArrayList<>();
+        final List<Boolean>          risings = new ArrayList<>();
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setMasterMode(new VisibilityEngine(stations, minElevation, maxCheck, threshold,
+                                                      (s, station, rising) -> {
+                                                          states.add(s);
+                                                          names.add(station);
+                                                          risings.add(rising);
+                                                      }));
+        propagator.propagate(target);
+
+        Assert.assertTrue(expected.size() > nbStations / 2);
+        Assert.assertEquals(expected.size(), states.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            final LoggedEvent     event    = expected.get(i);
+            final ElevationDetector detector = (ElevationDetector) event.getEventDetector();
+            Assert.assertSame(detector.getTopocentricFrame(), names.get(i));
+            Assert.assertEquals(event.isIncreasing(), risings.get(i));
+            Assert.assertEquals(0.0, states.get(i).getDate().durationFrom(event.getState().getDate()), 1.0e-5);
+            if (i > 0) {
+                Assert.assertTrue(direction * states.get(i).getDate().durationFrom(states.get(i - 1).getDate()) >= 0);
+            }
+        }
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        orbit = new KeplerianOrbit(7000000.0, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(30.0), FastMath.toRadians(45.0), 0.0,
+                                   PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2004, 1, 1, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
@@ -44,6 +44,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.orekit.OrekitMatchers;
 import org.orekit.Utils;
+import org.orekit.attitudes.Attitude;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.FieldAttitude;
+import org.orekit.attitudes.InertialProvider;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.data.DataContext;
@@ -58,6 +62,7 @@ import org.orekit.forces.gravity.potential.GRGSFormatReader;
 import org.orekit.forces.gravity.potential.GravityFieldFactory;
 import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
 import org.orekit.forces.gravity.potential.SHMFormatReader;
+import org.orekit.forces.inertia.InertialForces;
 import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
 import org.orekit.forces.radiation.SolarRadiationPressure;
 import org.orekit.frames.Frame;
@@ -89,11 +94,15 @@ import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.AbsolutePVCoordinates;
 import org.orekit.utils.Constants;
+import org.orekit.utils.FieldPVCoordinatesProvider;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -415,6 +424,168 @@ public class NumericalPropagatorTest {
         }
     }
 
+    @Test
+    public void testEnckeKepler() {
+
+        // Propagation of the initial at t + dt
+        final double dt = 3200;
+        final double[][] tol = NumericalPropagator.tolerances(0.001, initialState.getOrbit(), OrbitType.CARTESIAN);
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(0.001, 200, tol[0], tol[1]);
+        integrator.setInitialStepSize(60);
+        final NumericalPropagator encke = new NumericalPropagator(integrator);
+        encke.setEnckeRectificationPeriod(1000.0);
+        Assert.assertEquals(1000.0, encke.getEnckeRectificationPeriod(), 0.0);
+        encke.setInitialState(initialState);
+        final SpacecraftState finalState = encke.propagate(initDate.shiftedBy(dt));
+
+        // Check results, deviations from the Keplerian reference remain exactly zero
+        final PVCoordinates reference = initialState.shiftedBy(dt).getPVCoordinates();
+        Assert.assertEquals(OrbitType.EQUINOCTIAL, finalState.getOrbit().getType());
+        Assert.assertEquals(0, Vector3D.distance(reference.getPosition(), finalState.getPVCoordinates().getPosition()), 2.0e-6);
+        Assert.assertEquals(0, Vector3D.distance(reference.getVelocity(), finalState.getPVCoordinates().getVelocity()), 2.0e-9);
+
+    }
+
+    @Test
+    public void testEnckeJ2() {
+
+        final double dt = Constants.JULIAN_DAY;
+        final NormalizedSphericalHarmonicsProvider provider = GravityFieldFactory.getNormalizedProvider(2, 0);
+        final ForceModel gravity = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                                         provider);
+
+        // tight reference
+        final Vector3D reference = propagateJ2(gravity, 1.0e-6, 0.0, dt).getPVCoordinates().getPosition();
+
+        // regular Cartesian propagation and Encke propagation, with the same tolerances
+        final DormandPrince853Integrator cartesianIntegrator = createJ2Integrator(1.0e-4);
+        final double cartesianError =
+                Vector3D.distance(reference,
+                                  propagateJ2(cartesianIntegrator, gravity, 0.0, dt).getPVCoordinates().getPosition());
+        final DormandPrince853Integrator enckeIntegrator = createJ2Integrator(1.0e-4);
+        final double enckeError =
+                Vector3D.distance(reference,
+                                  propagateJ2(enckeIntegrator, gravity, 6000.0, dt).getPVCoordinates().getPosition());
+
+        // Encke mode needs fewer evaluations for a better accuracy
+        Assert.assertEquals(0.0616, cartesianError, 0.0001);
+        Assert.assertEquals(0.0069, enckeError,     0.0001);
+        Assert.assertEquals(4501, cartesianIntegrator.getEvaluations());
+        Assert.assertEquals(3060, enckeIntegrator.getEvaluations());
+
+    }
+
+    @Test
+    public void testEnckeEphemeris() {
+
+        final double dt = 3000;
+        final ForceModel gravity = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                                         GravityFieldFactory.getNormalizedProvider(2, 0));
+
+        for (final double sign : new double[] { 1.0, -1.0 }) {
+
+            final NumericalPropagator encke = new NumericalPropagator(createJ2Integrator(1.0e-4));
+            encke.setOrbitType(OrbitType.CARTESIAN);
+            encke.setEnckeRectificationPeriod(600.0);
+            encke.addForceModel(gravity);
+            encke.setInitialState(initialState);
+            encke.setEphemerisMode();
+            encke.propagate(initDate.shiftedBy(sign * dt));
+            final BoundedPropagator ephemeris = encke.getGeneratedEphemeris();
+
+            // check ephemeris close to and exactly at rectification dates
+            final NumericalPropagator regular = new NumericalPropagator(createJ2Integrator(1.0e-6));
+            regular.setOrbitType(OrbitType.CARTESIAN);
+            regular.addForceModel(gravity);
+            regular.setInitialState(initialState);
+            for (double t = 0; t <= dt; t += 300.0) {
+                for (final double offset : new double[] { -1.0e-3, 0.0, 1.0e-3 }) {
+                    final double shift = sign * FastMath.min(FastMath.max(0, t + offset), dt);
+                    final AbsoluteDate date = initDate.shiftedBy(shift);
+                    Assert.assertEquals(0.0,
+                                        Vector3D.distance(regular.propagate(date).getPVCoordinates().getPosition(),
+                                                          ephemeris.propagate(date).getPVCoordinates().getPosition()),
+                                        2.0e-3);
+                }
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testEnckeNegativePeriod() {
+        try {
+            propagator.setEnckeRectificationPeriod(-1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oe.getSpecifier());
+            Assert.assertEquals(-1.0, ((Double) oe.getParts()[0]).doubleValue(), 0.0);
+        }
+    }
+
+    @Test
+    public void testEnckeNonInertialFrame() {
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsolutePVCoordinates pv =
+                        new AbsolutePVCoordinates(itrf, initialState.getPVCoordinates(itrf));
+        final NumericalPropagator encke = new NumericalPropagator(createJ2Integrator(1.0e-4));
+        encke.setOrbitType(null);
+        encke.addForceModel(new InertialForces(FramesFactory.getEME2000()));
+        encke.setEnckeRectificationPeriod(600.0);
+        try {
+            encke.setInitialState(new SpacecraftState(pv));
+            encke.propagate(initDate.shiftedBy(600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, oe.getSpecifier());
+            Assert.assertEquals(itrf.getName(), oe.getParts()[0]);
+        }
+    }
+
+    @Test
+    public void testEnckeParabolicOrbit() {
+        final Vector3D position = new Vector3D(7.0e6, 1.0e6, 4.0e6);
+        final Vector3D velocity = new Vector3D(-500.0, 8000.0, 1000.0);
+        final double   parabolicSpeed = FastMath.sqrt(2 * mu / position.getNorm());
+        final Orbit parabolic = new CartesianOrbit(new PVCoordinates(position,
+                                                                     velocity.normalize().scalarMultiply(parabolicSpeed)),
+                                                   FramesFactory.getEME2000(), initDate, mu);
+        final NumericalPropagator encke = new NumericalPropagator(createJ2Integrator(1.0e-4));
+        encke.setOrbitType(OrbitType.CARTESIAN);
+        encke.setEnckeRectificationPeriod(600.0);
+        encke.setInitialState(new SpacecraftState(parabolic));
+        try {
+            encke.propagate(initDate.shiftedBy(600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.ALMOST_PARABOLIC_ORBIT, oe.getSpecifier());
+            Assert.assertEquals(initDate, oe.getParts()[0]);
+        }
+    }
+
+    private DormandPrince853Integrator createJ2Integrator(final double dP) {
+        final double[][] tol = NumericalPropagator.tolerances(dP, initialState.getOrbit(), OrbitType.CARTESIAN);
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(0.001, 10000, tol[0], tol[1]);
+        integrator.setInitialStepSize(60);
+        return integrator;
+    }
+
+    private SpacecraftState propagateJ2(final ForceModel gravity, final double dP,
+                                        final double rectificationPeriod, final double dt) {
+        return propagateJ2(createJ2Integrator(dP), gravity, rectificationPeriod, dt);
+    }
+
+    private SpacecraftState propagateJ2(final ODEIntegrator integrator, final ForceModel gravity,
+                                        final double rectificationPeriod, final double dt) {
+        final NumericalPropagator numerical = new NumericalPropagator(integrator);
+        numerical.setOrbitType(OrbitType.CARTESIAN);
+        numerical.setEnckeRectificationPeriod(rectificationPeriod);
+        numerical.addForceModel(gravity);
+        numerical.setInitialState(initialState);
+        return numerical.propagate(initDate.shiftedBy(dt));
+    }
+
     @Test
     public void testPropagationTypesElliptical() throws ParseException, IOException {
      // setup
@@ -1498,6 +1669,37 @@ public class NumericalPropagatorTest {
         return new CartesianOrbit(pv, frame, mu);
     }
 
+    @Test
+    public void testSharedEventsStates() {
+        // detectors sharing the same max check interval should not
+        // trigger recomputation of the same states
+        Assert.assertEquals(countAttitudeCalls(1), countAttitudeCalls(10));
+    }
+
+    private int countAttitudeCalls(final int nbDetectors) {
+        final AttitudeProvider inertial = new InertialProvider(FramesFactory.getEME2000());
+        final int[] count = new int[1];
+        final AttitudeProvider counting = new AttitudeProvider() {
+            public Attitude getAttitude(PVCoordinatesProvider pvProv, AbsoluteDate date, Frame frame) {
+                ++count[0];
+                return inertial.getAttitude(pvProv, date, frame);
+            }
+            public <T extends RealFieldElement<T>> FieldAttitude<T> getAttitude(FieldPVCoordinatesProvider<T> pvProv,
+                                                                                FieldAbsoluteDate<T> date,
+                                                                                Frame frame) {
+                return inertial.getAttitude(pvProv, date, frame);
+            }
+        };
+        propagator.resetInitialState(initialState);
+        propagator.setAttitudeProvider(counting);
+        propagator.clearEventsDetectors();
+        for (int i = 0; i < nbDetectors; ++i) {
+            propagator.addEventDetector(new DateDetector(30.0, 1.0e-6, initDate.shiftedBy(-1000.0)));
+        }
+        propagator.propagate(initDate.shiftedBy(3600.0));
+        return count[0];
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data:potential/shm-format");
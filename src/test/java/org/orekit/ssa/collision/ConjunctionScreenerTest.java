@@ -0,0 +1,194 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class ConjunctionScreenerTest {
+
+    private Frame eme2000;
+    private AbsoluteDate start;
+    private AbsoluteDate end;
+    private List<BoundedPropagator> objects;
+
+    @Test
+    public void testSameAsBruteForce() {
+
+        final double screeningDistance = 10000.0;
+        final List<Conjunction> conjunctions =
+                        new ConjunctionScreener(eme2000, screeningDistance, 60.0, 1.0e-6).screen(objects, start, end);
+        final List<Conjunction> reference = bruteForce(screeningDistance, 10.0);
+
+        Assert.assertTrue(reference.size() > 20);
+        Assert.assertEquals(reference.size(), conjunctions.size());
+        for (int i = 0; i < reference.size(); ++i) {
+            final Conjunction expected = reference.get(i);
+            final Conjunction found    = conjunctions.get(i);
+            Assert.assertEquals(expected.getPrimaryIndex(),   found.getPrimaryIndex());
+            Assert.assertEquals(expected.getSecondaryIndex(), found.getSecondaryIndex());
+            Assert.assertEquals(0.0, found.getDate().durationFrom(expected.getDate()), 1.0e-5);
+            Assert.assertEquals(expected.getMissDistance(), found.getMissDistance(), 1.0e-3);
+            Assert.assertTrue(found.getMissDistance() <= screeningDistance);
+            Assert.assertEquals(0.0,
+                                found.getRelativePVCoordinates().getPosition().
+                                dotProduct(found.getRelativePVCoordinates().getVelocity()) /
+                                found.getRelativePVCoordinates().getVelocity().getNormSq(),
+                                1.0e-5);
+            Assert.assertEquals(found.getMissDistance(),
+                                found.getSecondaryState().getPVCoordinates(eme2000).getPosition().
+                                distance(found.getPrimaryState().getPVCoordinates(eme2000).getPosition()),
+                                1.0e-9);
+        }
+
+    }
+
+    @Test
+    public void testThreadsIndependence() {
+        final List<Conjunction> single = new ConjunctionScreener(eme2000, 5000.0, 60.0, 1.0e-6, 1).screen(objects, start, end);
+        final List<Conjunction> multi  = new ConjunctionScreener(eme2000, 5000.0, 60.0, 1.0e-6, 4).screen(objects, start, end);
+        Assert.assertFalse(single.isEmpty());
+        Assert.assertEquals(single.size(), multi.size());
+        for (int i = 0; i < single.size(); ++i) {
+            Assert.assertEquals(single.get(i).getPrimaryIndex(),   multi.get(i).getPrimaryIndex());
+            Assert.assertEquals(single.get(i).getSecondaryIndex(), multi.get(i).getSecondaryIndex());
+            Assert.assertEquals(0.0, single.get(i).getDate().durationFrom(multi.get(i).getDate()), 1.0e-12);
+        }
+    }
+
+    @Test
+    public void testNonInertialFrame() {
+        try {
+            new ConjunctionScreener(FramesFactory.getITRF(IERSConventions.IERS_2010, true), 5000.0, 60.0, 1.0e-6);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        try {
+            new ConjunctionScreener(eme2000, 5000.0, 60.0, 1.0e-6).screen(objects, start, end.shiftedBy(3600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    private List<Conjunction> bruteForce(final double screeningDistance, final double step) {
+        final List<Conjunction> conjunctions = new ArrayList<>();
+        final int n = (int) FastMath.ceil(end.durationFrom(start) / step);
+        for (int p = 0; p < objects.size(); ++p) {
+            final BoundedPropagator primary = objects.get(p);
+            for (int s = p + 1; s < objects.size(); ++s) {
+                final BoundedPropagator secondary = objects.get(s);
+                final UnivariateFunction rangeRate = dt -> {
+                    final PVCoordinates relative =
+                                    new PVCoordinates(primary.propagate(start.shiftedBy(dt)).getPVCoordinates(eme2000),
+                                                      secondary.propagate(start.shiftedBy(dt)).getPVCoordinates(eme2000));
+                    return relative.getPosition().dotProduct(relative.getVelocity());
+                };
+                double ta = 0;
+                double ga = rangeRate.value(ta);
+                for (int k = 1; k <= n; ++k) {
+                    final double tb = FastMath.min(k * step, end.durationFrom(start));
+                    final double gb = rangeRate.value(tb);
+                    if (ga < 0 && gb >= 0) {
+                        final double tca = new BracketingNthOrderBrentSolver(0, 1.0e-6, 0, 5).
+                                           solve(100, rangeRate, ta, tb, AllowedSolution.ANY_SIDE);
+                        final AbsoluteDate date = start.shiftedBy(tca);
+                        final Conjunction c = new Conjunction(p, primary.propagate(date),
+                                                              s, secondary.propagate(date), eme2000);
+                        if (c.getMissDistance() <= screeningDistance) {
+                            conjunctions.add(c);
+                        }
+                    }
+                    ta = tb;
+                    ga = gb;
+                }
+            }
+        }
+        conjunctions.sort((c1, c2) -> c1.getDate().compareTo(c2.getDate()));
+        return conjunctions;
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        eme2000 = FramesFactory.getEME2000();
+        final AbsoluteDate epoch = new AbsoluteDate(2004, 1, 1, TimeScalesFactory.getUTC());
+        start   = epoch.shiftedBy(-900.0);
+        end     = epoch.shiftedBy(3 * 3600.0);
+        objects = new ArrayList<>();
+        final RandomGenerator random = new Well19937a(0x4c9a7e3f12d8b05bl);
+        for (int i = 0; i < 12; ++i) {
+            // pairs of objects with slightly different planes meet near their common node
+            final double a    = 6800000.0 + 800000.0 * random.nextDouble();
+            final double i0   = FastMath.toRadians(20.0 + 80.0 * random.nextDouble());
+            final double raan = 2 * FastMath.PI * random.nextDouble();
+            final double pa   = 2 * FastMath.PI * random.nextDouble();
+            objects.add(ephemeris(new KeplerianOrbit(a, 0.0, i0, pa, raan, -pa,
+                                                     PositionAngle.MEAN, eme2000, epoch, Constants.EIGEN5C_EARTH_MU)));
+            objects.add(ephemeris(new KeplerianOrbit(a, 0.0, i0 + 0.01, pa, raan, 1.0e-4 * random.nextDouble() - pa,
+                                                     PositionAngle.MEAN, eme2000, epoch, Constants.EIGEN5C_EARTH_MU)));
+        }
+        for (int i = 0; i < 20; ++i) {
+            objects.add(ephemeris(new KeplerianOrbit(6800000.0 + 800000.0 * random.nextDouble(),
+                                                     0.01 * random.nextDouble(),
+                                                     FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     PositionAngle.MEAN, eme2000, epoch, Constants.EIGEN5C_EARTH_MU)));
+        }
+    }
+
+    private BoundedPropagator ephemeris(final KeplerianOrbit orbit) {
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setEphemerisMode();
+        propagator.propagate(start.shiftedBy(-60.0), end.shiftedBy(60.0));
+        return propagator.getGeneratedEphemeris();
+    }
+
+}
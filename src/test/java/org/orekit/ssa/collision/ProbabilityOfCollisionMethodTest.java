@@ -0,0 +1,159 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.PVCoordinates;
+
+public class ProbabilityOfCollisionMethodTest {
+
+    @Test
+    public void testIsotropicCentered() {
+        // for centered isotropic distribution, probability is 1 - exp(-R²/2σ²)
+        final double sigma = 50.0;
+        for (final double radius : new double[] { 1.0, 10.0, 50.0, 100.0 }) {
+            final double expected = -FastMath.expm1(-0.5 * radius * radius / (sigma * sigma));
+            Assert.assertEquals(1.0, new Foster1992().compute(0, 0, sigma, sigma, radius) / expected, 1.0e-12);
+            Assert.assertEquals(1.0, new Alfano2005().compute(0, 0, sigma, sigma, radius) / expected, 1.0e-12);
+            Assert.assertEquals(1.0, new Chan1997().compute(0, 0, sigma, sigma, radius) / expected, 1.0e-12);
+        }
+    }
+
+    @Test
+    public void testIsotropicOffset() {
+        final double chan   = new Chan1997(30).compute(120.0, -80.0, 100.0, 100.0, 20.0);
+        final double foster = new Foster1992().compute(120.0, -80.0, 100.0, 100.0, 20.0);
+        final double alfano = new Alfano2005().compute(120.0, -80.0, 100.0, 100.0, 20.0);
+        Assert.assertEquals(0.0070717, chan, 1.0e-7);
+        Assert.assertEquals(1.0, foster / chan, 1.0e-12);
+        Assert.assertEquals(1.0, alfano / chan, 1.0e-12);
+    }
+
+    @Test
+    public void testAnisotropic() {
+        final double foster = new Foster1992().compute(84.0, 240.0, 50.0, 800.0, 10.0);
+        final double alfano = new Alfano2005().compute(84.0, 240.0, 50.0, 800.0, 10.0);
+        final double chan   = new Chan1997().compute(84.0, 240.0, 50.0, 800.0, 10.0);
+        Assert.assertEquals(1.0, alfano / foster, 1.0e-10);
+        Assert.assertEquals(1.0, chan / foster, 1.0e-2);
+    }
+
+    @Test
+    public void testBatch() {
+        final RandomGenerator random = new Well19937a(0x1b2c9e0d7f34a6e8l);
+        final List<ShortTermEncounter2D> encounters = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            encounters.add(new ShortTermEncounter2D(1000 * (random.nextDouble() - 0.5),
+                                                    1000 * (random.nextDouble() - 0.5),
+                                                    10 + 100 * random.nextDouble(),
+                                                    10 + 500 * random.nextDouble(),
+                                                    5 + 10 * random.nextDouble()));
+        }
+        for (final ProbabilityOfCollisionMethod method :
+             new ProbabilityOfCollisionMethod[] { new Foster1992(), new Alfano2005(), new Chan1997() }) {
+            final double[] pc = method.compute(encounters);
+            Assert.assertEquals(encounters.size(), pc.length);
+            for (int i = 0; i < pc.length; ++i) {
+                Assert.assertEquals(method.compute(encounters.get(i)), pc[i], 0.0);
+                Assert.assertTrue(method.getClass().getSimpleName() + " " + i + " " + pc[i], pc[i] >= 0 && pc[i] <= 1);
+            }
+        }
+    }
+
+    @Test
+    public void testEncounterProjection() {
+        // relative velocity along Z, miss vector along X
+        final PVCoordinates relative = new PVCoordinates(new Vector3D(100.0, 0.0, 25.0),
+                                                         new Vector3D(0.0, 0.0, 14000.0));
+        final RealMatrix covariance = MatrixUtils.createRealDiagonalMatrix(new double[] {
+            30.0 * 30.0, 200.0 * 200.0, 1000.0 * 1000.0
+        });
+        final ShortTermEncounter2D encounter = new ShortTermEncounter2D(relative, covariance, 10.0);
+        Assert.assertEquals(200.0, encounter.getSigmaX(), 1.0e-10);
+        Assert.assertEquals(30.0,  encounter.getSigmaY(), 1.0e-10);
+        Assert.assertEquals(0.0,   encounter.getXm(),     1.0e-10);
+        Assert.assertEquals(100.0, FastMath.abs(encounter.getYm()), 1.0e-10);
+        Assert.assertEquals(100.0, encounter.getMissDistance(), 1.0e-10);
+        Assert.assertEquals(10.0,  encounter.getRadius(), 0.0);
+        Assert.assertEquals(900.0, encounter.getPrincipalCovariance().getEntry(1, 1), 1.0e-8);
+
+        // 6x6 covariances are accepted
+        final RealMatrix big = MatrixUtils.createRealIdentityMatrix(6);
+        big.setSubMatrix(covariance.getData(), 0, 0);
+        final ShortTermEncounter2D encounter6 = new ShortTermEncounter2D(relative, big, 10.0);
+        Assert.assertEquals(encounter.getSigmaX(), encounter6.getSigmaX(), 1.0e-10);
+        Assert.assertEquals(encounter.getSigmaY(), encounter6.getSigmaY(), 1.0e-10);
+
+        try {
+            new ShortTermEncounter2D(relative, MatrixUtils.createRealIdentityMatrix(4), 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDegenerateCovariance() {
+
+        // covariance is zero along the miss vector, which lies in the encounter plane
+        final PVCoordinates relative = new PVCoordinates(new Vector3D(100.0, 0.0, 25.0),
+                                                         new Vector3D(0.0, 0.0, 14000.0));
+        final RealMatrix covariance = MatrixUtils.createRealDiagonalMatrix(new double[] {
+            0.0, 200.0 * 200.0, 1000.0 * 1000.0
+        });
+        try {
+            new ShortTermEncounter2D(relative, covariance, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oe.getSpecifier());
+        }
+
+        try {
+            new ShortTermEncounter2D(84.0, 240.0, 50.0, 0.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oe.getSpecifier());
+        }
+
+        for (final ProbabilityOfCollisionMethod method :
+             new ProbabilityOfCollisionMethod[] { new Foster1992(), new Alfano2005(), new Chan1997() }) {
+            for (final double[] sigmas : new double[][] { { 50.0, 0.0 }, { 0.0, 800.0 }, { Double.NaN, 800.0 } }) {
+                try {
+                    method.compute(84.0, 240.0, sigmas[0], sigmas[1], 10.0);
+                    Assert.fail("an exception should have been thrown");
+                } catch (OrekitException oe) {
+                    Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oe.getSpecifier());
+                }
+            }
+        }
+
+    }
+
+}
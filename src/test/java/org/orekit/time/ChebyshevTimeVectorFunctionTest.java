@@ -0,0 +1,125 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class ChebyshevTimeVectorFunctionTest {
+
+    private TimeScales timeScales;
+
+    @Test
+    public void testXYSpXY2Accuracy() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 1, timeScales.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(10 * Constants.JULIAN_DAY);
+        final TimeVectorFunction raw    = IERSConventions.IERS_2010.getXYSpXY2Function(timeScales);
+        final TimeVectorFunction fitted = IERSConventions.IERS_2010.getXYSpXY2Function(timeScales, start, end, 1.0e-13);
+        Assert.assertTrue(fitted instanceof ChebyshevTimeVectorFunction);
+        Assert.assertEquals(0, ((ChebyshevTimeVectorFunction) fitted).getRawSegmentsNumber());
+        checkAccuracy(raw, fitted, start, end, 2.0e-13);
+    }
+
+    @Test
+    public void testPrecessionAccuracy() {
+        final AbsoluteDate start = new AbsoluteDate(2005, 7, 14, timeScales.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(5 * Constants.JULIAN_DAY);
+        final TimeVectorFunction raw    = IERSConventions.IERS_2003.getPrecessionFunction(timeScales);
+        final TimeVectorFunction fitted = IERSConventions.IERS_2003.getPrecessionFunction(timeScales, start, end, 1.0e-14);
+        checkAccuracy(raw, fitted, start, end, 2.0e-14);
+    }
+
+    @Test
+    public void testDiscontinuity() {
+        final AbsoluteDate switchDate = new AbsoluteDate(1997, 2, 27, timeScales.getUTC());
+        final AbsoluteDate start      = switchDate.shiftedBy(-2.5 * Constants.JULIAN_DAY);
+        final AbsoluteDate end        = switchDate.shiftedBy(2.5 * Constants.JULIAN_DAY);
+        final TimeVectorFunction raw = IERSConventions.IERS_1996.getNutationFunction(timeScales);
+        final ChebyshevTimeVectorFunction fitted =
+                        (ChebyshevTimeVectorFunction) IERSConventions.IERS_1996.getNutationFunction(timeScales, start, end, 1.0e-13);
+        Assert.assertTrue(fitted.getSegmentsNumber() > 5);
+        Assert.assertEquals(1, fitted.getRawSegmentsNumber());
+        Assert.assertEquals(0.0,          fitted.value(switchDate.shiftedBy(-0.5))[2], 1.0e-20);
+        Assert.assertEquals(-7.87098e-12, fitted.value(switchDate.shiftedBy(0.5))[2],  1.0e-15);
+        checkAccuracy(raw, fitted, start, end, 2.0e-13);
+    }
+
+    @Test
+    public void testOutsideSpan() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 1, timeScales.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(Constants.JULIAN_DAY);
+        final TimeVectorFunction raw    = IERSConventions.IERS_2010.getXYSpXY2Function(timeScales);
+        final ChebyshevTimeVectorFunction fitted =
+                        new ChebyshevTimeVectorFunction(raw, start, end, 3600.0, 8, 1.0e-13);
+        Assert.assertEquals(0.0, fitted.getStart().durationFrom(start), 0.0);
+        Assert.assertEquals(0.0, fitted.getEnd().durationFrom(end), 0.0);
+        final AbsoluteDate outside = end.shiftedBy(1000.0);
+        Assert.assertArrayEquals(raw.value(outside), fitted.value(outside), 0.0);
+    }
+
+    @Test
+    public void testField() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 1, timeScales.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(2 * Constants.JULIAN_DAY);
+        final TimeVectorFunction fitted = IERSConventions.IERS_2010.getXYSpXY2Function(timeScales, start, end, 1.0e-13);
+        for (double dt = 0; dt < end.durationFrom(start); dt += 3000.0) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            final double[]    v  = fitted.value(date);
+            final Decimal64[] vF = fitted.value(new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date));
+            for (int i = 0; i < v.length; ++i) {
+                Assert.assertEquals(v[i], vF[i].getReal(), 1.0e-18);
+            }
+        }
+    }
+
+    @Test(expected = OrekitIllegalArgumentException.class)
+    public void testWrongSpan() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 1, timeScales.getUTC());
+        new ChebyshevTimeVectorFunction(IERSConventions.IERS_2010.getXYSpXY2Function(timeScales),
+                                        start, start.shiftedBy(-1.0), 1.0e-13);
+    }
+
+    private void checkAccuracy(final TimeVectorFunction raw, final TimeVectorFunction fitted,
+                               final AbsoluteDate start, final AbsoluteDate end, final double tolerance) {
+        final RandomGenerator random = new Well19937a(0x3e7b14a2d8c5f960l);
+        for (int i = 0; i < 500; ++i) {
+            final AbsoluteDate date = start.shiftedBy(random.nextDouble() * end.durationFrom(start));
+            final double[] expected = raw.value(date);
+            final double[] found    = fitted.value(date);
+            for (int j = 0; j < expected.length; ++j) {
+                Assert.assertEquals(expected[j], found[j], tolerance);
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("compressed-data");
+        timeScales = DataContext.getDefault().getTimeScales();
+    }
+
+}
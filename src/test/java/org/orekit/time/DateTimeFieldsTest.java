@@ -0,0 +1,104 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeFieldsTest {
+
+    @Test
+    public void testParseDigits() {
+        Assert.assertEquals(2004, DateTimeFields.parseDigits("x2004-", 1, 4));
+        Assert.assertEquals(7,    DateTimeFields.parseDigits("007", 0, 3));
+        Assert.assertEquals(-1,   DateTimeFields.parseDigits("20a4", 0, 4));
+        Assert.assertEquals(-1,   DateTimeFields.parseDigits("200", 0, 4));
+    }
+
+    @Test
+    public void testParseSecondsExact() {
+        RandomGenerator random = new Well19937a(0x7c9e4f02a13d5b86l);
+        for (int i = 0; i < 100000; ++i) {
+            final int    digits = random.nextInt(20);
+            final String text   = String.format(Locale.US, "%02d", random.nextInt(61)) +
+                                  (digits == 0 ? "" : "." + randomDigits(random, digits));
+            Assert.assertEquals(Double.parseDouble(text),
+                                DateTimeFields.parseSeconds(text, 0, text.length()),
+                                0.0);
+        }
+        Assert.assertEquals(12.5, DateTimeFields.parseSeconds("12,5", 0, 4), 0.0);
+        Assert.assertTrue(Double.isNaN(DateTimeFields.parseSeconds("12.", 0, 3)));
+        Assert.assertTrue(Double.isNaN(DateTimeFields.parseSeconds("12:5", 0, 4)));
+        Assert.assertTrue(Double.isNaN(DateTimeFields.parseSeconds("12.5x", 0, 5)));
+    }
+
+    @Test
+    public void testMillisecondsSameAsDecimalFormat() {
+        final DecimalFormat format = new DecimalFormat("00.000", new DecimalFormatSymbols(Locale.US));
+        RandomGenerator random = new Well19937a(0x2d1f86b3e40a97c5l);
+        for (int i = 0; i < 100000; ++i) {
+            final double second = (i % 2 == 0) ?
+                                  61.0 * random.nextDouble() :
+                                  random.nextInt(61000) * 0.001 + 0.0005 * random.nextInt(2);
+            final StringBuilder builder = new StringBuilder();
+            if (DateTimeFields.appendMilliseconds(builder, second)) {
+                Assert.assertEquals(format.format(second), builder.toString());
+            }
+        }
+        Assert.assertFalse(DateTimeFields.appendMilliseconds(new StringBuilder(), 0.0625));
+        Assert.assertFalse(DateTimeFields.appendMilliseconds(new StringBuilder(), Double.NaN));
+    }
+
+    @Test
+    public void testPadded() {
+        Assert.assertEquals("0007",  DateTimeFields.appendPadded(new StringBuilder(), 7, 4).toString());
+        Assert.assertEquals("-0007", DateTimeFields.appendPadded(new StringBuilder(), -7, 4).toString());
+        Assert.assertEquals("12345", DateTimeFields.appendPadded(new StringBuilder(), 12345, 4).toString());
+    }
+
+    @Test
+    public void testSameDayParsing() {
+        final DateTimeComponents first  = DateTimeComponents.parseDateTime("2004-03-07T10:11:12.5Z");
+        final DateTimeComponents second = DateTimeComponents.parseDateTime("2004-03-07T13:14:15.25");
+        final DateTimeComponents other  = DateTimeComponents.parseDateTime("2004-067T13:14:15.25");
+        Assert.assertSame(first.getDate(), second.getDate());
+        Assert.assertEquals(first.getDate(), other.getDate());
+        Assert.assertEquals(15.25, second.getTime().getSecond(), 0.0);
+        Assert.assertEquals("2004-03-07T13:14:15.250", second.toString());
+        try {
+            DateTimeComponents.parseDateTime("2004-03-07T25:14:15.25");
+            Assert.fail("an exception should have been thrown");
+        } catch (IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    private String randomDigits(final RandomGenerator random, final int n) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < n; ++i) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+}
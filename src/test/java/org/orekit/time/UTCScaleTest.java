@@ -366,6 +366,32 @@ public class UTCScaleTest {
 
     }
 
+    @Test
+    public void testComponentsRoundTrip() {
+
+        // sequential dates, mostly hitting the last offset found
+        AbsoluteDate start = utc.getFirstKnownLeapSecond().shiftedBy(-Constants.JULIAN_YEAR);
+        double span = utc.getLastKnownLeapSecond().durationFrom(start) + Constants.JULIAN_YEAR;
+        for (double dt = 0; dt < span; dt += 0.37 * Constants.JULIAN_DAY) {
+            checkRoundTrip(start.shiftedBy(dt));
+        }
+
+        // random dates, mostly missing the last offset found
+        RandomGenerator random = new Well1024a(0x4a2c6d1b8e7f3a05l);
+        for (int i = 0; i < 20000; ++i) {
+            checkRoundTrip(start.shiftedBy(random.nextDouble() * span));
+        }
+
+    }
+
+    private void checkRoundTrip(final AbsoluteDate date) {
+        final DateTimeComponents components = date.getComponents(utc);
+        Assert.assertEquals(0.0,
+                            utc.offsetFromTAI(date) + utc.offsetToTAI(components.getDate(), components.getTime()),
+                            1.0e-10);
+        Assert.assertEquals(0.0, new AbsoluteDate(components, utc).durationFrom(date), 1.0e-10);
+    }
+
     @Test
     public void testIssue89() {
         AbsoluteDate firstDayLastLeap = utc.getLastKnownLeapSecond().shiftedBy(10.0);
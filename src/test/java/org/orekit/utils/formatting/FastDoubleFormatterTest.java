@@ -0,0 +1,134 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+
+public class FastDoubleFormatterTest {
+
+    @Test
+    public void testRandomValues() {
+        final RandomGenerator random = new Well19937a(0x3b5d9e1a5ca6f78fl);
+        for (int digits = 0; digits <= FastDoubleFormatter.MAX_FRACTION_DIGITS; ++digits) {
+            final FastDoubleFormatter formatter = new FastDoubleFormatter(digits);
+            Assert.assertEquals(digits, formatter.getFractionDigits());
+            for (int i = 0; i < 2000; ++i) {
+                final double value = (2 * random.nextDouble() - 1) * FastMath.pow(10, random.nextInt(40) - 20);
+                checkValue(formatter, value);
+            }
+        }
+    }
+
+    @Test
+    public void testTies() {
+        final FastDoubleFormatter formatter = new FastDoubleFormatter(2);
+        Assert.assertEquals("0.13",  formatter.toString(0.125));
+        Assert.assertEquals("-0.13", formatter.toString(-0.125));
+        Assert.assertEquals("0.38",  formatter.toString(0.375));
+        Assert.assertEquals("3.00",  formatter.toString(2.995000000000000106581410364015));
+        Assert.assertEquals("2.99",  formatter.toString(2.994999999999999));
+        Assert.assertEquals("1",     new FastDoubleFormatter(0).toString(0.5));
+        Assert.assertEquals("2",     new FastDoubleFormatter(0).toString(1.5));
+        for (int i = 0; i < 1000; ++i) {
+            checkValue(new FastDoubleFormatter(3), i * 0.0005);
+        }
+    }
+
+    @Test
+    public void testRoundingModes() {
+        final FastDoubleFormatter halfUp   = new FastDoubleFormatter(9);
+        final FastDoubleFormatter halfEven = new FastDoubleFormatter(9, RoundingMode.HALF_EVEN);
+        final FastDoubleFormatter halfDown = new FastDoubleFormatter(9, RoundingMode.HALF_DOWN);
+        Assert.assertEquals(RoundingMode.HALF_UP,   halfUp.getRoundingMode());
+        Assert.assertEquals(RoundingMode.HALF_EVEN, halfEven.getRoundingMode());
+        Assert.assertEquals(RoundingMode.HALF_DOWN, halfDown.getRoundingMode());
+        Assert.assertEquals("12.000976563", halfUp.toString(12 + 0x1.0p-10));
+        Assert.assertEquals("12.000976562", halfEven.toString(12 + 0x1.0p-10));
+        Assert.assertEquals("12.000976562", halfDown.toString(12 + 0x1.0p-10));
+        Assert.assertEquals("12.002929688", halfEven.toString(12 + 0x3.0p-10));
+        Assert.assertEquals("-12.000976562", halfEven.toString(-12 - 0x1.0p-10));
+        final RandomGenerator random = new Well19937a(0x6e2a4b1f09d7c35el);
+        for (int i = 0; i < 2000; ++i) {
+            checkValue(halfEven, (2 * random.nextDouble() - 1) * FastMath.pow(10, random.nextInt(20) - 10));
+            checkValue(halfEven, random.nextInt(1 << 20) * 0x1.0p-12);
+        }
+    }
+
+    @Test
+    public void testUnsupportedRoundingMode() {
+        try {
+            new FastDoubleFormatter(3, RoundingMode.FLOOR);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.FUNCTION_NOT_IMPLEMENTED, oe.getSpecifier());
+            Assert.assertEquals(RoundingMode.FLOOR, oe.getParts()[0]);
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final FastDoubleFormatter formatter = new FastDoubleFormatter(3);
+        Assert.assertEquals("0.000",     formatter.toString(0.0));
+        Assert.assertEquals("-0.000",    formatter.toString(-0.0));
+        Assert.assertEquals("-0.000",    formatter.toString(-1.0e-10));
+        Assert.assertEquals("NaN",       formatter.toString(Double.NaN));
+        Assert.assertEquals("Infinity",  formatter.toString(Double.POSITIVE_INFINITY));
+        Assert.assertEquals("-Infinity", formatter.toString(Double.NEGATIVE_INFINITY));
+        checkValue(formatter, Double.MAX_VALUE);
+        checkValue(formatter, -Double.MIN_VALUE);
+        Assert.assertEquals(String.format(Locale.US, "%.3f", 1.0e20), formatter.toString(1.0e20));
+    }
+
+    @Test
+    public void testAppend() {
+        final StringBuilder builder = new StringBuilder("x = ");
+        Assert.assertSame(builder, new FastDoubleFormatter(4).appendTo(builder, FastMath.PI));
+        Assert.assertEquals("x = 3.1416", builder.toString());
+    }
+
+    @Test
+    public void testWrongDigits() {
+        for (final int digits : new int[] { -1, FastDoubleFormatter.MAX_FRACTION_DIGITS + 1 }) {
+            try {
+                new FastDoubleFormatter(digits);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oe.getSpecifier());
+                Assert.assertEquals(digits, ((Integer) oe.getParts()[0]).intValue());
+            }
+        }
+    }
+
+    private void checkValue(final FastDoubleFormatter formatter, final double value) {
+        final String reference = new BigDecimal(FastMath.abs(value)).
+                                 setScale(formatter.getFractionDigits(), formatter.getRoundingMode()).
+                                 toPlainString();
+        Assert.assertEquals((value < 0 ? "-" : "") + reference, formatter.toString(value));
+    }
+
+}
@@ -0,0 +1,71 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+import java.util.Locale;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastLongFormatterTest {
+
+    @Test
+    public void testRandomValues() {
+        final RandomGenerator random = new Well19937a(0x6a1d5f0ce4b3827dl);
+        for (int width = 0; width < 22; ++width) {
+            final FastLongFormatter spaces = new FastLongFormatter(width, false);
+            final FastLongFormatter zeros  = new FastLongFormatter(width, true);
+            Assert.assertEquals(width, spaces.getWidth());
+            Assert.assertFalse(spaces.isZeroPadding());
+            Assert.assertTrue(zeros.isZeroPadding());
+            for (int i = 0; i < 1000; ++i) {
+                final long value = random.nextLong() >> random.nextInt(64);
+                checkValue(spaces, value);
+                checkValue(zeros, value);
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        for (final long value : new long[] { 0L, 1L, -1L, 9L, 10L, -10L, 99L, 100L,
+                                             Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1 }) {
+            for (int width = 0; width < 24; ++width) {
+                checkValue(new FastLongFormatter(width, false), value);
+                checkValue(new FastLongFormatter(width, true), value);
+            }
+        }
+    }
+
+    @Test
+    public void testAppend() {
+        final StringBuilder builder = new StringBuilder("T");
+        Assert.assertSame(builder, new FastLongFormatter(2, true).appendTo(builder, 7));
+        new FastLongFormatter(4, false).appendTo(builder.append(':'), -42);
+        Assert.assertEquals("T07: -42", builder.toString());
+    }
+
+    private void checkValue(final FastLongFormatter formatter, final long value) {
+        final String format = formatter.getWidth() == 0 ?
+                              "%d" :
+                              ("%" + (formatter.isZeroPadding() ? "0" : "") + formatter.getWidth() + "d");
+        Assert.assertEquals(String.format(Locale.US, format, value), formatter.toString(value));
+    }
+
+}
@@ -0,0 +1,115 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils.formatting;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+
+public class FastScientificFormatterTest {
+
+    @Test
+    public void testRandomValues() {
+        final RandomGenerator random = new Well19937a(0x51c7e0d3a2f94b68l);
+        for (int digits = 1; digits <= FastScientificFormatter.MAX_SIGNIFICANT_DIGITS; ++digits) {
+            final FastScientificFormatter formatter = new FastScientificFormatter(digits);
+            Assert.assertEquals(digits, formatter.getSignificantDigits());
+            for (int i = 0; i < 2000; ++i) {
+                final double value = (2 * random.nextDouble() - 1) * FastMath.pow(10, random.nextInt(80) - 40);
+                checkValue(formatter, value);
+            }
+        }
+    }
+
+    @Test
+    public void testStringFormatCompatibility() {
+        final RandomGenerator random = new Well19937a(0x2e8b4f61d09c73a5l);
+        final FastScientificFormatter formatter = new FastScientificFormatter(10);
+        for (int i = 0; i < 1000; ++i) {
+            final double value = (2 * random.nextDouble() - 1) * FastMath.pow(10, random.nextInt(400) - 200);
+            Assert.assertEquals(String.format(Locale.US, "%.9e", value), formatter.toString(value));
+        }
+    }
+
+    @Test
+    public void testCarry() {
+        final FastScientificFormatter formatter = new FastScientificFormatter(4);
+        Assert.assertEquals("1.000e+01",  formatter.toString(9.9996));
+        Assert.assertEquals("9.999e+00",  formatter.toString(9.9994));
+        Assert.assertEquals("1.000e+03",  formatter.toString(1000.0));
+        Assert.assertEquals("1.000e-03",  formatter.toString(0.001));
+        Assert.assertEquals("1.235e+00",  formatter.toString(1.2346));
+        Assert.assertEquals("-1.250e-01", formatter.toString(-0.125));
+        Assert.assertEquals("1e+05",      new FastScientificFormatter(1).toString(1.0e5));
+        for (int i = -30; i < 30; ++i) {
+            checkValue(formatter, FastMath.pow(10.0, i));
+            checkValue(formatter, FastMath.nextDown(FastMath.pow(10.0, i)));
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final FastScientificFormatter formatter = new FastScientificFormatter(4);
+        Assert.assertEquals("0.000e+00",  formatter.toString(0.0));
+        Assert.assertEquals("-0.000e+00", formatter.toString(-0.0));
+        Assert.assertEquals("NaN",        formatter.toString(Double.NaN));
+        Assert.assertEquals("Infinity",   formatter.toString(Double.POSITIVE_INFINITY));
+        Assert.assertEquals("-Infinity",  formatter.toString(Double.NEGATIVE_INFINITY));
+        Assert.assertEquals("1.798e+308", formatter.toString(Double.MAX_VALUE));
+        Assert.assertEquals("4.941e-324", formatter.toString(Double.MIN_VALUE));
+        Assert.assertEquals("2.225e-308", formatter.toString(Double.MIN_NORMAL));
+    }
+
+    @Test
+    public void testWrongDigits() {
+        for (final int digits : new int[] { 0, FastScientificFormatter.MAX_SIGNIFICANT_DIGITS + 1 }) {
+            try {
+                new FastScientificFormatter(digits);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oe.getSpecifier());
+                Assert.assertEquals(digits, ((Integer) oe.getParts()[0]).intValue());
+            }
+        }
+    }
+
+    private void checkValue(final FastScientificFormatter formatter, final double value) {
+        final BigDecimal rounded = new BigDecimal(FastMath.abs(value)).
+                                   round(new MathContext(formatter.getSignificantDigits(), RoundingMode.HALF_UP));
+        final StringBuilder digits = new StringBuilder(rounded.unscaledValue().toString());
+        final int exponent = digits.length() - 1 - rounded.scale();
+        while (digits.length() < formatter.getSignificantDigits()) {
+            digits.append('0');
+        }
+        if (digits.length() > 1) {
+            digits.insert(1, '.');
+        }
+        final String reference = String.format(Locale.US, "%s%se%+03d",
+                                               value < 0 ? "-" : "", digits, exponent);
+        Assert.assertEquals(reference, formatter.toString(value));
+    }
+
+}